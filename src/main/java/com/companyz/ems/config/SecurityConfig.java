@@ -1,8 +1,46 @@
 package com.companyz.ems.config;
 
+import com.companyz.ems.security.PasswordHasher;
+
 public class SecurityConfig {
+    private static volatile int passwordStrength;   // 0 until known
+    private static boolean calibrationStarted;      // guarded by SecurityConfig.class
+
+    /**
+     * BCrypt cost for new hashes. With {@code security.password.hash.target.ms} set,
+     * a background thread times BCrypt on this machine and picks the highest cost
+     * that stays within the target, never below {@code security.password.hash.strength};
+     * until it finishes the configured strength is returned.
+     */
     public static int getPasswordStrength() {
-        return AppConfig.getInt("security.password.hash.strength");
+        int strength = passwordStrength;
+        if (strength != 0) return strength;
+        startPasswordCalibration();
+        strength = passwordStrength;
+        return strength != 0 ? strength : AppConfig.getInt("security.password.hash.strength");
+    }
+
+    /**
+     * Starts timing BCrypt off the calling thread; later calls do nothing.
+     * Calibration runs several full-cost hashes, so it must not run on the UI thread.
+     */
+    public static synchronized void startPasswordCalibration() {
+        if (calibrationStarted) return;
+        calibrationStarted = true;
+        int configured = AppConfig.getInt("security.password.hash.strength");
+        int targetMillis = AppConfig.getInt("security.password.hash.target.ms");
+        if (targetMillis <= 0) {
+            passwordStrength = configured;
+            return;
+        }
+        Thread.ofPlatform().daemon().name("bcrypt-calibration").start(() -> {
+            try {
+                passwordStrength = PasswordHasher.calibrate(targetMillis, configured, PasswordHasher.MAX_STRENGTH);
+            } catch (RuntimeException e) {
+                System.err.println("BCrypt calibration failed; keeping cost " + configured + ": " + e.getMessage());
+                passwordStrength = configured;
+            }
+        });
     }
 
     public static int getSessionTimeoutMinutes() {
@@ -2,7 +2,10 @@ package com.companyz.ems.dao;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 
 import com.companyz.ems.config.DatabaseConnector;
 
@@ -28,6 +31,7 @@ public abstract class AbstractDao {
      * Prepares a parameterized SQL statement with the given parameters.
      * <p>
      * Safely binds all parameters to the statement to prevent SQL injection.
+     * The statement is registered for cancellation (see {@link #cancellable(Statement)}).
      * </p>
      *
      * @param conn the database connection
@@ -37,10 +41,70 @@ public abstract class AbstractDao {
      * @throws SQLException if a database access error occurs
      */
     protected PreparedStatement prepareStatement(Connection conn, String sql, Object... params) throws SQLException {
-        PreparedStatement stmt = conn.prepareStatement(sql);
+        PreparedStatement stmt = cancellable(conn.prepareStatement(sql));
         for (int i = 0; i < params.length; i++) {
             stmt.setObject(i + 1, params[i]); // safely bind all params
         }
         return stmt;
     }
+
+    /**
+     * Registers a statement with the calling thread's {@link QueryCancellation},
+     * so a cancelled background report stops the query on the server.
+     *
+     * @param stmt the statement about to be executed
+     * @return the same statement
+     * @throws SQLException if the task has already been cancelled
+     */
+    protected <S extends Statement> S cancellable(S stmt) throws SQLException {
+        try {
+            QueryCancellation.register(stmt);
+        } catch (SQLException e) {
+            stmt.close();
+            throw e;
+        }
+        return stmt;
+    }
+
+    /**
+     * Runs {@code sql} on a forward-only streaming cursor and hands each row to
+     * {@code sink} in one reused array. Column names are the SQL labels. The
+     * statement is registered for cancellation like any other.
+     *
+     * @param sql the SQL query string with placeholders
+     * @param sink receives the column labels, then each row
+     * @param params variable arguments to bind to the statement
+     * @return the number of rows streamed
+     * @throws SQLException if a database access error occurs
+     */
+    protected long streamRows(String sql, ReportRowSink sink, Object... params) throws SQLException {
+        long count = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = cancellable(conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY))) {
+            // Connector/J streams row by row instead of buffering the full result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.length; i++) {
+                stmt.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                String[] names = new String[meta.getColumnCount()];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = meta.getColumnLabel(i + 1);
+                }
+                sink.columns(names);
+
+                Object[] values = new Object[names.length];
+                while (rs.next()) {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = rs.getObject(i + 1);
+                    }
+                    sink.row(values);
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
 }
@@ -0,0 +1,29 @@
+package com.companyz.ems.dao;
+
+import java.util.List;
+
+import com.companyz.ems.model.audit.AuditCursor;
+import com.companyz.ems.model.audit.AuditFilter;
+import com.companyz.ems.model.audit.AuthEventEntry;
+import com.companyz.ems.model.audit.ChangeLogEntry;
+
+/**
+ * DAO contract for reading the audit trail ({@code change_log} and {@code auth_events}).
+ * Rows come newest first, ordered by (time, id). Pages are read by keyset:
+ * each page starts strictly after the cursor of the previous one, so a page
+ * costs the same index range scan however deep it is. Find methods return
+ * null and stream methods -1 on a database error.
+ */
+public interface AuditLogDao {
+    /** Up to {@code limit} changes matching the filter, after {@code after} (null for the first page). */
+    List<ChangeLogEntry> findChanges(AuditFilter filter, AuditCursor after, int limit);
+
+    /** Up to {@code limit} auth events matching the user and time window, after {@code after}. */
+    List<AuthEventEntry> findAuthEvents(AuditFilter filter, AuditCursor after, int limit);
+
+    /** Streams every matching change into the sink; returns the row count. */
+    long streamChanges(AuditFilter filter, ReportRowSink sink);
+
+    /** Streams every matching auth event into the sink; returns the row count. */
+    long streamAuthEvents(AuditFilter filter, ReportRowSink sink);
+}
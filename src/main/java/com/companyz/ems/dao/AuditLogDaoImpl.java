@@ -0,0 +1,174 @@
+package com.companyz.ems.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.companyz.ems.model.audit.AuditCursor;
+import com.companyz.ems.model.audit.AuditFilter;
+import com.companyz.ems.model.audit.AuthEventEntry;
+import com.companyz.ems.model.audit.ChangeLogEntry;
+
+/**
+ * Reads {@code change_log} and {@code auth_events} for investigators.
+ * <p>
+ * Each filter combination has a composite index ending in (time, id)
+ * (09_audit_query_indexes.sql), so the newest-first order comes from the index
+ * and a page reads only its own rows. The keyset condition is written as
+ * {@code time <= ? AND (time < ? OR id < ?)}, which gives the optimizer a
+ * plain range bound on the time column.
+ * </p>
+ */
+public class AuditLogDaoImpl extends AbstractDao implements AuditLogDao {
+
+    private static final String SELECT_CHANGES =
+        "SELECT change_id, table_name, record_pk, operation, changed_by_user_id, changed_at, " +
+        "old_values, new_values FROM change_log";
+
+    private static final String SELECT_AUTH_EVENTS =
+        "SELECT auth_event_id, user_id, event_type, event_time, ip_address, user_agent FROM auth_events";
+
+    @Override
+    public List<ChangeLogEntry> findChanges(AuditFilter filter, AuditCursor after, int limit) {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT_CHANGES + changeConditions(filter, params)
+                   + keyset("changed_at", "change_id", after, params)
+                   + " ORDER BY changed_at DESC, change_id DESC LIMIT ?";
+        params.add(limit);
+        List<ChangeLogEntry> entries = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, params.toArray());
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                entries.add(new ChangeLogEntry(
+                        rs.getLong("change_id"),
+                        rs.getString("table_name"),
+                        rs.getString("record_pk"),
+                        rs.getString("operation"),
+                        rs.getInt("changed_by_user_id"),
+                        rs.getTimestamp("changed_at").toLocalDateTime(),
+                        rs.getString("old_values"),
+                        rs.getString("new_values")));
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return null;
+        }
+        return entries;
+    }
+
+    @Override
+    public List<AuthEventEntry> findAuthEvents(AuditFilter filter, AuditCursor after, int limit) {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT_AUTH_EVENTS + authEventConditions(filter, params)
+                   + keyset("event_time", "auth_event_id", after, params)
+                   + " ORDER BY event_time DESC, auth_event_id DESC LIMIT ?";
+        params.add(limit);
+        List<AuthEventEntry> entries = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, params.toArray());
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int userId = rs.getInt("user_id");
+                entries.add(new AuthEventEntry(
+                        rs.getLong("auth_event_id"),
+                        rs.wasNull() ? null : userId,
+                        rs.getString("event_type"),
+                        rs.getTimestamp("event_time").toLocalDateTime(),
+                        rs.getString("ip_address"),
+                        rs.getString("user_agent")));
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return null;
+        }
+        return entries;
+    }
+
+    @Override
+    public long streamChanges(AuditFilter filter, ReportRowSink sink) {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT_CHANGES + changeConditions(filter, params)
+                   + " ORDER BY changed_at DESC, change_id DESC";
+        return stream(sql, sink, params.toArray());
+    }
+
+    @Override
+    public long streamAuthEvents(AuditFilter filter, ReportRowSink sink) {
+        List<Object> params = new ArrayList<>();
+        String sql = SELECT_AUTH_EVENTS + authEventConditions(filter, params)
+                   + " ORDER BY event_time DESC, auth_event_id DESC";
+        return stream(sql, sink, params.toArray());
+    }
+
+    private static String changeConditions(AuditFilter filter, List<Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter.getTableName() != null) {
+            where.append(" AND table_name = ?");
+            params.add(filter.getTableName());
+        }
+        if (filter.getRecordPk() != null) {
+            where.append(" AND record_pk = ?");
+            params.add(filter.getRecordPk());
+        }
+        if (filter.getUserId() != null) {
+            where.append(" AND changed_by_user_id = ?");
+            params.add(filter.getUserId());
+        }
+        appendWindow(where, "changed_at", filter, params);
+        return where.toString();
+    }
+
+    private static String authEventConditions(AuditFilter filter, List<Object> params) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (filter.getUserId() != null) {
+            where.append(" AND user_id = ?");
+            params.add(filter.getUserId());
+        }
+        appendWindow(where, "event_time", filter, params);
+        return where.toString();
+    }
+
+    private static void appendWindow(StringBuilder where, String timeColumn, AuditFilter filter, List<Object> params) {
+        if (filter.getFrom() != null) {
+            where.append(" AND ").append(timeColumn).append(" >= ?");
+            params.add(timestamp(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.append(" AND ").append(timeColumn).append(" < ?");
+            params.add(timestamp(filter.getTo()));
+        }
+    }
+
+    private static String keyset(String timeColumn, String idColumn, AuditCursor after, List<Object> params) {
+        if (after == null) return "";
+        Timestamp time = timestamp(after.getTime());
+        params.add(time);
+        params.add(time);
+        params.add(after.getId());
+        return " AND " + timeColumn + " <= ? AND (" + timeColumn + " < ? OR " + idColumn + " < ?)";
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return Timestamp.valueOf(time);
+    }
+
+    /** Streams {@code sql} through {@link #streamRows}; -1 if the query failed. */
+    private long stream(String sql, ReportRowSink sink, Object... params) {
+        try {
+            return streamRows(sql, sink, params);
+        } catch (SQLException e) {
+            logError(e);
+            return -1;
+        }
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("AuditLogDao error: " + e.getMessage());
+    }
+}
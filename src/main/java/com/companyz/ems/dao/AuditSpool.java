@@ -0,0 +1,461 @@
+package com.companyz.ems.dao;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Local write-ahead log for audit records, so they survive a slow or
+ * unreachable database and a restart.
+ * <p>
+ * Records are appended to numbered segment files ({@code audit-N.log}) as
+ * frames of {@code length, crc32, payload}. {@link #append} returns only once
+ * the record is forced to disk. Concurrent appenders share one force (group
+ * commit): whoever takes the commit lock forces everything written so far and
+ * the others find their record already covered.
+ * <p>
+ * A single drainer reads from the checkpoint with {@link #read(int)} and,
+ * once the records are in the database, moves the checkpoint past them with
+ * {@link #commit(Position)}. Drained segments are deleted. On open, a torn
+ * frame at the end of the last segment is cut off and reading resumes at the
+ * stored checkpoint. A crash between a database commit and the checkpoint
+ * write replays that batch, so delivery is at least once.
+ */
+public class AuditSpool implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+    private static final byte TYPE_EVENT = 1;
+    private static final byte TYPE_CHANGE = 2;
+
+    /** A place in the log: segment number and byte offset within it. */
+    public static final class Position {
+        private final long segment;
+        private final long offset;
+
+        Position(long segment, long offset) {
+            this.segment = segment;
+            this.offset = offset;
+        }
+
+        public long getSegment() { return segment; }
+        public long getOffset() { return offset; }
+    }
+
+    /** A record read from the log and the position just after it. */
+    public static final class Entry {
+        private final Object record;
+        private final Position next;
+
+        Entry(Object record, Position next) {
+            this.record = record;
+            this.next = next;
+        }
+
+        /** An {@link AuthEventLogger.Event} or a {@link ChangeLogger.Change}. */
+        public Object getRecord() { return record; }
+        public Position getNext() { return next; }
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Object commitLock = new Object();
+
+    // Appending, guarded by this
+    private FileChannel channel;
+    private long activeSegment;
+    private long appended;
+    private boolean broken;
+
+    private volatile long synced;
+    private volatile Position durable;
+    private volatile Position checkpoint;
+    private final ConcurrentHashMap<Long, Long> sealedSizes = new ConcurrentHashMap<>();
+
+    // Drainer thread only
+    private FileChannel readChannel;
+    private long readSegment = -1;
+
+    private final AtomicLong groupCommits = new AtomicLong();
+
+    /**
+     * Opens or creates the spool in {@code directory}.
+     *
+     * @param segmentBytes size after which appends move to a new segment
+     * @throws IOException if the directory or the last segment cannot be opened
+     */
+    public AuditSpool(Path directory, long segmentBytes) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        List<Long> segments = listSegments();
+        Position start = readCheckpoint();
+        if (start == null) {
+            start = new Position(segments.isEmpty() ? 1 : segments.get(0), 0);
+        }
+        long last = start.segment;
+        for (long segment : segments) {
+            if (segment < start.segment) {
+                Files.deleteIfExists(segmentPath(segment));
+            } else {
+                last = Math.max(last, segment);
+            }
+        }
+        for (long segment : segments) {
+            if (segment >= start.segment && segment < last) {
+                sealedSizes.put(segment, Files.size(segmentPath(segment)));
+            }
+        }
+
+        activeSegment = last;
+        channel = FileChannel.open(segmentPath(last), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = validLength(channel);
+        if (valid < channel.size()) {
+            System.err.println("Audit spool: dropping torn tail of " + segmentPath(last).getFileName()
+                               + " at offset " + valid);
+            channel.truncate(valid);
+        }
+        channel.position(valid);
+
+        if (start.segment == last && start.offset > valid) {
+            start = new Position(last, valid);
+        }
+        checkpoint = start;
+        durable = new Position(last, valid);
+    }
+
+    /**
+     * Appends a record and returns once it is on disk.
+     *
+     * @throws IOException if the record could not be written or forced; the
+     *         spool then refuses further appends
+     */
+    public void append(Object record) throws IOException {
+        byte[] payload = encode(record);
+        if (payload.length > MAX_FRAME_BYTES) {
+            throw new IOException("Audit record too large for the spool: " + payload.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payload.length);
+        frame.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+
+        long seq;
+        synchronized (this) {
+            if (broken) throw new IOException("Audit spool is unavailable");
+            try {
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            } catch (IOException e) {
+                broken = true;
+                throw e;
+            }
+            seq = ++appended;
+        }
+
+        synchronized (commitLock) {
+            if (synced >= seq) return; // forced by an earlier group
+            long target;
+            long segment;
+            long offset;
+            FileChannel ch;
+            synchronized (this) {
+                target = appended;
+                segment = activeSegment;
+                ch = channel;
+                offset = ch.position();
+            }
+            try {
+                ch.force(false);
+            } catch (IOException e) {
+                synchronized (this) {
+                    broken = true;
+                }
+                throw e;
+            }
+            groupCommits.incrementAndGet();
+            synced = target;
+            durable = new Position(segment, offset);
+            if (offset >= segmentBytes) {
+                rotate();
+            }
+        }
+    }
+
+    /** Seals the active segment and starts the next; called holding the commit lock. */
+    private synchronized void rotate() throws IOException {
+        channel.force(false);
+        long size = channel.position();
+        sealedSizes.put(activeSegment, size);
+        channel.close();
+        activeSegment++;
+        channel = FileChannel.open(segmentPath(activeSegment), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        synced = appended;
+        durable = new Position(activeSegment, 0);
+    }
+
+    /**
+     * Reads up to {@code max} durable records starting at the checkpoint.
+     * The checkpoint does not move until {@link #commit(Position)}.
+     */
+    public List<Entry> read(int max) throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        Position end = durable;
+        long segment = checkpoint.segment;
+        long offset = checkpoint.offset;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (entries.size() < max) {
+            long limit = segment == end.segment ? end.offset : sealedSizes.getOrDefault(segment, 0L);
+            if (offset >= limit) {
+                if (segment >= end.segment) break;
+                segment++;
+                offset = 0;
+                continue;
+            }
+            FileChannel ch = reader(segment);
+            byte[] payload = null;
+            int length = 0;
+            if (limit - offset >= HEADER_BYTES) {
+                header.clear();
+                readFully(ch, header, offset);
+                header.flip();
+                length = header.getInt();
+                int expected = header.getInt();
+                if (length > 0 && length <= limit - offset - HEADER_BYTES) {
+                    ByteBuffer body = ByteBuffer.allocate(length);
+                    readFully(ch, body, offset + HEADER_BYTES);
+                    payload = body.array();
+                    CRC32 crc = new CRC32();
+                    crc.update(payload);
+                    if ((int) crc.getValue() != expected) payload = null;
+                }
+            }
+            if (payload == null) {
+                // Sealed segments were forced before rotation, so this is damage on disk
+                System.err.println("Audit spool: corrupt record in " + segmentPath(segment).getFileName()
+                                   + " at offset " + offset + "; skipping the rest of the segment");
+                offset = limit;
+                continue;
+            }
+            offset += HEADER_BYTES + length;
+            entries.add(new Entry(decode(payload), new Position(segment, offset)));
+        }
+        return entries;
+    }
+
+    /** Moves the checkpoint to {@code next} and deletes segments drained before it. */
+    public void commit(Position next) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(16).putLong(next.segment).putLong(next.offset).flip();
+            while (buf.hasRemaining()) {
+                ch.write(buf);
+            }
+            ch.force(false);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        long previous = checkpoint.segment;
+        checkpoint = next;
+        for (long segment = previous; segment < next.segment; segment++) {
+            if (segment == readSegment) {
+                readChannel.close();
+                readChannel = null;
+                readSegment = -1;
+            }
+            sealedSizes.remove(segment);
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+    private FileChannel reader(long segment) throws IOException {
+        if (segment != readSegment) {
+            if (readChannel != null) readChannel.close();
+            readChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ);
+            readSegment = segment;
+        }
+        return readChannel;
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            int n = ch.read(buf, position + buf.position());
+            if (n < 0) throw new IOException("Unexpected end of audit spool segment");
+        }
+    }
+
+    /** Length of the prefix of {@code ch} made of complete, intact frames. */
+    private static long validLength(FileChannel ch) throws IOException {
+        long size = ch.size();
+        long offset = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (size - offset >= HEADER_BYTES) {
+            header.clear();
+            readFully(ch, header, offset);
+            header.flip();
+            int length = header.getInt();
+            int expected = header.getInt();
+            if (length <= 0 || length > MAX_FRAME_BYTES || length > size - offset - HEADER_BYTES) break;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(ch, body, offset + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            if ((int) crc.getValue() != expected) break;
+            offset += HEADER_BYTES + length;
+        }
+        return offset;
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT);
+        if (!Files.exists(file)) return null;
+        byte[] bytes = Files.readAllBytes(file);
+        if (bytes.length != 16) {
+            System.err.println("Audit spool: ignoring malformed checkpoint");
+            return null;
+        }
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        return new Position(buf.getLong(), buf.getLong());
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    System.err.println("Audit spool: ignoring " + name);
+                }
+            }
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+
+    // --- Encoding ---
+
+    private static byte[] encode(Object record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        if (record instanceof AuthEventLogger.Event event) {
+            out.writeByte(TYPE_EVENT);
+            out.writeInt(event.getUserId() != null ? event.getUserId() : -1);
+            writeString(out, event.getEventType());
+            writeString(out, event.getEventTime().toString());
+            writeString(out, event.getIpAddress());
+            writeString(out, event.getUserAgent());
+        } else {
+            ChangeLogger.Change change = (ChangeLogger.Change) record;
+            out.writeByte(TYPE_CHANGE);
+            writeString(out, change.getTableName());
+            writeString(out, change.getRecordPk());
+            writeString(out, change.getOperation());
+            out.writeInt(change.getChangedByUserId());
+            writeString(out, change.getChangedAt().toString());
+            writeString(out, change.getOldValuesJson());
+            writeString(out, change.getNewValuesJson());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static Object decode(byte[] payload) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(payload);
+        byte type = in.get();
+        if (type == TYPE_EVENT) {
+            // Older spools wrote 0 for an unknown user; neither 0 nor -1 is a user id
+            int userId = in.getInt();
+            String eventType = readString(in);
+            LocalDateTime time = LocalDateTime.parse(readString(in));
+            return new AuthEventLogger.Event(userId > 0 ? userId : null, eventType, time,
+                                             readString(in), readString(in));
+        }
+        if (type == TYPE_CHANGE) {
+            String table = readString(in);
+            String pk = readString(in);
+            String operation = readString(in);
+            int userId = in.getInt();
+            LocalDateTime time = LocalDateTime.parse(readString(in));
+            return new ChangeLogger.Change(table, pk, operation, userId, time, readString(in), readString(in));
+        }
+        throw new IOException("Unknown audit record type " + type);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        String value = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    // --- Metrics ---
+
+    /** Durable bytes not yet drained into the database. */
+    public long getBacklogBytes() {
+        Position from = checkpoint;
+        Position end = durable;
+        if (from.segment == end.segment) return end.offset - from.offset;
+        long total = sealedSizes.getOrDefault(from.segment, 0L) - from.offset;
+        for (long segment = from.segment + 1; segment < end.segment; segment++) {
+            total += sealedSizes.getOrDefault(segment, 0L);
+        }
+        return total + end.offset;
+    }
+
+    /** Forces to disk; each covers every record appended before it. */
+    public long getGroupCommitCount() { return groupCommits.get(); }
+
+    @Override
+    public synchronized void close() throws IOException {
+        broken = true;
+        channel.close();
+        if (readChannel != null) {
+            readChannel.close();
+            readChannel = null;
+            readSegment = -1;
+        }
+    }
+}
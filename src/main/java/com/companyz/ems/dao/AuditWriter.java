@@ -0,0 +1,505 @@
+package com.companyz.ems.dao;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.config.DatabaseConnector;
+
+/**
+ * Writes audit records ({@code auth_events} and {@code change_log} rows) in
+ * the background, so auditing costs a request one queue insert instead of a
+ * connection and an INSERT.
+ * <p>
+ * Records go into a lock-free queue bounded by {@code audit.queue.capacity};
+ * the bound is kept with a compare-and-set counter next to the queue. A single
+ * writer thread collects records until it has {@code audit.batch.size} of them
+ * or {@code audit.flush.interval.ms} has passed since the first, then writes
+ * each table's share as one batched transaction. If the database refuses a
+ * batch, its records are written one at a time so only the refused ones are
+ * lost. Each record keeps the time it was logged, not the time it was written.
+ * <p>
+ * When the queue is full, {@code audit.overflow.policy} decides: CALLER_RUNS
+ * writes the record on the caller's thread (the old synchronous behaviour),
+ * BLOCK waits for room, DROP discards it and counts the loss. {@link #close()}
+ * writes everything still queued; after that records are written directly.
+ * <p>
+ * With an {@link AuditSpool} ({@code audit.spool.dir}) the queue is the spool
+ * file instead: a record is on local disk before {@code logEvent} or
+ * {@code logChange} returns, and the writer thread drains the spool in
+ * batches, moving its checkpoint only past records the database has stored.
+ * While the database is unreachable the records wait in the spool and are
+ * retried with a growing delay, also after a restart. A record the database
+ * refuses while reachable is skipped and counted as failed, so it cannot hold
+ * up the ones behind it. The overflow policy then applies once the spool
+ * backlog reaches {@code audit.spool.max.bytes}.
+ */
+public class AuditWriter implements AutoCloseable {
+
+    /** What {@link #submit} does when the queue is full. */
+    public enum OverflowPolicy { CALLER_RUNS, BLOCK, DROP }
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static volatile AuditWriter defaultWriter;
+
+    private final AuthEventLogger eventSink;
+    private final ChangeLogger changeSink;
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy policy;
+    private final AuditSpool spool;      // null: queue in memory
+    private final long spoolMaxBytes;
+
+    private final ConcurrentLinkedQueue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Thread writer;
+    private volatile boolean closed;
+    private volatile boolean drainerIdle;
+    private final AtomicLong spooled = new AtomicLong();
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    /**
+     * @param eventSink  writes batches of auth events synchronously
+     * @param changeSink writes batches of change-log rows synchronously
+     */
+    public AuditWriter(AuthEventLogger eventSink, ChangeLogger changeSink,
+                       int capacity, int batchSize, long flushIntervalMillis, OverflowPolicy policy) {
+        this(eventSink, changeSink, capacity, batchSize, flushIntervalMillis, policy, null, 0);
+    }
+
+    /**
+     * @param spool         durable queue drained by the writer thread; null queues in memory
+     * @param spoolMaxBytes spool backlog at which the overflow policy applies
+     */
+    public AuditWriter(AuthEventLogger eventSink, ChangeLogger changeSink,
+                       int capacity, int batchSize, long flushIntervalMillis, OverflowPolicy policy,
+                       AuditSpool spool, long spoolMaxBytes) {
+        this.eventSink = eventSink;
+        this.changeSink = changeSink;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.policy = policy;
+        this.spool = spool;
+        this.spoolMaxBytes = spoolMaxBytes;
+        this.writer = Thread.ofPlatform().daemon().name("audit-writer").unstarted(this::run);
+        writer.start();
+    }
+
+    /** Returns the writer configured by {@code audit.*}; it is flushed at JVM exit. */
+    public static AuditWriter getDefault() {
+        if (defaultWriter == null) {
+            synchronized (AuditWriter.class) {
+                if (defaultWriter == null) {
+                    AuditSpool spool = null;
+                    String dir = AppConfig.get("audit.spool.dir");
+                    if (dir != null && !dir.isBlank()) {
+                        try {
+                            spool = new AuditSpool(Paths.get(dir), AppConfig.getInt("audit.spool.segment.bytes"));
+                        } catch (IOException e) {
+                            System.err.println("Audit spool unavailable, queueing in memory: " + e.getMessage());
+                        }
+                    }
+                    AuditWriter w = new AuditWriter(new AuthEventLogger(), new ChangeLogger(),
+                            AppConfig.getInt("audit.queue.capacity"),
+                            AppConfig.getInt("audit.batch.size"),
+                            AppConfig.getInt("audit.flush.interval.ms"),
+                            OverflowPolicy.valueOf(AppConfig.get("audit.overflow.policy")
+                                                            .trim().toUpperCase(Locale.ROOT)),
+                            spool,
+                            AppConfig.getInt("audit.spool.max.bytes"));
+                    Runtime.getRuntime().addShutdownHook(new Thread(w::close, "audit-writer-shutdown"));
+                    defaultWriter = w;
+                }
+            }
+        }
+        return defaultWriter;
+    }
+
+    /** Queues an auth event; with a spool, it is on disk when this returns. */
+    public void submit(AuthEventLogger.Event event) {
+        enqueue(event);
+    }
+
+    /** Queues a change-log row; with a spool, it is on disk when this returns. */
+    public void submit(ChangeLogger.Change change) {
+        enqueue(change);
+    }
+
+    private void enqueue(Object record) {
+        if (closed) {
+            writeNow(record);
+            return;
+        }
+        if (spool != null) {
+            append(record);
+            return;
+        }
+        if (tryOffer(record)) return;
+        switch (policy) {
+            case DROP -> dropped.incrementAndGet();
+            case BLOCK -> {
+                while (!tryOffer(record)) {
+                    if (closed) {
+                        writeNow(record);
+                        return;
+                    }
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            }
+            case CALLER_RUNS -> {
+                callerRuns.incrementAndGet();
+                writeNow(record);
+            }
+        }
+    }
+
+    private void append(Object record) {
+        while (spool.getBacklogBytes() >= spoolMaxBytes) {
+            switch (policy) {
+                case DROP -> {
+                    dropped.incrementAndGet();
+                    return;
+                }
+                case CALLER_RUNS -> {
+                    callerRuns.incrementAndGet();
+                    writeNow(record);
+                    return;
+                }
+                case BLOCK -> {
+                    if (closed) {
+                        writeNow(record);
+                        return;
+                    }
+                    LockSupport.unpark(writer);
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            }
+        }
+        try {
+            spool.append(record);
+        } catch (IOException e) {
+            System.err.println("Audit spool append failed, writing directly: " + e.getMessage());
+            writeNow(record);
+            return;
+        }
+        // Wake the drainer when it is idle and for each full batch
+        if (drainerIdle || spooled.incrementAndGet() % batchSize == 0) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private boolean tryOffer(Object record) {
+        int s;
+        do {
+            s = size.get();
+            if (s >= capacity) return false;
+        } while (!size.compareAndSet(s, s + 1));
+        queue.add(record);
+        // Wake the writer for the first record of a burst and for a full batch
+        if (s == 0 || s + 1 == batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return true;
+    }
+
+    private Object poll() {
+        Object record = queue.poll();
+        if (record != null) {
+            size.decrementAndGet();
+        }
+        return record;
+    }
+
+    private void run() {
+        if (spool != null) {
+            drain();
+            return;
+        }
+        List<AuthEventLogger.Event> events = new ArrayList<>();
+        List<ChangeLogger.Change> changes = new ArrayList<>();
+        while (true) {
+            Object record = poll();
+            if (record == null) {
+                if (closed) return;
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                continue;
+            }
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            int n = 0;
+            while (true) {
+                add(record, events, changes);
+                if (++n >= batchSize) break;
+                record = poll();
+                while (record == null) {
+                    long wait = deadline - System.nanoTime();
+                    if (closed || wait <= 0) break;
+                    LockSupport.parkNanos(this, wait);
+                    record = poll();
+                }
+                if (record == null) break;
+            }
+            flush(events, changes);
+        }
+    }
+
+    private static void add(Object record, List<AuthEventLogger.Event> events, List<ChangeLogger.Change> changes) {
+        if (record instanceof AuthEventLogger.Event event) {
+            events.add(event);
+        } else {
+            changes.add((ChangeLogger.Change) record);
+        }
+    }
+
+    /** Writes each table's share as one batch; a refused batch is retried row by row. */
+    private void flush(List<AuthEventLogger.Event> events, List<ChangeLogger.Change> changes) {
+        if (!events.isEmpty()) {
+            if (write(events, List.of())) {
+                written.addAndGet(events.size());
+            } else {
+                writeEach(events);
+            }
+        }
+        if (!changes.isEmpty()) {
+            if (write(List.of(), changes)) {
+                written.addAndGet(changes.size());
+            } else {
+                writeEach(changes);
+            }
+        }
+        events.clear();
+        changes.clear();
+    }
+
+    /**
+     * One at a time after a failed batch, as {@link #drainBatch} does, so a
+     * row the database refuses loses only itself. Without a connection the
+     * rest of the batch is lost at once instead of timing out row by row.
+     */
+    private void writeEach(List<?> records) {
+        for (int i = 0; i < records.size(); i++) {
+            if (writeOne(records.get(i))) {
+                written.incrementAndGet();
+            } else if (databaseReachable()) {
+                lost(1);
+            } else {
+                lost(records.size() - i);
+                return;
+            }
+        }
+    }
+
+    /** Writes one batch; false if any part of it was not stored. */
+    private boolean write(List<AuthEventLogger.Event> events, List<ChangeLogger.Change> changes) {
+        long start = System.nanoTime();
+        try {
+            boolean ok = events.isEmpty() || eventSink.logEvents(events);
+            return (changes.isEmpty() || changeSink.logChanges(changes)) && ok;
+        } catch (RuntimeException e) {
+            System.err.println("Audit flush failed: " + e.getMessage()); // no connection
+            return false;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            flushes.incrementAndGet();
+            totalFlushNanos.addAndGet(nanos);
+            maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    private boolean writeOne(Object record) {
+        try {
+            if (record instanceof AuthEventLogger.Event event) {
+                return eventSink.logEvents(List.of(event));
+            }
+            return changeSink.logChanges(List.of((ChangeLogger.Change) record));
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void writeNow(Object record) {
+        if (writeOne(record)) {
+            written.incrementAndGet();
+        } else {
+            lost(1);
+        }
+    }
+
+    private void lost(int records) {
+        failed.addAndGet(records);
+        System.err.println("Audit write failed; " + records + " record(s) lost");
+    }
+
+    // --- Spool draining ---
+
+    private void drain() {
+        long retryNanos = flushIntervalNanos;
+        long firstSeen = 0;
+        boolean waiting = false;
+        while (true) {
+            List<AuditSpool.Entry> batch;
+            try {
+                batch = spool.read(batchSize);
+            } catch (IOException e) {
+                System.err.println("Audit spool read failed: " + e.getMessage());
+                if (closed) return;
+                LockSupport.parkNanos(this, retryNanos);
+                retryNanos = Math.min(retryNanos * 2, MAX_RETRY_NANOS);
+                continue;
+            }
+            if (batch.isEmpty()) {
+                if (closed) return;
+                waiting = false;
+                drainerIdle = true;
+                LockSupport.parkNanos(this, flushIntervalNanos);
+                drainerIdle = false;
+                continue;
+            }
+            // Let a partial batch fill for up to the flush interval
+            long now = System.nanoTime();
+            if (!waiting) {
+                waiting = true;
+                firstSeen = now;
+            }
+            if (batch.size() < batchSize && !closed && now - firstSeen < flushIntervalNanos) {
+                LockSupport.parkNanos(this, flushIntervalNanos - (now - firstSeen));
+                continue;
+            }
+            waiting = false;
+            if (drainBatch(batch)) {
+                retryNanos = flushIntervalNanos;
+            } else {
+                if (closed) return; // left in the spool for the next start
+                LockSupport.parkNanos(this, retryNanos);
+                retryNanos = Math.min(retryNanos * 2, MAX_RETRY_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Writes spooled records in order, one run of same-table records at a
+     * time, moving the checkpoint past each part the database has stored.
+     *
+     * @return false if the rest should be retried later
+     */
+    private boolean drainBatch(List<AuditSpool.Entry> batch) {
+        List<AuthEventLogger.Event> events = new ArrayList<>();
+        List<ChangeLogger.Change> changes = new ArrayList<>();
+        int i = 0;
+        while (i < batch.size()) {
+            boolean isEvent = batch.get(i).getRecord() instanceof AuthEventLogger.Event;
+            int j = i;
+            while (j < batch.size() && (batch.get(j).getRecord() instanceof AuthEventLogger.Event) == isEvent) {
+                add(batch.get(j).getRecord(), events, changes);
+                j++;
+            }
+            boolean ok = write(events, changes);
+            events.clear();
+            changes.clear();
+            if (ok) {
+                written.addAndGet(j - i);
+                if (!checkpoint(batch.get(j - 1))) return false;
+            } else {
+                // One at a time, to tell an outage from a record the database refuses
+                for (int k = i; k < j; k++) {
+                    if (writeOne(batch.get(k).getRecord())) {
+                        written.incrementAndGet();
+                    } else if (databaseReachable()) {
+                        failed.incrementAndGet();
+                        System.err.println("Audit record refused by the database; skipped");
+                    } else {
+                        return false;
+                    }
+                    if (!checkpoint(batch.get(k))) return false;
+                }
+            }
+            i = j;
+        }
+        return true;
+    }
+
+    private boolean checkpoint(AuditSpool.Entry last) {
+        try {
+            spool.commit(last.getNext());
+            return true;
+        } catch (IOException e) {
+            System.err.println("Audit spool checkpoint failed: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean databaseReachable() {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return conn.isValid(2);
+        } catch (SQLException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    // --- Metrics ---
+
+    public int getQueueDepth() { return size.get(); }
+    /** Durable records not yet in the database, in bytes; 0 without a spool. */
+    public long getSpoolBacklogBytes() { return spool == null ? 0 : spool.getBacklogBytes(); }
+    public long getGroupCommitCount() { return spool == null ? 0 : spool.getGroupCommitCount(); }
+    public long getWrittenCount() { return written.get(); }
+    public long getFailedCount() { return failed.get(); }
+    public long getDroppedCount() { return dropped.get(); }
+    /** Records written on the caller's thread because the queue was full. */
+    public long getCallerRunsCount() { return callerRuns.get(); }
+    public long getFlushCount() { return flushes.get(); }
+
+    public double getAverageFlushMillis() {
+        long n = flushes.get();
+        return n == 0 ? 0 : totalFlushNanos.get() / 1_000_000.0 / n;
+    }
+
+    public double getMaxFlushMillis() {
+        return maxFlushNanos.get() / 1_000_000.0;
+    }
+
+    /** Writes everything queued and stops the writer thread; a spool keeps what could not be written. */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Records queued while the writer was exiting
+        Object record;
+        while ((record = poll()) != null) {
+            writeNow(record);
+        }
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                System.err.println("Audit spool close failed: " + e.getMessage());
+            }
+        }
+    }
+}
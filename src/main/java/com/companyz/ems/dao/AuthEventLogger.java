@@ -1,18 +1,93 @@
 package com.companyz.ems.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public class AuthEventLogger extends AbstractDao {
 
-    public void logEvent(int userId, String eventType, String ipAddress, String userAgent) {
+    /** An event recorded now and written later with {@link #logEvents(List)}. */
+    public static final class Event {
+        private final Integer userId;        // null when the username matched no account
+        private final String eventType;
+        private final LocalDateTime eventTime;
+        private final String ipAddress;
+        private final String userAgent;
+
+        public Event(Integer userId, String eventType, LocalDateTime eventTime, String ipAddress, String userAgent) {
+            this.userId = userId;
+            this.eventType = eventType;
+            this.eventTime = eventTime;
+            this.ipAddress = ipAddress;
+            this.userAgent = userAgent;
+        }
+
+        public Integer getUserId() { return userId; }
+        public String getEventType() { return eventType; }
+        public LocalDateTime getEventTime() { return eventTime; }
+        public String getIpAddress() { return ipAddress; }
+        public String getUserAgent() { return userAgent; }
+    }
+
+    private final AuditWriter writer;
+
+    public AuthEventLogger() {
+        this(null);
+    }
+
+    /** @param writer queue for {@link #logEvent}; null uses {@link AuditWriter#getDefault()} */
+    public AuthEventLogger(AuditWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Records an event now; it is written to {@code auth_events} by the audit writer.
+     * {@code userId} is null for an attempt on an unknown username.
+     */
+    public void logEvent(Integer userId, String eventType, String ipAddress, String userAgent) {
+        (writer != null ? writer : AuditWriter.getDefault())
+                .submit(new Event(userId, eventType, LocalDateTime.now(), ipAddress, userAgent));
+    }
+
+    /** Records an event taken earlier, keeping its time; written by the audit writer. */
+    public void logEvent(Event event) {
+        (writer != null ? writer : AuditWriter.getDefault()).submit(event);
+    }
+
+    /** Writes queued events in one batched transaction, keeping their recorded times. */
+    public boolean logEvents(List<Event> events) {
         String sql = "INSERT INTO auth_events (user_id, event_type, event_time, ip_address, user_agent) " +
-                     "VALUES (?, ?, NOW(), ?, ?)";
+                     "VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = getConnection();
-             var stmt = prepareStatement(conn, sql, userId, eventType, ipAddress, userAgent)) {
-            stmt.executeUpdate();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                for (Event event : events) {
+                    if (event.userId != null) {
+                        stmt.setInt(1, event.userId);
+                    } else {
+                        stmt.setNull(1, Types.INTEGER);
+                    }
+                    stmt.setString(2, event.eventType);
+                    stmt.setTimestamp(3, Timestamp.valueOf(event.eventTime));
+                    stmt.setString(4, event.ipAddress);
+                    stmt.setString(5, event.userAgent);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             e.printStackTrace(); // replace with proper logging
+            return false;
         }
     }
 }
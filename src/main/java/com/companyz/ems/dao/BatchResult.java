@@ -0,0 +1,73 @@
+package com.companyz.ems.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a chunked batch insert.
+ * <p>
+ * Each chunk is its own transaction, so a failed insert can leave some rows
+ * stored and others not. {@link #getFailedIndexes()} lists the positions in
+ * the input list that were rolled back or never sent; every other row is
+ * committed. {@link #getError()} is the first failure, with later failures
+ * and failed rollbacks attached as suppressed exceptions.
+ * </p>
+ */
+public final class BatchResult {
+
+    private final int committed;
+    private final List<Integer> failedIndexes;
+    private final SQLException error;
+
+    BatchResult(int committed, List<Integer> failedIndexes, SQLException error) {
+        this.committed = committed;
+        this.failedIndexes = Collections.unmodifiableList(new ArrayList<>(failedIndexes));
+        this.error = error;
+    }
+
+    /** Number of rows committed. */
+    public int getCommitted() { return committed; }
+
+    /** Input positions, ascending, of the rows that were not stored. */
+    public List<Integer> getFailedIndexes() { return failedIndexes; }
+
+    /** The first failure, or null if every row was committed. */
+    public SQLException getError() { return error; }
+
+    /** True if every row was committed. */
+    public boolean isComplete() { return error == null; }
+
+    /** Collects chunk outcomes while a batch insert runs. */
+    static final class Builder {
+        private int committed;
+        private final List<Integer> failedIndexes = new ArrayList<>();
+        private SQLException error;
+
+        void committed(int rows) {
+            committed += rows;
+        }
+
+        /** Records rows [from, to) as not stored because of {@code cause}. */
+        void failed(int from, int to, SQLException cause) {
+            notSent(from, to);
+            if (error == null) {
+                error = cause;
+            } else {
+                error.addSuppressed(cause);
+            }
+        }
+
+        /** Records rows [from, to) as not stored after an earlier failure stopped the batch. */
+        void notSent(int from, int to) {
+            for (int i = from; i < to; i++) {
+                failedIndexes.add(i);
+            }
+        }
+
+        BatchResult build() {
+            return new BatchResult(committed, failedIndexes, error);
+        }
+    }
+}
@@ -1,21 +1,92 @@
 package com.companyz.ems.dao;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public class ChangeLogger extends AbstractDao {
 
+    /** A change recorded now and written later with {@link #logChanges(List)}. */
+    public static final class Change {
+        private final String tableName;
+        private final String recordPk;
+        private final String operation;
+        private final int changedByUserId;
+        private final LocalDateTime changedAt;
+        private final String oldValuesJson;
+        private final String newValuesJson;
+
+        public Change(String tableName, String recordPk, String operation, int changedByUserId,
+                      LocalDateTime changedAt, String oldValuesJson, String newValuesJson) {
+            this.tableName = tableName;
+            this.recordPk = recordPk;
+            this.operation = operation;
+            this.changedByUserId = changedByUserId;
+            this.changedAt = changedAt;
+            this.oldValuesJson = oldValuesJson;
+            this.newValuesJson = newValuesJson;
+        }
+
+        public String getTableName() { return tableName; }
+        public String getRecordPk() { return recordPk; }
+        public String getOperation() { return operation; }
+        public int getChangedByUserId() { return changedByUserId; }
+        public LocalDateTime getChangedAt() { return changedAt; }
+        public String getOldValuesJson() { return oldValuesJson; }
+        public String getNewValuesJson() { return newValuesJson; }
+    }
+
+    private final AuditWriter writer;
+
+    public ChangeLogger() {
+        this(null);
+    }
+
+    /** @param writer queue for {@link #logChange}; null uses {@link AuditWriter#getDefault()} */
+    public ChangeLogger(AuditWriter writer) {
+        this.writer = writer;
+    }
+
+    /** Records a change now; it is written to {@code change_log} by the audit writer. */
     public void logChange(String tableName, String recordPk, String operation,
                           int changedByUserId, String oldValuesJson, String newValuesJson) {
+        (writer != null ? writer : AuditWriter.getDefault())
+                .submit(new Change(tableName, recordPk, operation, changedByUserId,
+                                   LocalDateTime.now(), oldValuesJson, newValuesJson));
+    }
+
+    /** Writes queued changes in one batched transaction, keeping their recorded times. */
+    public boolean logChanges(List<Change> changes) {
         String sql = "INSERT INTO change_log (table_name, record_pk, operation, " +
                      "changed_by_user_id, changed_at, old_values, new_values) " +
-                     "VALUES (?, ?, ?, ?, NOW(), ?, ?)";
+                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
         try (Connection conn = getConnection();
-             var stmt = prepareStatement(conn, sql,
-                     tableName, recordPk, operation, changedByUserId, oldValuesJson, newValuesJson)) {
-            stmt.executeUpdate();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            conn.setAutoCommit(false);
+            try {
+                for (Change change : changes) {
+                    stmt.setString(1, change.tableName);
+                    stmt.setString(2, change.recordPk);
+                    stmt.setString(3, change.operation);
+                    stmt.setInt(4, change.changedByUserId);
+                    stmt.setTimestamp(5, Timestamp.valueOf(change.changedAt));
+                    stmt.setString(6, change.oldValuesJson);
+                    stmt.setString(7, change.newValuesJson);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         } catch (SQLException e) {
             e.printStackTrace(); // replace with proper logging
+            return false;
         }
     }
 }
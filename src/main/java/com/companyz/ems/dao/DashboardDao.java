@@ -0,0 +1,19 @@
+package com.companyz.ems.dao;
+
+import java.time.LocalDate;
+
+import com.companyz.ems.model.report.DashboardMetrics;
+
+/**
+ * DAO contract for the admin dashboard.
+ * Every figure is an aggregate query; no employee rows are loaded.
+ */
+public interface DashboardDao {
+    /**
+     * Computes the dashboard figures as of {@code today}.
+     * Payroll totals cover the month before {@code today}'s month and include archived rows.
+     *
+     * @return the metrics, or null on a database error
+     */
+    DashboardMetrics computeMetrics(LocalDate today);
+}
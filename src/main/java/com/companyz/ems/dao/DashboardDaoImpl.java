@@ -0,0 +1,108 @@
+package com.companyz.ems.dao;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.companyz.ems.model.report.DashboardMetrics;
+
+public class DashboardDaoImpl extends AbstractDao implements DashboardDao {
+
+    private static final String COUNT_EMPLOYEES = "SELECT COUNT(*) FROM employees";
+
+    private static final String COUNT_BY_DIVISION =
+        "SELECT d.name AS label, COUNT(DISTINCT ed.empid) AS total " +
+        "FROM employee_division ed JOIN divisions d ON ed.divid = d.divid " +
+        "WHERE ed.effective_end IS NULL GROUP BY d.name";
+
+    private static final String COUNT_BY_STATUS =
+        "SELECT status AS label, COUNT(DISTINCT empid) AS total " +
+        "FROM employee_status WHERE effective_end IS NULL GROUP BY status";
+
+    private static final String COUNT_BY_TYPE =
+        "SELECT t.employment_type_name AS label, COUNT(*) AS total " +
+        "FROM employee_employment_types eet " +
+        "JOIN employment_types t ON eet.employment_type_id = t.employment_type_id " +
+        "WHERE eet.is_active = 1 GROUP BY t.employment_type_name";
+
+    private static final String SUM_NET_PAY =
+        "SELECT COALESCE(SUM(net_pay), 0) FROM payroll WHERE pay_date >= ? AND pay_date < ?";
+
+    private static final String COUNT_NEW_HIRES =
+        "SELECT COUNT(DISTINCT empid) FROM employee_status WHERE hire_date >= ? AND hire_date < ?";
+
+    private final PayrollArchive archive;
+
+    public DashboardDaoImpl(PayrollArchive archive) {
+        this.archive = archive;
+    }
+
+    public DashboardDaoImpl() {
+        this(PayrollArchive.getDefault());
+    }
+
+    @Override
+    public DashboardMetrics computeMetrics(LocalDate today) {
+        YearMonth thisMonth = YearMonth.from(today);
+        try (Connection conn = getConnection()) {
+            int headcount = (int) scalar(conn, COUNT_EMPLOYEES);
+            Map<String, Integer> byDivision = countsByLabel(conn, COUNT_BY_DIVISION);
+            Map<String, Integer> byStatus = countsByLabel(conn, COUNT_BY_STATUS);
+            Map<String, Integer> byType = countsByLabel(conn, COUNT_BY_TYPE);
+            double lastMonthPay = sumNetPay(conn, thisMonth.minusMonths(1));
+            int newHires = (int) scalar(conn, COUNT_NEW_HIRES,
+                    Date.valueOf(thisMonth.atDay(1)), Date.valueOf(thisMonth.plusMonths(1).atDay(1)));
+            return new DashboardMetrics(headcount, byDivision, byStatus, byType,
+                                        lastMonthPay, newHires, LocalDateTime.now());
+        } catch (SQLException e) {
+            logError(e);
+            return null;
+        }
+    }
+
+    // Range predicate on pay_date so idx_payroll_pay_date is used
+    private double sumNetPay(Connection conn, YearMonth month) throws SQLException {
+        LocalDate start = month.atDay(1);
+        double total = scalar(conn, SUM_NET_PAY,
+                Date.valueOf(start), Date.valueOf(month.plusMonths(1).atDay(1)));
+        LocalDate end = month.atEndOfMonth();
+        if (archive.overlaps(start, end)) {
+            try {
+                total += archive.sumNetPay(start, end, PayrollArchive.RowFilter.ALL);
+            } catch (IOException e) {
+                throw new SQLException("Payroll archive unreadable: " + e.getMessage(), e);
+            }
+        }
+        return total;
+    }
+
+    private double scalar(Connection conn, String sql, Object... params) throws SQLException {
+        try (PreparedStatement stmt = prepareStatement(conn, sql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() ? rs.getDouble(1) : 0;
+        }
+    }
+
+    private Map<String, Integer> countsByLabel(Connection conn, String sql) throws SQLException {
+        Map<String, Integer> counts = new HashMap<>();
+        try (PreparedStatement stmt = prepareStatement(conn, sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                counts.put(rs.getString("label"), rs.getInt("total"));
+            }
+        }
+        return counts;
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("DashboardDao error: " + e.getMessage());
+    }
+}
@@ -115,6 +115,8 @@ public class DivisionDaoImpl extends AbstractDao implements DivisionDao {
             stmt.setInt(7, division.getDivisionId());
 
             stmt.executeUpdate();
+            HireDateIndex.getDefault().invalidate(); // division names are cached there
+            OrgIntervalIndex.getDefault().invalidate();
             return division;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -127,7 +129,10 @@ public class DivisionDaoImpl extends AbstractDao implements DivisionDao {
         String sql = "DELETE FROM divisions WHERE divid=?";
         try (Connection conn = getConnection();
             PreparedStatement stmt = prepareStatement(conn, sql, divid)) {
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            HireDateIndex.getDefault().invalidate();
+            OrgIntervalIndex.getDefault().invalidate();
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -44,8 +44,9 @@ public interface EmployeeDao {
      * @param maxSalary
      * @param reason
      * @param changedByUserId
+     * @param effectiveDate date the new salaries apply from; earlier than today for a backdated raise
      * @return
      */
     int increaseSalaryByRange(double percent, double minSalary, double maxSalary, 
-        String reason, int changedByUserId);
+        String reason, int changedByUserId, LocalDate effectiveDate);
 }
@@ -38,6 +38,18 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
     private static final String DELETE_EMPLOYEE =
         "DELETE FROM employees WHERE empid=?";
 
+    private final HireDateIndex hireIndex;
+    private final OrgIntervalIndex orgIndex;
+
+    public EmployeeDaoImpl(HireDateIndex hireIndex, OrgIntervalIndex orgIndex) {
+        this.hireIndex = hireIndex;
+        this.orgIndex = orgIndex;
+    }
+
+    public EmployeeDaoImpl() {
+        this(HireDateIndex.getDefault(), OrgIntervalIndex.getDefault());
+    }
+
 
     @Override
     public Optional<Employee> findById(int empId) {
@@ -157,6 +169,8 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
             EmployeePersistenceHelper.saveDivision(conn, employee);
             EmployeePersistenceHelper.saveJobTitle(conn, employee);
 
+            hireIndex.refreshEmployee(employee.getEmpId());
+            orgIndex.refreshEmployee(employee.getEmpId());
             return (Employee) employee;
         } catch (Exception e) {
             logError(e);
@@ -184,6 +198,8 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
             EmployeePersistenceHelper.updateDivision(conn, employee);
             EmployeePersistenceHelper.updateJobTitle(conn, employee);
 
+            hireIndex.refreshEmployee(employee.getEmpId());
+            orgIndex.refreshEmployee(employee.getEmpId());
             return (Employee) employee;
         } catch (SQLException e) {
             logError(e);
@@ -196,7 +212,12 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
     public boolean deleteEmployee(int empId) {
         try (Connection conn = getConnection();
              PreparedStatement stmt = prepareStatement(conn, DELETE_EMPLOYEE, empId)) {
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                hireIndex.removeEmployee(empId);
+                orgIndex.removeEmployee(empId);
+            }
+            return deleted;
         } catch (SQLException e) {
             logError(e);
             return false;
@@ -205,17 +226,23 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
 
     @Override
     public EmployeeHireReport getEmployeeHireByDateRange(LocalDate start, LocalDate end) {
+        // Served from memory; the join below is only the fallback when the index cannot load
+        EmployeeHireReport indexed = hireIndex.findByHireDate(start, end);
+        if (indexed != null) {
+            return indexed;
+        }
+
         List<EmployeeHireReport.HireEntry> hires = new ArrayList<>();
         String sql = "SELECT e.empid, e.fname, e.lname, d.name AS division_name, j.job_title AS job_title_name, s.hire_date " +
                      "FROM employees e " +
-                     "JOIN employee_status s ON e.empid = s.empid " +
-                     "JOIN employee_division ed ON e.empid = ed.empid " +
+                     "JOIN employee_status s ON e.empid = s.empid AND s.effective_end IS NULL " +
+                     "JOIN employee_division ed ON e.empid = ed.empid AND ed.effective_end IS NULL " +
                      "JOIN divisions d ON ed.divid = d.divid " +
-                     "JOIN employee_job_title ej ON e.empid = ej.empid " +
+                     "JOIN employee_job_title ej ON e.empid = ej.empid AND ej.effective_end IS NULL " +
                      "JOIN job_titles j ON ej.job_title_id = j.job_title_id " +
                      "WHERE s.hire_date BETWEEN ? AND ? ORDER BY s.hire_date ASC";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = cancellable(conn.prepareStatement(sql))) {
             stmt.setDate(1, Date.valueOf(start));
             stmt.setDate(2, Date.valueOf(end));
             try (ResultSet rs = stmt.executeQuery()) {
@@ -232,18 +259,19 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
             }
         } catch (SQLException e) {
             logError(e);
+            return null; // not an empty report: closed ranges are cached
         }
         return new EmployeeHireReport(start, end, hires);
     }
 
     @Override
     public int increaseSalaryByRange(double percent, double minSalary, double maxSalary,
-                                    String reason, int changedByUserId) {
+                                    String reason, int changedByUserId, LocalDate effectiveDate) {
         String selectSql = "SELECT empid, salary FROM employees WHERE salary >= ? AND salary < ?";
         String updateSql = "UPDATE employees SET salary = ?, updated_at = NOW() WHERE empid = ?";
         String insertHistorySql = "INSERT INTO salary_history " +
-            "(empid, previous_salary, new_salary, change_reason, changed_by_user_id, changed_at) " +
-            "VALUES (?, ?, ?, ?, ?, NOW())";
+            "(empid, previous_salary, new_salary, change_reason, changed_by_user_id, changed_at, effective_date) " +
+            "VALUES (?, ?, ?, ?, ?, NOW(), ?)";
 
         int updatedCount = 0;
 
@@ -274,6 +302,7 @@ public class EmployeeDaoImpl extends AbstractDao implements EmployeeDao {
                     historyStmt.setDouble(3, newSalary);
                     historyStmt.setString(4, reason);
                     historyStmt.setInt(5, changedByUserId);
+                    historyStmt.setDate(6, Date.valueOf(effectiveDate));
                     historyStmt.addBatch();
 
                     updatedCount++;
@@ -0,0 +1,252 @@
+package com.companyz.ems.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.companyz.ems.model.report.EmployeeHireReport;
+
+/**
+ * In-memory index of employee hire dates for range hire reports.
+ * <p>
+ * Hire dates are kept as a sorted {@code int[]} of epoch days, with the
+ * employee id, names and dictionary-coded division and job title in parallel
+ * arrays. A range query is two binary searches plus a copy of the matching
+ * slice, with no database round trip.
+ * <p>
+ * The index is loaded from the database on first use. {@link EmployeeDaoImpl}
+ * calls {@link #refreshEmployee(int)} and {@link #removeEmployee(int)} after its
+ * writes. Readers use an immutable snapshot. Writers build a new snapshot
+ * under a lock and swap it in.
+ * </p>
+ */
+public class HireDateIndex extends AbstractDao {
+
+    // Same rows as the hire report join: one per employee, from the open status row
+    // (every status change adds a row carrying the hire date over)
+    private static final String SELECT_HIRES =
+        "SELECT e.empid, e.fname, e.lname, d.name AS division_name, j.job_title AS job_title_name, s.hire_date " +
+        "FROM employees e " +
+        "JOIN employee_status s ON e.empid = s.empid AND s.effective_end IS NULL " +
+        "JOIN employee_division ed ON e.empid = ed.empid AND ed.effective_end IS NULL " +
+        "JOIN divisions d ON ed.divid = d.divid " +
+        "JOIN employee_job_title ej ON e.empid = ej.empid AND ej.effective_end IS NULL " +
+        "JOIN job_titles j ON ej.job_title_id = j.job_title_id ";
+
+    private static HireDateIndex defaultIndex;
+
+    /** Immutable, hire-date-ordered view of all rows. */
+    private static final class Snapshot {
+        final int[] hireDays;
+        final int[] empIds;
+        final String[] firstNames;
+        final String[] lastNames;
+        final int[] divisionCodes;
+        final int[] titleCodes;
+        final String[] divisions;   // dictionary: code -> name
+        final String[] titles;
+
+        Snapshot(int[] hireDays, int[] empIds, String[] firstNames, String[] lastNames,
+                 int[] divisionCodes, int[] titleCodes, String[] divisions, String[] titles) {
+            this.hireDays = hireDays;
+            this.empIds = empIds;
+            this.firstNames = firstNames;
+            this.lastNames = lastNames;
+            this.divisionCodes = divisionCodes;
+            this.titleCodes = titleCodes;
+            this.divisions = divisions;
+            this.titles = titles;
+        }
+
+        int size() {
+            return hireDays.length;
+        }
+    }
+
+    private static final class Row {
+        final int hireDay;
+        final int empId;
+        final String firstName;
+        final String lastName;
+        final String division;
+        final String title;
+
+        Row(int hireDay, int empId, String firstName, String lastName, String division, String title) {
+            this.hireDay = hireDay;
+            this.empId = empId;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.division = division;
+            this.title = title;
+        }
+    }
+
+    private volatile Snapshot snapshot; // null until loaded
+
+    /** Shared index used by the default EmployeeDaoImpl. */
+    public static synchronized HireDateIndex getDefault() {
+        if (defaultIndex == null) {
+            defaultIndex = new HireDateIndex();
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Returns employees hired between {@code start} and {@code end} inclusive,
+     * ordered by hire date, or null if the index could not be loaded.
+     */
+    public EmployeeHireReport findByHireDate(LocalDate start, LocalDate end) {
+        Snapshot s = loaded();
+        if (s == null) return null;
+
+        int from = lowerBound(s.hireDays, (int) start.toEpochDay());
+        int to = lowerBound(s.hireDays, (int) end.toEpochDay() + 1);
+        List<EmployeeHireReport.HireEntry> hires = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            hires.add(new EmployeeHireReport.HireEntry(
+                s.empIds[i],
+                s.firstNames[i],
+                s.lastNames[i],
+                s.divisions[s.divisionCodes[i]],
+                s.titles[s.titleCodes[i]],
+                LocalDate.ofEpochDay(s.hireDays[i])
+            ));
+        }
+        return new EmployeeHireReport(start, end, hires);
+    }
+
+    /** Re-reads one employee's rows after a create or update. */
+    public synchronized void refreshEmployee(int empId) {
+        if (snapshot == null) return; // picked up by the initial load
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, SELECT_HIRES + "WHERE e.empid = ?", empId)) {
+            snapshot = rebuild(snapshot, empId, readRows(stmt));
+        } catch (SQLException e) {
+            // Drop the index rather than serve stale rows; it reloads on next use
+            logError(e);
+            snapshot = null;
+        }
+    }
+
+    /** Drops one employee's rows after a delete. */
+    public synchronized void removeEmployee(int empId) {
+        if (snapshot == null) return;
+        snapshot = rebuild(snapshot, empId, new ArrayList<>());
+    }
+
+    /** Discards the index; the next query reloads it. */
+    public synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    private Snapshot loaded() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snapshot == null) {
+                try (Connection conn = getConnection();
+                     PreparedStatement stmt = prepareStatement(conn, SELECT_HIRES)) {
+                    snapshot = rebuild(null, -1, readRows(stmt));
+                } catch (SQLException e) {
+                    logError(e);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private List<Row> readRows(PreparedStatement stmt) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                rows.add(new Row(
+                    (int) rs.getDate("hire_date").toLocalDate().toEpochDay(),
+                    rs.getInt("empid"),
+                    rs.getString("fname"),
+                    rs.getString("lname"),
+                    rs.getString("division_name"),
+                    rs.getString("job_title_name")
+                ));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Builds a new snapshot holding {@code old} without {@code replacedEmpId}'s rows,
+     * merged with {@code added}. Both inputs are in hire-date order, so this is one
+     * linear merge.
+     */
+    private static Snapshot rebuild(Snapshot old, int replacedEmpId, List<Row> added) {
+        added.sort(Comparator.comparingInt(r -> r.hireDay));
+
+        int oldSize = old == null ? 0 : old.size();
+        int capacity = oldSize + added.size();
+        int[] hireDays = new int[capacity];
+        int[] empIds = new int[capacity];
+        String[] firstNames = new String[capacity];
+        String[] lastNames = new String[capacity];
+        int[] divisionCodes = new int[capacity];
+        int[] titleCodes = new int[capacity];
+
+        NameDictionary divisions = new NameDictionary(old == null ? new String[0] : old.divisions);
+        NameDictionary titles = new NameDictionary(old == null ? new String[0] : old.titles);
+
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < oldSize || j < added.size()) {
+            if (i < oldSize && old.empIds[i] == replacedEmpId) {
+                i++;
+                continue;
+            }
+            boolean takeOld = j == added.size()
+                    || (i < oldSize && old.hireDays[i] <= added.get(j).hireDay);
+            if (takeOld) {
+                hireDays[n] = old.hireDays[i];
+                empIds[n] = old.empIds[i];
+                firstNames[n] = old.firstNames[i];
+                lastNames[n] = old.lastNames[i];
+                divisionCodes[n] = old.divisionCodes[i];
+                titleCodes[n] = old.titleCodes[i];
+                i++;
+            } else {
+                Row r = added.get(j++);
+                hireDays[n] = r.hireDay;
+                empIds[n] = r.empId;
+                firstNames[n] = r.firstName;
+                lastNames[n] = r.lastName;
+                divisionCodes[n] = divisions.code(r.division);
+                titleCodes[n] = titles.code(r.title);
+            }
+            n++;
+        }
+
+        return new Snapshot(Arrays.copyOf(hireDays, n), Arrays.copyOf(empIds, n),
+                            Arrays.copyOf(firstNames, n), Arrays.copyOf(lastNames, n),
+                            Arrays.copyOf(divisionCodes, n), Arrays.copyOf(titleCodes, n),
+                            divisions.names(), titles.names());
+    }
+
+    /** First index whose value is {@code >= key}. */
+    private static int lowerBound(int[] sorted, int key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("HireDateIndex error: " + e.getMessage());
+    }
+}
@@ -88,6 +88,8 @@ public class JobTitleDaoImpl extends AbstractDao implements JobTitleDao {
             stmt.setString(2, jobTitle.getDescription());
             stmt.setInt(3, jobTitle.getJobTitleId());
             stmt.executeUpdate();
+            HireDateIndex.getDefault().invalidate(); // job title names are cached there
+            OrgIntervalIndex.getDefault().invalidate();
             return jobTitle;
         } catch (SQLException e) {
             e.printStackTrace();
@@ -100,7 +102,10 @@ public class JobTitleDaoImpl extends AbstractDao implements JobTitleDao {
         String sql = "DELETE FROM job_titles WHERE job_title_id = ?";
         try (Connection conn = getConnection();
              PreparedStatement stmt = prepareStatement(conn, sql, jobTitleId)) {
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            HireDateIndex.getDefault().invalidate();
+            OrgIntervalIndex.getDefault().invalidate();
+            return deleted;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -0,0 +1,33 @@
+package com.companyz.ems.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only name dictionary for the in-memory indexes; existing codes never change.
+ */
+final class NameDictionary {
+    private final List<String> names;
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    NameDictionary(String[] existing) {
+        names = new ArrayList<>(Arrays.asList(existing));
+        for (int k = 0; k < existing.length; k++) {
+            codes.put(existing[k], k);
+        }
+    }
+
+    int code(String name) {
+        return codes.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+    }
+
+    String[] names() {
+        return names.toArray(new String[0]);
+    }
+}
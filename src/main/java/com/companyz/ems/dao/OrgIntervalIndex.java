@@ -0,0 +1,533 @@
+package com.companyz.ems.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.companyz.ems.model.report.HeadcountTrendReport;
+import com.companyz.ems.model.report.OrgSnapshotReport;
+import com.companyz.ems.model.report.TurnoverReport;
+
+/**
+ * In-memory index of the effective-dated division, job title and status rows,
+ * for "as of" queries over the organisation.
+ * <p>
+ * Each table is held as parallel arrays ordered by employee id, then by
+ * effective start. An employee's rows are contiguous, and an interval covers
+ * {@code [effective_start, effective_end)}. An open row ends at
+ * {@link #OPEN}. Names are dictionary-coded.
+ * <p>
+ * The index is loaded from the database on first use and kept current the
+ * same way as {@link HireDateIndex}. {@link EmployeeDaoImpl} calls
+ * {@link #refreshEmployee(int)} and {@link #removeEmployee(int)} after its
+ * writes. Readers use an immutable snapshot. Writers build a new snapshot
+ * under a lock and swap it in.
+ * </p>
+ */
+public class OrgIntervalIndex extends AbstractDao {
+
+    private static final String SELECT_DIVISIONS =
+        "SELECT ed.empid, d.name AS label, ed.effective_start, ed.effective_end " +
+        "FROM employee_division ed JOIN divisions d ON ed.divid = d.divid ";
+
+    private static final String SELECT_JOB_TITLES =
+        "SELECT ej.empid, j.job_title AS label, ej.effective_start, ej.effective_end " +
+        "FROM employee_job_title ej JOIN job_titles j ON ej.job_title_id = j.job_title_id ";
+
+    private static final String SELECT_STATUSES =
+        "SELECT es.empid, es.status AS label, es.effective_start, es.effective_end " +
+        "FROM employee_status es ";
+
+    // Statuses that count towards headcount; the rest are terminations
+    private static final Set<String> EMPLOYED = Set.of("ACTIVE", "ON_LEAVE", "PAID_LEAVE");
+
+    /** End day of a row that has not been closed. */
+    static final int OPEN = Integer.MAX_VALUE;
+
+    private static OrgIntervalIndex defaultIndex;
+
+    /** Immutable rows of one effective-dated table. */
+    private static final class Intervals {
+        static final Intervals EMPTY = new Intervals(new int[0], new int[0], new int[0], new int[0], new String[0]);
+
+        final int[] empIds;
+        final int[] starts;     // epoch days
+        final int[] ends;       // exclusive; OPEN if current
+        final int[] codes;
+        final String[] labels;  // dictionary: code -> name
+
+        Intervals(int[] empIds, int[] starts, int[] ends, int[] codes, String[] labels) {
+            this.empIds = empIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.codes = codes;
+            this.labels = labels;
+        }
+
+        int size() {
+            return empIds.length;
+        }
+
+        /** End (exclusive) of the block of rows for the employee at {@code from}. */
+        int blockEnd(int from) {
+            int k = from;
+            while (k < empIds.length && empIds[k] == empIds[from]) k++;
+            return k;
+        }
+
+        /** Code of the row in {@code [from, to)} covering {@code day}, or -1. */
+        int codeAt(int from, int to, int day) {
+            // Latest start first, so an overlapping newer row wins
+            for (int k = to - 1; k >= from; k--) {
+                if (starts[k] <= day && day < ends[k]) return codes[k];
+            }
+            return -1;
+        }
+
+        String label(int code) {
+            return code < 0 ? null : labels[code];
+        }
+    }
+
+    private static final class Snapshot {
+        final Intervals divisions;
+        final Intervals titles;
+        final Intervals statuses;
+
+        Snapshot(Intervals divisions, Intervals titles, Intervals statuses) {
+            this.divisions = divisions;
+            this.titles = titles;
+            this.statuses = statuses;
+        }
+    }
+
+    private static final class Row {
+        final int empId;
+        final int start;
+        final int end;
+        final String label;
+
+        Row(int empId, int start, int end, String label) {
+            this.empId = empId;
+            this.start = start;
+            this.end = end;
+            this.label = label;
+        }
+    }
+
+    private volatile Snapshot snapshot; // null until loaded
+    private volatile long version;
+
+    /** Shared index used by the default EmployeeDaoImpl and services. */
+    public static synchronized OrgIntervalIndex getDefault() {
+        if (defaultIndex == null) {
+            defaultIndex = new OrgIntervalIndex();
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Returns every employee with a division, job title or status row covering
+     * {@code date}, ordered by employee id, or null if the index could not be loaded.
+     */
+    public OrgSnapshotReport snapshotAsOf(LocalDate date) {
+        Snapshot s = loaded();
+        if (s == null) return null;
+
+        int day = (int) date.toEpochDay();
+        Intervals[] tables = { s.divisions, s.titles, s.statuses };
+        int[] pos = new int[3];
+        String[] labels = new String[3];
+        List<OrgSnapshotReport.Assignment> assignments = new ArrayList<>();
+
+        // Walk the three tables together; each is ordered by employee id
+        while (true) {
+            int empId = Integer.MAX_VALUE;
+            for (int t = 0; t < 3; t++) {
+                if (pos[t] < tables[t].size()) empId = Math.min(empId, tables[t].empIds[pos[t]]);
+            }
+            if (empId == Integer.MAX_VALUE) break;
+
+            boolean any = false;
+            for (int t = 0; t < 3; t++) {
+                Intervals table = tables[t];
+                labels[t] = null;
+                if (pos[t] < table.size() && table.empIds[pos[t]] == empId) {
+                    int end = table.blockEnd(pos[t]);
+                    labels[t] = table.label(table.codeAt(pos[t], end, day));
+                    any |= labels[t] != null;
+                    pos[t] = end;
+                }
+            }
+            if (any) {
+                assignments.add(new OrgSnapshotReport.Assignment(empId, labels[0], labels[1], labels[2]));
+            }
+        }
+        return new OrgSnapshotReport(date, assignments);
+    }
+
+    /**
+     * Counts employees per division on each of {@code dates} (ascending), or
+     * returns null if the index could not be loaded. An employee counts towards
+     * a division on a day when both their division row and an employed status
+     * row cover it.
+     * <p>
+     * Each employee's division and employed-status intervals are intersected
+     * once into start/end events. The events are sorted and swept together with
+     * the dates, so the cost does not grow with the number of dates beyond
+     * reading off the running counts.
+     */
+    public HeadcountTrendReport headcountByDivision(List<LocalDate> dates) {
+        Snapshot s = loaded();
+        if (s == null) return null;
+
+        Events events = new Events();
+        forEachEmployedSegment(s, (code, lo, hi, spellStart, spellEnd) -> {
+            events.add(lo, code, Events.ENTER);
+            if (hi != OPEN) events.add(hi, code, Events.LEAVE);
+        });
+        events.sort();
+
+        String[] divisions = s.divisions.labels;
+        int[] running = new int[divisions.length];
+        int[][] counts = new int[divisions.length][dates.size()];
+        int e = 0;
+        for (int d = 0; d < dates.size(); d++) {
+            int day = (int) dates.get(d).toEpochDay();
+            // An interval [lo, hi) covers day once lo <= day and until hi <= day
+            for (; e < events.size && events.day(e) <= day; e++) {
+                running[events.code(e)] += events.type(e) == Events.ENTER ? 1 : -1;
+            }
+            for (int c = 0; c < running.length; c++) {
+                counts[c][d] = running[c];
+            }
+        }
+
+        Map<String, int[]> byDivision = new TreeMap<>();
+        for (int c = 0; c < counts.length; c++) {
+            if (Arrays.stream(counts[c]).anyMatch(n -> n != 0)) {
+                byDivision.put(divisions[c], counts[c]);
+            }
+        }
+        return new HeadcountTrendReport(dates, byDivision);
+    }
+
+    /**
+     * Monthly headcount, hires, terminations and turnover per division from
+     * {@code from} to {@code to}, with the tenure distribution on the last day
+     * of {@code to} (or {@code today}, if earlier). Returns null if the index
+     * could not be loaded.
+     * <p>
+     * Adjacent employed statuses (active, on leave, paid leave) form one
+     * employment spell. A hire is the first day of a spell and a termination
+     * its last day; division transfers move headcount without counting as
+     * either. All months come from one sweep over the sorted events.
+     */
+    public TurnoverReport turnoverByDivision(YearMonth from, YearMonth to, LocalDate today) {
+        Snapshot s = loaded();
+        if (s == null) return null;
+
+        LocalDate lastDay = to.atEndOfMonth().isAfter(today) ? today : to.atEndOfMonth();
+        int tenureDay = (int) lastDay.toEpochDay();
+        String[] divisions = s.divisions.labels;
+        int[][] tenure = new int[divisions.length][TENURE_BAND_YEARS.length + 1];
+
+        Events events = new Events();
+        forEachEmployedSegment(s, (code, lo, hi, spellStart, spellEnd) -> {
+            events.add(lo, code, Events.ENTER);
+            if (hi != OPEN) events.add(hi, code, Events.LEAVE);
+            if (lo == spellStart) events.add(lo, code, Events.HIRE);
+            if (hi == spellEnd && hi != OPEN) events.add(hi - 1, code, Events.TERMINATION);
+            if (lo <= tenureDay && tenureDay < hi) {
+                int years = Period.between(LocalDate.ofEpochDay(spellStart), lastDay).getYears();
+                tenure[code][tenureBand(years)]++;
+            }
+        });
+        events.sort();
+
+        // Division codes in name order, so rows come out sorted
+        Integer[] byName = new Integer[divisions.length];
+        for (int c = 0; c < byName.length; c++) byName[c] = c;
+        Arrays.sort(byName, Comparator.comparing(c -> divisions[c]));
+
+        int[] running = new int[divisions.length];
+        List<TurnoverReport.DivisionMonth> months = new ArrayList<>();
+        int e = 0;
+        for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+            int first = (int) m.atDay(1).toEpochDay();
+            int last = (int) Math.min(m.atEndOfMonth().toEpochDay(), lastDay.toEpochDay());
+            int[] hires = new int[divisions.length];
+            int[] terminations = new int[divisions.length];
+
+            // Headcount on the first day, then the rest of the month
+            e = sweep(events, e, first, first, running, hires, terminations);
+            int[] start = running.clone();
+            e = sweep(events, e, last, first, running, hires, terminations);
+
+            for (int c : byName) {
+                if (start[c] != 0 || running[c] != 0 || hires[c] != 0 || terminations[c] != 0) {
+                    months.add(new TurnoverReport.DivisionMonth(m, divisions[c], start[c], running[c],
+                                                                hires[c], terminations[c]));
+                }
+            }
+        }
+
+        List<TurnoverReport.TenureEntry> tenureEntries = new ArrayList<>();
+        for (int c : byName) {
+            if (Arrays.stream(tenure[c]).anyMatch(n -> n != 0)) {
+                tenureEntries.add(new TurnoverReport.TenureEntry(divisions[c], tenure[c]));
+            }
+        }
+        return new TurnoverReport(from, to, months, lastDay, tenureEntries);
+    }
+
+    // Lower bounds, in completed years, of the tenure bands after the first
+    private static final int[] TENURE_BAND_YEARS = { 1, 3, 5, 10 };
+
+    private static int tenureBand(int years) {
+        int band = 0;
+        while (band < TENURE_BAND_YEARS.length && years >= TENURE_BAND_YEARS[band]) band++;
+        return band;
+    }
+
+    /**
+     * Applies events up to and including {@code day}. Hires and terminations on
+     * or after {@code countFrom} are counted; earlier ones fall before the period.
+     * Returns the index of the first event not applied.
+     */
+    private static int sweep(Events events, int e, int day, int countFrom,
+                             int[] running, int[] hires, int[] terminations) {
+        for (; e < events.size && events.day(e) <= day; e++) {
+            int code = events.code(e);
+            switch (events.type(e)) {
+                case Events.ENTER -> running[code]++;
+                case Events.LEAVE -> running[code]--;
+                case Events.HIRE -> { if (events.day(e) >= countFrom) hires[code]++; }
+                default -> { if (events.day(e) >= countFrom) terminations[code]++; }
+            }
+        }
+        return e;
+    }
+
+    /** Receives time an employee spent employed in one division. */
+    private interface SegmentVisitor {
+        /**
+         * @param divisionCode division dictionary code
+         * @param lo           first day in the division while employed
+         * @param hi           day after the last, or OPEN
+         * @param spellStart   first day of the enclosing employment spell
+         * @param spellEnd     day after the spell's last, or OPEN
+         */
+        void visit(int divisionCode, int lo, int hi, int spellStart, int spellEnd);
+    }
+
+    /**
+     * Intersects each employee's division rows with their employment spells.
+     * Both tables are ordered by employee, so this is one pass over each.
+     */
+    private static void forEachEmployedSegment(Snapshot s, SegmentVisitor visitor) {
+        Intervals div = s.divisions;
+        Intervals st = s.statuses;
+        int[] spellStarts = new int[4];
+        int[] spellEnds = new int[4];
+
+        int j = 0;
+        for (int i = 0; i < div.size(); ) {
+            int empId = div.empIds[i];
+            int iEnd = div.blockEnd(i);
+            while (j < st.size() && st.empIds[j] < empId) j++;
+            int jEnd = j < st.size() && st.empIds[j] == empId ? st.blockEnd(j) : j;
+
+            // Merge touching or overlapping employed rows into spells
+            int spells = 0;
+            for (int b = j; b < jEnd; b++) {
+                if (!EMPLOYED.contains(st.labels[st.codes[b]])) continue;
+                if (spells > 0 && st.starts[b] <= spellEnds[spells - 1]) {
+                    spellEnds[spells - 1] = Math.max(spellEnds[spells - 1], st.ends[b]);
+                    continue;
+                }
+                if (spells == spellStarts.length) {
+                    spellStarts = Arrays.copyOf(spellStarts, spells * 2);
+                    spellEnds = Arrays.copyOf(spellEnds, spells * 2);
+                }
+                spellStarts[spells] = st.starts[b];
+                spellEnds[spells++] = st.ends[b];
+            }
+
+            for (int a = i; a < iEnd; a++) {
+                for (int k = 0; k < spells; k++) {
+                    int lo = Math.max(div.starts[a], spellStarts[k]);
+                    int hi = Math.min(div.ends[a], spellEnds[k]);
+                    if (lo < hi) visitor.visit(div.codes[a], lo, hi, spellStarts[k], spellEnds[k]);
+                }
+            }
+            i = iEnd;
+            j = jEnd;
+        }
+    }
+
+    /** Growable buffer of (day, division code, type) events, sortable by day. */
+    private static final class Events {
+        static final int ENTER = 0;
+        static final int LEAVE = 1;
+        static final int HIRE = 2;
+        static final int TERMINATION = 3;
+
+        long[] items = new long[16];
+        int size;
+
+        // Day in the high half so events sort by day; code and type in the low half
+        void add(int day, int code, int type) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            items[size++] = ((long) day << 32) | ((long) code << 2) | type;
+        }
+
+        void sort() {
+            Arrays.sort(items, 0, size);
+        }
+
+        int day(int k) { return (int) (items[k] >> 32); }
+        int code(int k) { return (int) items[k] >>> 2; }
+        int type(int k) { return (int) items[k] & 3; }
+    }
+
+    /**
+     * Incremented on every write the index is told about, loaded or not, so
+     * callers caching results derived from it can tell when to drop them.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /** Re-reads one employee's rows after a create or update. */
+    public synchronized void refreshEmployee(int empId) {
+        version++;
+        if (snapshot == null) return; // picked up by the initial load
+        try (Connection conn = getConnection()) {
+            snapshot = new Snapshot(
+                rebuild(snapshot.divisions, empId, readRows(conn, SELECT_DIVISIONS + "WHERE ed.empid = ?", empId)),
+                rebuild(snapshot.titles, empId, readRows(conn, SELECT_JOB_TITLES + "WHERE ej.empid = ?", empId)),
+                rebuild(snapshot.statuses, empId, readRows(conn, SELECT_STATUSES + "WHERE es.empid = ?", empId)));
+        } catch (SQLException e) {
+            // Drop the index rather than serve stale rows; it reloads on next use
+            logError(e);
+            snapshot = null;
+        }
+    }
+
+    /** Drops one employee's rows after a delete. */
+    public synchronized void removeEmployee(int empId) {
+        version++;
+        if (snapshot == null) return;
+        snapshot = new Snapshot(rebuild(snapshot.divisions, empId, new ArrayList<>()),
+                                rebuild(snapshot.titles, empId, new ArrayList<>()),
+                                rebuild(snapshot.statuses, empId, new ArrayList<>()));
+    }
+
+    /** Discards the index; the next query reloads it. */
+    public synchronized void invalidate() {
+        version++;
+        snapshot = null;
+    }
+
+    private Snapshot loaded() {
+        Snapshot s = snapshot;
+        if (s != null) return s;
+        synchronized (this) {
+            if (snapshot == null) {
+                try (Connection conn = getConnection()) {
+                    snapshot = new Snapshot(
+                        rebuild(Intervals.EMPTY, -1, readRows(conn, SELECT_DIVISIONS)),
+                        rebuild(Intervals.EMPTY, -1, readRows(conn, SELECT_JOB_TITLES)),
+                        rebuild(Intervals.EMPTY, -1, readRows(conn, SELECT_STATUSES)));
+                } catch (SQLException e) {
+                    logError(e);
+                }
+            }
+            return snapshot;
+        }
+    }
+
+    private List<Row> readRows(Connection conn, String sql, Object... params) throws SQLException {
+        List<Row> rows = new ArrayList<>();
+        try (PreparedStatement stmt = prepareStatement(conn, sql, params);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Date end = rs.getDate("effective_end");
+                rows.add(new Row(
+                    rs.getInt("empid"),
+                    (int) rs.getDate("effective_start").toLocalDate().toEpochDay(),
+                    end != null ? (int) end.toLocalDate().toEpochDay() : OPEN,
+                    rs.getString("label")
+                ));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Builds new intervals holding {@code old} without {@code replacedEmpId}'s rows,
+     * merged with {@code added}. Both inputs are in (employee, start) order, so this
+     * is one linear merge.
+     */
+    private static Intervals rebuild(Intervals old, int replacedEmpId, List<Row> added) {
+        added.sort(Comparator.<Row>comparingInt(r -> r.empId).thenComparingInt(r -> r.start));
+
+        int capacity = old.size() + added.size();
+        int[] empIds = new int[capacity];
+        int[] starts = new int[capacity];
+        int[] ends = new int[capacity];
+        int[] codes = new int[capacity];
+        NameDictionary labels = new NameDictionary(old.labels);
+
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < old.size() || j < added.size()) {
+            if (i < old.size() && old.empIds[i] == replacedEmpId) {
+                i++;
+                continue;
+            }
+            boolean takeOld = j == added.size()
+                    || (i < old.size() && compare(old.empIds[i], old.starts[i], added.get(j)) <= 0);
+            if (takeOld) {
+                empIds[n] = old.empIds[i];
+                starts[n] = old.starts[i];
+                ends[n] = old.ends[i];
+                codes[n] = old.codes[i];
+                i++;
+            } else {
+                Row r = added.get(j++);
+                empIds[n] = r.empId;
+                starts[n] = r.start;
+                ends[n] = r.end;
+                codes[n] = labels.code(r.label);
+            }
+            n++;
+        }
+
+        return new Intervals(Arrays.copyOf(empIds, n), Arrays.copyOf(starts, n),
+                             Arrays.copyOf(ends, n), Arrays.copyOf(codes, n), labels.names());
+    }
+
+    private static int compare(int empId, int start, Row r) {
+        int c = Integer.compare(empId, r.empId);
+        return c != 0 ? c : Integer.compare(start, r.start);
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("OrgIntervalIndex error: " + e.getMessage());
+    }
+}
@@ -0,0 +1,307 @@
+package com.companyz.ems.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.export.PayrollColumn;
+import com.companyz.ems.export.PayrollColumnarReader;
+import com.companyz.ems.export.PayrollColumnarWriter;
+import com.companyz.ems.model.Payroll;
+
+/**
+ * Cold storage tier for payroll rows of closed years.
+ * <p>
+ * Each archived payroll-run year lives in one compressed columnar segment
+ * ({@code payroll-YYYY.seg}) under {@code payroll.archive.dir}. Segments are
+ * immutable; readers keep only the footer index in memory and map column
+ * chunks on demand. {@link PayrollDaoImpl} merges these rows into its
+ * reporting queries so callers never see the split.
+ * </p>
+ * <p>
+ * The open segments form a reference-counted snapshot. Each scan holds the
+ * snapshot it started on, and {@link #refresh()} closes a replaced snapshot's
+ * readers only once its last scan has finished.
+ * </p>
+ */
+public class PayrollArchive {
+    private static final String SEGMENT_PREFIX = "payroll-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int SEGMENT_ROW_GROUP_SIZE = 16_384;
+
+    private static final PayrollColumn[] ALL_COLUMNS = PayrollColumn.values();
+    private static final PayrollColumn[] EMPID_DATE_NET_PAY =
+        { PayrollColumn.EMPID, PayrollColumn.PAY_DATE, PayrollColumn.NET_PAY };
+
+    private static PayrollArchive defaultArchive;
+
+    private final Path directory;
+    private volatile Snapshot current = new Snapshot(Collections.emptyList());
+
+    public PayrollArchive(Path directory) {
+        this.directory = directory;
+        refresh();
+    }
+
+    /** Shared archive rooted at {@code payroll.archive.dir}. */
+    public static synchronized PayrollArchive getDefault() {
+        if (defaultArchive == null) {
+            defaultArchive = new PayrollArchive(Paths.get(AppConfig.get("payroll.archive.dir")));
+        }
+        return defaultArchive;
+    }
+
+    /**
+     * Re-reads the segment catalog from disk.
+     */
+    public synchronized void refresh() {
+        List<Segment> loaded = new ArrayList<>();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                    SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    // One unreadable segment must not hide the others
+                    try {
+                        String name = file.getFileName().toString();
+                        int year = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(),
+                                name.length() - SEGMENT_SUFFIX.length()));
+                        loaded.add(new Segment(year, new PayrollColumnarReader(file)));
+                    } catch (IOException | NumberFormatException e) {
+                        System.err.println("PayrollArchive error: " + e.getMessage());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("PayrollArchive error: " + e.getMessage());
+            }
+        }
+        Snapshot old = current;
+        current = new Snapshot(Collections.unmodifiableList(loaded));
+        old.release(); // closes its readers now, or when its last scan ends
+    }
+
+    private Path segmentPath(int runYear) {
+        return directory.resolve(SEGMENT_PREFIX + runYear + SEGMENT_SUFFIX);
+    }
+
+    /** Pins the current snapshot; the caller must {@link Snapshot#release()} it. */
+    private Snapshot acquire() {
+        while (true) {
+            Snapshot s = current;
+            if (s.retain()) return s;
+            // replaced and closed between the read and the retain; take the new one
+        }
+    }
+
+    /**
+     * Returns true if a segment file exists for the given payroll-run year,
+     * even one {@link #refresh()} could not open.
+     */
+    public boolean isArchived(int runYear) {
+        return Files.exists(segmentPath(runYear));
+    }
+
+    /** Returns true if any archived row may have a pay date in [start, end]. */
+    public boolean overlaps(LocalDate start, LocalDate end) {
+        for (Segment s : current.segments) {
+            if (s.overlaps(start, end)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Writes a segment for one payroll-run year from a row source.
+     * The segment is written to a temporary file and atomically renamed,
+     * so readers never observe a partial segment. An existing segment is
+     * never replaced: its rows may already be gone from the payroll table.
+     *
+     * @param runYear payroll-run year being archived
+     * @param source feeds every row of the year to the given writer callback
+     * @return number of rows archived
+     * @throws IOException if the year is already archived or the segment cannot be written
+     */
+    public synchronized long writeSegment(int runYear, SegmentSource source) throws IOException {
+        Files.createDirectories(directory);
+        Path target = segmentPath(runYear);
+        if (Files.exists(target)) {
+            throw new IOException("Payroll year " + runYear + " is already archived in " + target.getFileName());
+        }
+        Path tmp = directory.resolve(SEGMENT_PREFIX + runYear + SEGMENT_SUFFIX + ".tmp");
+        long rows;
+        try (PayrollColumnarWriter writer = new PayrollColumnarWriter(tmp, SEGMENT_ROW_GROUP_SIZE, true)) {
+            source.feed(payroll -> {
+                try {
+                    writer.write(payroll);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rows = writer.getRowCount();
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(tmp);
+            throw e.getCause();
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        refresh();
+        return rows;
+    }
+
+    /**
+     * Reads the payids stored in a year's segment back from disk (empty if
+     * not archived).
+     *
+     * @throws IOException if the segment exists but cannot be read
+     */
+    public int[] payIds(int runYear) throws IOException {
+        Path file = segmentPath(runYear);
+        if (!Files.exists(file)) return new int[0];
+        try (PayrollColumnarReader reader = new PayrollColumnarReader(file)) {
+            if (reader.getMinPayDate() == null) return new int[0];
+            int[] ids = new int[(int) reader.getRowCount()];
+            int[] n = new int[1];
+            reader.scan(PayrollColumn.PAYID, reader.getMinPayDate(), reader.getMaxPayDate(),
+                        id -> ids[n[0]++] = (int) id);
+            if (n[0] != ids.length) {
+                throw new IOException("Segment " + file.getFileName() + " holds " + n[0]
+                                      + " of its " + ids.length + " rows");
+            }
+            return ids;
+        }
+    }
+
+    /**
+     * Sums archived net pay for rows paid in [start, end] that the filter accepts.
+     *
+     * @throws IOException if a segment cannot be read; no partial sum is returned
+     */
+    public double sumNetPay(LocalDate start, LocalDate end, RowFilter filter) throws IOException {
+        long[] cents = new long[1];
+        Snapshot snapshot = acquire();
+        try {
+            for (Segment s : snapshot.segments) {
+                if (!s.overlaps(start, end)) continue;
+                s.reader.scanRows(EMPID_DATE_NET_PAY, start, end, row -> {
+                    if (filter.test((int) row[0], row[1])) cents[0] += row[2];
+                });
+            }
+        } finally {
+            snapshot.release();
+        }
+        return PayrollColumn.NET_PAY.toValue(cents[0]);
+    }
+
+    /**
+     * Returns all archived payroll rows of one employee. Segments and row
+     * groups outside the employee's empid range are skipped unread.
+     */
+    public List<Payroll> findByEmployee(int empId) {
+        List<Payroll> payrolls = new ArrayList<>();
+        Snapshot snapshot = acquire();
+        try {
+            for (Segment s : snapshot.segments) {
+                if (empId < s.minEmpId || empId > s.maxEmpId) continue;
+                try {
+                    s.reader.scanEmployee(empId, ALL_COLUMNS, row -> payrolls.add(toPayroll(row)));
+                } catch (IOException e) {
+                    System.err.println("PayrollArchive error: " + e.getMessage());
+                }
+            }
+        } finally {
+            snapshot.release();
+        }
+        return payrolls;
+    }
+
+    private static Payroll toPayroll(long[] row) {
+        Payroll p = new Payroll();
+        p.setPayrollId((int) row[PayrollColumn.PAYID.ordinal()]);
+        p.setPayrollRunId((int) row[PayrollColumn.PAYROLL_RUN_ID.ordinal()]);
+        p.setEmpId((int) row[PayrollColumn.EMPID.ordinal()]);
+        p.setPayDate(LocalDate.ofEpochDay(row[PayrollColumn.PAY_DATE.ordinal()]));
+        p.setEarnings(PayrollColumn.EARNINGS.toValue(row[PayrollColumn.EARNINGS.ordinal()]));
+        p.setFedTax(PayrollColumn.FED_TAX.toValue(row[PayrollColumn.FED_TAX.ordinal()]));
+        p.setFedMed(PayrollColumn.FED_MED.toValue(row[PayrollColumn.FED_MED.ordinal()]));
+        p.setFedSs(PayrollColumn.FED_SS.toValue(row[PayrollColumn.FED_SS.ordinal()]));
+        p.setStateTax(PayrollColumn.STATE_TAX.toValue(row[PayrollColumn.STATE_TAX.ordinal()]));
+        p.setRetire401k(PayrollColumn.RETIRE_401K.toValue(row[PayrollColumn.RETIRE_401K.ordinal()]));
+        p.setHealthCare(PayrollColumn.HEALTH_CARE.toValue(row[PayrollColumn.HEALTH_CARE.ordinal()]));
+        p.setNetPay(PayrollColumn.NET_PAY.toValue(row[PayrollColumn.NET_PAY.ordinal()]));
+        return p;
+    }
+
+    /** Picks archived rows by employee and pay date (epoch day). */
+    @FunctionalInterface
+    public interface RowFilter {
+        RowFilter ALL = (empId, payDay) -> true;
+
+        boolean test(int empId, long payDay);
+    }
+
+    /** Supplies the rows of a segment being written. */
+    @FunctionalInterface
+    public interface SegmentSource {
+        void feed(Consumer<Payroll> sink) throws IOException;
+    }
+
+    /** The segments open at one point in time, closed when no scan holds them. */
+    private static class Snapshot {
+        final List<Segment> segments;
+        private final AtomicInteger refs = new AtomicInteger(1); // the archive's own reference
+
+        Snapshot(List<Segment> segments) {
+            this.segments = segments;
+        }
+
+        /** Returns false if the snapshot has already been closed. */
+        boolean retain() {
+            while (true) {
+                int n = refs.get();
+                if (n == 0) return false;
+                if (refs.compareAndSet(n, n + 1)) return true;
+            }
+        }
+
+        void release() {
+            if (refs.decrementAndGet() != 0) return;
+            for (Segment s : segments) {
+                try {
+                    s.reader.close();
+                } catch (IOException ignored) {
+                    // segment is being replaced
+                }
+            }
+        }
+    }
+
+    private static class Segment {
+        final int runYear;
+        final PayrollColumnarReader reader;
+        final LocalDate minPayDate;
+        final LocalDate maxPayDate;
+        final int minEmpId;
+        final int maxEmpId;
+
+        Segment(int runYear, PayrollColumnarReader reader) {
+            this.runYear = runYear;
+            this.reader = reader;
+            this.minPayDate = reader.getMinPayDate();
+            this.maxPayDate = reader.getMaxPayDate();
+            this.minEmpId = reader.getMinEmpId();
+            this.maxEmpId = reader.getMaxEmpId();
+        }
+
+        boolean overlaps(LocalDate start, LocalDate end) {
+            return minPayDate != null && !maxPayDate.isBefore(start) && !minPayDate.isAfter(end);
+        }
+    }
+}
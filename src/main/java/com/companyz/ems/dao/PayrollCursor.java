@@ -0,0 +1,72 @@
+package com.companyz.ems.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import com.companyz.ems.model.Payroll;
+
+/**
+ * Forward-only, pull-style cursor over payroll rows.
+ * <p>
+ * Holds its own connection so several cursors can be advanced side by side
+ * (e.g. to merge two ordered runs). Must be closed by the caller.
+ * </p>
+ */
+public class PayrollCursor implements AutoCloseable {
+    private final Connection conn;
+    private final PreparedStatement stmt;
+    private final ResultSet rs;
+    private final RowMapper mapper;
+    private Payroll current;
+
+    PayrollCursor(Connection conn, PreparedStatement stmt, ResultSet rs, RowMapper mapper) {
+        this.conn = conn;
+        this.stmt = stmt;
+        this.rs = rs;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Advances to the next row.
+     *
+     * @return false when the cursor is exhausted
+     * @throws SQLException if reading the next row fails
+     */
+    public boolean next() throws SQLException {
+        if (rs.next()) {
+            current = mapper.map(rs);
+            return true;
+        }
+        current = null;
+        return false;
+    }
+
+    /** Returns the row the cursor is positioned on, or {@code null}. */
+    public Payroll get() {
+        return current;
+    }
+
+    /** Maps the current result row to a Payroll. */
+    @FunctionalInterface
+    interface RowMapper {
+        Payroll map(ResultSet rs) throws SQLException;
+    }
+
+    @Override
+    public void close() {
+        try {
+            rs.close();
+            stmt.close();
+        } catch (SQLException e) {
+            System.err.println("PayrollCursor close error: " + e.getMessage());
+        } finally {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // connection already gone
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.companyz.ems.dao;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.companyz.ems.model.Payroll;
 import com.companyz.ems.model.report.DivisionMonthlyPayReport;
@@ -13,11 +15,33 @@ public interface PayrollDao {
     Optional<Payroll> findById(int payrollId);
     List<Payroll> findAll();
     Payroll createPayroll(Payroll payroll);
+    BatchResult createPayrolls(List<Payroll> payrolls); // batched insert in chunked transactions; sets generated IDs of committed rows
     Payroll updatePayroll(Payroll payroll);
     boolean deletePayroll(int payrollId);
 
-    // --- Reporting methods ---
+    // --- Streaming ---
+    /**
+     * Streams payroll rows with pay dates in [startDate, endDate] to the sink,
+     * ordered by pay date, straight from a forward-only cursor.
+     * Rows are never collected, so any range can be read with flat memory.
+     * @return number of rows streamed, or -1 if the query failed
+     */
+    long streamPayrolls(LocalDate startDate, LocalDate endDate, Consumer<Payroll> sink);
+
+    /**
+     * Opens a streaming cursor over one payroll run ordered by empid, then payid.
+     * The caller must close the cursor.
+     */
+    PayrollCursor openRunCursor(int payrollRunId);
+
+    // --- Archiving (see PayrollArchive) ---
+    List<Integer> findRunYearsUpTo(int lastYear); // run years with rows still in the hot table
+    long streamPayrollsByRunYear(int runYear, Consumer<Payroll> sink); // -1 on failure
+    int deletePayrolls(int[] payIds); // chunked; returns rows deleted
+
+    // --- Reporting methods (merge hot and archived rows) ---
     EmployeePayrollReport getPayrollsByEmployee(int empId);
+    // Pay totals merge hot rows with the archive; null if either could not be read
     DivisionMonthlyPayReport getTotalPayByDivision(int divisionId, int month, int year);
     JobTitleMonthlyPayReport getTotalPayByJobTitle(int jobTitleId, int month, int year);
 }
@@ -1,15 +1,22 @@
 package com.companyz.ems.dao;
 
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.companyz.ems.config.AppConfig;
 import com.companyz.ems.model.Payroll;
 import com.companyz.ems.model.report.DivisionMonthlyPayReport;
 import com.companyz.ems.model.report.EmployeePayrollReport;
@@ -17,6 +24,25 @@ import com.companyz.ems.model.report.JobTitleMonthlyPayReport;
 
 public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
 
+    private static final String INSERT_PAYROLL =
+        "INSERT INTO payroll (payroll_run_id, empid, pay_date, earnings, " +
+        "fed_tax, fed_med, fed_ss, state_tax, retire_401k, health_care, net_pay, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())";
+
+    // Rows per executeBatch/commit; with rewriteBatchedStatements=true on db.url
+    // the driver sends each chunk as multi-row INSERT statements.
+    private final int batchSize = AppConfig.getInt("db.batch.size");
+
+    private final PayrollArchive archive;
+
+    public PayrollDaoImpl(PayrollArchive archive) {
+        this.archive = archive;
+    }
+
+    public PayrollDaoImpl() {
+        this(PayrollArchive.getDefault());
+    }
+
     // --- CRUD ---
 
     @Override
@@ -52,22 +78,9 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
 
     @Override
     public Payroll createPayroll(Payroll payroll) {
-        String sql = "INSERT INTO payroll (payroll_run_id, empid, pay_date, earnings, " +
-                     "fed_tax, fed_med, fed_ss, state_tax, retire_401k, health_care, net_pay, created_at) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())";
         try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            stmt.setInt(1, payroll.getPayrollId()); // adjust if payroll_run_id is separate
-            stmt.setInt(2, payroll.getEmpId());
-            stmt.setDate(3, Date.valueOf(payroll.getPayDate()));
-            stmt.setDouble(4, payroll.getEarnings());
-            stmt.setDouble(5, payroll.getFedTax());
-            stmt.setDouble(6, payroll.getFedMed());
-            stmt.setDouble(7, payroll.getFedSs());
-            stmt.setDouble(8, payroll.getStateTax());
-            stmt.setDouble(9, payroll.getRetire401k());
-            stmt.setDouble(10, payroll.getHealthCare());
-            stmt.setDouble(11, payroll.getNetPay());
+             PreparedStatement stmt = conn.prepareStatement(INSERT_PAYROLL, Statement.RETURN_GENERATED_KEYS)) {
+            bindInsert(stmt, payroll);
 
             stmt.executeUpdate();
             try (ResultSet keys = stmt.getGeneratedKeys()) {
@@ -82,6 +95,62 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
         }
     }
 
+    @Override
+    public BatchResult createPayrolls(List<Payroll> payrolls) {
+        BatchResult.Builder result = new BatchResult.Builder();
+        int from = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_PAYROLL, Statement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+
+            // Each chunk is its own transaction so one bad row only rolls back its chunk
+            for (; from < payrolls.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, payrolls.size());
+                List<Payroll> chunk = payrolls.subList(from, to);
+                try {
+                    for (Payroll payroll : chunk) {
+                        bindInsert(stmt, payroll);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    // Generated keys come back in insertion order for the whole batch
+                    int[] ids = new int[chunk.size()];
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < ids.length) {
+                            ids[i++] = keys.getInt(1);
+                        }
+                    }
+                    conn.commit();
+                    for (int i = 0; i < ids.length; i++) {
+                        chunk.get(i).setPayrollId(ids[i]);
+                    }
+                    result.committed(chunk.size());
+                } catch (SQLException e) {
+                    logError(e);
+                    result.failed(from, to, e);
+                    try {
+                        stmt.clearBatch();
+                        conn.rollback();
+                    } catch (SQLException rollbackError) {
+                        // The connection is unusable; the remaining chunks are not sent
+                        e.addSuppressed(rollbackError);
+                        result.notSent(to, payrolls.size());
+                        from = payrolls.size();
+                        break;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logError(e);
+            if (from < payrolls.size()) {
+                result.failed(from, payrolls.size(), e);
+            }
+        }
+        return result.build();
+    }
+
     @Override
     public Payroll updatePayroll(Payroll payroll) {
         String sql = "UPDATE payroll SET empid = ?, pay_date = ?, earnings = ?, fed_tax = ?, " +
@@ -121,18 +190,135 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
         }
     }
 
+    // --- Streaming ---
+    @Override
+    public long streamPayrolls(LocalDate startDate, LocalDate endDate, Consumer<Payroll> sink) {
+        String sql = "SELECT * FROM payroll WHERE pay_date BETWEEN ? AND ? ORDER BY pay_date, payid";
+        long count = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Connector/J streams row by row instead of buffering the full result
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setDate(1, Date.valueOf(startDate));
+            stmt.setDate(2, Date.valueOf(endDate));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(mapPayroll(rs));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return -1;
+        }
+        return count;
+    }
+
+    @Override
+    public PayrollCursor openRunCursor(int payrollRunId) {
+        String sql = "SELECT * FROM payroll WHERE payroll_run_id = ? ORDER BY empid, payid";
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            PreparedStatement stmt = conn.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setInt(1, payrollRunId);
+            return new PayrollCursor(conn, stmt, stmt.executeQuery(), this::mapPayroll);
+        } catch (SQLException e) {
+            logError(e);
+            if (conn != null) {
+                try {
+                    conn.close();
+                } catch (SQLException ignored) {
+                    // already failing
+                }
+            }
+            throw new IllegalStateException("Failed to open payroll run " + payrollRunId, e);
+        }
+    }
+
+    // --- Archiving ---
+    @Override
+    public List<Integer> findRunYearsUpTo(int lastYear) {
+        List<Integer> years = new ArrayList<>();
+        String sql = "SELECT DISTINCT r.run_year FROM payroll_runs r " +
+                     "WHERE r.run_year <= ? " +
+                     "AND EXISTS (SELECT 1 FROM payroll p WHERE p.payroll_run_id = r.payroll_run_id) " +
+                     "ORDER BY r.run_year";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, lastYear);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                years.add(rs.getInt("run_year"));
+            }
+        } catch (SQLException e) {
+            logError(e);
+        }
+        return years;
+    }
+
+    @Override
+    public long streamPayrollsByRunYear(int runYear, Consumer<Payroll> sink) {
+        String sql = "SELECT p.* FROM payroll p " +
+                     "JOIN payroll_runs r ON p.payroll_run_id = r.payroll_run_id " +
+                     "WHERE r.run_year = ? ORDER BY p.pay_date, p.payid";
+        long count = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            stmt.setInt(1, runYear);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    sink.accept(mapPayroll(rs));
+                    count++;
+                }
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return -1;
+        }
+        return count;
+    }
+
+    @Override
+    public int deletePayrolls(int[] payIds) {
+        int deleted = 0;
+        try (Connection conn = getConnection()) {
+            for (int from = 0; from < payIds.length; from += batchSize) {
+                int to = Math.min(from + batchSize, payIds.length);
+                StringBuilder sql = new StringBuilder("DELETE FROM payroll WHERE payid IN (");
+                for (int i = from; i < to; i++) {
+                    sql.append(i == from ? "?" : ",?");
+                }
+                sql.append(')');
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    for (int i = from; i < to; i++) {
+                        stmt.setInt(i - from + 1, payIds[i]);
+                    }
+                    deleted += stmt.executeUpdate();
+                }
+            }
+        } catch (SQLException e) {
+            logError(e);
+        }
+        return deleted;
+    }
+
     // --- Reporting methods ---
     @Override
     public EmployeePayrollReport getPayrollsByEmployee(int empId) {
         List<Payroll> payrolls = new ArrayList<>();
         String sql = "SELECT e.fname, e.lname, d.name AS division_name, j.job_title AS job_title_name, " +
-                    "p.payid, p.empid, p.pay_date, p.earnings, p.fed_tax, p.fed_med, p.fed_ss, " +
+                    "p.payid, p.payroll_run_id, p.empid, p.pay_date, p.earnings, p.fed_tax, p.fed_med, p.fed_ss, " +
                     "p.state_tax, p.retire_401k, p.health_care, p.net_pay " +
                     "FROM payroll p " +
                     "JOIN employees e ON p.empid = e.empid " +
-                    "JOIN employee_division ed ON e.empid = ed.empid " +
+                    "JOIN employee_division ed ON e.empid = ed.empid AND ed.effective_end IS NULL " +
                     "JOIN divisions d ON ed.divid = d.divid " +
-                    "JOIN employee_job_title ej ON e.empid = ej.empid " +
+                    "JOIN employee_job_title ej ON e.empid = ej.empid AND ej.effective_end IS NULL " +
                     "JOIN job_titles j ON ej.job_title_id = j.job_title_id " +
                     "WHERE p.empid = ? ORDER BY p.pay_date DESC";
 
@@ -153,6 +339,33 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
         } catch (SQLException e) {
             logError(e);
         }
+
+        List<Payroll> archived = archive.findByEmployee(empId);
+        if (!archived.isEmpty()) {
+            payrolls.addAll(archived);
+            payrolls.sort(Comparator.comparing(Payroll::getPayDate).reversed());
+            if (firstName == null) { // no hot rows; read the header on its own
+                String headerSql = "SELECT e.fname, e.lname, d.name AS division_name, j.job_title AS job_title_name " +
+                                   "FROM employees e " +
+                                   "LEFT JOIN employee_division ed ON e.empid = ed.empid AND ed.effective_end IS NULL " +
+                                   "LEFT JOIN divisions d ON ed.divid = d.divid " +
+                                   "LEFT JOIN employee_job_title ej ON e.empid = ej.empid AND ej.effective_end IS NULL " +
+                                   "LEFT JOIN job_titles j ON ej.job_title_id = j.job_title_id " +
+                                   "WHERE e.empid = ?";
+                try (Connection conn = getConnection();
+                     PreparedStatement stmt = prepareStatement(conn, headerSql, empId);
+                     ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        firstName = rs.getString("fname");
+                        lastName = rs.getString("lname");
+                        divisionName = rs.getString("division_name");
+                        jobTitleName = rs.getString("job_title_name");
+                    }
+                } catch (SQLException e) {
+                    logError(e);
+                }
+            }
+        }
         return new EmployeePayrollReport(empId, firstName, lastName, divisionName, jobTitleName, payrolls);
     }
 
@@ -162,6 +375,7 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
         String sql = "SELECT d.name AS division_name, SUM(p.net_pay) AS total " +
                     "FROM payroll p " +
                     "JOIN employee_division ed ON p.empid = ed.empid " +
+                    "AND ed.effective_start <= p.pay_date AND (ed.effective_end IS NULL OR ed.effective_end > p.pay_date) " +
                     "JOIN divisions d ON ed.divid = d.divid " +
                     "WHERE d.divid = ? AND MONTH(p.pay_date) = ? AND YEAR(p.pay_date) = ? " +
                     "GROUP BY d.name";
@@ -176,6 +390,27 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
             }
         } catch (SQLException e) {
             logError(e);
+            return null; // a zero total would look like a real result, and closed months are cached
+        }
+
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+        if (archive.overlaps(start, end)) {
+            String memberSql = "SELECT d.name, ed.empid, ed.effective_start, ed.effective_end FROM divisions d " +
+                               "LEFT JOIN employee_division ed ON d.divid = ed.divid " +
+                               "AND ed.effective_start <= ? AND (ed.effective_end IS NULL OR ed.effective_end > ?) " +
+                               "WHERE d.divid = ?";
+            try {
+                Assignments members = loadAssignments(memberSql, divisionId, start, end);
+                if (members.name != null) divisionName = members.name;
+                total += archive.sumNetPay(start, end, members::covers);
+            } catch (SQLException e) {
+                logError(e);
+                return null;
+            } catch (IOException e) {
+                System.err.println("PayrollArchive error: " + e.getMessage());
+                return null;
+            }
         }
         return new DivisionMonthlyPayReport(divisionId, divisionName, month, year, total);
     }
@@ -186,6 +421,7 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
         String sql = "SELECT j.job_title AS job_title_name, SUM(p.net_pay) AS total " +
                     "FROM payroll p " +
                     "JOIN employee_job_title ej ON p.empid = ej.empid " +
+                    "AND ej.effective_start <= p.pay_date AND (ej.effective_end IS NULL OR ej.effective_end > p.pay_date) " +
                     "JOIN job_titles j ON ej.job_title_id = j.job_title_id " +
                     "WHERE j.job_title_id = ? AND MONTH(p.pay_date) = ? AND YEAR(p.pay_date) = ? " +
                     "GROUP BY j.job_title";
@@ -200,15 +436,90 @@ public class PayrollDaoImpl extends AbstractDao implements PayrollDao {
             }
         } catch (SQLException e) {
             logError(e);
+            return null;
+        }
+
+        LocalDate start = LocalDate.of(year, month, 1);
+        LocalDate end = start.withDayOfMonth(start.lengthOfMonth());
+        if (archive.overlaps(start, end)) {
+            String memberSql = "SELECT j.job_title AS name, ej.empid, ej.effective_start, ej.effective_end " +
+                               "FROM job_titles j " +
+                               "LEFT JOIN employee_job_title ej ON j.job_title_id = ej.job_title_id " +
+                               "AND ej.effective_start <= ? AND (ej.effective_end IS NULL OR ej.effective_end > ?) " +
+                               "WHERE j.job_title_id = ?";
+            try {
+                Assignments members = loadAssignments(memberSql, jobTitleId, start, end);
+                if (members.name != null) jobTitleName = members.name;
+                total += archive.sumNetPay(start, end, members::covers);
+            } catch (SQLException e) {
+                logError(e);
+                return null;
+            } catch (IOException e) {
+                System.err.println("PayrollArchive error: " + e.getMessage());
+                return null;
+            }
         }
         return new JobTitleMonthlyPayReport(jobTitleId, jobTitleName, month, year, total);
     }
 
 
+    /**
+     * Assignment rows of one division or job title that overlap a month, so
+     * archived pay is counted by the assignment in effect on its pay date,
+     * as the hot-table query does.
+     */
+    private static final class Assignments {
+        String name;
+        private final Map<Integer, List<long[]>> intervals = new HashMap<>(); // [start, end) epoch days
+
+        boolean covers(int empId, long payDay) {
+            List<long[]> rows = intervals.get(empId);
+            if (rows == null) return false;
+            for (long[] row : rows) {
+                if (row[0] <= payDay && payDay < row[1]) return true;
+            }
+            return false;
+        }
+    }
+
+    /** Runs a member query bound to (end, start, id) with columns name, empid, effective_start, effective_end. */
+    private Assignments loadAssignments(String sql, int id, LocalDate start, LocalDate end) throws SQLException {
+        Assignments assignments = new Assignments();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, Date.valueOf(end), Date.valueOf(start), id);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                assignments.name = rs.getString("name");
+                Date from = rs.getDate("effective_start");
+                if (from == null) continue; // no member overlaps the month
+                Date to = rs.getDate("effective_end");
+                assignments.intervals.computeIfAbsent(rs.getInt("empid"), k -> new ArrayList<>())
+                        .add(new long[] { from.toLocalDate().toEpochDay(),
+                                          to == null ? Long.MAX_VALUE : to.toLocalDate().toEpochDay() });
+            }
+        }
+        return assignments;
+    }
+
     // --- Helper mapping ---
+    private void bindInsert(PreparedStatement stmt, Payroll payroll) throws SQLException {
+        stmt.setInt(1, payroll.getPayrollRunId());
+        stmt.setInt(2, payroll.getEmpId());
+        stmt.setDate(3, Date.valueOf(payroll.getPayDate()));
+        stmt.setDouble(4, payroll.getEarnings());
+        stmt.setDouble(5, payroll.getFedTax());
+        stmt.setDouble(6, payroll.getFedMed());
+        stmt.setDouble(7, payroll.getFedSs());
+        stmt.setDouble(8, payroll.getStateTax());
+        stmt.setDouble(9, payroll.getRetire401k());
+        stmt.setDouble(10, payroll.getHealthCare());
+        stmt.setDouble(11, payroll.getNetPay());
+    }
+
     private Payroll mapPayroll(ResultSet rs) throws SQLException {
         Payroll p = new Payroll();
         p.setPayrollId(rs.getInt("payid"));
+        p.setPayrollRunId(rs.getInt("payroll_run_id"));
         p.setEmpId(rs.getInt("empid"));
         p.setPayDate(rs.getDate("pay_date").toLocalDate());
         p.setEarnings(rs.getDouble("earnings"));
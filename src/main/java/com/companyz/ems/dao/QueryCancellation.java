@@ -0,0 +1,70 @@
+package com.companyz.ems.dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Cancellation token for the JDBC statements run by one background task.
+ * <p>
+ * While {@link #runWith(QueryCancellation, Supplier)} is active, every statement
+ * prepared through {@link AbstractDao} on that thread is registered with the token.
+ * {@link #cancel()} then calls {@link Statement#cancel()} on them, so the
+ * running query is stopped on the server instead of running to completion.
+ */
+public final class QueryCancellation {
+
+    private static final ThreadLocal<QueryCancellation> CURRENT = new ThreadLocal<>();
+
+    private final List<Statement> statements = new CopyOnWriteArrayList<>();
+    private volatile boolean cancelled;
+
+    /** Runs {@code work} on the calling thread with {@code token} bound to it. */
+    public static <T> T runWith(QueryCancellation token, Supplier<T> work) {
+        QueryCancellation previous = CURRENT.get();
+        CURRENT.set(token);
+        try {
+            return work.get();
+        } finally {
+            CURRENT.set(previous);
+        }
+    }
+
+    /** True when the calling thread's task has been cancelled. */
+    public static boolean isCurrentCancelled() {
+        QueryCancellation token = CURRENT.get();
+        return token != null && token.cancelled;
+    }
+
+    /**
+     * Registers a statement with the calling thread's token, if any.
+     *
+     * @throws SQLException if the task was already cancelled, so the query is never sent
+     */
+    static void register(Statement stmt) throws SQLException {
+        QueryCancellation token = CURRENT.get();
+        if (token == null) return;
+        token.statements.add(stmt);
+        if (token.cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (Statement stmt : statements) {
+            try {
+                stmt.cancel();
+            } catch (SQLException e) {
+                // Statement already finished or closed
+            }
+        }
+        statements.clear();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
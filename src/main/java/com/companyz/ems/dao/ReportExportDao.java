@@ -0,0 +1,28 @@
+package com.companyz.ems.dao;
+
+import java.time.LocalDate;
+
+/**
+ * DAO contract for report exports.
+ * Each method streams a report's rows from a forward-only cursor into the sink
+ * without mapping them to DTOs, and returns the number of rows, or -1 on a
+ * database error. Payroll archived to {@link PayrollArchive} segments is
+ * included for the per-employee history only; callers check
+ * {@link #overlapsArchive} before streaming the monthly pay totals.
+ */
+public interface ReportExportDao {
+    /** Employees hired between the dates inclusive, by hire date (as in EmployeeHireReport). */
+    long streamHires(LocalDate start, LocalDate end, ReportRowSink sink);
+
+    /** One employee's payroll rows, most recent first (as in EmployeePayrollReport). */
+    long streamEmployeePayrolls(int empId, ReportRowSink sink);
+
+    /** Net pay per division per month for pay dates in the range (as in DivisionMonthlyPayReport). */
+    long streamDivisionMonthlyPay(LocalDate start, LocalDate end, ReportRowSink sink);
+
+    /** Net pay per job title per month for pay dates in the range (as in JobTitleMonthlyPayReport). */
+    long streamJobTitleMonthlyPay(LocalDate start, LocalDate end, ReportRowSink sink);
+
+    /** True if pay dates in the range have been moved to the archive and are missing from the payroll table. */
+    boolean overlapsArchive(LocalDate start, LocalDate end);
+}
@@ -0,0 +1,124 @@
+package com.companyz.ems.dao;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import com.companyz.ems.model.Payroll;
+
+public class ReportExportDaoImpl extends AbstractDao implements ReportExportDao {
+
+    private static final String SELECT_HIRES =
+        "SELECT e.empid, e.fname AS first_name, e.lname AS last_name, d.name AS division_name, " +
+        "j.job_title AS job_title_name, s.hire_date " +
+        "FROM employees e " +
+        "JOIN employee_status s ON e.empid = s.empid AND s.effective_end IS NULL " +
+        "JOIN employee_division ed ON e.empid = ed.empid AND ed.effective_end IS NULL " +
+        "JOIN divisions d ON ed.divid = d.divid " +
+        "JOIN employee_job_title ej ON e.empid = ej.empid AND ej.effective_end IS NULL " +
+        "JOIN job_titles j ON ej.job_title_id = j.job_title_id " +
+        "WHERE s.hire_date BETWEEN ? AND ? ORDER BY s.hire_date, e.empid";
+
+    private static final String SELECT_EMPLOYEE_PAYROLLS =
+        "SELECT payid, payroll_run_id, empid, pay_date, earnings, fed_tax, fed_med, fed_ss, " +
+        "state_tax, retire_401k, health_care, net_pay " +
+        "FROM payroll WHERE empid = ? ORDER BY pay_date DESC, payid DESC";
+
+    // Pay is attributed to the assignment in effect on the pay date
+    private static final String SELECT_DIVISION_MONTHLY_PAY =
+        "SELECT d.divid AS division_id, d.name AS division_name, " +
+        "MONTH(p.pay_date) AS month, YEAR(p.pay_date) AS year, SUM(p.net_pay) AS total_pay " +
+        "FROM payroll p " +
+        "JOIN employee_division ed ON p.empid = ed.empid " +
+        "AND ed.effective_start <= p.pay_date AND (ed.effective_end IS NULL OR ed.effective_end > p.pay_date) " +
+        "JOIN divisions d ON ed.divid = d.divid " +
+        "WHERE p.pay_date BETWEEN ? AND ? " +
+        "GROUP BY d.divid, d.name, YEAR(p.pay_date), MONTH(p.pay_date) " +
+        "ORDER BY year, month, d.name";
+
+    private static final String SELECT_JOB_TITLE_MONTHLY_PAY =
+        "SELECT j.job_title_id, j.job_title AS job_title_name, " +
+        "MONTH(p.pay_date) AS month, YEAR(p.pay_date) AS year, SUM(p.net_pay) AS total_pay " +
+        "FROM payroll p " +
+        "JOIN employee_job_title ej ON p.empid = ej.empid " +
+        "AND ej.effective_start <= p.pay_date AND (ej.effective_end IS NULL OR ej.effective_end > p.pay_date) " +
+        "JOIN job_titles j ON ej.job_title_id = j.job_title_id " +
+        "WHERE p.pay_date BETWEEN ? AND ? " +
+        "GROUP BY j.job_title_id, j.job_title, YEAR(p.pay_date), MONTH(p.pay_date) " +
+        "ORDER BY year, month, j.job_title";
+
+    private final PayrollArchive archive;
+
+    public ReportExportDaoImpl(PayrollArchive archive) {
+        this.archive = archive;
+    }
+
+    public ReportExportDaoImpl() {
+        this(PayrollArchive.getDefault());
+    }
+
+    @Override
+    public long streamHires(LocalDate start, LocalDate end, ReportRowSink sink) {
+        return stream(SELECT_HIRES, sink, Date.valueOf(start), Date.valueOf(end));
+    }
+
+    @Override
+    public long streamEmployeePayrolls(int empId, ReportRowSink sink) {
+        long count = stream(SELECT_EMPLOYEE_PAYROLLS, sink, empId);
+        if (count < 0) return count;
+
+        // Archived years are all older than the rows still in the table
+        Object[] values = new Object[12];
+        for (Payroll p : archive.findByEmployee(empId)) {
+            values[0] = p.getPayrollId();
+            values[1] = p.getPayrollRunId();
+            values[2] = p.getEmpId();
+            values[3] = p.getPayDate();
+            values[4] = money(p.getEarnings());
+            values[5] = money(p.getFedTax());
+            values[6] = money(p.getFedMed());
+            values[7] = money(p.getFedSs());
+            values[8] = money(p.getStateTax());
+            values[9] = money(p.getRetire401k());
+            values[10] = money(p.getHealthCare());
+            values[11] = money(p.getNetPay());
+            sink.row(values);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public long streamDivisionMonthlyPay(LocalDate start, LocalDate end, ReportRowSink sink) {
+        return stream(SELECT_DIVISION_MONTHLY_PAY, sink, Date.valueOf(start), Date.valueOf(end));
+    }
+
+    @Override
+    public long streamJobTitleMonthlyPay(LocalDate start, LocalDate end, ReportRowSink sink) {
+        return stream(SELECT_JOB_TITLE_MONTHLY_PAY, sink, Date.valueOf(start), Date.valueOf(end));
+    }
+
+    @Override
+    public boolean overlapsArchive(LocalDate start, LocalDate end) {
+        return archive.overlaps(start, end);
+    }
+
+    /** Streams {@code sql} through {@link #streamRows}; -1 if the query failed. */
+    private long stream(String sql, ReportRowSink sink, Object... params) {
+        try {
+            return streamRows(sql, sink, params);
+        } catch (SQLException e) {
+            logError(e);
+            return -1;
+        }
+    }
+
+    private static BigDecimal money(double amount) {
+        return BigDecimal.valueOf(Math.round(amount * 100.0), 2);
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("ReportExportDao error: " + e.getMessage());
+    }
+}
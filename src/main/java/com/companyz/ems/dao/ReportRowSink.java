@@ -0,0 +1,12 @@
+package com.companyz.ems.dao;
+
+/**
+ * Receives a report result row by row, as read from the database.
+ */
+public interface ReportRowSink {
+    /** Called once with the column labels, before the first row. */
+    void columns(String[] names);
+
+    /** Called per row; the array is reused, so copy anything kept beyond the call. */
+    void row(Object[] values);
+}
@@ -0,0 +1,38 @@
+package com.companyz.ems.dao;
+
+import java.time.YearMonth;
+import java.util.Optional;
+
+import com.companyz.ems.model.report.DivisionMonthlyPayReport;
+import com.companyz.ems.model.report.JobTitleMonthlyPayReport;
+
+/**
+ * DAO contract for precomputed monthly pay reports of closed months.
+ * Snapshots are immutable: computing a month never overwrites a stored row,
+ * and a stale snapshot is deleted so that it can be computed again.
+ */
+public interface ReportSnapshotDao {
+    Optional<DivisionMonthlyPayReport> findDivisionPay(int divisionId, YearMonth month);
+    Optional<JobTitleMonthlyPayReport> findJobTitlePay(int jobTitleId, YearMonth month);
+
+    /** True if {@code month} has a snapshot for every division and job title. */
+    boolean isComplete(YearMonth month);
+
+    /**
+     * Stores the pay totals of every division and job title for {@code month},
+     * keeping any snapshot already stored. Returns false on a database error.
+     */
+    boolean computeMonth(YearMonth month);
+
+    void deleteMonth(YearMonth month);
+    void deleteDivision(int divisionId);
+    void deleteJobTitle(int jobTitleId);
+
+    /** Deletes the division's snapshots for {@code from} and later months. */
+    void deleteDivision(int divisionId, YearMonth from);
+
+    /** Deletes the job title's snapshots for {@code from} and later months. */
+    void deleteJobTitle(int jobTitleId, YearMonth from);
+
+    void deleteAll();
+}
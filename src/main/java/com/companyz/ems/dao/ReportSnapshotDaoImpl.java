@@ -0,0 +1,163 @@
+package com.companyz.ems.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.Optional;
+
+import com.companyz.ems.model.report.DivisionMonthlyPayReport;
+import com.companyz.ems.model.report.JobTitleMonthlyPayReport;
+
+public class ReportSnapshotDaoImpl extends AbstractDao implements ReportSnapshotDao {
+
+    private static final String DIVISION_PAY = "DIVISION_PAY";
+    private static final String JOB_TITLE_PAY = "JOB_TITLE_PAY";
+
+    private static final String SELECT_SNAPSHOT =
+        "SELECT ref_name, total_pay FROM report_snapshots " +
+        "WHERE report_type = ? AND ref_id = ? AND pay_year = ? AND pay_month = ?";
+
+    // Months on or after (year, month); stays within the primary key prefix
+    private static final String FROM_MONTH = "AND (pay_year > ? OR (pay_year = ? AND pay_month >= ?))";
+
+    // Same attribution as PayrollDaoImpl: pay goes to the assignment in effect on the pay date.
+    // Divisions and job titles without pay get a zero snapshot so the month is complete.
+    private static final String INSERT_DIVISION_MONTH =
+        "INSERT IGNORE INTO report_snapshots (report_type, ref_id, pay_year, pay_month, ref_name, total_pay) " +
+        "SELECT ?, d.divid, ?, ?, d.name, COALESCE(SUM(p.net_pay), 0) " +
+        "FROM divisions d " +
+        "LEFT JOIN employee_division ed ON ed.divid = d.divid " +
+        "LEFT JOIN payroll p ON p.empid = ed.empid AND p.pay_date BETWEEN ? AND ? " +
+        "AND ed.effective_start <= p.pay_date AND (ed.effective_end IS NULL OR ed.effective_end > p.pay_date) " +
+        "GROUP BY d.divid, d.name";
+
+    private static final String INSERT_JOB_TITLE_MONTH =
+        "INSERT IGNORE INTO report_snapshots (report_type, ref_id, pay_year, pay_month, ref_name, total_pay) " +
+        "SELECT ?, j.job_title_id, ?, ?, j.job_title, COALESCE(SUM(p.net_pay), 0) " +
+        "FROM job_titles j " +
+        "LEFT JOIN employee_job_title ej ON ej.job_title_id = j.job_title_id " +
+        "LEFT JOIN payroll p ON p.empid = ej.empid AND p.pay_date BETWEEN ? AND ? " +
+        "AND ej.effective_start <= p.pay_date AND (ej.effective_end IS NULL OR ej.effective_end > p.pay_date) " +
+        "GROUP BY j.job_title_id, j.job_title";
+
+    @Override
+    public Optional<DivisionMonthlyPayReport> findDivisionPay(int divisionId, YearMonth month) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, SELECT_SNAPSHOT,
+                     DIVISION_PAY, divisionId, month.getYear(), month.getMonthValue());
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return Optional.of(new DivisionMonthlyPayReport(divisionId, rs.getString("ref_name"),
+                        month.getMonthValue(), month.getYear(), rs.getDouble("total_pay")));
+            }
+        } catch (SQLException e) {
+            logError(e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<JobTitleMonthlyPayReport> findJobTitlePay(int jobTitleId, YearMonth month) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, SELECT_SNAPSHOT,
+                     JOB_TITLE_PAY, jobTitleId, month.getYear(), month.getMonthValue());
+             ResultSet rs = stmt.executeQuery()) {
+            if (rs.next()) {
+                return Optional.of(new JobTitleMonthlyPayReport(jobTitleId, rs.getString("ref_name"),
+                        month.getMonthValue(), month.getYear(), rs.getDouble("total_pay")));
+            }
+        } catch (SQLException e) {
+            logError(e);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean isComplete(YearMonth month) {
+        String sql = "SELECT (SELECT COUNT(*) FROM report_snapshots WHERE pay_year = ? AND pay_month = ?) " +
+                     ">= (SELECT COUNT(*) FROM divisions) + (SELECT COUNT(*) FROM job_titles)";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, month.getYear(), month.getMonthValue());
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() && rs.getBoolean(1);
+        } catch (SQLException e) {
+            logError(e);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean computeMonth(YearMonth month) {
+        int year = month.getYear();
+        int monthValue = month.getMonthValue();
+        Date start = Date.valueOf(month.atDay(1));
+        Date end = Date.valueOf(month.atEndOfMonth());
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement divisions = prepareStatement(conn, INSERT_DIVISION_MONTH,
+                         DIVISION_PAY, year, monthValue, start, end);
+                 PreparedStatement jobTitles = prepareStatement(conn, INSERT_JOB_TITLE_MONTH,
+                         JOB_TITLE_PAY, year, monthValue, start, end)) {
+                divisions.executeUpdate();
+                jobTitles.executeUpdate();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return false;
+        }
+    }
+
+    @Override
+    public void deleteMonth(YearMonth month) {
+        delete("DELETE FROM report_snapshots WHERE pay_year = ? AND pay_month = ?",
+               month.getYear(), month.getMonthValue());
+    }
+
+    @Override
+    public void deleteDivision(int divisionId) {
+        delete("DELETE FROM report_snapshots WHERE report_type = ? AND ref_id = ?", DIVISION_PAY, divisionId);
+    }
+
+    @Override
+    public void deleteJobTitle(int jobTitleId) {
+        delete("DELETE FROM report_snapshots WHERE report_type = ? AND ref_id = ?", JOB_TITLE_PAY, jobTitleId);
+    }
+
+    @Override
+    public void deleteDivision(int divisionId, YearMonth from) {
+        delete("DELETE FROM report_snapshots WHERE report_type = ? AND ref_id = ? " + FROM_MONTH,
+               DIVISION_PAY, divisionId, from.getYear(), from.getYear(), from.getMonthValue());
+    }
+
+    @Override
+    public void deleteJobTitle(int jobTitleId, YearMonth from) {
+        delete("DELETE FROM report_snapshots WHERE report_type = ? AND ref_id = ? " + FROM_MONTH,
+               JOB_TITLE_PAY, jobTitleId, from.getYear(), from.getYear(), from.getMonthValue());
+    }
+
+    @Override
+    public void deleteAll() {
+        delete("DELETE FROM report_snapshots");
+    }
+
+    private void delete(String sql, Object... params) {
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, params)) {
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            logError(e);
+        }
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("ReportSnapshotDao error: " + e.getMessage());
+    }
+}
@@ -0,0 +1,32 @@
+package com.companyz.ems.dao;
+
+import java.util.List;
+
+import com.companyz.ems.model.Payroll;
+import com.companyz.ems.model.RetroPayItem;
+
+/**
+ * DAO contract for retroactive pay adjustments.
+ * A salary_history row is backdated when its effective_date is earlier than
+ * the day it was recorded; every regular payroll run paid in between is affected.
+ */
+public interface RetroPayDao {
+    /** Ids of up to {@code limit} unprocessed backdated salary changes, oldest first. */
+    List<Long> findPendingChangeIds(int limit);
+
+    /**
+     * Returns one item per (salary change, regular payroll run) pair whose
+     * pay date falls between the change's effective date and the day it was recorded.
+     * Returns null if the lookup failed, so it is not mistaken for "nothing to pay".
+     */
+    List<RetroPayItem> findAffectedPeriods(List<Long> salaryHistoryIds);
+
+    /** Creates an adjustment payroll run for the current month; returns its id or -1. */
+    int createAdjustmentRun(String description);
+
+    /**
+     * Inserts the adjustment rows and marks the salary changes processed
+     * in one transaction.
+     */
+    boolean postAdjustments(List<Payroll> adjustments, List<Long> salaryHistoryIds);
+}
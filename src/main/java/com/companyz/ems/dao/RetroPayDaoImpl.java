@@ -0,0 +1,157 @@
+package com.companyz.ems.dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.companyz.ems.model.Payroll;
+import com.companyz.ems.model.RetroPayItem;
+
+/**
+ * JDBC implementation of RetroPayDao.
+ * Only salary changes still marked unprocessed are read, so the work done
+ * is proportional to the backdated periods, not to the payroll history.
+ */
+public class RetroPayDaoImpl extends AbstractDao implements RetroPayDao {
+
+    private static final String INSERT_ADJUSTMENT =
+        "INSERT INTO payroll (payroll_run_id, empid, pay_date, earnings, " +
+        "fed_tax, fed_med, fed_ss, state_tax, retire_401k, health_care, net_pay, created_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, NOW())";
+
+    @Override
+    public List<Long> findPendingChangeIds(int limit) {
+        List<Long> ids = new ArrayList<>();
+        String sql = "SELECT salary_history_id FROM salary_history " +
+                     "WHERE retro_processed_at IS NULL AND effective_date < DATE(changed_at) " +
+                     "ORDER BY salary_history_id LIMIT ?";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, limit);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getLong("salary_history_id"));
+            }
+        } catch (SQLException e) {
+            logError(e);
+        }
+        return ids;
+    }
+
+    @Override
+    public List<RetroPayItem> findAffectedPeriods(List<Long> salaryHistoryIds) {
+        List<RetroPayItem> items = new ArrayList<>();
+        if (salaryHistoryIds.isEmpty()) return items;
+
+        String sql = "SELECT sh.salary_history_id, sh.empid, sh.previous_salary, sh.new_salary, " +
+                     "p.payroll_run_id, MIN(p.pay_date) AS pay_date, SUM(p.earnings) AS earnings, " +
+                     "SUM(p.fed_tax) AS fed_tax, SUM(p.fed_med) AS fed_med, SUM(p.fed_ss) AS fed_ss, " +
+                     "SUM(p.state_tax) AS state_tax, SUM(p.retire_401k) AS retire_401k " +
+                     "FROM salary_history sh " +
+                     "JOIN payroll p ON p.empid = sh.empid " +
+                     "AND p.pay_date >= sh.effective_date AND p.pay_date < DATE(sh.changed_at) " +
+                     "JOIN payroll_runs r ON p.payroll_run_id = r.payroll_run_id AND r.is_adjustment = 0 " +
+                     "WHERE sh.salary_history_id IN (" + placeholders(salaryHistoryIds.size()) + ") " +
+                     "GROUP BY sh.salary_history_id, sh.empid, sh.previous_salary, sh.new_salary, p.payroll_run_id " +
+                     "ORDER BY sh.salary_history_id, pay_date";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, salaryHistoryIds.toArray());
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                items.add(new RetroPayItem(
+                    rs.getLong("salary_history_id"),
+                    rs.getInt("empid"),
+                    rs.getInt("payroll_run_id"),
+                    rs.getDate("pay_date").toLocalDate(),
+                    rs.getDouble("previous_salary"),
+                    rs.getDouble("new_salary"),
+                    rs.getDouble("earnings"),
+                    rs.getDouble("fed_tax"),
+                    rs.getDouble("fed_med"),
+                    rs.getDouble("fed_ss"),
+                    rs.getDouble("state_tax"),
+                    rs.getDouble("retire_401k")
+                ));
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return null;
+        }
+        return items;
+    }
+
+    @Override
+    public int createAdjustmentRun(String description) {
+        String sql = "INSERT INTO payroll_runs (run_year, run_month, run_date, description, is_adjustment) " +
+                     "VALUES (?, ?, NOW(), ?, 1)";
+        LocalDate today = LocalDate.now();
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setInt(1, today.getYear());
+            stmt.setInt(2, today.getMonthValue());
+            stmt.setString(3, description);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    return keys.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            logError(e);
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean postAdjustments(List<Payroll> adjustments, List<Long> salaryHistoryIds) {
+        String markSql = "UPDATE salary_history SET retro_processed_at = NOW() " +
+                         "WHERE salary_history_id IN (" + placeholders(salaryHistoryIds.size()) + ")";
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement insert = conn.prepareStatement(INSERT_ADJUSTMENT);
+                 PreparedStatement mark = prepareStatement(conn, markSql, salaryHistoryIds.toArray())) {
+                for (Payroll p : adjustments) {
+                    insert.setInt(1, p.getPayrollRunId());
+                    insert.setInt(2, p.getEmpId());
+                    insert.setDate(3, Date.valueOf(p.getPayDate()));
+                    insert.setDouble(4, p.getEarnings());
+                    insert.setDouble(5, p.getFedTax());
+                    insert.setDouble(6, p.getFedMed());
+                    insert.setDouble(7, p.getFedSs());
+                    insert.setDouble(8, p.getStateTax());
+                    insert.setDouble(9, p.getRetire401k());
+                    insert.setDouble(10, p.getHealthCare());
+                    insert.setDouble(11, p.getNetPay());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                mark.executeUpdate();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logError(e);
+            return false;
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+
+    private void logError(SQLException e) {
+        System.err.println("RetroPayDao error: " + e.getMessage());
+    }
+}
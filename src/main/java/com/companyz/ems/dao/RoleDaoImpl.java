@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 import com.companyz.ems.model.Role;
+import com.companyz.ems.security.PermissionMatrix;
 
 public class RoleDaoImpl extends AbstractDao implements RoleDao {
 
@@ -76,7 +77,7 @@ public class RoleDaoImpl extends AbstractDao implements RoleDao {
         String sql = "INSERT INTO roles (role_name, description) VALUES (?, ?)";
         try (Connection conn = getConnection();
              PreparedStatement stmt = prepareStatement(conn, sql, role.getRoleName(), role.getDescription())) {
-            return stmt.executeUpdate() > 0;
+            return changed(stmt.executeUpdate() > 0);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -88,7 +89,7 @@ public class RoleDaoImpl extends AbstractDao implements RoleDao {
         String sql = "UPDATE roles SET role_name = ?, description = ? WHERE role_id = ?";
         try (Connection conn = getConnection();
              PreparedStatement stmt = prepareStatement(conn, sql, role.getRoleName(), role.getDescription(), role.getRoleId())) {
-            return stmt.executeUpdate() > 0;
+            return changed(stmt.executeUpdate() > 0);
         } catch (SQLException e) {
             e.printStackTrace();
         }
@@ -100,10 +101,18 @@ public class RoleDaoImpl extends AbstractDao implements RoleDao {
         String sql = "DELETE FROM roles WHERE role_id = ?";
         try (Connection conn = getConnection();
              PreparedStatement stmt = prepareStatement(conn, sql, roleId)) {
-            return stmt.executeUpdate() > 0;
+            return changed(stmt.executeUpdate() > 0);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return false;
     }
+
+    // Role names decide permissions, so any role write recompiles the matrix
+    private static boolean changed(boolean updated) {
+        if (updated) {
+            PermissionMatrix.getDefault().invalidate();
+        }
+        return updated;
+    }
 }
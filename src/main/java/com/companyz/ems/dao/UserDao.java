@@ -1,5 +1,6 @@
 package com.companyz.ems.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,8 +10,19 @@ import com.companyz.ems.model.User;
 public interface UserDao {
     Optional<User> findById(int userId);
     Optional<User> findByUsername(String username);
+    /** Loads many users in as few queries as possible; unknown names are skipped. */
+    List<User> findByUsernames(Collection<String> usernames);
     boolean createUser(User user, int empId, List<Role> roles);
+    /**
+     * Batched insert of users with their employee link and roles, one transaction
+     * per {@code db.batch.size} users. Sets the generated IDs of committed users;
+     * a failed chunk is rolled back and the next chunk is still tried. The result
+     * lists the positions in {@code users} that were not stored.
+     */
+    BatchResult createUsers(List<User> users);
     boolean updatePassword(int userId, byte[] newHash, byte[] newSalt);
+    /** Replaces the hash only if it is still {@code oldHash}, so a concurrent password change wins. */
+    boolean replacePasswordHash(int userId, byte[] oldHash, byte[] newHash, byte[] newSalt);
     boolean deactivateUser(int userId);
     
     List<Role> getUserRoles(int userId);
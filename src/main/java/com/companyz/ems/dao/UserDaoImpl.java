@@ -5,43 +5,73 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.companyz.ems.config.AppConfig;
 import com.companyz.ems.model.Role;
 import com.companyz.ems.model.User;
 
 
 public class UserDaoImpl extends AbstractDao implements UserDao {
 
+    private final int batchSize = AppConfig.getInt("db.batch.size");
+
+    // One row per user x employee link x role; readUsers folds them back into users
+    private static final String SELECT_USERS =
+        "SELECT u.user_id, u.username, u.password_hash, u.password_salt, u.is_active, " +
+        "u.created_at, u.updated_at, uel.empid, r.role_id, r.role_name, r.description " +
+        "FROM users u " +
+        "LEFT JOIN user_employee_link uel ON uel.user_id = u.user_id " +
+        "LEFT JOIN user_roles ur ON ur.user_id = u.user_id " +
+        "LEFT JOIN roles r ON r.role_id = ur.role_id ";
+
+    private static final String USER_ORDER = " ORDER BY u.user_id, uel.empid, r.role_id";
+
     @Override
     public Optional<User> findById(int userId) {
-        String sql = "SELECT * FROM users WHERE user_id = ?";
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = prepareStatement(conn, sql, userId);
-             ResultSet rs = stmt.executeQuery()) {
+        return findOne(SELECT_USERS + "WHERE u.user_id = ?" + USER_ORDER, userId);
+    }
 
-            if (rs.next()) {
-                User user = mapUser(rs, conn);
-                return Optional.of(user);
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return findOne(SELECT_USERS + "WHERE u.username = ?" + USER_ORDER, username);
+    }
+
+    @Override
+    public List<User> findByUsernames(Collection<String> usernames) {
+        List<String> names = new ArrayList<>(new LinkedHashSet<>(usernames));
+        List<User> users = new ArrayList<>();
+        // Keep each IN list to a batch-sized number of parameters
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<String> chunk = names.subList(from, Math.min(from + batchSize, names.size()));
+            String sql = SELECT_USERS + "WHERE u.username IN ("
+                    + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")" + USER_ORDER;
+            try (Connection conn = getConnection();
+                 PreparedStatement stmt = prepareStatement(conn, sql, chunk.toArray());
+                 ResultSet rs = stmt.executeQuery()) {
+                users.addAll(readUsers(rs));
+            } catch (SQLException e) {
+                e.printStackTrace();
             }
-        } catch (SQLException e) {
-            e.printStackTrace(); // replace with logger
         }
-        return Optional.empty();
+        return users;
     }
 
-    @Override
-    public Optional<User> findByUsername(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
+    private Optional<User> findOne(String sql, Object param) {
         try (Connection conn = getConnection();
-             PreparedStatement stmt = prepareStatement(conn, sql, username);
+             PreparedStatement stmt = prepareStatement(conn, sql, param);
              ResultSet rs = stmt.executeQuery()) {
-
-            if (rs.next()) {
-                User user = mapUser(rs, conn);
-                return Optional.of(user);
+            List<User> users = readUsers(rs);
+            if (!users.isEmpty()) {
+                return Optional.of(users.get(0));
             }
         } catch (SQLException e) {
             e.printStackTrace();
@@ -93,6 +123,87 @@ public class UserDaoImpl extends AbstractDao implements UserDao {
         }
     }
 
+    @Override
+    public BatchResult createUsers(List<User> users) {
+        String insertUser = "INSERT INTO users (username, password_hash, password_salt, is_active, created_at) " +
+                            "VALUES (?, ?, ?, ?, NOW())";
+        BatchResult.Builder result = new BatchResult.Builder();
+        int from = 0;
+        try (Connection conn = getConnection();
+             PreparedStatement userStmt = conn.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement linkStmt = conn.prepareStatement(
+                     "INSERT INTO user_employee_link (user_id, empid) VALUES (?, ?)");
+             PreparedStatement roleStmt = conn.prepareStatement(
+                     "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)")) {
+            conn.setAutoCommit(false);
+
+            // Each chunk is its own transaction so one bad row only rolls back its chunk
+            for (; from < users.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, users.size());
+                List<User> chunk = users.subList(from, to);
+                try {
+                    for (User user : chunk) {
+                        userStmt.setString(1, user.getUsername());
+                        userStmt.setBytes(2, user.getPasswordHash());
+                        userStmt.setBytes(3, user.getPasswordSalt());
+                        userStmt.setBoolean(4, user.isActive());
+                        userStmt.addBatch();
+                    }
+                    userStmt.executeBatch();
+
+                    // Generated keys come back in insertion order for the whole batch
+                    int[] ids = new int[chunk.size()];
+                    try (ResultSet keys = userStmt.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < ids.length) {
+                            ids[i++] = keys.getInt(1);
+                        }
+                    }
+
+                    for (int i = 0; i < ids.length; i++) {
+                        User user = chunk.get(i);
+                        linkStmt.setInt(1, ids[i]);
+                        linkStmt.setInt(2, user.getEmpId());
+                        linkStmt.addBatch();
+                        for (Role role : user.getRoles()) {
+                            roleStmt.setInt(1, ids[i]);
+                            roleStmt.setInt(2, role.getRoleId());
+                            roleStmt.addBatch();
+                        }
+                    }
+                    linkStmt.executeBatch();
+                    roleStmt.executeBatch();
+                    conn.commit();
+                    for (int i = 0; i < ids.length; i++) {
+                        chunk.get(i).setUserId(ids[i]);
+                    }
+                    result.committed(chunk.size());
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                    result.failed(from, to, e);
+                    try {
+                        userStmt.clearBatch();
+                        linkStmt.clearBatch();
+                        roleStmt.clearBatch();
+                        conn.rollback();
+                    } catch (SQLException rollbackError) {
+                        // The connection is unusable; the remaining chunks are not sent
+                        e.addSuppressed(rollbackError);
+                        result.notSent(to, users.size());
+                        from = users.size();
+                        break;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            if (from < users.size()) {
+                result.failed(from, users.size(), e);
+            }
+        }
+        return result.build();
+    }
+
     @Override
     public boolean updatePassword(int userId, byte[] newHash, byte[] newSalt) {
         String sql = "UPDATE users SET password_hash = ?, password_salt = ?, updated_at = NOW() WHERE user_id = ?";
@@ -105,6 +216,19 @@ public class UserDaoImpl extends AbstractDao implements UserDao {
         }
     }
 
+    @Override
+    public boolean replacePasswordHash(int userId, byte[] oldHash, byte[] newHash, byte[] newSalt) {
+        String sql = "UPDATE users SET password_hash = ?, password_salt = ?, updated_at = NOW() " +
+                     "WHERE user_id = ? AND password_hash = ?";
+        try (Connection conn = getConnection();
+             PreparedStatement stmt = prepareStatement(conn, sql, newHash, newSalt, userId, oldHash)) {
+            return stmt.executeUpdate() > 0;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
     @Override
     public boolean deactivateUser(int userId) {
         String sql = "UPDATE users SET is_active = 0, updated_at = NOW() WHERE user_id = ?";
@@ -140,32 +264,48 @@ public class UserDaoImpl extends AbstractDao implements UserDao {
         return roles;
     }
 
+    /**
+     * Folds the rows of {@link #SELECT_USERS}, ordered by user, into users.
+     * The first employee link is kept; roles are de-duplicated since each
+     * one repeats for every employee link.
+     */
+    private List<User> readUsers(ResultSet rs) throws SQLException {
+        List<User> users = new ArrayList<>();
+        User user = null;
+        Map<Integer, Role> roles = null;
+        while (rs.next()) {
+            int userId = rs.getInt("user_id");
+            if (user == null || user.getUserId() != userId) {
+                user = mapUser(rs);
+                roles = new LinkedHashMap<>();
+                user.setRoles(new ArrayList<>());
+                users.add(user);
+            }
+            int empId = rs.getInt("empid");
+            if (!rs.wasNull() && user.getEmpId() == null) {
+                user.setEmpId(empId);
+            }
+            int roleId = rs.getInt("role_id");
+            if (!rs.wasNull() && !roles.containsKey(roleId)) {
+                Role role = new Role(roleId, rs.getString("role_name"), rs.getString("description"));
+                roles.put(roleId, role);
+                user.getRoles().add(role);
+            }
+        }
+        return users;
+    }
+
     // Helper method to map User from ResultSet
-    private User mapUser(ResultSet rs, Connection conn) throws SQLException {
-        int userId = rs.getInt("user_id");
+    private User mapUser(ResultSet rs) throws SQLException {
         User user = new User();
-        user.setUserId(userId);
+        user.setUserId(rs.getInt("user_id"));
         user.setUsername(rs.getString("username"));
         user.setPasswordHash(rs.getBytes("password_hash"));
         user.setPasswordSalt(rs.getBytes("password_salt"));
         user.setActive(rs.getBoolean("is_active"));
         user.setCreatedAt(rs.getTimestamp("created_at").toLocalDateTime());
-        user.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
-
-        // Attach roles
-        user.setRoles(getUserRoles(userId));
-
-        // Attach employee link (store employee id)
-        String empSql = "SELECT e.empid " +
-                "FROM employees e " +
-                "JOIN user_employee_link uel ON e.empid = uel.empid " +
-                "WHERE uel.user_id = ?";
-        try (PreparedStatement empStmt = prepareStatement(conn, empSql, userId);
-             ResultSet empRs = empStmt.executeQuery()) {
-            if (empRs.next()) {
-                user.setEmpId(empRs.getInt("empid"));
-            }
-        }
+        Timestamp updatedAt = rs.getTimestamp("updated_at"); // NULL until the first update
+        user.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
         return user;
     }
 
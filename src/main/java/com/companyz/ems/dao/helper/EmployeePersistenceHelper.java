@@ -5,12 +5,14 @@ import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import com.companyz.ems.model.Address;
 import com.companyz.ems.model.Contact;
 import com.companyz.ems.model.employee.BaseEmployee;
+import com.companyz.ems.model.employee.Employee;
 
 /**
  * EmployeePersistenceHelper
@@ -20,6 +22,9 @@ import com.companyz.ems.model.employee.BaseEmployee;
  */
 public class EmployeePersistenceHelper {
 
+    // Effective-dated tables: the open row wins, otherwise the most recent one
+    private static final String CURRENT_FIRST = "ORDER BY effective_end IS NULL DESC, effective_start DESC LIMIT 1";
+
     // --- CONTACTS ---
     public static void saveContacts(Connection conn, BaseEmployee emp) throws SQLException {
         String sql = "INSERT INTO employee_contact (empid, contact_type_id, contact_value, is_primary) VALUES (?, ?, ?, ?)";
@@ -133,18 +138,14 @@ public class EmployeePersistenceHelper {
         }
     }
 
+    // Closes the current assignment and opens a new one, keeping the history
     public static void updateDivision(Connection conn, BaseEmployee emp) throws SQLException {
-        String sql = "UPDATE employee_division SET divid=?, effective_start=? WHERE empid=?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, emp.getDivisionId());
-            stmt.setDate(2, Date.valueOf(emp.getHireDate()));
-            stmt.setInt(3, emp.getEmpId());
-            stmt.executeUpdate();
-        }
+        reassign(conn, "employee_division", "divid", emp.getEmpId(), emp.getDivisionId());
     }
 
     public static String loadDivision(Connection conn, int empId) throws SQLException {
-        String sql = "SELECT d.name FROM employee_division ed JOIN divisions d ON ed.divid=d.divid WHERE ed.empid=?";
+        String sql = "SELECT d.name FROM employee_division ed JOIN divisions d ON ed.divid=d.divid WHERE ed.empid=? " +
+                     CURRENT_FIRST;
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, empId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -166,17 +167,12 @@ public class EmployeePersistenceHelper {
     }
 
     public static void updateJobTitle(Connection conn, BaseEmployee emp) throws SQLException {
-        String sql = "UPDATE employee_job_title SET job_title_id=?, effective_start=? WHERE empid=?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, emp.getJobTitleId());
-            stmt.setDate(2, Date.valueOf(emp.getHireDate()));
-            stmt.setInt(3, emp.getEmpId());
-            stmt.executeUpdate();
-        }
+        reassign(conn, "employee_job_title", "job_title_id", emp.getEmpId(), emp.getJobTitleId());
     }
 
     public static String loadJobTitle(Connection conn, int empId) throws SQLException {
-        String sql = "SELECT j.job_title FROM employee_job_title ej JOIN job_titles j ON ej.job_title_id=j.job_title_id WHERE ej.empid=?";
+        String sql = "SELECT j.job_title FROM employee_job_title ej JOIN job_titles j ON ej.job_title_id=j.job_title_id WHERE ej.empid=? " +
+                     CURRENT_FIRST;
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, empId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -186,6 +182,34 @@ public class EmployeePersistenceHelper {
         return null;
     }
 
+    /**
+     * Moves an employee to {@code newId} in an effective-dated assignment table.
+     * The open row is closed as of today and a new one opens today; nothing
+     * changes if the employee is already assigned to {@code newId}.
+     */
+    private static void reassign(Connection conn, String table, String idColumn, int empId, int newId) throws SQLException {
+        String current = "SELECT " + idColumn + " FROM " + table + " WHERE empid=? AND effective_end IS NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(current)) {
+            stmt.setInt(1, empId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next() && rs.getInt(1) == newId) return;
+            }
+        }
+        String close = "UPDATE " + table + " SET effective_end=CURRENT_DATE WHERE empid=? AND effective_end IS NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(close)) {
+            stmt.setInt(1, empId);
+            stmt.executeUpdate();
+        }
+        // Moving back to an assignment closed earlier today reopens that row
+        String open = "INSERT INTO " + table + " (empid, " + idColumn + ", effective_start) VALUES (?, ?, CURRENT_DATE) " +
+                      "ON DUPLICATE KEY UPDATE effective_end=NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(open)) {
+            stmt.setInt(1, empId);
+            stmt.setInt(2, newId);
+            stmt.executeUpdate();
+        }
+    }
+
     // --- STATUS ---
     public static void saveStatus(Connection conn, BaseEmployee emp) throws SQLException {
         String sql = "INSERT INTO employee_status (empid, status_id, hire_date, effective_start) VALUES (?, ?, ?, ?)";
@@ -198,17 +222,43 @@ public class EmployeePersistenceHelper {
         }
     }
 
+    /**
+     * Moves an employee to a new status the same way {@link #reassign} moves
+     * assignments: the open row is closed as of today and a new one opens
+     * today, carrying the hire date over. Nothing changes if the status is
+     * unchanged or the employee carries no status.
+     */
     public static void updateStatus(Connection conn, BaseEmployee emp) throws SQLException {
-        String sql = "UPDATE employee_status SET status_id=?, effective_end=NOW() WHERE empid=?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, emp.getEmploymentStatusId());
-            stmt.setInt(2, emp.getEmpId());
+        String newStatus = emp instanceof Employee e ? e.getEmploymentStatusString() : null;
+        if (newStatus == null) return;
+
+        Date hireDate = emp.getHireDate() != null ? Date.valueOf(emp.getHireDate()) : null;
+        String current = "SELECT status, hire_date FROM employee_status WHERE empid=? AND effective_end IS NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(current)) {
+            stmt.setInt(1, emp.getEmpId());
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    if (newStatus.equals(rs.getString("status"))) return;
+                    hireDate = rs.getDate("hire_date");
+                }
+            }
+        }
+        String close = "UPDATE employee_status SET effective_end=CURRENT_DATE WHERE empid=? AND effective_end IS NULL";
+        try (PreparedStatement stmt = conn.prepareStatement(close)) {
+            stmt.setInt(1, emp.getEmpId());
+            stmt.executeUpdate();
+        }
+        String open = "INSERT INTO employee_status (empid, status, hire_date, effective_start) VALUES (?, ?, ?, CURRENT_DATE)";
+        try (PreparedStatement stmt = conn.prepareStatement(open)) {
+            stmt.setInt(1, emp.getEmpId());
+            stmt.setString(2, newStatus);
+            stmt.setDate(3, hireDate);
             stmt.executeUpdate();
         }
     }
 
     public static String loadStatus(Connection conn, int empId) throws SQLException {
-        String sql = "SELECT status FROM employee_status WHERE empid=?";
+        String sql = "SELECT status FROM employee_status WHERE empid=? " + CURRENT_FIRST;
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, empId);
             try (ResultSet rs = stmt.executeQuery()) {
@@ -219,7 +269,7 @@ public class EmployeePersistenceHelper {
     }
 
     public static void loadHireDate(Connection conn, BaseEmployee emp) throws SQLException {
-        String sql = "SELECT hire_date FROM employee_status WHERE empid=?";
+        String sql = "SELECT hire_date FROM employee_status WHERE empid=? " + CURRENT_FIRST;
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, emp.getEmpId());
             try (ResultSet rs = stmt.executeQuery()) {
@@ -231,15 +281,18 @@ public class EmployeePersistenceHelper {
     }
 
     // --- SALARY HISTORY ---
-    public static void saveSalaryHistory(Connection conn, BaseEmployee emp, double previousSalary, double newSalary, int changedByUserId) throws SQLException {
-        String sql = "INSERT INTO salary_history (empid, previous_salary, new_salary, change_reason, changed_by_user_id, changed_at) " +
-                     "VALUES (?, ?, ?, ?, ?, NOW())";
+    // effectiveDate earlier than today records a backdated change for retroactive pay
+    public static void saveSalaryHistory(Connection conn, BaseEmployee emp, double previousSalary, double newSalary,
+                                         int changedByUserId, LocalDate effectiveDate) throws SQLException {
+        String sql = "INSERT INTO salary_history (empid, previous_salary, new_salary, change_reason, changed_by_user_id, " +
+                     "changed_at, effective_date) VALUES (?, ?, ?, ?, ?, NOW(), ?)";
         try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, emp.getEmpId());
             stmt.setDouble(2, previousSalary);
             stmt.setDouble(3, newSalary);
             stmt.setString(4, "Update via EmployeeDao"); // or pass reason in
             stmt.setInt(5, changedByUserId);
+            stmt.setDate(6, Date.valueOf(effectiveDate));
             stmt.executeUpdate();
         }
     }
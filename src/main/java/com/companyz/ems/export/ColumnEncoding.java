@@ -0,0 +1,70 @@
+package com.companyz.ems.export;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Per-column value encodings used by the columnar payroll format.
+ * <p>
+ * All values are stored as longs (ids, epoch days, or cents) and written
+ * as zigzag varints so small magnitudes take one or two bytes.
+ * {@link #DELTA_VARINT} stores the difference to the previous value,
+ * which suits sorted or slowly changing columns such as dates and ids.
+ * </p>
+ */
+public enum ColumnEncoding {
+    ZIGZAG_VARINT(1),
+    DELTA_VARINT(2);
+
+    private final int code;
+
+    ColumnEncoding(int code) {
+        this.code = code;
+    }
+
+    public int getCode() { return code; }
+
+    public static ColumnEncoding fromCode(int code) {
+        for (ColumnEncoding e : values()) {
+            if (e.code == code) return e;
+        }
+        throw new IllegalArgumentException("Unknown column encoding: " + code);
+    }
+
+    /**
+     * Appends one value to a column chunk.
+     *
+     * @param out chunk buffer
+     * @param value value to write
+     * @param previous previous value in the chunk (0 for the first)
+     */
+    public void encode(ByteArrayOutputStream out, long value, long previous) {
+        long v = this == DELTA_VARINT ? value - previous : value;
+        long zz = (v << 1) ^ (v >> 63);
+        while ((zz & ~0x7FL) != 0) {
+            out.write((int) ((zz & 0x7F) | 0x80));
+            zz >>>= 7;
+        }
+        out.write((int) zz);
+    }
+
+    /**
+     * Reads the next value from a column chunk.
+     *
+     * @param in chunk buffer positioned at the next value
+     * @param previous previously decoded value (0 for the first)
+     * @return decoded value
+     */
+    public long decode(ByteBuffer in, long previous) {
+        long zz = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            zz |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        long v = (zz >>> 1) ^ -(zz & 1);
+        return this == DELTA_VARINT ? previous + v : v;
+    }
+}
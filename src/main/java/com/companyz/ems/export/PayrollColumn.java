@@ -0,0 +1,57 @@
+package com.companyz.ems.export;
+
+import java.util.function.ToLongFunction;
+
+import com.companyz.ems.model.Payroll;
+
+/**
+ * Columns of the payroll table in export order.
+ * <p>
+ * Money columns are stored as whole cents; {@code pay_date} as epoch days.
+ * </p>
+ */
+public enum PayrollColumn {
+    PAYID("payid", ColumnEncoding.DELTA_VARINT, false, Payroll::getPayrollId),
+    PAYROLL_RUN_ID("payroll_run_id", ColumnEncoding.DELTA_VARINT, false, Payroll::getPayrollRunId),
+    EMPID("empid", ColumnEncoding.DELTA_VARINT, false, Payroll::getEmpId),
+    PAY_DATE("pay_date", ColumnEncoding.DELTA_VARINT, false, p -> p.getPayDate().toEpochDay()),
+    EARNINGS("earnings", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getEarnings())),
+    FED_TAX("fed_tax", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getFedTax())),
+    FED_MED("fed_med", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getFedMed())),
+    FED_SS("fed_ss", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getFedSs())),
+    STATE_TAX("state_tax", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getStateTax())),
+    RETIRE_401K("retire_401k", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getRetire401k())),
+    HEALTH_CARE("health_care", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getHealthCare())),
+    NET_PAY("net_pay", ColumnEncoding.ZIGZAG_VARINT, true, p -> toCents(p.getNetPay()));
+
+    private final String columnName;
+    private final ColumnEncoding encoding;
+    private final boolean money;
+    private final ToLongFunction<Payroll> extractor;
+
+    PayrollColumn(String columnName, ColumnEncoding encoding, boolean money,
+                  ToLongFunction<Payroll> extractor) {
+        this.columnName = columnName;
+        this.encoding = encoding;
+        this.money = money;
+        this.extractor = extractor;
+    }
+
+    public String getColumnName() { return columnName; }
+    public ColumnEncoding getEncoding() { return encoding; }
+    public boolean isMoney() { return money; }
+
+    /** Returns the stored (long) representation of this column for a payroll row. */
+    public long extract(Payroll payroll) {
+        return extractor.applyAsLong(payroll);
+    }
+
+    /** Converts a stored value back to its natural unit (dollars for money columns). */
+    public double toValue(long stored) {
+        return money ? stored / 100.0 : stored;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+}
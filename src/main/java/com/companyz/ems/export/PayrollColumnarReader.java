@@ -0,0 +1,300 @@
+package com.companyz.ems.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.companyz.ems.export.PayrollColumnarWriter.RowGroupMeta;
+
+/**
+ * Reads files produced by {@link PayrollColumnarWriter}.
+ * <p>
+ * Only the footer is read eagerly. Column chunks are memory-mapped on
+ * demand; a date-range scan maps the {@code pay_date} chunk and the
+ * requested column's chunk of each overlapping row group and never
+ * touches the other columns. Row groups whose pay-date range falls
+ * outside the query are skipped using the footer alone. Deflated chunks
+ * are inflated straight from the mapped region. A lookup by employee
+ * skips groups outside their empid range and decodes the empid column
+ * before any other.
+ * </p>
+ */
+public class PayrollColumnarReader implements Closeable {
+    private static final PayrollColumn[] COLUMNS = PayrollColumn.values();
+
+    private final FileChannel channel;
+    private final boolean deflated;
+    private final ColumnEncoding[] encodings;
+    private final List<RowGroupMeta> groups = new ArrayList<>();
+
+    public PayrollColumnarReader(Path source) throws IOException {
+        this.channel = FileChannel.open(source, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            int tailSize = 8 + PayrollColumnarWriter.MAGIC.length;
+            if (size < PayrollColumnarWriter.MAGIC.length + tailSize) {
+                throw new IOException("Not a payroll columnar file: " + source);
+            }
+            byte[] head = new byte[PayrollColumnarWriter.MAGIC.length];
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, head.length).get(head);
+            ByteBuffer tail = channel.map(FileChannel.MapMode.READ_ONLY, size - tailSize, tailSize);
+            long footerOffset = tail.getLong();
+            byte[] magic = new byte[PayrollColumnarWriter.MAGIC.length];
+            tail.get(magic);
+            checkMagic(head, source);
+            checkMagic(magic, source);
+
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY,
+                    footerOffset, size - tailSize - footerOffset);
+            deflated = (footer.getInt() & PayrollColumnarWriter.FLAG_DEFLATE) != 0;
+            int columnCount = footer.getInt();
+            if (columnCount != COLUMNS.length) {
+                throw new IOException("Unexpected column count " + columnCount + " in " + source);
+            }
+            encodings = new ColumnEncoding[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                encodings[c] = ColumnEncoding.fromCode(footer.get());
+            }
+            int groupCount = footer.getInt();
+            for (int g = 0; g < groupCount; g++) {
+                RowGroupMeta meta = new RowGroupMeta(footer.getInt(), footer.getLong(), footer.getLong(),
+                        footer.getInt(), footer.getInt(), columnCount);
+                for (int c = 0; c < columnCount; c++) {
+                    meta.offsets[c] = footer.getLong();
+                    meta.lengths[c] = footer.getInt();
+                    meta.rawLengths[c] = footer.getInt();
+                }
+                groups.add(meta);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Rejects files of another format or another version of this one. */
+    private static void checkMagic(byte[] magic, Path source) throws IOException {
+        if (Arrays.equals(magic, PayrollColumnarWriter.MAGIC)) return;
+        int prefix = PayrollColumnarWriter.MAGIC.length - 2;
+        if (Arrays.equals(magic, 0, prefix, PayrollColumnarWriter.MAGIC, 0, prefix)) {
+            throw new IOException("Unsupported payroll columnar version "
+                    + new String(magic, prefix, 2, StandardCharsets.US_ASCII) + ": " + source);
+        }
+        throw new IOException("Not a payroll columnar file: " + source);
+    }
+
+    /** Total rows in the file, taken from the footer. */
+    public long getRowCount() {
+        long rows = 0;
+        for (RowGroupMeta g : groups) rows += g.rows;
+        return rows;
+    }
+
+    /** Earliest pay date in the file, or {@code null} if it is empty. */
+    public LocalDate getMinPayDate() {
+        long min = Long.MAX_VALUE;
+        for (RowGroupMeta g : groups) min = Math.min(min, g.minDay);
+        return groups.isEmpty() ? null : LocalDate.ofEpochDay(min);
+    }
+
+    /** Latest pay date in the file, or {@code null} if it is empty. */
+    public LocalDate getMaxPayDate() {
+        long max = Long.MIN_VALUE;
+        for (RowGroupMeta g : groups) max = Math.max(max, g.maxDay);
+        return groups.isEmpty() ? null : LocalDate.ofEpochDay(max);
+    }
+
+    /**
+     * Streams the stored values of one column for rows whose pay date lies
+     * within [start, end]. Money columns are delivered in cents.
+     *
+     * @param column column to scan
+     * @param start first pay date (inclusive)
+     * @param end last pay date (inclusive)
+     * @param consumer receives each matching stored value
+     * @throws IOException if a chunk cannot be mapped
+     */
+    public void scan(PayrollColumn column, LocalDate start, LocalDate end, LongConsumer consumer) throws IOException {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        int dateIdx = PayrollColumn.PAY_DATE.ordinal();
+        int colIdx = column.ordinal();
+
+        for (RowGroupMeta g : groups) {
+            if (g.maxDay < from || g.minDay > to) continue;
+
+            boolean wholeGroup = g.minDay >= from && g.maxDay <= to;
+            ByteBuffer values = chunk(g, colIdx);
+            ByteBuffer dates = wholeGroup ? null : chunk(g, dateIdx);
+            long prevValue = 0;
+            long prevDay = 0;
+            for (int r = 0; r < g.rows; r++) {
+                prevValue = encodings[colIdx].decode(values, prevValue);
+                if (dates != null) {
+                    prevDay = encodings[dateIdx].decode(dates, prevDay);
+                    if (prevDay < from || prevDay > to) continue;
+                }
+                consumer.accept(prevValue);
+            }
+        }
+    }
+
+    /**
+     * Streams several columns for rows whose pay date lies within [start, end].
+     * Only the listed columns (plus {@code pay_date} when needed for filtering)
+     * are mapped and decoded. The array handed to the visitor is reused per row
+     * and holds stored values in the order of {@code columns}.
+     *
+     * @param columns columns to decode
+     * @param start first pay date (inclusive)
+     * @param end last pay date (inclusive)
+     * @param visitor receives each matching row
+     * @throws IOException if a chunk cannot be mapped
+     */
+    public void scanRows(PayrollColumn[] columns, LocalDate start, LocalDate end, RowVisitor visitor) throws IOException {
+        long from = start.toEpochDay();
+        long to = end.toEpochDay();
+        int dateIdx = PayrollColumn.PAY_DATE.ordinal();
+        long[] row = new long[columns.length];
+        long[] prev = new long[columns.length];
+        ByteBuffer[] buffers = new ByteBuffer[columns.length];
+
+        for (RowGroupMeta g : groups) {
+            if (g.maxDay < from || g.minDay > to) continue;
+
+            boolean wholeGroup = g.minDay >= from && g.maxDay <= to;
+            for (int i = 0; i < columns.length; i++) {
+                buffers[i] = chunk(g, columns[i].ordinal());
+                prev[i] = 0;
+            }
+            ByteBuffer dates = wholeGroup ? null : chunk(g, dateIdx);
+            long prevDay = 0;
+            for (int r = 0; r < g.rows; r++) {
+                for (int i = 0; i < columns.length; i++) {
+                    prev[i] = encodings[columns[i].ordinal()].decode(buffers[i], prev[i]);
+                    row[i] = prev[i];
+                }
+                if (dates != null) {
+                    prevDay = encodings[dateIdx].decode(dates, prevDay);
+                    if (prevDay < from || prevDay > to) continue;
+                }
+                visitor.visit(row);
+            }
+        }
+    }
+
+    /**
+     * Streams several columns for the rows of one employee, in file order.
+     * Groups outside the employee's empid range are skipped from the footer.
+     * In the others the empid column is decoded first, and the requested
+     * columns only if the group holds the employee, up to their last row.
+     * The array handed to the visitor is reused per row.
+     *
+     * @param empId employee to read
+     * @param columns columns to decode
+     * @param visitor receives each row of the employee
+     * @throws IOException if a chunk cannot be mapped
+     */
+    public void scanEmployee(int empId, PayrollColumn[] columns, RowVisitor visitor) throws IOException {
+        int empIdx = PayrollColumn.EMPID.ordinal();
+        long[] row = new long[columns.length];
+        long[] prev = new long[columns.length];
+        ByteBuffer[] buffers = new ByteBuffer[columns.length];
+
+        for (RowGroupMeta g : groups) {
+            if (empId < g.minEmpId || empId > g.maxEmpId) continue;
+
+            ByteBuffer ids = chunk(g, empIdx);
+            BitSet matches = new BitSet(g.rows);
+            long prevId = 0;
+            for (int r = 0; r < g.rows; r++) {
+                prevId = encodings[empIdx].decode(ids, prevId);
+                if (prevId == empId) matches.set(r);
+            }
+            if (matches.isEmpty()) continue;
+
+            for (int i = 0; i < columns.length; i++) {
+                buffers[i] = chunk(g, columns[i].ordinal());
+                prev[i] = 0;
+            }
+            int last = matches.length() - 1;
+            for (int r = 0; r <= last; r++) {
+                for (int i = 0; i < columns.length; i++) {
+                    prev[i] = encodings[columns[i].ordinal()].decode(buffers[i], prev[i]);
+                    row[i] = prev[i];
+                }
+                if (matches.get(r)) visitor.visit(row);
+            }
+        }
+    }
+
+    /** Lowest empid in the file, or -1 if it is empty. */
+    public int getMinEmpId() {
+        int min = Integer.MAX_VALUE;
+        for (RowGroupMeta g : groups) min = Math.min(min, g.minEmpId);
+        return groups.isEmpty() ? -1 : min;
+    }
+
+    /** Highest empid in the file, or -1 if it is empty. */
+    public int getMaxEmpId() {
+        int max = Integer.MIN_VALUE;
+        for (RowGroupMeta g : groups) max = Math.max(max, g.maxEmpId);
+        return groups.isEmpty() ? -1 : max;
+    }
+
+    /**
+     * Sums one column over a pay-date range, in the column's natural unit.
+     */
+    public double sum(PayrollColumn column, LocalDate start, LocalDate end) throws IOException {
+        long[] total = new long[1];
+        scan(column, start, end, v -> total[0] += v);
+        return column.toValue(total[0]);
+    }
+
+    private ByteBuffer chunk(RowGroupMeta g, int column) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, g.offsets[column], g.lengths[column]);
+        if (!deflated) {
+            return mapped;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(mapped);
+            ByteBuffer raw = ByteBuffer.allocate(g.rawLengths[column]);
+            while (raw.hasRemaining() && !inflater.finished()) {
+                if (inflater.inflate(raw) == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    // A truncated chunk would otherwise spin here forever
+                    throw new IOException("Truncated column chunk");
+                }
+            }
+            return raw.flip();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt column chunk", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /** Receives one decoded row from {@link #scanRows}. */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(long[] row);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
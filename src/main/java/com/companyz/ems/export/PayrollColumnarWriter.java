@@ -0,0 +1,196 @@
+package com.companyz.ems.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+
+import com.companyz.ems.model.Payroll;
+
+/**
+ * Writes payroll rows into a compact columnar file.
+ * <p>
+ * Rows are buffered into row groups; each full group is written as one
+ * encoded chunk per column. A footer at the end of the file records, for
+ * every row group, its row count, pay-date and empid ranges and the
+ * offset/length of each column chunk, so a reader can map and decode a
+ * single column of only the groups that overlap a date range or hold an
+ * employee. Chunks may optionally be deflate-compressed (used for archive
+ * segments). The last two bytes of MAGIC are the format version; readers
+ * reject other versions.
+ * </p>
+ * <pre>
+ * MAGIC | chunks ... | footer | footerOffset (long) | MAGIC
+ * footer = flags, columnCount, encoding code per column,
+ *          groupCount, per group: rows, minDay, maxDay, minEmpId, maxEmpId,
+ *                                 (offset, length, rawLength) per column
+ * </pre>
+ */
+public class PayrollColumnarWriter implements Closeable {
+    static final byte[] MAGIC = {'E', 'M', 'S', 'P', 'A', 'Y', '0', '2'};
+    static final int DEFAULT_ROW_GROUP_SIZE = 65_536;
+    static final int FLAG_DEFLATE = 1;
+
+    private static final PayrollColumn[] COLUMNS = PayrollColumn.values();
+
+    private final FileChannel channel;
+    private final int rowGroupSize;
+    private final Deflater deflater;
+    private final ByteArrayOutputStream[] chunks = new ByteArrayOutputStream[COLUMNS.length];
+    private final long[] previous = new long[COLUMNS.length];
+    private final List<RowGroupMeta> groups = new ArrayList<>();
+
+    private int groupRows;
+    private long minDay = Long.MAX_VALUE;
+    private long maxDay = Long.MIN_VALUE;
+    private int minEmpId = Integer.MAX_VALUE;
+    private int maxEmpId = Integer.MIN_VALUE;
+    private long rowCount;
+
+    public PayrollColumnarWriter(Path target) throws IOException {
+        this(target, DEFAULT_ROW_GROUP_SIZE, false);
+    }
+
+    /**
+     * @param target file to create or overwrite
+     * @param rowGroupSize rows buffered per row group
+     * @param compress deflate each column chunk
+     */
+    public PayrollColumnarWriter(Path target, int rowGroupSize, boolean compress) throws IOException {
+        this.channel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.rowGroupSize = rowGroupSize;
+        this.deflater = compress ? new Deflater(Deflater.BEST_COMPRESSION) : null;
+        for (int c = 0; c < COLUMNS.length; c++) {
+            chunks[c] = new ByteArrayOutputStream(rowGroupSize * 2);
+        }
+        writeFully(ByteBuffer.wrap(MAGIC));
+    }
+
+    public void write(Payroll payroll) throws IOException {
+        for (int c = 0; c < COLUMNS.length; c++) {
+            long value = COLUMNS[c].extract(payroll);
+            COLUMNS[c].getEncoding().encode(chunks[c], value, previous[c]);
+            previous[c] = value;
+        }
+        long day = payroll.getPayDate().toEpochDay();
+        minDay = Math.min(minDay, day);
+        maxDay = Math.max(maxDay, day);
+        minEmpId = Math.min(minEmpId, payroll.getEmpId());
+        maxEmpId = Math.max(maxEmpId, payroll.getEmpId());
+        groupRows++;
+        rowCount++;
+        if (groupRows == rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    public long getRowCount() { return rowCount; }
+
+    private void flushRowGroup() throws IOException {
+        if (groupRows == 0) return;
+        RowGroupMeta meta = new RowGroupMeta(groupRows, minDay, maxDay, minEmpId, maxEmpId, COLUMNS.length);
+        for (int c = 0; c < COLUMNS.length; c++) {
+            byte[] raw = chunks[c].toByteArray();
+            byte[] stored = deflater != null ? deflate(raw) : raw;
+            meta.offsets[c] = channel.position();
+            meta.lengths[c] = stored.length;
+            meta.rawLengths[c] = raw.length;
+            writeFully(ByteBuffer.wrap(stored));
+            chunks[c].reset();
+            previous[c] = 0; // delta chains restart per chunk so chunks decode independently
+        }
+        groups.add(meta);
+        groupRows = 0;
+        minDay = Long.MAX_VALUE;
+        maxDay = Long.MIN_VALUE;
+        minEmpId = Integer.MAX_VALUE;
+        maxEmpId = Integer.MIN_VALUE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRowGroup();
+            long footerOffset = channel.position();
+            int footerSize = 4 + 4 + COLUMNS.length + 4
+                    + groups.size() * (4 + 8 + 8 + 4 + 4 + COLUMNS.length * (8 + 4 + 4))
+                    + 8 + MAGIC.length;
+            ByteBuffer footer = ByteBuffer.allocate(footerSize);
+            footer.putInt(deflater != null ? FLAG_DEFLATE : 0);
+            footer.putInt(COLUMNS.length);
+            for (PayrollColumn column : COLUMNS) {
+                footer.put((byte) column.getEncoding().getCode());
+            }
+            footer.putInt(groups.size());
+            for (RowGroupMeta g : groups) {
+                footer.putInt(g.rows);
+                footer.putLong(g.minDay);
+                footer.putLong(g.maxDay);
+                footer.putInt(g.minEmpId);
+                footer.putInt(g.maxEmpId);
+                for (int c = 0; c < COLUMNS.length; c++) {
+                    footer.putLong(g.offsets[c]);
+                    footer.putInt(g.lengths[c]);
+                    footer.putInt(g.rawLengths[c]);
+                }
+            }
+            footer.putLong(footerOffset);
+            footer.put(MAGIC);
+            footer.flip();
+            writeFully(footer);
+            channel.force(true);
+        } finally {
+            if (deflater != null) deflater.end();
+            channel.close();
+        }
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+        byte[] buf = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buf);
+            out.write(buf, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private void writeFully(ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            channel.write(buf);
+        }
+    }
+
+    /** Footer entry for one row group. */
+    static class RowGroupMeta {
+        final int rows;
+        final long minDay;
+        final long maxDay;
+        final int minEmpId;
+        final int maxEmpId;
+        final long[] offsets;
+        final int[] lengths;
+        final int[] rawLengths;
+
+        RowGroupMeta(int rows, long minDay, long maxDay, int minEmpId, int maxEmpId, int columnCount) {
+            this.rows = rows;
+            this.minDay = minDay;
+            this.maxDay = maxDay;
+            this.minEmpId = minEmpId;
+            this.maxEmpId = maxEmpId;
+            this.offsets = new long[columnCount];
+            this.lengths = new int[columnCount];
+            this.rawLengths = new int[columnCount];
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.companyz.ems.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.companyz.ems.model.Payroll;
+
+/**
+ * Writes payroll rows to a CSV file one at a time.
+ * Nothing is retained between rows, so memory stays flat for any export size.
+ */
+public class PayrollCsvWriter implements Closeable {
+    private final BufferedWriter writer;
+    private long rowCount;
+
+    public PayrollCsvWriter(Path target) throws IOException {
+        this.writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+        writeHeader();
+    }
+
+    private void writeHeader() throws IOException {
+        PayrollColumn[] columns = PayrollColumn.values();
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) writer.write(',');
+            writer.write(columns[i].getColumnName());
+        }
+        writer.newLine();
+    }
+
+    public void write(Payroll p) throws IOException {
+        writer.write(Integer.toString(p.getPayrollId()));
+        writer.write(',');
+        writer.write(Integer.toString(p.getPayrollRunId()));
+        writer.write(',');
+        writer.write(Integer.toString(p.getEmpId()));
+        writer.write(',');
+        writer.write(p.getPayDate().toString());
+        for (double amount : new double[] {
+                p.getEarnings(), p.getFedTax(), p.getFedMed(), p.getFedSs(),
+                p.getStateTax(), p.getRetire401k(), p.getHealthCare(), p.getNetPay() }) {
+            writer.write(',');
+            writer.write(BigDecimal.valueOf(Math.round(amount * 100.0), 2).toPlainString());
+        }
+        writer.newLine();
+        rowCount++;
+    }
+
+    public long getRowCount() { return rowCount; }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
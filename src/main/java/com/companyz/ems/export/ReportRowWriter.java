@@ -0,0 +1,147 @@
+package com.companyz.ems.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes report rows to a file one at a time, as CSV or JSON Lines.
+ * <p>
+ * Rows are plain value arrays in header order, so a report can be copied
+ * straight from a result set without building its DTOs. Nothing is retained
+ * between rows, so memory stays flat for any export size.
+ * </p>
+ * Values are written as: null as empty (CSV) or {@code null} (JSON);
+ * numbers in plain notation; dates and everything else via {@code toString()}.
+ */
+public abstract class ReportRowWriter implements Closeable {
+    protected final BufferedWriter writer;
+    protected String[] columns;
+    private long rowCount;
+
+    protected ReportRowWriter(Path target) throws IOException {
+        this.writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+    }
+
+    public static ReportRowWriter open(ExportFormat format, Path target) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(target);
+            case JSON_LINES -> new JsonLines(target);
+        };
+    }
+
+    /** Sets the column names; must be called once, before the first row. */
+    public void writeHeader(String[] columns) throws IOException {
+        this.columns = columns.clone();
+    }
+
+    /** Writes one row; {@code values} may be reused by the caller afterwards. */
+    public void writeRow(Object[] values) throws IOException {
+        if (columns == null) {
+            throw new IllegalStateException("writeHeader must be called before writeRow");
+        }
+        writeValues(values);
+        writer.newLine();
+        rowCount++;
+    }
+
+    protected abstract void writeValues(Object[] values) throws IOException;
+
+    public long getRowCount() { return rowCount; }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    static String format(Object value) {
+        if (value instanceof BigDecimal d) return d.toPlainString();
+        if (value instanceof Double || value instanceof Float) {
+            return BigDecimal.valueOf(((Number) value).doubleValue()).toPlainString();
+        }
+        return value.toString();
+    }
+
+    /** RFC 4180 CSV with a header line; fields are quoted only when needed. */
+    private static final class Csv extends ReportRowWriter {
+        Csv(Path target) throws IOException {
+            super(target);
+        }
+
+        @Override
+        public void writeHeader(String[] columns) throws IOException {
+            super.writeHeader(columns);
+            writeValues(columns);
+            writer.newLine();
+        }
+
+        @Override
+        protected void writeValues(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) writer.write(',');
+                if (values[i] == null) continue;
+                String text = format(values[i]);
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                        || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                    writer.write('"');
+                    writer.write(text.replace("\"", "\"\""));
+                    writer.write('"');
+                } else {
+                    writer.write(text);
+                }
+            }
+        }
+    }
+
+    /** One JSON object per line, keyed by column name. */
+    private static final class JsonLines extends ReportRowWriter {
+        JsonLines(Path target) throws IOException {
+            super(target);
+        }
+
+        @Override
+        protected void writeValues(Object[] values) throws IOException {
+            writer.write('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) writer.write(',');
+                writeString(columns[i]);
+                writer.write(':');
+                Object value = values[i];
+                if (value == null) {
+                    writer.write("null");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    writer.write(format(value));
+                } else {
+                    writeString(format(value));
+                }
+            }
+            writer.write('}');
+        }
+
+        private void writeString(String s) throws IOException {
+            writer.write('"');
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"' -> writer.write("\\\"");
+                    case '\\' -> writer.write("\\\\");
+                    case '\n' -> writer.write("\\n");
+                    case '\r' -> writer.write("\\r");
+                    case '\t' -> writer.write("\\t");
+                    default -> {
+                        if (c < 0x20) {
+                            writer.write(String.format("\\u%04x", (int) c));
+                        } else {
+                            writer.write(c);
+                        }
+                    }
+                }
+            }
+            writer.write('"');
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.companyz.ems.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of a bulk account creation: how many accounts were created and the
+ * usernames that were not, in request order. An account fails on its own if
+ * its password could not be hashed, or with the rest of its chunk if the
+ * chunk's transaction was rolled back; either way it can be submitted again.
+ */
+public class BulkUserResult {
+    private final int created;
+    private final List<String> failedUsernames;
+    private final Exception error;
+
+    public BulkUserResult(int created, List<String> failedUsernames, Exception error) {
+        this.created = created;
+        this.failedUsernames = Collections.unmodifiableList(failedUsernames);
+        this.error = error;
+    }
+
+    public int getCreated() { return created; }
+    public List<String> getFailedUsernames() { return failedUsernames; }
+
+    /** The first failure, with later ones suppressed, or null if every account was created. */
+    public Exception getError() { return error; }
+
+    public boolean isComplete() { return failedUsernames.isEmpty(); }
+}
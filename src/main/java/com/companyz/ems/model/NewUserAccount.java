@@ -0,0 +1,24 @@
+package com.companyz.ems.model;
+
+/**
+ * One account to create in a bulk provisioning request: the login name,
+ * the employee it belongs to, the initial password and the role name.
+ */
+public class NewUserAccount {
+    private final String username;
+    private final int empId;
+    private final char[] password;
+    private final String role;
+
+    public NewUserAccount(String username, int empId, char[] password, String role) {
+        this.username = username;
+        this.empId = empId;
+        this.password = password;
+        this.role = role;
+    }
+
+    public String getUsername() { return username; }
+    public int getEmpId() { return empId; }
+    public char[] getPassword() { return password; }
+    public String getRole() { return role; }
+}
@@ -13,6 +13,9 @@ public class Payroll {
     /** Primary identifier for the payroll entry. */
     private int payrollId;
 
+    /** Payroll run (batch) this entry was posted in. */
+    private int payrollRunId;
+
     /** Employee this payroll entry belongs to. */
     private int empId;
 
@@ -61,6 +64,24 @@ public class Payroll {
         this.payrollId = payrollId;
     }
 
+    /**
+     * Returns the payroll run identifier.
+     *
+     * @return payroll run id
+     */
+    public int getPayrollRunId() {
+        return payrollRunId;
+    }
+
+    /**
+     * Sets the payroll run identifier.
+     *
+     * @param payrollRunId payroll run id to set
+     */
+    public void setPayrollRunId(int payrollRunId) {
+        this.payrollRunId = payrollRunId;
+    }
+
     /**
      * Returns the employee ID for this payroll entry.
      *
@@ -0,0 +1,56 @@
+package com.companyz.ems.model;
+
+import java.time.LocalDate;
+
+/**
+ * One pay period affected by a backdated salary change.
+ * <p>
+ * Amounts are the totals already paid to the employee in that payroll run;
+ * they are used to derive the withholding rates for the adjustment.
+ * </p>
+ */
+public class RetroPayItem {
+    private final long salaryHistoryId;
+    private final int empId;
+    private final int payrollRunId;
+    private final LocalDate payDate;
+    private final double previousSalary;
+    private final double newSalary;
+    private final double earnings;
+    private final double fedTax;
+    private final double fedMed;
+    private final double fedSs;
+    private final double stateTax;
+    private final double retire401k;
+
+    public RetroPayItem(long salaryHistoryId, int empId, int payrollRunId, LocalDate payDate,
+                        double previousSalary, double newSalary,
+                        double earnings, double fedTax, double fedMed, double fedSs,
+                        double stateTax, double retire401k) {
+        this.salaryHistoryId = salaryHistoryId;
+        this.empId = empId;
+        this.payrollRunId = payrollRunId;
+        this.payDate = payDate;
+        this.previousSalary = previousSalary;
+        this.newSalary = newSalary;
+        this.earnings = earnings;
+        this.fedTax = fedTax;
+        this.fedMed = fedMed;
+        this.fedSs = fedSs;
+        this.stateTax = stateTax;
+        this.retire401k = retire401k;
+    }
+
+    public long getSalaryHistoryId() { return salaryHistoryId; }
+    public int getEmpId() { return empId; }
+    public int getPayrollRunId() { return payrollRunId; }
+    public LocalDate getPayDate() { return payDate; }
+    public double getPreviousSalary() { return previousSalary; }
+    public double getNewSalary() { return newSalary; }
+    public double getEarnings() { return earnings; }
+    public double getFedTax() { return fedTax; }
+    public double getFedMed() { return fedMed; }
+    public double getFedSs() { return fedSs; }
+    public double getStateTax() { return stateTax; }
+    public double getRetire401k() { return retire401k; }
+}
@@ -0,0 +1,20 @@
+package com.companyz.ems.model.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position after the last row of an audit page: its time and id.
+ * The next page starts strictly after this key in newest-first order.
+ */
+public class AuditCursor {
+    private final LocalDateTime time;
+    private final long id;
+
+    public AuditCursor(LocalDateTime time, long id) {
+        this.time = time;
+        this.id = id;
+    }
+
+    public LocalDateTime getTime() { return time; }
+    public long getId() { return id; }
+}
@@ -0,0 +1,34 @@
+package com.companyz.ems.model.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for an audit log query. Null fields match everything.
+ * <p>
+ * The time window is {@code [from, to)}. Table name and record key apply to
+ * {@code change_log} only; a record key needs a table name. The user is the
+ * one who made the change, or the one an auth event belongs to.
+ * </p>
+ */
+public class AuditFilter {
+    private final String tableName;
+    private final String recordPk;
+    private final Integer userId;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public AuditFilter(String tableName, String recordPk, Integer userId,
+                       LocalDateTime from, LocalDateTime to) {
+        this.tableName = tableName;
+        this.recordPk = recordPk;
+        this.userId = userId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public String getTableName() { return tableName; }
+    public String getRecordPk() { return recordPk; }
+    public Integer getUserId() { return userId; }
+    public LocalDateTime getFrom() { return from; }
+    public LocalDateTime getTo() { return to; }
+}
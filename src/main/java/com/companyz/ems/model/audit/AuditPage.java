@@ -0,0 +1,25 @@
+package com.companyz.ems.model.audit;
+
+import java.util.List;
+
+/**
+ * One page of audit rows, newest first.
+ *
+ * @param <T> the row type
+ */
+public class AuditPage<T> {
+    private final List<T> entries;
+    private final AuditCursor next;
+
+    public AuditPage(List<T> entries, AuditCursor next) {
+        this.entries = entries;
+        this.next = next;
+    }
+
+    public List<T> getEntries() { return entries; }
+
+    /** Cursor for the following page, or null if this is the last one. */
+    public AuditCursor getNext() { return next; }
+
+    public boolean hasMore() { return next != null; }
+}
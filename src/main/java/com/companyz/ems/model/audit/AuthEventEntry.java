@@ -0,0 +1,33 @@
+package com.companyz.ems.model.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One {@code auth_events} row.
+ */
+public class AuthEventEntry {
+    private final long authEventId;
+    private final Integer userId;
+    private final String eventType;
+    private final LocalDateTime eventTime;
+    private final String ipAddress;
+    private final String userAgent;
+
+    public AuthEventEntry(long authEventId, Integer userId, String eventType, LocalDateTime eventTime,
+                          String ipAddress, String userAgent) {
+        this.authEventId = authEventId;
+        this.userId = userId;
+        this.eventType = eventType;
+        this.eventTime = eventTime;
+        this.ipAddress = ipAddress;
+        this.userAgent = userAgent;
+    }
+
+    public long getAuthEventId() { return authEventId; }
+    /** Null if the user has since been deleted. */
+    public Integer getUserId() { return userId; }
+    public String getEventType() { return eventType; }
+    public LocalDateTime getEventTime() { return eventTime; }
+    public String getIpAddress() { return ipAddress; }
+    public String getUserAgent() { return userAgent; }
+}
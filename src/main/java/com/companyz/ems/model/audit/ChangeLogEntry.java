@@ -0,0 +1,38 @@
+package com.companyz.ems.model.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * One {@code change_log} row.
+ */
+public class ChangeLogEntry {
+    private final long changeId;
+    private final String tableName;
+    private final String recordPk;
+    private final String operation;
+    private final int changedByUserId;
+    private final LocalDateTime changedAt;
+    private final String oldValues;
+    private final String newValues;
+
+    public ChangeLogEntry(long changeId, String tableName, String recordPk, String operation,
+                          int changedByUserId, LocalDateTime changedAt, String oldValues, String newValues) {
+        this.changeId = changeId;
+        this.tableName = tableName;
+        this.recordPk = recordPk;
+        this.operation = operation;
+        this.changedByUserId = changedByUserId;
+        this.changedAt = changedAt;
+        this.oldValues = oldValues;
+        this.newValues = newValues;
+    }
+
+    public long getChangeId() { return changeId; }
+    public String getTableName() { return tableName; }
+    public String getRecordPk() { return recordPk; }
+    public String getOperation() { return operation; }
+    public int getChangedByUserId() { return changedByUserId; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public String getOldValues() { return oldValues; }
+    public String getNewValues() { return newValues; }
+}
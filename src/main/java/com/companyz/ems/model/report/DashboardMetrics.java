@@ -0,0 +1,44 @@
+package com.companyz.ems.model.report;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Report: headline numbers for the admin dashboard.
+ * Breakdown maps are keyed by name, in name order. Audience: HR Admin.
+ */
+public class DashboardMetrics {
+    private final int headcount;
+    private final Map<String, Integer> headcountByDivision;
+    private final Map<String, Integer> headcountByStatus;
+    private final Map<String, Integer> headcountByType;
+    private final double totalPayrollLastMonth;
+    private final int newHiresThisMonth;
+    private final LocalDateTime computedAt;
+
+    public DashboardMetrics(int headcount,
+                            Map<String, Integer> headcountByDivision,
+                            Map<String, Integer> headcountByStatus,
+                            Map<String, Integer> headcountByType,
+                            double totalPayrollLastMonth,
+                            int newHiresThisMonth,
+                            LocalDateTime computedAt) {
+        this.headcount = headcount;
+        this.headcountByDivision = Collections.unmodifiableMap(new TreeMap<>(headcountByDivision));
+        this.headcountByStatus = Collections.unmodifiableMap(new TreeMap<>(headcountByStatus));
+        this.headcountByType = Collections.unmodifiableMap(new TreeMap<>(headcountByType));
+        this.totalPayrollLastMonth = totalPayrollLastMonth;
+        this.newHiresThisMonth = newHiresThisMonth;
+        this.computedAt = computedAt;
+    }
+
+    public int getHeadcount() { return headcount; }
+    public Map<String, Integer> getHeadcountByDivision() { return headcountByDivision; }
+    public Map<String, Integer> getHeadcountByStatus() { return headcountByStatus; }
+    public Map<String, Integer> getHeadcountByType() { return headcountByType; }
+    public double getTotalPayrollLastMonth() { return totalPayrollLastMonth; }
+    public int getNewHiresThisMonth() { return newHiresThisMonth; }
+    public LocalDateTime getComputedAt() { return computedAt; }
+}
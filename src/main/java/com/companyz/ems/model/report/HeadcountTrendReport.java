@@ -0,0 +1,42 @@
+package com.companyz.ems.model.report;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Report: employed headcount per division on each of a series of dates.
+ * Audience: HR Admin.
+ */
+public class HeadcountTrendReport {
+    private final List<LocalDate> dates;
+    private final Map<String, int[]> countsByDivision;
+
+    /**
+     * @param dates            the sample dates, ascending
+     * @param countsByDivision division name to one count per sample date
+     */
+    public HeadcountTrendReport(List<LocalDate> dates, Map<String, int[]> countsByDivision) {
+        this.dates = dates;
+        this.countsByDivision = Collections.unmodifiableMap(countsByDivision);
+    }
+
+    public List<LocalDate> getDates() { return dates; }
+    public Map<String, int[]> getCountsByDivision() { return countsByDivision; }
+
+    /** Headcount of {@code divisionName} on the date at {@code dateIndex}. */
+    public int getCount(String divisionName, int dateIndex) {
+        int[] counts = countsByDivision.get(divisionName);
+        return counts == null ? 0 : counts[dateIndex];
+    }
+
+    /** Headcount across all divisions on the date at {@code dateIndex}. */
+    public int getTotal(int dateIndex) {
+        int total = 0;
+        for (int[] counts : countsByDivision.values()) {
+            total += counts[dateIndex];
+        }
+        return total;
+    }
+}
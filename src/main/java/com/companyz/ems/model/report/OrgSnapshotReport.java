@@ -0,0 +1,44 @@
+package com.companyz.ems.model.report;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Report: each employee's division, job title and status as of a given date.
+ * Audience: HR Admin.
+ */
+public class OrgSnapshotReport {
+    private final LocalDate asOf;
+    private final List<Assignment> assignments;
+
+    public OrgSnapshotReport(LocalDate asOf, List<Assignment> assignments) {
+        this.asOf = asOf;
+        this.assignments = assignments;
+    }
+
+    public LocalDate getAsOf() { return asOf; }
+    public List<Assignment> getAssignments() { return assignments; }
+
+    /**
+     * Nested DTO representing one employee on the snapshot date.
+     * A field is null when the employee had no assignment of that kind that day.
+     */
+    public static class Assignment {
+        private final int empId;
+        private final String divisionName;
+        private final String jobTitleName;
+        private final String status;
+
+        public Assignment(int empId, String divisionName, String jobTitleName, String status) {
+            this.empId = empId;
+            this.divisionName = divisionName;
+            this.jobTitleName = jobTitleName;
+            this.status = status;
+        }
+
+        public int getEmpId() { return empId; }
+        public String getDivisionName() { return divisionName; }
+        public String getJobTitleName() { return jobTitleName; }
+        public String getStatus() { return status; }
+    }
+}
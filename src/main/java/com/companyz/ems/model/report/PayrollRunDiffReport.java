@@ -0,0 +1,48 @@
+package com.companyz.ems.model.report;
+
+/**
+ * Report: summary of differences between two payroll runs.
+ * Per-employee lines are written to the report file; only counts and
+ * totals are kept here. Audience: HR Admin.
+ */
+public class PayrollRunDiffReport {
+    private final int baseRunId;
+    private final int compareRunId;
+    private final double threshold;
+    private final int newHires;
+    private final int terminations;
+    private final int changed;
+    private final int unchanged;
+    private final double baseNetPayTotal;
+    private final double compareNetPayTotal;
+
+    public PayrollRunDiffReport(int baseRunId,
+                                int compareRunId,
+                                double threshold,
+                                int newHires,
+                                int terminations,
+                                int changed,
+                                int unchanged,
+                                double baseNetPayTotal,
+                                double compareNetPayTotal) {
+        this.baseRunId = baseRunId;
+        this.compareRunId = compareRunId;
+        this.threshold = threshold;
+        this.newHires = newHires;
+        this.terminations = terminations;
+        this.changed = changed;
+        this.unchanged = unchanged;
+        this.baseNetPayTotal = baseNetPayTotal;
+        this.compareNetPayTotal = compareNetPayTotal;
+    }
+
+    public int getBaseRunId() { return baseRunId; }
+    public int getCompareRunId() { return compareRunId; }
+    public double getThreshold() { return threshold; }
+    public int getNewHires() { return newHires; }
+    public int getTerminations() { return terminations; }
+    public int getChanged() { return changed; }
+    public int getUnchanged() { return unchanged; }
+    public double getBaseNetPayTotal() { return baseNetPayTotal; }
+    public double getCompareNetPayTotal() { return compareNetPayTotal; }
+}
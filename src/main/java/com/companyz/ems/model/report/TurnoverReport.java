@@ -0,0 +1,94 @@
+package com.companyz.ems.model.report;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Report: monthly headcount, hires, terminations and turnover by division,
+ * with the tenure distribution at the end of the period.
+ * Audience: HR Admin.
+ */
+public class TurnoverReport {
+    private final YearMonth fromMonth;
+    private final YearMonth toMonth;
+    private final List<DivisionMonth> months;
+    private final LocalDate tenureAsOf;
+    private final List<TenureEntry> tenure;
+
+    public TurnoverReport(YearMonth fromMonth, YearMonth toMonth, List<DivisionMonth> months,
+                          LocalDate tenureAsOf, List<TenureEntry> tenure) {
+        this.fromMonth = fromMonth;
+        this.toMonth = toMonth;
+        this.months = months;
+        this.tenureAsOf = tenureAsOf;
+        this.tenure = tenure;
+    }
+
+    public YearMonth getFromMonth() { return fromMonth; }
+    public YearMonth getToMonth() { return toMonth; }
+    /** Ordered by month, then division name. */
+    public List<DivisionMonth> getMonths() { return months; }
+    public LocalDate getTenureAsOf() { return tenureAsOf; }
+    /** Ordered by division name. */
+    public List<TenureEntry> getTenure() { return tenure; }
+
+    /**
+     * Nested DTO representing one division in one month.
+     */
+    public static class DivisionMonth {
+        private final YearMonth month;
+        private final String divisionName;
+        private final int startHeadcount;
+        private final int endHeadcount;
+        private final int hires;
+        private final int terminations;
+
+        public DivisionMonth(YearMonth month, String divisionName, int startHeadcount, int endHeadcount,
+                             int hires, int terminations) {
+            this.month = month;
+            this.divisionName = divisionName;
+            this.startHeadcount = startHeadcount;
+            this.endHeadcount = endHeadcount;
+            this.hires = hires;
+            this.terminations = terminations;
+        }
+
+        public YearMonth getMonth() { return month; }
+        public String getDivisionName() { return divisionName; }
+        public int getStartHeadcount() { return startHeadcount; }
+        public int getEndHeadcount() { return endHeadcount; }
+        public int getHires() { return hires; }
+        public int getTerminations() { return terminations; }
+
+        /** Terminations over the average of the start and end headcount. */
+        public double getTurnoverRate() {
+            double average = (startHeadcount + endHeadcount) / 2.0;
+            return average == 0 ? 0 : terminations / average;
+        }
+
+        public String getTurnoverPercent() {
+            return String.format("%.1f%%", getTurnoverRate() * 100);
+        }
+    }
+
+    /**
+     * Nested DTO counting one division's employees by completed years of service.
+     */
+    public static class TenureEntry {
+        private final String divisionName;
+        private final int[] bands; // <1, 1-3, 3-5, 5-10, 10+ years
+
+        public TenureEntry(String divisionName, int[] bands) {
+            this.divisionName = divisionName;
+            this.bands = bands;
+        }
+
+        public String getDivisionName() { return divisionName; }
+        public int getUnderOneYear() { return bands[0]; }
+        public int getOneToThreeYears() { return bands[1]; }
+        public int getThreeToFiveYears() { return bands[2]; }
+        public int getFiveToTenYears() { return bands[3]; }
+        public int getTenPlusYears() { return bands[4]; }
+    }
+}
@@ -0,0 +1,130 @@
+package com.companyz.ems.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.companyz.ems.config.AppConfig;
+
+/**
+ * Runs password hashing and verification on a bounded pool of worker threads.
+ * <p>
+ * BCrypt is pure CPU work, so the pool has one platform thread per core by
+ * default ({@code security.auth.workers=0}). Requests beyond that wait in a
+ * queue of {@code security.auth.queue.capacity}; when it is full a request
+ * fails at once with a {@link RejectedExecutionException} instead of adding
+ * to everyone's latency. Time spent waiting in the queue is recorded so a
+ * pool that is too small shows up in the metrics before users notice it.
+ */
+public class AuthExecutor implements AutoCloseable {
+
+    private static volatile AuthExecutor defaultExecutor;
+    private static volatile AuthExecutor bulkExecutor;
+
+    private final ThreadPoolExecutor pool;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalQueueNanos = new AtomicLong();
+    private final AtomicLong maxQueueNanos = new AtomicLong();
+
+    /**
+     * @param workers       worker threads; 0 or less means one per available core
+     * @param queueCapacity requests allowed to wait for a worker
+     */
+    public AuthExecutor(int workers, int queueCapacity) {
+        int size = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.pool = new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().name("auth-", 0).factory());
+    }
+
+    /** Returns the executor configured by {@code security.auth.*}. */
+    public static AuthExecutor getDefault() {
+        if (defaultExecutor == null) {
+            synchronized (AuthExecutor.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = new AuthExecutor(AppConfig.getInt("security.auth.workers"),
+                                                       AppConfig.getInt("security.auth.queue.capacity"));
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Returns the executor for bulk account creation, sized by
+     * {@code security.auth.bulk.workers}. It is separate from the login pool so
+     * that an onboarding import cannot fill the login queue, and its queue holds
+     * one {@code db.batch.size} chunk of passwords.
+     */
+    public static AuthExecutor getBulk() {
+        if (bulkExecutor == null) {
+            synchronized (AuthExecutor.class) {
+                if (bulkExecutor == null) {
+                    bulkExecutor = new AuthExecutor(AppConfig.getInt("security.auth.bulk.workers"),
+                                                    AppConfig.getInt("db.batch.size"));
+                }
+            }
+        }
+        return bulkExecutor;
+    }
+
+    /**
+     * Queues {@code work} for a worker.
+     *
+     * @return a future completed with the result, or exceptionally with a
+     *         RejectedExecutionException when the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            pool.execute(() -> {
+                recordQueueTime(System.nanoTime() - queuedAt);
+                try {
+                    future.complete(work.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            future.completeExceptionally(new RejectedExecutionException("Too many sign-ins in progress, try again"));
+        }
+        return future;
+    }
+
+    private void recordQueueTime(long nanos) {
+        started.incrementAndGet();
+        totalQueueNanos.addAndGet(nanos);
+        maxQueueNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // --- Metrics ---
+
+    /** Requests that reached a worker. */
+    public long getStartedCount() { return started.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+    public int getQueueDepth() { return pool.getQueue().size(); }
+    public int getActiveCount() { return pool.getActiveCount(); }
+    public int getWorkerCount() { return pool.getCorePoolSize(); }
+
+    public double getAverageQueueMillis() {
+        long n = started.get();
+        return n == 0 ? 0 : totalQueueNanos.get() / 1_000_000.0 / n;
+    }
+
+    public double getMaxQueueMillis() {
+        return maxQueueNanos.get() / 1_000_000.0;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdownNow();
+    }
+}
@@ -1,59 +1,164 @@
 package com.companyz.ems.security;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.companyz.ems.config.SecurityConfig;
 import com.companyz.ems.dao.AuthEventLogger;
 import com.companyz.ems.dao.UserDao;
+import com.companyz.ems.model.Role;
 import com.companyz.ems.model.User;
 
 /**
  * Handles authentication and password management.
+ * <p>
+ * BCrypt checks run on the {@link AuthExecutor}, so at most one login per core
+ * is hashing at a time; the user lookup and event logging wait on the
+ * database from virtual threads. Attempts from a username or source that
+ * {@link LoginThrottle} is backing off are rejected before either; the desktop
+ * client has no source of its own, so its logins are throttled per username.
+ * Hashes made at a lower cost are replaced after the next successful login.
  */
 public class AuthService {
+    private static final ExecutorService IO = Executors.newVirtualThreadPerTaskExecutor();
+    // Client recorded in auth events when the caller gives no source
+    private static final String DEFAULT_SOURCE = "JavaFX";
+
     private final UserDao userDao;
     private final PasswordHasher hasher;
+    private final AuthExecutor authExecutor;
+    private final LoginThrottle throttle;
+    private final SessionRegistry sessions;
+    private final PermissionMatrix permissionMatrix;
     private final int sessionTimeoutMinutes;
 
-    public AuthService(UserDao userDao) {
+    public AuthService(UserDao userDao, AuthExecutor authExecutor, LoginThrottle throttle,
+                       SessionRegistry sessions, PermissionMatrix permissionMatrix) {
         this.userDao = userDao;
-        this.hasher = new PasswordHasher(SecurityConfig.getPasswordStrength());
+        SecurityConfig.startPasswordCalibration();
+        this.hasher = new PasswordHasher(SecurityConfig::getPasswordStrength);
+        this.authExecutor = authExecutor;
+        this.throttle = throttle;
+        this.sessions = sessions;
+        this.permissionMatrix = permissionMatrix;
         this.sessionTimeoutMinutes = SecurityConfig.getSessionTimeoutMinutes();
     }
 
+    public AuthService(UserDao userDao) {
+        this(userDao, AuthExecutor.getDefault(), LoginThrottle.getDefault(), SessionRegistry.getDefault(),
+             PermissionMatrix.getDefault());
+    }
+
     /**
-     * Authenticate a user by username and password.
+     * Authenticate a user by username and password, blocking until done.
+     *
+     * @throws java.util.concurrent.RejectedExecutionException if too many logins are queued
+     * @throws SecurityException if the login is throttled
      */
     public Optional<SessionContext> login(String username, char[] password) {
-        Optional<User> userOpt = userDao.findByUsername(username);
-        AuthEventLogger logger = new AuthEventLogger();
+        try {
+            return loginAsync(username, password).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
 
-        if (userOpt.isEmpty()) {
-            logger.logEvent(0, "LOGIN_FAILURE", null, "JavaFX");
-            return Optional.empty();
+    public CompletableFuture<Optional<SessionContext>> loginAsync(String username, char[] password) {
+        return loginAsync(username, password, null);
+    }
+
+    /**
+     * Authenticate a user without blocking the caller. The future fails with a
+     * RejectedExecutionException when the login queue is full, or a
+     * SecurityException when the username or {@code source} is throttled.
+     *
+     * @param source the client the attempt came from, such as an address, or null if
+     *               unknown; every caller passing the same constant would share one
+     *               source counter, so pass null rather than a fixed name
+     */
+    public CompletableFuture<Optional<SessionContext>> loginAsync(String username, char[] password, String source) {
+        try {
+            throttle.checkAllowed(username, source);
+        } catch (SecurityException e) {
+            return CompletableFuture.failedFuture(e);
         }
+        return CompletableFuture.supplyAsync(() -> userDao.findByUsername(username), IO)
+                .thenComposeAsync(userOpt -> {
+                    User user = userOpt.orElse(null);
+                    if (user == null || !user.isActive()) {
+                        return CompletableFuture.completedFuture(finishLogin(username, source, user, false));
+                    }
+                    return authExecutor.submit(() -> hasher.verify(password, user.getPasswordHash(), user.getPasswordSalt()))
+                            .thenApplyAsync(verified -> {
+                                if (verified) rehashIfNeeded(user, password);
+                                return finishLogin(username, source, user, verified);
+                            }, IO);
+                }, IO);
+    }
 
-        User user = userOpt.get();
-        if (!user.isActive() || !hasher.verify(password, user.getPasswordHash(), user.getPasswordSalt())) {
-            logger.logEvent(user.getUserId(), "LOGIN_FAILURE", null, "JavaFX");
+    private Optional<SessionContext> finishLogin(String username, String source, User user, boolean verified) {
+        AuthEventLogger logger = new AuthEventLogger();
+        String client = source != null ? source : DEFAULT_SOURCE;
+
+        if (!verified) {
+            throttle.recordFailure(username, source);
+            // No account to point at; 0 would break the foreign key to users
+            logger.logEvent(user == null ? null : user.getUserId(), "LOGIN_FAILURE", null, client);
             return Optional.empty();
         }
 
-        logger.logEvent(user.getUserId(), "LOGIN_SUCCESS", null, "JavaFX");
+        throttle.recordSuccess(username);
+        logger.logEvent(user.getUserId(), "LOGIN_SUCCESS", null, client);
+
+        // Permissions come from every role; the role shown is the admin one if any
+        List<Role> roles = user.getRoles();
+        long permissions = permissionMatrix.permissionsFor(roles);
+        String roleName = roles.isEmpty() ? "EMPLOYEE" : roles.get(0).getRoleName();
+        for (Role role : roles) {
+            if ((Permission.grantedBy(role.getRoleName()) & Permission.ADMIN.mask()) != 0) {
+                roleName = role.getRoleName();
+            }
+        }
 
         // no need to compute expiry here; pass timeoutMinutes instead
-        return Optional.of(new SessionContext(
+        return Optional.of(sessions.register(new SessionContext(
                 user.getUserId(),
-                user.getRoles().isEmpty() ? "EMPLOYEE" : user.getRoles().get(0).getRoleName(),
+                roleName,
                 user.getEmpId(),
-                sessionTimeoutMinutes
-        ));
+                sessionTimeoutMinutes,
+                permissions
+        )));
+
+    }
 
+    /**
+     * Brings a hash made at a lower cost up to the current one, in the background;
+     * the login does not wait. A password changed meanwhile is left alone.
+     */
+    private void rehashIfNeeded(User user, char[] password) {
+        if (!hasher.needsRehash(user.getPasswordHash())) return;
+        char[] copy = password.clone();
+        authExecutor.submit(() -> hasher.hashWithSalt(copy))
+                .thenAcceptAsync(hp -> userDao.replacePasswordHash(
+                        user.getUserId(), user.getPasswordHash(), hp.getHash(), hp.getSalt()), IO)
+                .whenComplete((ignored, error) -> {
+                    Arrays.fill(copy, '\0');
+                    if (error != null) {
+                        System.err.println("Password rehash skipped for user " + user.getUserId()
+                                + ": " + error.getMessage());
+                    }
+                });
     }
 
+    /** Ends the session; the LOGOUT event is written with the registry's next batch. */
     public void logout(SessionContext session) {
-        new AuthEventLogger().logEvent(session.getUserId(), "LOGOUT", null, "JavaFX");
-        session.inValidated();
+        sessions.logout(session, DEFAULT_SOURCE);
     }
 
     /**
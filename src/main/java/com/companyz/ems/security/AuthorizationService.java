@@ -7,7 +7,7 @@ public class AuthorizationService {
 
     /** Require HR admin privileges */
     public void requireAdmin(SessionContext ctx) {
-        if (!"HR_ADMIN".equalsIgnoreCase(ctx.getRole())) {
+        if (!ctx.has(Permission.ADMIN)) {
             throw new SecurityException("Admin privileges required");
         }
     }
@@ -21,7 +21,7 @@ public class AuthorizationService {
 
     /** Allow either HR admin or the employee themselves */
     public void requireSelfOrAdmin(SessionContext ctx, int employeeId) {
-        if ("HR_ADMIN".equalsIgnoreCase(ctx.getRole())) {
+        if (ctx.has(Permission.ADMIN)) {
             return; // admin always allowed
         }
         if (ctx.getEmployeeId() != null && ctx.getEmployeeId() == employeeId) {
@@ -0,0 +1,170 @@
+package com.companyz.ems.security;
+
+import java.time.Clock;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.companyz.ems.config.AppConfig;
+
+/**
+ * In-memory throttle for failed logins, checked before any hashing or database work.
+ * <p>
+ * Failures are counted per username and per source (client) in a fixed array
+ * of stripes; a key hashes to one stripe, so memory does not grow with the
+ * number of usernames an attacker tries. Each stripe is one {@code long}
+ * updated by compare-and-set, holding the window number and the failure
+ * counts of the current and previous window. The count over the last window
+ * is estimated by weighting the previous window by how much of it still
+ * overlaps, which smooths the reset at window boundaries.
+ * <p>
+ * Once a key reaches its limit it is blocked for a back-off that doubles with
+ * every further failure, up to {@code security.login.throttle.backoff.max.ms}.
+ * A successful login clears the username's stripe. Keys that share a stripe
+ * share a counter, which can only make the throttle stricter. A null source
+ * means the caller has no client identifier; such attempts are throttled
+ * per username only, so that they do not all share one source counter.
+ */
+public class LoginThrottle {
+
+    private static final int STRIPES = 1024;               // power of two
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = (1L << (64 - 2 * COUNT_BITS)) - 1;
+
+    private static volatile LoginThrottle defaultThrottle;
+
+    private final long windowMillis;
+    private final int userLimit;
+    private final int sourceLimit;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+    private final Clock clock;
+
+    // Per stripe: window number | previous window count | current window count
+    private final AtomicLongArray userCounts = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray sourceCounts = new AtomicLongArray(STRIPES);
+    // Per stripe: epoch millis before which attempts are rejected
+    private final AtomicLongArray userBlockedUntil = new AtomicLongArray(STRIPES);
+    private final AtomicLongArray sourceBlockedUntil = new AtomicLongArray(STRIPES);
+
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public LoginThrottle(long windowSeconds, int userLimit, int sourceLimit,
+                         long baseBackoffMillis, long maxBackoffMillis, Clock clock) {
+        this.windowMillis = windowSeconds * 1000;
+        this.userLimit = userLimit;
+        this.sourceLimit = sourceLimit;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.clock = clock;
+    }
+
+    /** Returns the throttle configured by {@code security.login.throttle.*}. */
+    public static LoginThrottle getDefault() {
+        if (defaultThrottle == null) {
+            synchronized (LoginThrottle.class) {
+                if (defaultThrottle == null) {
+                    defaultThrottle = new LoginThrottle(
+                            AppConfig.getInt("security.login.throttle.window.seconds"),
+                            AppConfig.getInt("security.login.throttle.user.limit"),
+                            AppConfig.getInt("security.login.throttle.source.limit"),
+                            AppConfig.getInt("security.login.throttle.backoff.base.ms"),
+                            AppConfig.getInt("security.login.throttle.backoff.max.ms"),
+                            Clock.systemDefaultZone());
+                }
+            }
+        }
+        return defaultThrottle;
+    }
+
+    /**
+     * Checks an attempt before it is processed.
+     *
+     * @param source the client identifier, or null if there is none
+     * @throws SecurityException if the username or source is backing off
+     */
+    public void checkAllowed(String username, String source) {
+        long now = clock.millis();
+        long until = userBlockedUntil.get(stripe(normalize(username)));
+        if (source != null) {
+            until = Math.max(until, sourceBlockedUntil.get(stripe(source)));
+        }
+        if (now < until) {
+            throttled.incrementAndGet();
+            long seconds = (until - now + 999) / 1000;
+            throw new SecurityException("Too many failed login attempts; try again in " + seconds + " s");
+        }
+    }
+
+    /** Counts a failed attempt and starts or extends a back-off if over a limit. */
+    public void recordFailure(String username, String source) {
+        failures.incrementAndGet();
+        long now = clock.millis();
+        int user = stripe(normalize(username));
+        backOff(userBlockedUntil, user, increment(userCounts, user, now), userLimit, now);
+        if (source != null) {
+            int src = stripe(source);
+            backOff(sourceBlockedUntil, src, increment(sourceCounts, src, now), sourceLimit, now);
+        }
+    }
+
+    /** Clears the username's failures after a successful login. */
+    public void recordSuccess(String username) {
+        int user = stripe(normalize(username));
+        userCounts.set(user, 0);
+        userBlockedUntil.set(user, 0);
+    }
+
+    /** Adds one failure to a stripe and returns the sliding-window estimate. */
+    private long increment(AtomicLongArray counts, int stripe, long now) {
+        long window = (now / windowMillis) & WINDOW_MASK;
+        while (true) {
+            long state = counts.get(stripe);
+            long stateWindow = state >>> (2 * COUNT_BITS);
+            long previous;
+            long current;
+            if (stateWindow == window) {
+                previous = (state >>> COUNT_BITS) & COUNT_MASK;
+                current = Math.min(COUNT_MASK, (state & COUNT_MASK) + 1);
+            } else if (stateWindow == ((window - 1) & WINDOW_MASK)) {
+                previous = state & COUNT_MASK;
+                current = 1;
+            } else {
+                previous = 0;
+                current = 1;
+            }
+            long next = (window << (2 * COUNT_BITS)) | (previous << COUNT_BITS) | current;
+            if (counts.compareAndSet(stripe, state, next)) {
+                double overlap = 1.0 - (double) (now % windowMillis) / windowMillis;
+                return current + (long) (previous * overlap);
+            }
+        }
+    }
+
+    private void backOff(AtomicLongArray blockedUntil, int stripe, long count, int limit, long now) {
+        if (count < limit) return;
+        int doublings = (int) Math.min(30, count - limit);
+        long until = now + Math.min(maxBackoffMillis, baseBackoffMillis << doublings);
+        blockedUntil.accumulateAndGet(stripe, until, Math::max);
+    }
+
+    private static String normalize(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int stripe(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h & (STRIPES - 1);
+    }
+
+    // --- Metrics ---
+
+    /** Attempts rejected without hashing or a database call. */
+    public long getThrottledCount() { return throttled.get(); }
+    public long getFailureCount() { return failures.get(); }
+}
@@ -3,6 +3,7 @@ package com.companyz.ems.security;
 import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.function.IntSupplier;
 
 import org.mindrot.jbcrypt.BCrypt;
 
@@ -11,10 +12,18 @@ import org.mindrot.jbcrypt.BCrypt;
  * plus an extra random salt stored separately in the DB.
  */
 public class PasswordHasher {
-    private final int strength;
+    /** Highest cost BCrypt accepts. */
+    public static final int MAX_STRENGTH = 31;
+
+    private final IntSupplier strength;
     private final SecureRandom random = new SecureRandom();
 
     public PasswordHasher(int strength) {
+        this(() -> strength);
+    }
+
+    /** Reads the cost for every new hash, so a cost calibrated later takes effect. */
+    public PasswordHasher(IntSupplier strength) {
         this.strength = strength;
     }
 
@@ -34,7 +43,7 @@ public class PasswordHasher {
         String saltedPassword = new String(password) + saltBase64;
 
         // Hash with BCrypt
-        String hashStr = BCrypt.hashpw(saltedPassword, BCrypt.gensalt(strength));
+        String hashStr = BCrypt.hashpw(saltedPassword, BCrypt.gensalt(strength.getAsInt()));
 
         return new HashedPassword(hashStr.getBytes(StandardCharsets.UTF_8), saltBytes);
     }
@@ -54,6 +63,60 @@ public class PasswordHasher {
         return BCrypt.checkpw(saltedPassword, storedHashStr);
     }
 
+    /**
+     * True if {@code storedHash} was made with a lower cost than this hasher uses,
+     * so it should be replaced once the password is known again. Hashes at a
+     * higher cost are kept; rehashing them would only weaken them.
+     */
+    public boolean needsRehash(byte[] storedHash) {
+        return costOf(storedHash) < strength.getAsInt();
+    }
+
+    /**
+     * Reads the cost from a stored hash ({@code $2a$12$...}).
+     *
+     * @return the cost, or -1 if the hash is not in BCrypt format
+     */
+    public static int costOf(byte[] storedHash) {
+        String hash = new String(storedHash, StandardCharsets.UTF_8);
+        int sep = hash.indexOf('$', 1);
+        if (!hash.startsWith("$2") || sep < 0 || hash.length() < sep + 4 || hash.charAt(sep + 3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(sep + 1, sep + 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Finds the highest cost whose hash takes at most {@code targetMillis} on this machine.
+     * <p>
+     * Each cost step doubles the work, so one timed hash at {@code minCost}
+     * predicts the rest; the chosen cost is then timed once more and lowered
+     * while it misses the target. Never returns less than {@code minCost}.
+     */
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCrypt.hashpw("warm-up", BCrypt.gensalt(4)); // load and JIT the class first
+        double millis = timeHash(minCost);
+        int cost = minCost;
+        while (cost < maxCost && millis * 2 <= targetMillis) {
+            cost++;
+            millis *= 2;
+        }
+        while (cost > minCost && timeHash(cost) > targetMillis) {
+            cost--;
+        }
+        return cost;
+    }
+
+    private static double timeHash(int cost) {
+        long start = System.nanoTime();
+        BCrypt.hashpw("calibration", BCrypt.gensalt(cost));
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
     /**
      * Simple container for hash + salt.
      */
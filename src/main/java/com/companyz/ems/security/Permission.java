@@ -0,0 +1,40 @@
+package com.companyz.ems.security;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Actions a session may be allowed to perform. Each permission is one bit of
+ * the mask compiled into a {@link SessionContext} at login.
+ */
+public enum Permission {
+    /** HR administration: employees, payroll, reports and user accounts. */
+    ADMIN(Set.of("HR_ADMIN")),
+    /** The user's own profile and pay history; granted by every role. */
+    SELF_SERVICE(null);
+
+    private final long mask;
+    private final Set<String> grantingRoles; // upper-case role names; null for every role
+
+    Permission(Set<String> grantingRoles) {
+        this.mask = 1L << ordinal();
+        this.grantingRoles = grantingRoles;
+    }
+
+    public long mask() {
+        return mask;
+    }
+
+    /** The permissions a role grants, as a mask. */
+    public static long grantedBy(String roleName) {
+        if (roleName == null) return 0;
+        String name = roleName.trim().toUpperCase(Locale.ROOT);
+        long granted = 0;
+        for (Permission p : values()) {
+            if (p.grantingRoles == null || p.grantingRoles.contains(name)) {
+                granted |= p.mask;
+            }
+        }
+        return granted;
+    }
+}
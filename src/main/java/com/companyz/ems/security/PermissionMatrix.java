@@ -0,0 +1,69 @@
+package com.companyz.ems.security;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.companyz.ems.dao.RoleDao;
+import com.companyz.ems.dao.RoleDaoImpl;
+import com.companyz.ems.model.Role;
+
+/**
+ * Role id to permission mask, loaded once from the {@code roles} table.
+ * <p>
+ * {@link AuthService} ORs the masks of all of a user's roles into the
+ * session at login, so later checks are a single AND. {@link RoleDaoImpl}
+ * calls {@link #invalidate()} after role writes; sessions already open keep
+ * the permissions they logged in with.
+ */
+public class PermissionMatrix {
+
+    private static PermissionMatrix defaultMatrix;
+
+    private final RoleDao roleDao;
+    private volatile Map<Integer, Long> masks; // null until loaded
+
+    public PermissionMatrix(RoleDao roleDao) {
+        this.roleDao = roleDao;
+    }
+
+    /** Shared matrix used by the default AuthService. */
+    public static synchronized PermissionMatrix getDefault() {
+        if (defaultMatrix == null) {
+            defaultMatrix = new PermissionMatrix(new RoleDaoImpl());
+        }
+        return defaultMatrix;
+    }
+
+    /** The union of the permissions granted by {@code roles}. */
+    public long permissionsFor(List<Role> roles) {
+        Map<Integer, Long> m = loaded();
+        long permissions = 0;
+        for (Role role : roles) {
+            Long mask = m.get(role.getRoleId());
+            // A role created after the load is compiled from its name
+            permissions |= mask != null ? mask : Permission.grantedBy(role.getRoleName());
+        }
+        return permissions;
+    }
+
+    /** Discards the matrix; the next login reloads it. */
+    public void invalidate() {
+        masks = null;
+    }
+
+    private Map<Integer, Long> loaded() {
+        Map<Integer, Long> m = masks;
+        if (m != null) return m;
+        synchronized (this) {
+            if (masks == null) {
+                Map<Integer, Long> compiled = new HashMap<>();
+                for (Role role : roleDao.findAll()) {
+                    compiled.put(role.getRoleId(), Permission.grantedBy(role.getRoleName()));
+                }
+                masks = Map.copyOf(compiled);
+            }
+            return masks;
+        }
+    }
+}
@@ -2,66 +2,114 @@ package com.companyz.ems.security;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a logged-in user session with timeout enforcement.
+ * <p>
+ * Safe to share between threads. Activity is tracked with the monotonic
+ * {@link System#nanoTime()} clock, so {@link #touch()} is a single atomic
+ * write and wall-clock adjustments do not expire or extend sessions.
+ * Permissions are compiled into an immutable mask at login, so
+ * {@link #has(Permission)} is a single bitwise AND.
  */
 public class SessionContext {
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final long sessionId;
     private final int userId;
     private final String role;
     private final Integer employeeId;
+    private final long permissions;
     private final int timeoutMinutes;
+    private final long timeoutNanos;
     private final Instant loginTime;
-    private Instant lastActivityTime;
-    private boolean active;
+    private final AtomicLong lastActivityNanos;
+    private final AtomicBoolean active = new AtomicBoolean(true);
 
     public SessionContext(int userId, String role, Integer employeeId, int timeoutMinutes) {
+        this(userId, role, employeeId, timeoutMinutes, Permission.grantedBy(role));
+    }
+
+    /**
+     * @param role        the role shown to the user
+     * @param permissions mask of {@link Permission#mask()} bits from all of the user's roles
+     */
+    public SessionContext(int userId, String role, Integer employeeId, int timeoutMinutes, long permissions) {
+        this.sessionId = NEXT_ID.incrementAndGet();
         this.userId = userId;
         this.role = role;
         this.employeeId = employeeId;
+        this.permissions = permissions;
         this.timeoutMinutes = timeoutMinutes;
+        this.timeoutNanos = TimeUnit.MINUTES.toNanos(timeoutMinutes);
         this.loginTime = Instant.now();
-        this.lastActivityTime = loginTime;
-        this.active = true;
+        this.lastActivityNanos = new AtomicLong(System.nanoTime());
     }
 
+    /** Identifies the session in the {@link SessionRegistry}. */
+    public long getSessionId() { return sessionId; }
     public int getUserId() { return userId; }
     public String getRole() { return role; }
     public Integer getEmployeeId() { return employeeId; }
+    public Instant getLoginTime() { return loginTime; }
+    public int getTimeoutMinutes() { return timeoutMinutes; }
+    public long getPermissions() { return permissions; }
+
+    public boolean has(Permission permission) {
+        return (permissions & permission.mask()) != 0;
+    }
 
     /**
      * Update last activity timestamp (e.g., on any user action).
      */
     public void touch() {
-        this.lastActivityTime = Instant.now();
+        lastActivityNanos.set(System.nanoTime());
+    }
+
+    /** Monotonic time after which the session is expired. */
+    long getDeadlineNanos() {
+        return lastActivityNanos.get() + timeoutNanos;
     }
 
     /**
      * Returns the absolute expiry time based on last activity.
      */
     public Instant getExpiryTime() {
-        return lastActivityTime.plus(Duration.ofMinutes(timeoutMinutes));
+        return Instant.now().plusNanos(getDeadlineNanos() - System.nanoTime());
     }
 
     /**
      * Check if the session has expired.
      */
     public boolean isExpired() {
-        return Instant.now().isAfter(getExpiryTime());
+        return System.nanoTime() - getDeadlineNanos() > 0;
     }
 
     /**
      * Check if the session is still active (not invalidated and not expired).
      */
     public boolean isActive() {
-        return active && !isExpired();
+        return active.get() && !isExpired();
     }
 
     /**
      * Invalidate the session manually (e.g., on logout).
      */
     public void inValidated() {
-        this.active = false;
+        invalidate();
+    }
+
+    /** Ends the session; returns true only for the call that ended it. */
+    boolean invalidate() {
+        return active.compareAndSet(true, false);
+    }
+
+    /** Not invalidated; the session may still have timed out. */
+    boolean isOpen() {
+        return active.get();
     }
 
     /**
@@ -69,7 +117,7 @@ public class SessionContext {
      */
     public long remainingMinutes() {
         if (!isActive()) return 0;
-        Duration remaining = Duration.between(Instant.now(), getExpiryTime());
+        Duration remaining = Duration.ofNanos(getDeadlineNanos() - System.nanoTime());
         return Math.max(0, remaining.toMinutes());
     }
 }
@@ -0,0 +1,190 @@
+package com.companyz.ems.security;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.companyz.ems.dao.AuthEventLogger;
+
+/**
+ * Central registry of open sessions, with idle expiry on a hashed timing wheel.
+ * <p>
+ * Sessions are looked up by id in a concurrent map. {@link SessionContext#touch()}
+ * only writes the session's activity time; the wheel is not updated on activity.
+ * The wheel has {@value #WHEEL_SIZE} buckets of one tick each. A session is
+ * placed in the bucket of its idle deadline; when the ticker reaches that
+ * bucket it either expires the session or, if it was touched since, moves it
+ * to the bucket of its new deadline. Both are O(1), and a session is looked
+ * at about once per timeout period however often it is touched.
+ * <p>
+ * The wheel belongs to the single ticker thread. New sessions reach it
+ * through a queue drained at each tick. Logout and timeout events are
+ * queued too and handed to the audit writer at each tick.
+ */
+public class SessionRegistry implements AutoCloseable {
+
+    private static final int WHEEL_SIZE = 1024;         // power of two
+    private static final long TICK_MILLIS = 1000;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+
+    private static volatile SessionRegistry defaultRegistry;
+
+    private final AuthEventLogger eventLogger;
+    private final ConcurrentHashMap<Long, SessionContext> sessions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<SessionContext> incoming = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<AuthEventLogger.Event> pendingEvents = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;   // null when ticked by hand
+    private final LongSupplier nanoTime;
+
+    // Ticker thread only
+    private final List<ArrayDeque<SessionContext>> wheel;
+    private final long startNanos;
+    private long currentTick;
+
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong loggedOut = new AtomicLong();
+
+    public SessionRegistry(AuthEventLogger eventLogger) {
+        this(eventLogger, System::nanoTime, true);
+    }
+
+    /**
+     * @param nanoTime  the wheel's clock, on the {@link System#nanoTime()} scale of session deadlines
+     * @param runTicker false to leave calling {@link #tick()} to the caller (tests)
+     */
+    @SuppressWarnings("unchecked")
+    SessionRegistry(AuthEventLogger eventLogger, LongSupplier nanoTime, boolean runTicker) {
+        this.eventLogger = eventLogger;
+        this.nanoTime = nanoTime;
+        this.wheel = new ArrayList<>(WHEEL_SIZE);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayDeque<>());
+        }
+        this.startNanos = nanoTime.getAsLong();
+        if (runTicker) {
+            this.ticker = Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofPlatform().daemon().name("session-wheel").factory());
+            ticker.scheduleAtFixedRate(this::tick, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+        } else {
+            this.ticker = null;
+        }
+    }
+
+    /** Returns the registry shared by the default AuthService. */
+    public static SessionRegistry getDefault() {
+        if (defaultRegistry == null) {
+            synchronized (SessionRegistry.class) {
+                if (defaultRegistry == null) {
+                    defaultRegistry = new SessionRegistry(new AuthEventLogger());
+                }
+            }
+        }
+        return defaultRegistry;
+    }
+
+    /** Starts tracking a new session. */
+    public SessionContext register(SessionContext session) {
+        sessions.put(session.getSessionId(), session);
+        incoming.add(session);
+        return session;
+    }
+
+    /** Returns the session if it is still active. */
+    public Optional<SessionContext> find(long sessionId) {
+        SessionContext session = sessions.get(sessionId);
+        return session != null && session.isActive() ? Optional.of(session) : Optional.empty();
+    }
+
+    /** Records activity on a session; false if it has already ended. */
+    public boolean touch(long sessionId) {
+        SessionContext session = sessions.get(sessionId);
+        if (session == null || !session.isActive()) return false;
+        session.touch();
+        return true;
+    }
+
+    /** Ends a session and queues its LOGOUT event; does nothing if it already ended. */
+    public void logout(SessionContext session, String userAgent) {
+        sessions.remove(session.getSessionId());
+        if (session.invalidate()) {
+            loggedOut.incrementAndGet();
+            pendingEvents.add(new AuthEventLogger.Event(
+                    session.getUserId(), "LOGOUT", LocalDateTime.now(), null, userAgent));
+        }
+    }
+
+    void tick() {
+        try {
+            long nowTick = (nanoTime.getAsLong() - startNanos) / TICK_NANOS;
+            SessionContext added;
+            while ((added = incoming.poll()) != null) {
+                schedule(added, Math.max(deadlineTick(added), currentTick + 1));
+            }
+            // Catch up if the ticker was delayed, one bucket per elapsed tick
+            while (currentTick < nowTick) {
+                currentTick++;
+                expireBucket(currentTick);
+            }
+            flushEvents();
+        } catch (RuntimeException e) {
+            System.err.println("Session registry tick failed: " + e.getMessage());
+        }
+    }
+
+    private void expireBucket(long tick) {
+        ArrayDeque<SessionContext> bucket = wheel.get((int) (tick & (WHEEL_SIZE - 1)));
+        for (int n = bucket.size(); n > 0; n--) {
+            SessionContext session = bucket.poll();
+            if (!session.isOpen()) continue; // logged out; the event is already queued
+            long deadline = deadlineTick(session);
+            if (deadline > tick) {
+                schedule(session, deadline); // touched since, or due in a later turn of the wheel
+            } else if (session.invalidate()) {
+                sessions.remove(session.getSessionId());
+                expired.incrementAndGet();
+                pendingEvents.add(new AuthEventLogger.Event(
+                        session.getUserId(), "SESSION_TIMEOUT", LocalDateTime.now(), null, null));
+            }
+        }
+    }
+
+    private void schedule(SessionContext session, long tick) {
+        wheel.get((int) (tick & (WHEEL_SIZE - 1))).add(session);
+    }
+
+    private long deadlineTick(SessionContext session) {
+        // Round up so a session never expires before its deadline
+        return (session.getDeadlineNanos() - startNanos + TICK_NANOS - 1) / TICK_NANOS;
+    }
+
+    private void flushEvents() {
+        AuthEventLogger.Event event;
+        while ((event = pendingEvents.poll()) != null) {
+            eventLogger.logEvent(event);
+        }
+    }
+
+    // --- Metrics ---
+
+    public int getActiveCount() { return sessions.size(); }
+    public long getExpiredCount() { return expired.get(); }
+    public long getLoggedOutCount() { return loggedOut.get(); }
+
+    /** Stops the ticker and hands any queued events to the audit writer. */
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        flushEvents();
+    }
+}
@@ -0,0 +1,52 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.companyz.ems.export.ExportFormat;
+import com.companyz.ems.model.audit.AuditCursor;
+import com.companyz.ems.model.audit.AuditFilter;
+import com.companyz.ems.model.audit.AuditPage;
+import com.companyz.ems.model.audit.AuthEventEntry;
+import com.companyz.ems.model.audit.ChangeLogEntry;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for searching and exporting the audit trail.
+ * HR Admin only. Results are newest first; pass a page's
+ * {@link AuditPage#getNext() next} cursor to get the following page.
+ */
+public interface AuditService {
+
+    /**
+     * Returns one page of {@code change_log} rows matching the filter.
+     *
+     * @param after cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the filter is inconsistent
+     */
+    AuditPage<ChangeLogEntry> findChanges(SessionContext ctx, AuditFilter filter, AuditCursor after);
+
+    /**
+     * Returns one page of {@code auth_events} rows matching the filter's user and time window.
+     *
+     * @param after cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the filter is inconsistent
+     */
+    AuditPage<AuthEventEntry> findAuthEvents(SessionContext ctx, AuditFilter filter, AuditCursor after);
+
+    /**
+     * Streams every matching change to a CSV or JSON Lines file.
+     *
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     */
+    long exportChanges(SessionContext ctx, AuditFilter filter, ExportFormat format, Path target) throws IOException;
+
+    /**
+     * Streams every matching auth event to a CSV or JSON Lines file.
+     *
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     */
+    long exportAuthEvents(SessionContext ctx, AuditFilter filter, ExportFormat format, Path target) throws IOException;
+}
@@ -0,0 +1,91 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.AuditLogDao;
+import com.companyz.ems.dao.AuditLogDaoImpl;
+import com.companyz.ems.export.ExportFormat;
+import com.companyz.ems.model.audit.AuditCursor;
+import com.companyz.ems.model.audit.AuditFilter;
+import com.companyz.ems.model.audit.AuditPage;
+import com.companyz.ems.model.audit.AuthEventEntry;
+import com.companyz.ems.model.audit.ChangeLogEntry;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class AuditServiceImpl implements AuditService {
+
+    private final AuditLogDao auditLogDao;
+    private final AuthorizationService authzService;
+    private final int pageSize;
+
+    public AuditServiceImpl(AuditLogDao auditLogDao, AuthorizationService authzService, int pageSize) {
+        this.auditLogDao = auditLogDao;
+        this.authzService = authzService;
+        this.pageSize = pageSize;
+    }
+
+    public AuditServiceImpl() {
+        this(new AuditLogDaoImpl(), new AuthorizationService(), AppConfig.getInt("audit.query.page.size"));
+    }
+
+    @Override
+    public AuditPage<ChangeLogEntry> findChanges(SessionContext ctx, AuditFilter filter, AuditCursor after) {
+        authzService.requireAdmin(ctx);
+        validate(filter);
+        // One extra row tells whether another page follows
+        List<ChangeLogEntry> rows = auditLogDao.findChanges(filter, after, pageSize + 1);
+        if (rows == null) {
+            throw new IllegalStateException("Change log unavailable");
+        }
+        return page(rows, e -> new AuditCursor(e.getChangedAt(), e.getChangeId()));
+    }
+
+    @Override
+    public AuditPage<AuthEventEntry> findAuthEvents(SessionContext ctx, AuditFilter filter, AuditCursor after) {
+        authzService.requireAdmin(ctx);
+        validate(filter);
+        List<AuthEventEntry> rows = auditLogDao.findAuthEvents(filter, after, pageSize + 1);
+        if (rows == null) {
+            throw new IllegalStateException("Auth events unavailable");
+        }
+        return page(rows, e -> new AuditCursor(e.getEventTime(), e.getAuthEventId()));
+    }
+
+    @Override
+    public long exportChanges(SessionContext ctx, AuditFilter filter, ExportFormat format, Path target)
+            throws IOException {
+        authzService.requireAdmin(ctx);
+        validate(filter);
+        return ReportExportServiceImpl.export(format, target, sink -> auditLogDao.streamChanges(filter, sink));
+    }
+
+    @Override
+    public long exportAuthEvents(SessionContext ctx, AuditFilter filter, ExportFormat format, Path target)
+            throws IOException {
+        authzService.requireAdmin(ctx);
+        validate(filter);
+        return ReportExportServiceImpl.export(format, target, sink -> auditLogDao.streamAuthEvents(filter, sink));
+    }
+
+    private <T> AuditPage<T> page(List<T> rows, Function<T, AuditCursor> cursorOf) {
+        if (rows.size() <= pageSize) {
+            return new AuditPage<>(rows, null);
+        }
+        List<T> entries = rows.subList(0, pageSize);
+        return new AuditPage<>(entries, cursorOf.apply(entries.get(pageSize - 1)));
+    }
+
+    private static void validate(AuditFilter filter) {
+        if (filter.getRecordPk() != null && filter.getTableName() == null) {
+            throw new IllegalArgumentException("A record key needs a table name");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.companyz.ems.services;
+
+import java.util.List;
+
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for running several admin reports at once.
+ * HR Admin only.
+ */
+public interface BatchReportService {
+
+    /**
+     * Starts all {@code requests} concurrently and returns immediately.
+     * <p>
+     * Duplicate requests run once. At most {@code db.pool.size} reports run at
+     * the same time, so the batch never waits on the connection pool, and the
+     * whole batch takes about as long as its slowest report.
+     *
+     * @param ctx      the current user session context
+     * @param requests the reports to run
+     * @return the batch, with one handle per distinct request
+     */
+    ReportBatch submit(SessionContext ctx, List<ReportRequest<?>> requests);
+}
@@ -0,0 +1,38 @@
+package com.companyz.ems.services;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class BatchReportServiceImpl implements BatchReportService {
+
+    private final ReportService reportService;
+    private final ReportExecutor executor;
+    private final AuthorizationService authzService;
+
+    public BatchReportServiceImpl(ReportService reportService,
+                                  ReportExecutor executor,
+                                  AuthorizationService authzService) {
+        this.reportService = reportService;
+        this.executor = executor;
+        this.authzService = authzService;
+    }
+
+    public BatchReportServiceImpl() {
+        this(new ReportServiceImpl(), ReportExecutor.getPooled(), new AuthorizationService());
+    }
+
+    @Override
+    public ReportBatch submit(SessionContext ctx, List<ReportRequest<?>> requests) {
+        authzService.requireAdmin(ctx);
+
+        LinkedHashMap<ReportRequest<?>, ReportHandle<?>> handles = new LinkedHashMap<>();
+        for (ReportRequest<?> request : requests) {
+            handles.computeIfAbsent(request, r -> executor.submit(r.toString(),
+                    progress -> r.run(reportService, ctx)));
+        }
+        return new ReportBatch(handles);
+    }
+}
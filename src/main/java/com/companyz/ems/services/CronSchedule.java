@@ -0,0 +1,143 @@
+package com.companyz.ems.services;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A five-field cron expression: minute, hour, day of month, month, day of week.
+ * <p>
+ * Each field accepts {@code *}, a number, a range {@code a-b}, a step
+ * {@code *}{@code /n} or {@code a-b/n}, or a comma-separated list of those.
+ * Day of week runs 0-7, where both 0 and 7 are Sunday. As in cron, when both
+ * day fields are restricted a day matching either one qualifies.
+ * <p>
+ * Examples: {@code 30 1 * * *} (01:30 every night), {@code 0 2 1 * *}
+ * (02:00 on the first of the month), {@code 0 22 * * 1-5} (22:00 on weekdays).
+ */
+public final class CronSchedule {
+
+    private final long minutes;      // bit per allowed value
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;   // bit 0 = Sunday ... bit 6 = Saturday
+    private final boolean anyDayOfMonth;
+    private final boolean anyDayOfWeek;
+    private final String expression;
+
+    private CronSchedule(String expression, long minutes, long hours, long daysOfMonth, long months,
+                         long daysOfWeek, boolean anyDayOfMonth, boolean anyDayOfWeek) {
+        this.expression = expression;
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+        this.anyDayOfMonth = anyDayOfMonth;
+        this.anyDayOfWeek = anyDayOfWeek;
+    }
+
+    /**
+     * Parses a five-field expression.
+     *
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public static CronSchedule parse(String expression) {
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression needs 5 fields: " + expression);
+        }
+        long dow = parseField(fields[4], 0, 7);
+        if ((dow & (1L << 7)) != 0) {
+            dow = (dow | 1L) & ~(1L << 7); // 7 is Sunday too
+        }
+        return new CronSchedule(expression,
+                parseField(fields[0], 0, 59),
+                parseField(fields[1], 0, 23),
+                parseField(fields[2], 1, 31),
+                parseField(fields[3], 1, 12),
+                dow,
+                fields[2].equals("*"),
+                fields[4].equals("*"));
+    }
+
+    /** First matching minute strictly after {@code after}. */
+    public LocalDateTime next(LocalDateTime after) {
+        LocalDateTime t = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        LocalDateTime limit = t.plusYears(5); // enough for any satisfiable date, e.g. Feb 29
+        while (t.isBefore(limit)) {
+            if (!has(months, t.getMonthValue())) {
+                t = t.withDayOfMonth(1).toLocalDate().atStartOfDay().plusMonths(1);
+            } else if (!dayMatches(t)) {
+                t = t.toLocalDate().plusDays(1).atStartOfDay();
+            } else if (!has(hours, t.getHour())) {
+                t = t.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            } else if (!has(minutes, t.getMinute())) {
+                t = t.plusMinutes(1);
+            } else {
+                return t;
+            }
+        }
+        throw new IllegalStateException("Cron expression never fires: " + expression);
+    }
+
+    private boolean dayMatches(LocalDateTime t) {
+        boolean dom = has(daysOfMonth, t.getDayOfMonth());
+        boolean dow = has(daysOfWeek, t.getDayOfWeek().getValue() % 7);
+        if (anyDayOfMonth) return dow;
+        if (anyDayOfWeek) return dom;
+        return dom || dow;
+    }
+
+    private static boolean has(long mask, int value) {
+        return (mask & (1L << value)) != 0;
+    }
+
+    private static long parseField(String field, int min, int max) {
+        long mask = 0;
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseNumber(part.substring(slash + 1), 1, max, part);
+                part = part.substring(0, slash);
+            }
+            int from;
+            int to;
+            if (part.equals("*")) {
+                from = min;
+                to = max;
+            } else if (part.indexOf('-') > 0) {
+                from = parseNumber(part.substring(0, part.indexOf('-')), min, max, field);
+                to = parseNumber(part.substring(part.indexOf('-') + 1), min, max, field);
+            } else {
+                from = parseNumber(part, min, max, field);
+                to = slash >= 0 ? max : from;
+            }
+            if (from > to) {
+                throw new IllegalArgumentException("Bad cron range: " + field);
+            }
+            for (int v = from; v <= to; v += step) {
+                mask |= 1L << v;
+            }
+        }
+        return mask;
+    }
+
+    private static int parseNumber(String text, int min, int max, String field) {
+        try {
+            int value = Integer.parseInt(text);
+            if (value < min || value > max) {
+                throw new IllegalArgumentException("Cron value out of range " + min + "-" + max + ": " + field);
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bad cron field: " + field, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
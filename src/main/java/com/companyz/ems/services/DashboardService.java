@@ -0,0 +1,24 @@
+package com.companyz.ems.services;
+
+import com.companyz.ems.model.report.DashboardMetrics;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for the admin dashboard figures.
+ * HR Admin only.
+ */
+public interface DashboardService {
+
+    /**
+     * Returns headcount (total and by division, status and employment type),
+     * last month's total payroll and this month's new hires.
+     * <p>
+     * Results are computed with aggregate queries and reused for
+     * {@code dashboard.cache.ttl.seconds}, so repeated dashboard opens are free.
+     *
+     * @param ctx the current user session context
+     * @return the dashboard metrics
+     * @throws IllegalStateException if the metrics could not be computed
+     */
+    DashboardMetrics getMetrics(SessionContext ctx);
+}
@@ -0,0 +1,56 @@
+package com.companyz.ems.services;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.DashboardDao;
+import com.companyz.ems.dao.DashboardDaoImpl;
+import com.companyz.ems.model.report.DashboardMetrics;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class DashboardServiceImpl implements DashboardService {
+
+    private final DashboardDao dashboardDao;
+    private final AuthorizationService authzService;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    private DashboardMetrics cached;
+    private long cachedAt;
+
+    public DashboardServiceImpl(DashboardDao dashboardDao,
+                                AuthorizationService authzService,
+                                long ttlSeconds,
+                                Clock clock) {
+        this.dashboardDao = dashboardDao;
+        this.authzService = authzService;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+    }
+
+    public DashboardServiceImpl() {
+        this(new DashboardDaoImpl(),
+             new AuthorizationService(),
+             AppConfig.getInt("dashboard.cache.ttl.seconds"),
+             Clock.systemDefaultZone());
+    }
+
+    @Override
+    public synchronized DashboardMetrics getMetrics(SessionContext ctx) {
+        authzService.requireAdmin(ctx);
+
+        long now = clock.millis();
+        if (cached != null && now - cachedAt < ttlMillis) {
+            return cached;
+        }
+        DashboardMetrics metrics = dashboardDao.computeMetrics(LocalDate.now(clock));
+        if (metrics == null) {
+            throw new IllegalStateException("Dashboard metrics unavailable");
+        }
+        cached = metrics;
+        cachedAt = now;
+        return metrics;
+    }
+}
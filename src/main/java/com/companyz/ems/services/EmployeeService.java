@@ -111,8 +111,15 @@ public interface EmployeeService {
                           double stateTax, double retire401k, double healthCare, double netPay);
     boolean deletePayroll(SessionContext ctx, int payrollId);
 
-    //Increase salary by range
+    /**
+     * Increases salaries in [minSalary, maxSalary) by a percentage, effective from
+     * {@code effectiveDate}. A date before today backdates the raise: the pay
+     * already run since then is corrected by posting retroactive adjustments.
+     *
+     * @return the number of employees whose salaries were increased
+     * @throws IllegalArgumentException if the effective date is in the future
+     */
     int increaseSalaryByRange(SessionContext ctx, double percent, double minSalary, double maxSalary,
-                             String reason);
+                             String reason, LocalDate effectiveDate);
 }
 
@@ -1,6 +1,7 @@
 package com.companyz.ems.services;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +36,8 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final PayrollDao payrollDao;
     private final SsnEncryptor ssnEncryptor;
     private final AuthorizationService authzService;
+    private final ReportCache reportCache;
+    private final RetroPayService retroPayService;
 
     public EmployeeServiceImpl(EmployeeDao employeeDao,
                                DivisionDao divisionDao,
@@ -42,7 +45,9 @@ public class EmployeeServiceImpl implements EmployeeService {
                                EmploymentStatusDao statusDao,
                                PayrollDao payrollDao,
                                SsnEncryptor ssnEncryptor,
-                               AuthorizationService authzService) {
+                               AuthorizationService authzService,
+                               ReportCache reportCache,
+                               RetroPayService retroPayService) {
         this.employeeDao = employeeDao;
         this.divisionDao = divisionDao;
         this.jobTitleDao = jobTitleDao;
@@ -50,6 +55,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         this.payrollDao = payrollDao;
         this.ssnEncryptor = ssnEncryptor;
         this.authzService = authzService;
+        this.reportCache = reportCache;
+        this.retroPayService = retroPayService;
     }
 
     public EmployeeServiceImpl() {
@@ -60,6 +67,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         this.payrollDao = new PayrollDaoImpl();
         this.ssnEncryptor = new SsnEncryptor();
         this.authzService = new AuthorizationService();
+        this.reportCache = ReportCache.getDefault();
+        this.retroPayService = new RetroPayServiceImpl();
     }
 
     // --- Employee CRUD ---
@@ -117,6 +126,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             // set address, division, jobTitle, etc.
 
             employeeDao.createEmployee(emp);
+            invalidateReports(emp, hireMonth(emp));
             return true;
         } catch (Exception e) {
             return false;
@@ -172,7 +182,12 @@ public class EmployeeServiceImpl implements EmployeeService {
             emp.setHireDate(hireDate);
             // set other fields
 
+            Optional<Employee> previous = employeeDao.findById(empId);
             employeeDao.updateEmployee(emp);
+            // Reassignments take effect today; closed months keep their totals
+            YearMonth current = YearMonth.now();
+            previous.ifPresent(old -> invalidateReports((BaseEmployee) old, current));
+            invalidateReports(emp, current);
             return true;
         } catch (Exception e) {
             return false;
@@ -182,7 +197,33 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public boolean deleteEmployee(SessionContext ctx, int empId) {
         authzService.requireAdmin(ctx);
-        return employeeDao.deleteEmployee(empId);
+        Optional<Employee> previous = employeeDao.findById(empId);
+        boolean deleted = employeeDao.deleteEmployee(empId);
+        if (deleted) {
+            // Deleting drops the assignment history, so every month since the hire changes
+            previous.ifPresent(old -> invalidateReports((BaseEmployee) old, hireMonth((BaseEmployee) old)));
+        }
+        return deleted;
+    }
+
+    // Drops cached reports that the employee's division, job title or hire date feed,
+    // for pay months from `from` on (every month if null)
+    private void invalidateReports(BaseEmployee emp, YearMonth from) {
+        if (from == null) {
+            reportCache.invalidateDivision(emp.getDivisionId());
+            reportCache.invalidateJobTitle(emp.getJobTitleId());
+        } else {
+            reportCache.invalidateDivision(emp.getDivisionId(), from);
+            reportCache.invalidateJobTitle(emp.getJobTitleId(), from);
+        }
+        if (emp.getHireDate() != null) {
+            reportCache.invalidateHireDate(emp.getHireDate());
+        }
+    }
+
+    // The employee has no pay before the hire month; null (every month) without a hire date
+    private static YearMonth hireMonth(BaseEmployee emp) {
+        return emp.getHireDate() != null ? YearMonth.from(emp.getHireDate()) : null;
     }
 
     // --- Employee Self Access ---
@@ -281,13 +322,16 @@ public class EmployeeServiceImpl implements EmployeeService {
         div.setDescription(description);
         div.setIsActive(isActive);
         divisionDao.updateDivision(div);
+        reportCache.invalidateDivision(divisionId);
         return true;
     }
 
     @Override
     public boolean deleteDivision(SessionContext ctx, int divisionId) {
         authzService.requireAdmin(ctx);
-        return divisionDao.deleteDivision(divisionId);
+        boolean deleted = divisionDao.deleteDivision(divisionId);
+        reportCache.invalidateDivision(divisionId);
+        return deleted;
     }
 
     // --- Job Title CRUD ---
@@ -323,6 +367,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         jt.setTitleName(name);
         jt.setDescription(description);
         jobTitleDao.updateJobTitle(jt);
+        reportCache.invalidateJobTitle(jobTitleId);
         return true;
     }
 
@@ -330,7 +375,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     public boolean deleteJobTitle(SessionContext ctx, int jobTitleId) {
         authzService.requireAdmin(ctx);
 
-        return jobTitleDao.deleteJobTitle(jobTitleId);
+        boolean deleted = jobTitleDao.deleteJobTitle(jobTitleId);
+        reportCache.invalidateJobTitle(jobTitleId);
+        return deleted;
     }
 
     // --- Employment Status CRUD ---
@@ -407,6 +454,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         payroll.setHealthCare(healthCare);
         payroll.setNetPay(netPay);
         payrollDao.createPayroll(payroll);
+        reportCache.invalidatePayMonth(YearMonth.from(payDate));
         return true;
     }
 
@@ -427,21 +475,39 @@ public class EmployeeServiceImpl implements EmployeeService {
         payroll.setRetire401k(retire401k);
         payroll.setHealthCare(healthCare);
         payroll.setNetPay(netPay);
+        Optional<Payroll> previous = payrollDao.findById(payrollId);
         payrollDao.updatePayroll(payroll);
+        previous.ifPresent(old -> reportCache.invalidatePayMonth(YearMonth.from(old.getPayDate())));
+        reportCache.invalidatePayMonth(YearMonth.from(payDate));
         return true;
     }
 
     @Override
     public boolean deletePayroll(SessionContext ctx, int payrollId) {
         authzService.requireAdmin(ctx);
-        return payrollDao.deletePayroll(payrollId);
+        Optional<Payroll> previous = payrollDao.findById(payrollId);
+        boolean deleted = payrollDao.deletePayroll(payrollId);
+        if (deleted) {
+            previous.ifPresent(old -> reportCache.invalidatePayMonth(YearMonth.from(old.getPayDate())));
+        }
+        return deleted;
     }
 
     // --- Increase salary by range ---
     @Override
     public int increaseSalaryByRange(SessionContext ctx, double percent, double minSalary, double maxSalary,
-                                    String reason) {
+                                    String reason, LocalDate effectiveDate) {
         authzService.requireAdmin(ctx);
-        return employeeDao.increaseSalaryByRange(percent, minSalary, maxSalary, reason, ctx.getUserId());
+        LocalDate today = LocalDate.now();
+        if (effectiveDate.isAfter(today)) {
+            throw new IllegalArgumentException("Effective date cannot be in the future");
+        }
+        int updated = employeeDao.increaseSalaryByRange(percent, minSalary, maxSalary, reason,
+                                                        ctx.getUserId(), effectiveDate);
+        // Backdated: correct the pay already run since the effective date
+        if (updated > 0 && effectiveDate.isBefore(today)) {
+            retroPayService.runRetroPay(ctx);
+        }
+        return updated;
     }
 }
@@ -0,0 +1,41 @@
+package com.companyz.ems.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import com.companyz.ems.model.report.HeadcountTrendReport;
+import com.companyz.ems.model.report.OrgSnapshotReport;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for point-in-time ("as of") questions about the organisation,
+ * answered from the effective-dated division, job title and status history.
+ * HR Admin only.
+ */
+public interface OrgHistoryService {
+
+    /**
+     * Returns who was in which division, with which job title and status, on {@code asOf}.
+     *
+     * @param ctx  the current user session context
+     * @param asOf the date to look at
+     * @return one assignment per employee on the books that day
+     * @throws IllegalStateException if the history could not be loaded
+     */
+    OrgSnapshotReport getOrgSnapshot(SessionContext ctx, LocalDate asOf);
+
+    /**
+     * Returns the headcount per division at the end of each month from {@code from}
+     * to {@code to} inclusive. The current month is sampled today.
+     * <p>
+     * All months are answered from one in-memory pass, with no per-date query.
+     *
+     * @param ctx  the current user session context
+     * @param from first month
+     * @param to   last month
+     * @return the headcount series
+     * @throws IllegalArgumentException if {@code to} is before {@code from}
+     * @throws IllegalStateException    if the history could not be loaded
+     */
+    HeadcountTrendReport getHeadcountTrend(SessionContext ctx, YearMonth from, YearMonth to);
+}
@@ -0,0 +1,64 @@
+package com.companyz.ems.services;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.companyz.ems.dao.OrgIntervalIndex;
+import com.companyz.ems.model.report.HeadcountTrendReport;
+import com.companyz.ems.model.report.OrgSnapshotReport;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class OrgHistoryServiceImpl implements OrgHistoryService {
+
+    private final OrgIntervalIndex orgIndex;
+    private final AuthorizationService authzService;
+    private final Clock clock;
+
+    public OrgHistoryServiceImpl(OrgIntervalIndex orgIndex,
+                                 AuthorizationService authzService,
+                                 Clock clock) {
+        this.orgIndex = orgIndex;
+        this.authzService = authzService;
+        this.clock = clock;
+    }
+
+    public OrgHistoryServiceImpl() {
+        this(OrgIntervalIndex.getDefault(), new AuthorizationService(), Clock.systemDefaultZone());
+    }
+
+    @Override
+    public OrgSnapshotReport getOrgSnapshot(SessionContext ctx, LocalDate asOf) {
+        authzService.requireAdmin(ctx);
+
+        OrgSnapshotReport report = orgIndex.snapshotAsOf(asOf);
+        if (report == null) {
+            throw new IllegalStateException("Organisation history unavailable");
+        }
+        return report;
+    }
+
+    @Override
+    public HeadcountTrendReport getHeadcountTrend(SessionContext ctx, YearMonth from, YearMonth to) {
+        authzService.requireAdmin(ctx);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End month must not be before start month");
+        }
+
+        LocalDate today = LocalDate.now(clock);
+        List<LocalDate> dates = new ArrayList<>();
+        for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+            LocalDate monthEnd = m.atEndOfMonth();
+            dates.add(monthEnd.isAfter(today) && !m.isAfter(YearMonth.from(today)) ? today : monthEnd);
+        }
+
+        HeadcountTrendReport report = orgIndex.headcountByDivision(dates);
+        if (report == null) {
+            throw new IllegalStateException("Organisation history unavailable");
+        }
+        return report;
+    }
+}
@@ -0,0 +1,26 @@
+package com.companyz.ems.services;
+
+import java.util.List;
+
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for moving closed payroll years out of the hot
+ * {@code payroll} table into compressed archive segments.
+ * Reporting keeps working across both tiers. HR Admin only.
+ */
+public interface PayrollArchiveService {
+
+    /**
+     * Archives every payroll-run year older than the configured retention
+     * ({@code payroll.archive.retention.years}) that still has rows in the
+     * hot table, then deletes the archived rows from it.
+     * <p>
+     * Safe to re-run: only rows whose payids are present in a year's
+     * segment are deleted, so an interrupted run is finished on the next call.
+     *
+     * @param ctx the current user session context
+     * @return the payroll-run years that were archived (or finished) by this call
+     */
+    List<Integer> archiveClosedYears(SessionContext ctx);
+}
@@ -0,0 +1,71 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.PayrollArchive;
+import com.companyz.ems.dao.PayrollDao;
+import com.companyz.ems.dao.PayrollDaoImpl;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class PayrollArchiveServiceImpl implements PayrollArchiveService {
+
+    private final PayrollDao payrollDao;
+    private final PayrollArchive archive;
+    private final AuthorizationService authzService;
+    private final int retentionYears;
+
+    public PayrollArchiveServiceImpl(PayrollDao payrollDao,
+                                     PayrollArchive archive,
+                                     AuthorizationService authzService,
+                                     int retentionYears) {
+        this.payrollDao = payrollDao;
+        this.archive = archive;
+        this.authzService = authzService;
+        this.retentionYears = retentionYears;
+    }
+
+    public PayrollArchiveServiceImpl() {
+        this.archive = PayrollArchive.getDefault();
+        this.payrollDao = new PayrollDaoImpl(archive);
+        this.authzService = new AuthorizationService();
+        this.retentionYears = AppConfig.getInt("payroll.archive.retention.years");
+    }
+
+    @Override
+    public List<Integer> archiveClosedYears(SessionContext ctx) {
+        authzService.requireAdmin(ctx);
+
+        int lastClosedYear = LocalDate.now().getYear() - retentionYears - 1;
+        List<Integer> archived = new ArrayList<>();
+        for (int year : payrollDao.findRunYearsUpTo(lastClosedYear)) {
+            try {
+                // An existing segment means a previous run stopped before deleting;
+                // it is never rewritten, since its rows may already be gone from the table
+                long rows = -1;
+                if (!archive.isArchived(year)) {
+                    rows = archive.writeSegment(year, sink -> {
+                        if (payrollDao.streamPayrollsByRunYear(year, sink) < 0) {
+                            throw new IOException("Failed to read payroll rows for " + year);
+                        }
+                    });
+                }
+                // Delete only what the segment on disk reads back
+                int[] payIds = archive.payIds(year);
+                if (rows >= 0 && payIds.length != rows) {
+                    throw new IOException("Segment for " + year + " read back " + payIds.length
+                                          + " of " + rows + " rows");
+                }
+                payrollDao.deletePayrolls(payIds);
+                archived.add(year);
+            } catch (IOException e) {
+                System.err.println("Payroll archive error for " + year + ": " + e.getMessage());
+            }
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,40 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for bulk payroll extracts (e.g. auditor requests).
+ * Exports stream rows from the database to disk and never hold a full
+ * result in memory. HR Admin only.
+ */
+public interface PayrollExportService {
+
+    /**
+     * Writes all payroll rows paid within the date range to a CSV file.
+     *
+     * @param ctx       the current user session context
+     * @param startDate first pay date (inclusive)
+     * @param endDate   last pay date (inclusive)
+     * @param target    file to create or overwrite
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     */
+    long exportCsv(SessionContext ctx, LocalDate startDate, LocalDate endDate, Path target) throws IOException;
+
+    /**
+     * Writes all payroll rows paid within the date range to a columnar file
+     * readable with {@link com.companyz.ems.export.PayrollColumnarReader}.
+     *
+     * @param ctx       the current user session context
+     * @param startDate first pay date (inclusive)
+     * @param endDate   last pay date (inclusive)
+     * @param target    file to create or overwrite
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     */
+    long exportColumnar(SessionContext ctx, LocalDate startDate, LocalDate endDate, Path target) throws IOException;
+}
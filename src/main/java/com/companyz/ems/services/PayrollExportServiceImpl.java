@@ -0,0 +1,74 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+import com.companyz.ems.dao.PayrollDao;
+import com.companyz.ems.dao.PayrollDaoImpl;
+import com.companyz.ems.export.PayrollColumnarWriter;
+import com.companyz.ems.export.PayrollCsvWriter;
+import com.companyz.ems.model.Payroll;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class PayrollExportServiceImpl implements PayrollExportService {
+
+    private final PayrollDao payrollDao;
+    private final AuthorizationService authzService;
+
+    public PayrollExportServiceImpl(PayrollDao payrollDao, AuthorizationService authzService) {
+        this.payrollDao = payrollDao;
+        this.authzService = authzService;
+    }
+
+    public PayrollExportServiceImpl() {
+        this.payrollDao = new PayrollDaoImpl();
+        this.authzService = new AuthorizationService();
+    }
+
+    @Override
+    public long exportCsv(SessionContext ctx, LocalDate startDate, LocalDate endDate, Path target) throws IOException {
+        authzService.requireAdmin(ctx);
+        try (PayrollCsvWriter writer = new PayrollCsvWriter(target)) {
+            stream(startDate, endDate, p -> {
+                try {
+                    writer.write(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.getRowCount();
+        }
+    }
+
+    @Override
+    public long exportColumnar(SessionContext ctx, LocalDate startDate, LocalDate endDate, Path target) throws IOException {
+        authzService.requireAdmin(ctx);
+        try (PayrollColumnarWriter writer = new PayrollColumnarWriter(target)) {
+            stream(startDate, endDate, p -> {
+                try {
+                    writer.write(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return writer.getRowCount();
+        }
+    }
+
+    private void stream(LocalDate startDate, LocalDate endDate,
+                        Consumer<Payroll> sink) throws IOException {
+        long rows;
+        try {
+            rows = payrollDao.streamPayrolls(startDate, endDate, sink);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (rows < 0) {
+            throw new IOException("Payroll query failed; export is incomplete");
+        }
+    }
+}
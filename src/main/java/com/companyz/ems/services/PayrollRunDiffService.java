@@ -0,0 +1,35 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.companyz.ems.model.report.PayrollRunDiffReport;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for comparing two payroll runs (e.g. this month vs last).
+ * HR Admin only.
+ */
+public interface PayrollRunDiffService {
+
+    /**
+     * Compares two payroll runs employee by employee and writes one CSV line
+     * per difference to {@code target}.
+     * <p>
+     * Both runs are streamed ordered by empid and merged in a single pass, so
+     * memory use does not depend on run size. Employees only in the compare
+     * run are reported as NEW_HIRE, employees only in the base run as
+     * TERMINATION, and employees in both as CHANGED when earnings or total
+     * deductions moved by more than {@code threshold}.
+     *
+     * @param ctx          the current user session context
+     * @param baseRunId    earlier payroll_run_id
+     * @param compareRunId later payroll_run_id
+     * @param threshold    minimum absolute change (dollars) to report
+     * @param target       CSV file to create or overwrite
+     * @return summary counts and totals
+     * @throws IOException if the report cannot be written or a run cannot be read
+     */
+    PayrollRunDiffReport compareRuns(SessionContext ctx, int baseRunId, int compareRunId,
+                                     double threshold, Path target) throws IOException;
+}
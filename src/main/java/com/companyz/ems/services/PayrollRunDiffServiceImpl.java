@@ -0,0 +1,156 @@
+package com.companyz.ems.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import com.companyz.ems.dao.PayrollCursor;
+import com.companyz.ems.dao.PayrollDao;
+import com.companyz.ems.dao.PayrollDaoImpl;
+import com.companyz.ems.model.Payroll;
+import com.companyz.ems.model.report.PayrollRunDiffReport;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class PayrollRunDiffServiceImpl implements PayrollRunDiffService {
+
+    private static final String HEADER = "change_type,empid,base_earnings,compare_earnings,earnings_delta," +
+            "base_deductions,compare_deductions,deductions_delta,base_net_pay,compare_net_pay";
+
+    private final PayrollDao payrollDao;
+    private final AuthorizationService authzService;
+
+    public PayrollRunDiffServiceImpl(PayrollDao payrollDao, AuthorizationService authzService) {
+        this.payrollDao = payrollDao;
+        this.authzService = authzService;
+    }
+
+    public PayrollRunDiffServiceImpl() {
+        this.payrollDao = new PayrollDaoImpl();
+        this.authzService = new AuthorizationService();
+    }
+
+    @Override
+    public PayrollRunDiffReport compareRuns(SessionContext ctx, int baseRunId, int compareRunId,
+                                            double threshold, Path target) throws IOException {
+        authzService.requireAdmin(ctx);
+
+        long thresholdCents = Math.round(threshold * 100.0);
+        int newHires = 0, terminations = 0, changed = 0, unchanged = 0;
+
+        try (PayrollCursor baseCursor = payrollDao.openRunCursor(baseRunId);
+             PayrollCursor compareCursor = payrollDao.openRunCursor(compareRunId);
+             BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+
+            EmployeeTotals base = new EmployeeTotals(baseCursor);
+            EmployeeTotals compare = new EmployeeTotals(compareCursor);
+            base.advance();
+            compare.advance();
+
+            // Sorted merge join on empid
+            while (base.present || compare.present) {
+                if (!compare.present || (base.present && base.empId < compare.empId)) {
+                    writeLine(out, "TERMINATION", base.empId, base, null);
+                    terminations++;
+                    base.advance();
+                } else if (!base.present || compare.empId < base.empId) {
+                    writeLine(out, "NEW_HIRE", compare.empId, null, compare);
+                    newHires++;
+                    compare.advance();
+                } else {
+                    if (Math.abs(compare.earnings - base.earnings) > thresholdCents
+                            || Math.abs(compare.deductions - base.deductions) > thresholdCents) {
+                        writeLine(out, "CHANGED", base.empId, base, compare);
+                        changed++;
+                    } else {
+                        unchanged++;
+                    }
+                    base.advance();
+                    compare.advance();
+                }
+            }
+
+            return new PayrollRunDiffReport(baseRunId, compareRunId, threshold,
+                    newHires, terminations, changed, unchanged,
+                    base.netPayTotal / 100.0, compare.netPayTotal / 100.0);
+        } catch (SQLException | IllegalStateException e) {
+            throw new IOException("Failed to read payroll runs: " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeLine(BufferedWriter out, String type, int empId,
+                                  EmployeeTotals base, EmployeeTotals compare) throws IOException {
+        long baseEarnings = base != null ? base.earnings : 0;
+        long compareEarnings = compare != null ? compare.earnings : 0;
+        long baseDeductions = base != null ? base.deductions : 0;
+        long compareDeductions = compare != null ? compare.deductions : 0;
+        out.write(type);
+        out.write(',');
+        out.write(Integer.toString(empId));
+        for (long cents : new long[] {
+                baseEarnings, compareEarnings, compareEarnings - baseEarnings,
+                baseDeductions, compareDeductions, compareDeductions - baseDeductions,
+                base != null ? base.netPay : 0, compare != null ? compare.netPay : 0 }) {
+            out.write(',');
+            out.write(BigDecimal.valueOf(cents, 2).toPlainString());
+        }
+        out.newLine();
+    }
+
+    /**
+     * Per-employee totals of one run, folded from consecutive cursor rows.
+     * Amounts are in cents. The same instance is reused for every employee.
+     */
+    private static class EmployeeTotals {
+        private final PayrollCursor cursor;
+        private Payroll pending;
+        private boolean exhausted;
+
+        boolean present;
+        int empId;
+        long earnings;
+        long deductions;
+        long netPay;
+        long netPayTotal;
+
+        EmployeeTotals(PayrollCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        void advance() throws SQLException {
+            if (pending == null && !exhausted) {
+                pending = cursor.next() ? cursor.get() : null;
+                exhausted = pending == null;
+            }
+            if (pending == null) {
+                present = false;
+                return;
+            }
+            present = true;
+            empId = pending.getEmpId();
+            earnings = 0;
+            deductions = 0;
+            netPay = 0;
+            while (pending != null && pending.getEmpId() == empId) {
+                earnings += cents(pending.getEarnings());
+                deductions += cents(pending.getFedTax()) + cents(pending.getFedMed()) + cents(pending.getFedSs())
+                        + cents(pending.getStateTax()) + cents(pending.getRetire401k())
+                        + cents(pending.getHealthCare());
+                netPay += cents(pending.getNetPay());
+                pending = cursor.next() ? cursor.get() : null;
+            }
+            exhausted = pending == null;
+            netPayTotal += netPay;
+        }
+
+        private static long cents(double amount) {
+            return Math.round(amount * 100.0);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.companyz.ems.services;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Reports submitted together by {@link BatchReportService}.
+ * <p>
+ * Each distinct request has its own {@link ReportHandle}, which completes as
+ * soon as that report is ready, independently of the others.
+ */
+public class ReportBatch {
+
+    private final Map<ReportRequest<?>, ReportHandle<?>> handles;
+
+    ReportBatch(LinkedHashMap<ReportRequest<?>, ReportHandle<?>> handles) {
+        this.handles = Collections.unmodifiableMap(handles);
+    }
+
+    /** Distinct requests, in the order first submitted. */
+    public List<ReportRequest<?>> getRequests() {
+        return List.copyOf(handles.keySet());
+    }
+
+    /** Handle for {@code request}, or null if it was not part of the batch. */
+    @SuppressWarnings("unchecked")
+    public <T> ReportHandle<T> get(ReportRequest<T> request) {
+        return (ReportHandle<T>) handles.get(request);
+    }
+
+    /**
+     * Calls {@code listener} for each report as it completes, on the thread
+     * that completed it, with either the report or the failure.
+     */
+    public void onEachComplete(BiConsumer<ReportRequest<?>, Object> listener) {
+        handles.forEach((request, handle) -> handle.getFuture().whenComplete(
+                (report, error) -> listener.accept(request, error != null ? error : report)));
+    }
+
+    /** Completes when every report has completed, whether or not it succeeded. */
+    public CompletableFuture<Void> allDone() {
+        CompletableFuture<?>[] futures = handles.values().stream()
+                .map(h -> h.getFuture().handle((report, error) -> null))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures);
+    }
+
+    /** Cancels every report still running. */
+    public void cancel() {
+        handles.values().forEach(ReportHandle::cancel);
+    }
+}
@@ -0,0 +1,284 @@
+package com.companyz.ems.services;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.QueryCancellation;
+import com.companyz.ems.dao.ReportSnapshotDao;
+import com.companyz.ems.dao.ReportSnapshotDaoImpl;
+import com.companyz.ems.model.report.DivisionMonthlyPayReport;
+import com.companyz.ems.model.report.EmployeeHireReport;
+import com.companyz.ems.model.report.JobTitleMonthlyPayReport;
+
+/**
+ * Bounded, least-recently-used cache of report results shared by the services.
+ * <p>
+ * Reports over an open period (the current month, or a hire range reaching today)
+ * expire after {@code report.cache.ttl.seconds}. Reports over a closed period never
+ * expire; they leave the cache only when a write invalidates them or the
+ * cache is full. Writers call the {@code invalidate*} methods after they commit.
+ * Loaders must return null when their query fails, never a stand-in report,
+ * so that a failure is not kept.
+ * <p>
+ * Pay reports for closed months are also backed by the snapshots that
+ * {@link ReportPrecomputeScheduler} stores ahead of time. A miss on a closed
+ * month reads the snapshot before running the report query, and invalidation
+ * deletes the affected snapshots along with the cached entries.
+ */
+public class ReportCache {
+
+    private enum Kind { DIVISION_PAY, JOB_TITLE_PAY, HIRE_RANGE }
+
+    private static final class Entry {
+        final Kind kind;
+        final int id;              // division or job title id
+        final YearMonth month;     // pay reports
+        final LocalDate start;     // hire reports
+        final LocalDate end;
+        final Object report;
+        final long expiresAt;      // Long.MAX_VALUE for closed periods
+
+        Entry(Kind kind, int id, YearMonth month, LocalDate start, LocalDate end,
+              Object report, long expiresAt) {
+            this.kind = kind;
+            this.id = id;
+            this.month = month;
+            this.start = start;
+            this.end = end;
+            this.report = report;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static volatile ReportCache defaultCache;
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final Map<String, Entry> entries;
+    private final ReportSnapshotDao snapshots;
+
+    // Orders snapshot writes against snapshot deletes; never taken while holding this
+    private final Object snapshotLock = new Object();
+
+    // Bumped by every invalidation so a load that raced a write is not stored
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public ReportCache(int maxEntries, long ttlSeconds, Clock clock, ReportSnapshotDao snapshots) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.clock = clock;
+        this.snapshots = snapshots;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ReportCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Returns the cache shared by the default-constructed services. */
+    public static ReportCache getDefault() {
+        if (defaultCache == null) {
+            synchronized (ReportCache.class) {
+                if (defaultCache == null) {
+                    defaultCache = new ReportCache(AppConfig.getInt("report.cache.max.entries"),
+                                                   AppConfig.getInt("report.cache.ttl.seconds"),
+                                                   Clock.systemDefaultZone(),
+                                                   new ReportSnapshotDaoImpl());
+                }
+            }
+        }
+        return defaultCache;
+    }
+
+    // --- Lookups ---
+
+    public DivisionMonthlyPayReport getDivisionPay(int divisionId, YearMonth month,
+                                                   Supplier<DivisionMonthlyPayReport> loader) {
+        boolean closed = isClosed(month);
+        return get("DIV:" + divisionId + ":" + month, Kind.DIVISION_PAY, divisionId, month, null, null,
+                   closed, closed ? () -> snapshots.findDivisionPay(divisionId, month).orElseGet(loader) : loader);
+    }
+
+    public JobTitleMonthlyPayReport getJobTitlePay(int jobTitleId, YearMonth month,
+                                                   Supplier<JobTitleMonthlyPayReport> loader) {
+        boolean closed = isClosed(month);
+        return get("JOB:" + jobTitleId + ":" + month, Kind.JOB_TITLE_PAY, jobTitleId, month, null, null,
+                   closed, closed ? () -> snapshots.findJobTitlePay(jobTitleId, month).orElseGet(loader) : loader);
+    }
+
+    public EmployeeHireReport getHires(LocalDate start, LocalDate end, Supplier<EmployeeHireReport> loader) {
+        return get("HIRE:" + start + ":" + end, Kind.HIRE_RANGE, 0, null, start, end,
+                   end.isBefore(LocalDate.now(clock)), loader);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String key, Kind kind, int id, YearMonth month, LocalDate start, LocalDate end,
+                      boolean closed, Supplier<T> loader) {
+        long now = clock.millis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return (T) entry.report;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            loadGeneration = generation;
+        }
+
+        // Run the query outside the lock so other reports are not held up
+        misses.incrementAndGet();
+        T report = loader.get();
+        if (report == null || QueryCancellation.isCurrentCancelled()) {
+            return report; // DAO failure or cancelled query; nothing worth keeping
+        }
+
+        long expiresAt = closed ? Long.MAX_VALUE : now + ttlMillis;
+        synchronized (this) {
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry(kind, id, month, start, end, report, expiresAt));
+            }
+        }
+        return report;
+    }
+
+    private boolean isClosed(YearMonth month) {
+        return month.isBefore(YearMonth.now(clock));
+    }
+
+    // --- Snapshots ---
+
+    /** True if every division and job title has a stored snapshot for {@code month}. */
+    public boolean hasSnapshots(YearMonth month) {
+        return snapshots.isComplete(month);
+    }
+
+    /**
+     * Computes and stores the pay snapshots of a closed month. A write that
+     * commits meanwhile deletes what was stored when it invalidates.
+     *
+     * @return false if the month is still open or the snapshots could not be stored
+     */
+    public boolean storeSnapshots(YearMonth month) {
+        if (!isClosed(month)) return false;
+        synchronized (snapshotLock) {
+            return snapshots.computeMonth(month);
+        }
+    }
+
+    // --- Invalidation ---
+
+    /** A payroll row paid in {@code month} was written. */
+    public void invalidatePayMonth(YearMonth month) {
+        invalidate(e -> e.kind != Kind.HIRE_RANGE && e.month.equals(month));
+        if (isClosed(month)) {
+            synchronized (snapshotLock) {
+                snapshots.deleteMonth(month);
+            }
+        }
+    }
+
+    /**
+     * The division itself changed; its name is in every month's report, and
+     * in hire reports, which are not keyed by division and are all dropped.
+     */
+    public void invalidateDivision(int divisionId) {
+        invalidate(e -> e.kind == Kind.HIRE_RANGE || e.kind == Kind.DIVISION_PAY && e.id == divisionId);
+        synchronized (snapshotLock) {
+            snapshots.deleteDivision(divisionId);
+        }
+    }
+
+    /**
+     * An employee joined or left the division with effect from {@code from}.
+     * Assignments are effective-dated, so earlier months keep their totals.
+     */
+    public void invalidateDivision(int divisionId, YearMonth from) {
+        invalidate(e -> e.kind == Kind.DIVISION_PAY && e.id == divisionId && !e.month.isBefore(from));
+        if (isClosed(from)) {
+            synchronized (snapshotLock) {
+                snapshots.deleteDivision(divisionId, from);
+            }
+        }
+    }
+
+    /** The job title itself changed; as {@link #invalidateDivision(int)}, hire reports go too. */
+    public void invalidateJobTitle(int jobTitleId) {
+        invalidate(e -> e.kind == Kind.HIRE_RANGE || e.kind == Kind.JOB_TITLE_PAY && e.id == jobTitleId);
+        synchronized (snapshotLock) {
+            snapshots.deleteJobTitle(jobTitleId);
+        }
+    }
+
+    /** An employee joined or left the job title with effect from {@code from}; see {@link #invalidateDivision(int, YearMonth)}. */
+    public void invalidateJobTitle(int jobTitleId, YearMonth from) {
+        invalidate(e -> e.kind == Kind.JOB_TITLE_PAY && e.id == jobTitleId && !e.month.isBefore(from));
+        if (isClosed(from)) {
+            synchronized (snapshotLock) {
+                snapshots.deleteJobTitle(jobTitleId, from);
+            }
+        }
+    }
+
+    /** An employee hired on {@code hireDate} was written. */
+    public void invalidateHireDate(LocalDate hireDate) {
+        invalidate(e -> e.kind == Kind.HIRE_RANGE
+                        && !hireDate.isBefore(e.start) && !hireDate.isAfter(e.end));
+    }
+
+    /** Used when a write cannot be narrowed to a month, division or job title. */
+    public void invalidateAll() {
+        invalidate(e -> true);
+        synchronized (snapshotLock) {
+            snapshots.deleteAll();
+        }
+    }
+
+    private synchronized void invalidate(Predicate<Entry> affected) {
+        generation++;
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (affected.test(it.next())) {
+                it.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+    }
+
+    // --- Metrics ---
+
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public long getInvalidationCount() { return invalidations.get(); }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,103 @@
+package com.companyz.ems.services;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.DoubleConsumer;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.QueryCancellation;
+
+/**
+ * Runs reports off the caller's thread, one virtual thread per report.
+ * <p>
+ * Report queries spend nearly all their time waiting on the database,
+ * so a virtual thread per report costs almost nothing while it blocks.
+ * The UI thread only submits work and reacts to the returned {@link ReportHandle}.
+ */
+public class ReportExecutor implements AutoCloseable {
+
+    /** A unit of report work; may publish progress between its queries. */
+    @FunctionalInterface
+    public interface ReportTask<T> {
+        T run(DoubleConsumer progress);
+    }
+
+    private static volatile ReportExecutor defaultExecutor;
+    private static volatile ReportExecutor pooledExecutor;
+
+    private final ExecutorService executor;
+
+    public ReportExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    public ReportExecutor() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /** Returns the executor shared by the UI. */
+    public static ReportExecutor getDefault() {
+        if (defaultExecutor == null) {
+            synchronized (ReportExecutor.class) {
+                if (defaultExecutor == null) {
+                    defaultExecutor = new ReportExecutor();
+                }
+            }
+        }
+        return defaultExecutor;
+    }
+
+    /**
+     * Returns a shared executor running at most {@code db.pool.size} reports at
+     * once, for callers that submit many reports together. Further reports
+     * queue until one finishes instead of queueing for a connection.
+     */
+    public static ReportExecutor getPooled() {
+        if (pooledExecutor == null) {
+            synchronized (ReportExecutor.class) {
+                if (pooledExecutor == null) {
+                    pooledExecutor = new ReportExecutor(Executors.newFixedThreadPool(
+                            AppConfig.getInt("db.pool.size"), Thread.ofVirtual().name("report-", 0).factory()));
+                }
+            }
+        }
+        return pooledExecutor;
+    }
+
+    /**
+     * Starts a report in the background.
+     * A null result is treated as a failed query, since the DAOs return null on error.
+     *
+     * @param name label for the report, used in error messages
+     * @param task the report work, typically a ReportService call
+     * @return a handle with the report's future, progress and cancellation
+     */
+    public <T> ReportHandle<T> submit(String name, ReportTask<T> task) {
+        ReportHandle<T> handle = new ReportHandle<>(name);
+        executor.execute(() -> {
+            if (handle.isCancelled()) return;
+            handle.updateProgress(-1);
+            try {
+                T report = QueryCancellation.runWith(handle.getCancellation(),
+                        () -> task.run(handle::updateProgress));
+                if (handle.isCancelled()) {
+                    handle.getFuture().completeExceptionally(new CancellationException(name + " cancelled"));
+                } else if (report == null) {
+                    handle.getFuture().completeExceptionally(new IllegalStateException(name + " failed"));
+                } else {
+                    handle.updateProgress(1);
+                    handle.getFuture().complete(report);
+                }
+            } catch (RuntimeException e) {
+                handle.getFuture().completeExceptionally(e);
+            }
+        });
+        return handle;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
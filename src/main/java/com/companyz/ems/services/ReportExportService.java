@@ -0,0 +1,59 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import com.companyz.ems.export.ExportFormat;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for writing reports to CSV or JSON Lines files.
+ * Rows are streamed from the database to disk as they are read; no report
+ * DTO or row list is built, so memory stays flat for any export size.
+ */
+public interface ReportExportService {
+
+    /**
+     * Exports employees hired within the date range (the EmployeeHireReport rows).
+     * HR Admin only.
+     *
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     */
+    long exportHires(SessionContext ctx, LocalDate startDate, LocalDate endDate,
+                     ExportFormat format, Path target) throws IOException;
+
+    /**
+     * Exports the logged-in employee's payroll history, including archived years
+     * (the EmployeePayrollReport rows).
+     *
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     * @throws SecurityException if the session is not linked to an employee
+     */
+    long exportPayrollHistory(SessionContext ctx, ExportFormat format, Path target) throws IOException;
+
+    /**
+     * Exports total net pay per division for each month in the range
+     * (DivisionMonthlyPayReport rows for every division). HR Admin only.
+     *
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     * @throws IllegalArgumentException if the range includes archived payroll months
+     */
+    long exportDivisionMonthlyPay(SessionContext ctx, YearMonth from, YearMonth to,
+                                  ExportFormat format, Path target) throws IOException;
+
+    /**
+     * Exports total net pay per job title for each month in the range
+     * (JobTitleMonthlyPayReport rows for every job title). HR Admin only.
+     *
+     * @return number of rows written
+     * @throws IOException if the file cannot be written or the query fails
+     * @throws IllegalArgumentException if the range includes archived payroll months
+     */
+    long exportJobTitleMonthlyPay(SessionContext ctx, YearMonth from, YearMonth to,
+                                  ExportFormat format, Path target) throws IOException;
+}
@@ -0,0 +1,104 @@
+package com.companyz.ems.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.function.ToLongFunction;
+
+import com.companyz.ems.dao.ReportExportDao;
+import com.companyz.ems.dao.ReportExportDaoImpl;
+import com.companyz.ems.dao.ReportRowSink;
+import com.companyz.ems.export.ExportFormat;
+import com.companyz.ems.export.ReportRowWriter;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class ReportExportServiceImpl implements ReportExportService {
+
+    private final ReportExportDao exportDao;
+    private final AuthorizationService authzService;
+
+    public ReportExportServiceImpl(ReportExportDao exportDao, AuthorizationService authzService) {
+        this.exportDao = exportDao;
+        this.authzService = authzService;
+    }
+
+    public ReportExportServiceImpl() {
+        this(new ReportExportDaoImpl(), new AuthorizationService());
+    }
+
+    @Override
+    public long exportHires(SessionContext ctx, LocalDate startDate, LocalDate endDate,
+                            ExportFormat format, Path target) throws IOException {
+        authzService.requireAdmin(ctx);
+        return export(format, target, sink -> exportDao.streamHires(startDate, endDate, sink));
+    }
+
+    @Override
+    public long exportPayrollHistory(SessionContext ctx, ExportFormat format, Path target) throws IOException {
+        int empId = authzService.getSessionEmployeeId(ctx);
+        return export(format, target, sink -> exportDao.streamEmployeePayrolls(empId, sink));
+    }
+
+    @Override
+    public long exportDivisionMonthlyPay(SessionContext ctx, YearMonth from, YearMonth to,
+                                         ExportFormat format, Path target) throws IOException {
+        authzService.requireAdmin(ctx);
+        requireUnarchived(from, to);
+        return export(format, target,
+                sink -> exportDao.streamDivisionMonthlyPay(from.atDay(1), to.atEndOfMonth(), sink));
+    }
+
+    @Override
+    public long exportJobTitleMonthlyPay(SessionContext ctx, YearMonth from, YearMonth to,
+                                         ExportFormat format, Path target) throws IOException {
+        authzService.requireAdmin(ctx);
+        requireUnarchived(from, to);
+        return export(format, target,
+                sink -> exportDao.streamJobTitleMonthlyPay(from.atDay(1), to.atEndOfMonth(), sink));
+    }
+
+    // The grouped exports read the payroll table only; archived months would come out short
+    private void requireUnarchived(YearMonth from, YearMonth to) {
+        if (exportDao.overlapsArchive(from.atDay(1), to.atEndOfMonth())) {
+            throw new IllegalArgumentException("Months from " + from + " to " + to
+                    + " include archived payroll; export a range after the archived years");
+        }
+    }
+
+    /** Opens the writer, streams the query into it and checks the query completed. */
+    static long export(ExportFormat format, Path target, ToLongFunction<ReportRowSink> query) throws IOException {
+        try (ReportRowWriter writer = ReportRowWriter.open(format, target)) {
+            long rows;
+            try {
+                rows = query.applyAsLong(new ReportRowSink() {
+                    @Override
+                    public void columns(String[] names) {
+                        try {
+                            writer.writeHeader(names);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+
+                    @Override
+                    public void row(Object[] values) {
+                        try {
+                            writer.writeRow(values);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (rows < 0) {
+                throw new IOException("Report query failed; export is incomplete");
+            }
+            return writer.getRowCount();
+        }
+    }
+}
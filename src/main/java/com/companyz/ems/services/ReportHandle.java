@@ -0,0 +1,70 @@
+package com.companyz.ems.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleConsumer;
+
+import com.companyz.ems.dao.QueryCancellation;
+
+/**
+ * Handle to a report running on the {@link ReportExecutor}.
+ * <p>
+ * Progress is a fraction from 0 to 1, or -1 while the report cannot tell
+ * how far along it is (a single query in flight). Cancelling stops the
+ * running JDBC statement and completes the future with a CancellationException.
+ *
+ * @param <T> the report type
+ */
+public class ReportHandle<T> {
+
+    private final String name;
+    private final CompletableFuture<T> future = new CompletableFuture<>();
+    private final QueryCancellation cancellation = new QueryCancellation();
+    private volatile double progress;
+    private volatile DoubleConsumer progressListener;
+
+    ReportHandle(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CompletableFuture<T> getFuture() {
+        return future;
+    }
+
+    public double getProgress() {
+        return progress;
+    }
+
+    /**
+     * Sets a listener notified on the worker thread whenever progress changes.
+     * UI callers must hand the value over to their own thread.
+     */
+    public void setProgressListener(DoubleConsumer listener) {
+        this.progressListener = listener;
+        listener.accept(progress);
+    }
+
+    public boolean cancel() {
+        cancellation.cancel();
+        return future.cancel(false);
+    }
+
+    public boolean isCancelled() {
+        return cancellation.isCancelled();
+    }
+
+    QueryCancellation getCancellation() {
+        return cancellation;
+    }
+
+    void updateProgress(double value) {
+        progress = value;
+        DoubleConsumer listener = progressListener;
+        if (listener != null) {
+            listener.accept(value);
+        }
+    }
+}
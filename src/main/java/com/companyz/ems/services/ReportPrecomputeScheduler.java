@@ -0,0 +1,121 @@
+package com.companyz.ems.services;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.PayrollArchive;
+
+/**
+ * Precomputes the monthly pay reports of recently closed months off-hours.
+ * <p>
+ * On each tick of {@code report.precompute.cron} the last
+ * {@code report.precompute.months} closed months are checked, and any month
+ * missing a snapshot for some division or job title is computed and stored
+ * through {@link ReportCache}. The run is idempotent: a month already complete
+ * costs one count query. Payroll writes delete the snapshots of the month they
+ * touch, so the next tick recomputes it after a payroll or retroactive pay run.
+ * <p>
+ * Months in the payroll archive are skipped; their pay is summed from the
+ * archive segments at query time. An empty cron expression disables the job.
+ */
+public class ReportPrecomputeScheduler implements AutoCloseable {
+
+    private static volatile ReportPrecomputeScheduler defaultScheduler;
+
+    private final ReportCache cache;
+    private final PayrollArchive archive;
+    private final CronSchedule schedule; // null when disabled
+    private final int months;
+    private final Clock clock;
+    private final ScheduledExecutorService timer;
+
+    private boolean started;
+    private boolean closed;
+
+    public ReportPrecomputeScheduler(ReportCache cache,
+                                     PayrollArchive archive,
+                                     CronSchedule schedule,
+                                     int months,
+                                     Clock clock) {
+        this.cache = cache;
+        this.archive = archive;
+        this.schedule = schedule;
+        this.months = months;
+        this.clock = clock;
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("report-precompute").factory());
+    }
+
+    /** Returns the scheduler configured by {@code report.precompute.*}. */
+    public static ReportPrecomputeScheduler getDefault() {
+        if (defaultScheduler == null) {
+            synchronized (ReportPrecomputeScheduler.class) {
+                if (defaultScheduler == null) {
+                    String cron = AppConfig.get("report.precompute.cron");
+                    defaultScheduler = new ReportPrecomputeScheduler(
+                            ReportCache.getDefault(),
+                            PayrollArchive.getDefault(),
+                            cron == null || cron.isBlank() ? null : CronSchedule.parse(cron),
+                            AppConfig.getInt("report.precompute.months"),
+                            Clock.systemDefaultZone());
+                }
+            }
+        }
+        return defaultScheduler;
+    }
+
+    /** Schedules the first run; does nothing if disabled or already started. */
+    public synchronized void start() {
+        if (schedule == null || started || closed) return;
+        started = true;
+        scheduleNext();
+    }
+
+    /**
+     * Stores the snapshots missing for the configured closed months, oldest first.
+     *
+     * @return the number of months computed
+     */
+    public int runNow() {
+        YearMonth current = YearMonth.now(clock);
+        int computed = 0;
+        for (int i = months; i >= 1; i--) {
+            YearMonth month = current.minusMonths(i);
+            if (archive.overlaps(month.atDay(1), month.atEndOfMonth())) continue;
+            if (cache.hasSnapshots(month)) continue;
+            if (cache.storeSnapshots(month)) {
+                computed++;
+            }
+        }
+        return computed;
+    }
+
+    private synchronized void scheduleNext() {
+        if (closed) return;
+        ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime next = schedule.next(now.toLocalDateTime()).atZone(clock.getZone());
+        timer.schedule(this::tick, Duration.between(now, next).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        try {
+            runNow();
+        } catch (RuntimeException e) {
+            System.err.println("Report precompute failed: " + e.getMessage());
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        timer.shutdownNow();
+    }
+}
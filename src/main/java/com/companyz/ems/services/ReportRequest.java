@@ -0,0 +1,83 @@
+package com.companyz.ems.services;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+import com.companyz.ems.model.report.DivisionMonthlyPayReport;
+import com.companyz.ems.model.report.EmployeeHireReport;
+import com.companyz.ems.model.report.JobTitleMonthlyPayReport;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * One admin report to run as part of a {@link ReportBatch}.
+ * Requests with the same kind and parameters are equal, so a batch runs them once.
+ *
+ * @param <T> the report type
+ */
+public final class ReportRequest<T> {
+
+    private enum Kind { DIVISION_PAY, JOB_TITLE_PAY, HIRES }
+
+    private final Kind kind;
+    private final String name;       // division or job title name
+    private final int year;
+    private final int month;
+    private final LocalDate start;   // hire reports
+    private final LocalDate end;
+
+    private ReportRequest(Kind kind, String name, int year, int month, LocalDate start, LocalDate end) {
+        this.kind = kind;
+        this.name = name;
+        this.year = year;
+        this.month = month;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static ReportRequest<DivisionMonthlyPayReport> divisionPay(String divisionName, int year, int month) {
+        return new ReportRequest<>(Kind.DIVISION_PAY, divisionName, year, month, null, null);
+    }
+
+    public static ReportRequest<JobTitleMonthlyPayReport> jobTitlePay(String jobTitleName, int year, int month) {
+        return new ReportRequest<>(Kind.JOB_TITLE_PAY, jobTitleName, year, month, null, null);
+    }
+
+    public static ReportRequest<EmployeeHireReport> hires(LocalDate start, LocalDate end) {
+        return new ReportRequest<>(Kind.HIRES, null, 0, 0, start, end);
+    }
+
+    /** Runs the report through {@code reportService}. */
+    @SuppressWarnings("unchecked")
+    T run(ReportService reportService, SessionContext ctx) {
+        return (T) switch (kind) {
+            case DIVISION_PAY -> reportService.getMonthlyPayByDivision(ctx, name, year, month);
+            case JOB_TITLE_PAY -> reportService.getMonthlyPayByJobTitle(ctx, name, year, month);
+            case HIRES -> reportService.getEmployeesHiredWithinDateRange(ctx,
+                    start.getDayOfMonth(), start.getMonthValue(), start.getYear(),
+                    end.getDayOfMonth(), end.getMonthValue(), end.getYear());
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ReportRequest<?> other)) return false;
+        return kind == other.kind && year == other.year && month == other.month
+                && Objects.equals(name, other.name)
+                && Objects.equals(start, other.start) && Objects.equals(end, other.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, name, year, month, start, end);
+    }
+
+    @Override
+    public String toString() {
+        return switch (kind) {
+            case DIVISION_PAY -> "Division pay " + name + " " + year + "-" + month;
+            case JOB_TITLE_PAY -> "Job title pay " + name + " " + year + "-" + month;
+            case HIRES -> "Hires " + start + " to " + end;
+        };
+    }
+}
@@ -1,6 +1,7 @@
 package com.companyz.ems.services;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 import com.companyz.ems.dao.DivisionDao;
 import com.companyz.ems.dao.DivisionDaoImpl;
@@ -24,17 +25,20 @@ public class ReportServiceImpl implements ReportService {
     private final DivisionDao divisionDao;
     private final JobTitleDao jobTitleDao;
     private final AuthorizationService authzService;
+    private final ReportCache cache;
 
     public ReportServiceImpl(PayrollDao payrollDao,
                              EmployeeDao employeeDao,
                              DivisionDao divisionDao,
                              JobTitleDao jobTitleDao,
-                             AuthorizationService authzService) {
+                             AuthorizationService authzService,
+                             ReportCache cache) {
         this.payrollDao = payrollDao;
         this.employeeDao = employeeDao;
         this.divisionDao = divisionDao;
         this.jobTitleDao = jobTitleDao;
         this.authzService = authzService;
+        this.cache = cache;
     }
 
     public ReportServiceImpl() {
@@ -43,6 +47,7 @@ public class ReportServiceImpl implements ReportService {
         this.divisionDao = new DivisionDaoImpl();
         this.jobTitleDao = new JobTitleDaoImpl();
         this.authzService = new AuthorizationService();
+        this.cache = ReportCache.getDefault();
     }
 
     @Override
@@ -59,7 +64,8 @@ public class ReportServiceImpl implements ReportService {
         int jobTitleId = jobTitleDao.findByName(jobTitleName)
                                     .orElseThrow(() -> new IllegalArgumentException("Job title not found"))
                                     .getJobTitleId();
-        return payrollDao.getTotalPayByJobTitle(jobTitleId, month, year);
+        return cache.getJobTitlePay(jobTitleId, YearMonth.of(year, month),
+                () -> payrollDao.getTotalPayByJobTitle(jobTitleId, month, year));
     }
 
     @Override
@@ -71,7 +77,8 @@ public class ReportServiceImpl implements ReportService {
         int divisionId = divisionDao.findByName(divisionName)
                                     .orElseThrow(() -> new IllegalArgumentException("Division not found"))
                                     .getDivisionId();
-        return payrollDao.getTotalPayByDivision(divisionId, month, year);
+        return cache.getDivisionPay(divisionId, YearMonth.of(year, month),
+                () -> payrollDao.getTotalPayByDivision(divisionId, month, year));
     }
 
     @Override
@@ -81,6 +88,6 @@ public class ReportServiceImpl implements ReportService {
         authzService.requireAdmin(ctx);
         LocalDate start = LocalDate.of(startYear, startMonth, startDay);
         LocalDate end = LocalDate.of(endYear, endMonth, endDay);
-        return employeeDao.getEmployeeHireByDateRange(start, end);
+        return cache.getHires(start, end, () -> employeeDao.getEmployeeHireByDateRange(start, end));
     }
 }
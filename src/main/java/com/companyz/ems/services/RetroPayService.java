@@ -0,0 +1,24 @@
+package com.companyz.ems.services;
+
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for retroactive pay adjustments.
+ * When a salary change is recorded with an effective date in the past,
+ * the payroll runs already paid since that date are corrected by posting
+ * adjustment rows into a separate adjustment run. HR Admin only.
+ */
+public interface RetroPayService {
+
+    /**
+     * Processes every backdated salary change not yet adjusted.
+     * <p>
+     * Only the affected employee pay periods are recomputed, in chunks of
+     * {@code payroll.retro.chunk.size} changes, each committed with its
+     * processed markers. An interrupted run resumes where it stopped.
+     *
+     * @param ctx the current user session context
+     * @return the number of adjustment rows posted
+     */
+    int runRetroPay(SessionContext ctx);
+}
@@ -0,0 +1,107 @@
+package com.companyz.ems.services;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.dao.RetroPayDao;
+import com.companyz.ems.dao.RetroPayDaoImpl;
+import com.companyz.ems.model.Payroll;
+import com.companyz.ems.model.RetroPayItem;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class RetroPayServiceImpl implements RetroPayService {
+
+    // Payroll runs are monthly, so each period pays a twelfth of the annual salary
+    private static final int PERIODS_PER_YEAR = 12;
+
+    private final RetroPayDao retroPayDao;
+    private final AuthorizationService authzService;
+    private final ReportCache reportCache;
+    private final int chunkSize;
+
+    public RetroPayServiceImpl(RetroPayDao retroPayDao,
+                               AuthorizationService authzService,
+                               ReportCache reportCache,
+                               int chunkSize) {
+        this.retroPayDao = retroPayDao;
+        this.authzService = authzService;
+        this.reportCache = reportCache;
+        this.chunkSize = chunkSize;
+    }
+
+    public RetroPayServiceImpl() {
+        this.retroPayDao = new RetroPayDaoImpl();
+        this.authzService = new AuthorizationService();
+        this.reportCache = ReportCache.getDefault();
+        this.chunkSize = AppConfig.getInt("payroll.retro.chunk.size");
+    }
+
+    @Override
+    public int runRetroPay(SessionContext ctx) {
+        authzService.requireAdmin(ctx);
+
+        int runId = -1;
+        int posted = 0;
+        List<Long> changeIds;
+        while (!(changeIds = retroPayDao.findPendingChangeIds(chunkSize)).isEmpty()) {
+            List<RetroPayItem> items = retroPayDao.findAffectedPeriods(changeIds);
+            // Marking the chunk processed without its items would drop the back pay for good
+            if (items == null) break;
+            if (!items.isEmpty() && runId < 0) {
+                runId = retroPayDao.createAdjustmentRun("Retroactive pay adjustments " + LocalDate.now());
+                if (runId < 0) break;
+            }
+
+            // Periods are independent of each other, so compute them in parallel
+            LocalDate payDate = LocalDate.now();
+            int adjustmentRunId = runId;
+            List<Payroll> adjustments = items.parallelStream()
+                .map(item -> toAdjustment(item, adjustmentRunId, payDate))
+                .toList();
+
+            // Stop rather than loop on a chunk that cannot be committed
+            if (!retroPayDao.postAdjustments(adjustments, changeIds)) break;
+            posted += adjustments.size();
+            if (!adjustments.isEmpty()) {
+                reportCache.invalidatePayMonth(YearMonth.from(payDate));
+            }
+        }
+        return posted;
+    }
+
+    /**
+     * Builds the correcting row for one paid period: the salary difference
+     * for the period, with each withholding scaled at the rate originally applied.
+     * Health care is a flat deduction and is not adjusted.
+     */
+    private Payroll toAdjustment(RetroPayItem item, int runId, LocalDate payDate) {
+        double delta = round((item.getNewSalary() - item.getPreviousSalary()) / PERIODS_PER_YEAR);
+        double earnings = item.getEarnings();
+
+        Payroll p = new Payroll();
+        p.setPayrollRunId(runId);
+        p.setEmpId(item.getEmpId());
+        p.setPayDate(payDate);
+        p.setEarnings(delta);
+        p.setFedTax(scale(item.getFedTax(), earnings, delta));
+        p.setFedMed(scale(item.getFedMed(), earnings, delta));
+        p.setFedSs(scale(item.getFedSs(), earnings, delta));
+        p.setStateTax(scale(item.getStateTax(), earnings, delta));
+        p.setRetire401k(scale(item.getRetire401k(), earnings, delta));
+        p.setHealthCare(0);
+        p.setNetPay(round(delta - p.getFedTax() - p.getFedMed() - p.getFedSs()
+                - p.getStateTax() - p.getRetire401k()));
+        return p;
+    }
+
+    private static double scale(double deduction, double earnings, double delta) {
+        return earnings == 0 ? 0 : round(deduction / earnings * delta);
+    }
+
+    private static double round(double amount) {
+        return Math.round(amount * 100) / 100.0;
+    }
+}
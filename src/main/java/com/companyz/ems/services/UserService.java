@@ -1,15 +1,39 @@
 package com.companyz.ems.services;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.DoubleConsumer;
 
+import com.companyz.ems.model.BulkUserResult;
+import com.companyz.ems.model.NewUserAccount;
 import com.companyz.ems.model.employee.Employee;
 import com.companyz.ems.security.SessionContext;
 
 public interface UserService {
     Optional<SessionContext> authenticateUser(String username, String password);
 
+    /** Ends the session and records the logout. */
+    void logout(SessionContext ctx);
+
+    /** Like {@link #authenticateUser}, without blocking the calling thread. */
+    CompletableFuture<Optional<SessionContext>> authenticateUserAsync(String username, String password);
+
     boolean createUser(SessionContext ctx, String username, Employee employee, char[] password, String role);
 
+    /**
+     * Creates many accounts at once, e.g. for an onboarding. Initial passwords
+     * are hashed in parallel on the bulk hashing pool ({@code security.auth.bulk.workers})
+     * and the rows are inserted in batched transactions of {@code db.batch.size}
+     * accounts. A failed chunk does not stop the later ones. HR Admin only.
+     *
+     * @param progress receives the fraction of accounts processed after each chunk
+     * @return the number of accounts created and the usernames that were not
+     * @throws IllegalArgumentException if a role does not exist or a username is taken,
+     *                                  before anything is created
+     */
+    BulkUserResult createUsers(SessionContext ctx, List<NewUserAccount> accounts, DoubleConsumer progress);
+
     boolean assignRoles(SessionContext ctx, String username, String role);
 
     boolean deactivateUser(SessionContext ctx, String username);
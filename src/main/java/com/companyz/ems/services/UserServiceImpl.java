@@ -1,18 +1,30 @@
 package com.companyz.ems.services;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.DoubleConsumer;
 
+import com.companyz.ems.config.AppConfig;
 import com.companyz.ems.config.SecurityConfig;
 import com.companyz.ems.dao.AuthEventLogger;
+import com.companyz.ems.dao.BatchResult;
 import com.companyz.ems.dao.ChangeLogger;
 import com.companyz.ems.dao.RoleDao;
 import com.companyz.ems.dao.RoleDaoImpl;
 import com.companyz.ems.dao.UserDao;
 import com.companyz.ems.dao.UserDaoImpl;
+import com.companyz.ems.model.BulkUserResult;
+import com.companyz.ems.model.NewUserAccount;
 import com.companyz.ems.model.Role;
 import com.companyz.ems.model.User;
 import com.companyz.ems.model.employee.Employee;
+import com.companyz.ems.security.AuthExecutor;
 import com.companyz.ems.security.AuthService;
 import com.companyz.ems.security.AuthorizationService;
 import com.companyz.ems.security.PasswordHasher;
@@ -27,19 +39,24 @@ public class UserServiceImpl implements UserService {
     private final AuthEventLogger authEventLogger;
     private final AuthService authService;
     private final AuthorizationService authzService;
+    private final AuthExecutor bulkHashExecutor;
+    private final PasswordHasher hasher = new PasswordHasher(SecurityConfig::getPasswordStrength);
+    private final int batchSize = AppConfig.getInt("db.batch.size");
 
     public UserServiceImpl(UserDao userDao,
                            RoleDao roleDao,
                            ChangeLogger changeLogger,
                            AuthEventLogger authEventLogger,
                            AuthService authService,
-                           AuthorizationService authzService) {
+                           AuthorizationService authzService,
+                           AuthExecutor bulkHashExecutor) {
         this.userDao = userDao;
         this.roleDao = roleDao;
         this.changeLogger = changeLogger;
         this.authEventLogger = authEventLogger;
         this.authService = authService;
         this.authzService = authzService;
+        this.bulkHashExecutor = bulkHashExecutor;
     }
 
     public UserServiceImpl() {
@@ -49,11 +66,25 @@ public class UserServiceImpl implements UserService {
         this.authEventLogger = new AuthEventLogger();
         this.authService = new AuthService(this.userDao);
         this.authzService = new AuthorizationService();
+        this.bulkHashExecutor = AuthExecutor.getBulk();
     }
 
     @Override
     public Optional<SessionContext> authenticateUser(String username, String password) {
-        Optional<SessionContext> ctx = authService.login(username, password.toCharArray());
+        return logLogin(authService.login(username, password.toCharArray()));
+    }
+
+    @Override
+    public CompletableFuture<Optional<SessionContext>> authenticateUserAsync(String username, String password) {
+        return authService.loginAsync(username, password.toCharArray()).thenApply(this::logLogin);
+    }
+
+    @Override
+    public void logout(SessionContext ctx) {
+        authService.logout(ctx);
+    }
+
+    private Optional<SessionContext> logLogin(Optional<SessionContext> ctx) {
         ctx.ifPresent(session -> {
             // Use null for IP and "javafx" for user agent
             authEventLogger.logEvent(session.getUserId(), "LOGIN", null, "javafx");
@@ -66,8 +97,7 @@ public class UserServiceImpl implements UserService {
     public boolean createUser(SessionContext ctx, String username, Employee employee, char[] password, String role) {
         authzService.requireAdmin(ctx);
 
-        HashedPassword hp = new PasswordHasher(SecurityConfig.getPasswordStrength())
-                        .hashWithSalt(password);
+        HashedPassword hp = hasher.hashWithSalt(password);
         Optional<Role> r = roleDao.findByName(role);
         if (r.isEmpty()) {
             throw new IllegalArgumentException("Role not found: " + role);
@@ -94,6 +124,79 @@ public class UserServiceImpl implements UserService {
         return created;
     }
 
+    @Override
+    public BulkUserResult createUsers(SessionContext ctx, List<NewUserAccount> accounts, DoubleConsumer progress) {
+        authzService.requireAdmin(ctx);
+
+        // Resolve each role once, and fail before any hashing if one is missing
+        Map<String, Role> roles = new HashMap<>();
+        for (NewUserAccount account : accounts) {
+            roles.computeIfAbsent(account.getRole(), name -> roleDao.findByName(name)
+                    .orElseThrow(() -> new IllegalArgumentException("Role not found: " + name)));
+        }
+
+        // A taken username would fail its whole chunk after the hashing was paid for
+        List<String> taken = userDao.findByUsernames(accounts.stream().map(NewUserAccount::getUsername).toList())
+                .stream().map(User::getUsername).toList();
+        if (!taken.isEmpty()) {
+            throw new IllegalArgumentException("Usernames already exist: " + String.join(", ", taken));
+        }
+
+        int created = 0;
+        BitSet failed = new BitSet(accounts.size());
+        Exception error = null;
+        for (int from = 0; from < accounts.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, accounts.size());
+
+            // BCrypt dominates the cost; the chunk's hashes run on the bulk hashing pool
+            List<CompletableFuture<User>> hashes = new ArrayList<>(to - from);
+            for (NewUserAccount account : accounts.subList(from, to)) {
+                hashes.add(bulkHashExecutor.submit(() -> toUser(account, roles.get(account.getRole()))));
+            }
+
+            List<User> users = new ArrayList<>(hashes.size());
+            int[] positions = new int[hashes.size()];
+            for (int i = 0; i < hashes.size(); i++) {
+                try {
+                    positions[users.size()] = from + i;
+                    users.add(hashes.get(i).join());
+                } catch (CompletionException e) {
+                    failed.set(from + i);
+                    error = firstOrSuppressed(error, e.getCause() instanceof Exception cause ? cause : e);
+                }
+            }
+
+            BatchResult stored = userDao.createUsers(users);
+            created += stored.getCommitted();
+            for (int i : stored.getFailedIndexes()) {
+                failed.set(positions[i]);
+            }
+            if (stored.getError() != null) {
+                error = firstOrSuppressed(error, stored.getError());
+            }
+            progress.accept((double) to / accounts.size());
+        }
+
+        if (created > 0) {
+            changeLogger.logChange("users", "bulk", "CREATE",
+                    ctx.getUserId(), "{}", "{created:" + created + ", failed:" + failed.cardinality() + "}");
+        }
+        List<String> failedUsernames = failed.stream().mapToObj(i -> accounts.get(i).getUsername()).toList();
+        return new BulkUserResult(created, failedUsernames, error);
+    }
+
+    private static Exception firstOrSuppressed(Exception first, Exception next) {
+        if (first == null) return next;
+        if (first != next) first.addSuppressed(next);
+        return first;
+    }
+
+    private User toUser(NewUserAccount account, Role role) {
+        HashedPassword hp = hasher.hashWithSalt(account.getPassword());
+        return new User(0, account.getUsername(), hp.getHash(), hp.getSalt(), true,
+                        List.of(role), account.getEmpId(), null, null);
+    }
+
     @Override
     public boolean assignRoles(SessionContext ctx, String username, String role) {
         authzService.requireAdmin(ctx);
@@ -0,0 +1,30 @@
+package com.companyz.ems.services;
+
+import java.time.YearMonth;
+
+import com.companyz.ems.model.report.TurnoverReport;
+import com.companyz.ems.security.SessionContext;
+
+/**
+ * Service interface for headcount and turnover analytics derived from
+ * the employee status history. HR Admin only.
+ */
+public interface WorkforceAnalyticsService {
+
+    /**
+     * Returns monthly headcount, hires, terminations and turnover rate by
+     * division from {@code from} to {@code to} inclusive, and the tenure
+     * distribution by division at the end of the period.
+     * <p>
+     * The whole range is computed in one pass over the status history.
+     * Closed months are cached until the history changes.
+     *
+     * @param ctx  the current user session context
+     * @param from first month
+     * @param to   last month, no later than the current month
+     * @return the turnover report
+     * @throws IllegalArgumentException if the range is empty or reaches past the current month
+     * @throws IllegalStateException    if the history could not be loaded
+     */
+    TurnoverReport getTurnoverReport(SessionContext ctx, YearMonth from, YearMonth to);
+}
@@ -0,0 +1,116 @@
+package com.companyz.ems.services;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.companyz.ems.dao.OrgIntervalIndex;
+import com.companyz.ems.model.report.TurnoverReport;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+
+public class WorkforceAnalyticsServiceImpl implements WorkforceAnalyticsService {
+
+    /** Cached figures for one closed month. */
+    private static final class ClosedMonth {
+        final List<TurnoverReport.DivisionMonth> rows;
+        List<TurnoverReport.TenureEntry> tenure; // at month end; null until a report ends here
+
+        ClosedMonth(List<TurnoverReport.DivisionMonth> rows) {
+            this.rows = rows;
+        }
+    }
+
+    private final OrgIntervalIndex orgIndex;
+    private final AuthorizationService authzService;
+    private final Clock clock;
+
+    // Guarded by this; cleared whenever the index version moves
+    private final Map<YearMonth, ClosedMonth> closedMonths = new HashMap<>();
+    private long cachedVersion = -1;
+
+    public WorkforceAnalyticsServiceImpl(OrgIntervalIndex orgIndex,
+                                         AuthorizationService authzService,
+                                         Clock clock) {
+        this.orgIndex = orgIndex;
+        this.authzService = authzService;
+        this.clock = clock;
+    }
+
+    public WorkforceAnalyticsServiceImpl() {
+        this(OrgIntervalIndex.getDefault(), new AuthorizationService(), Clock.systemDefaultZone());
+    }
+
+    @Override
+    public TurnoverReport getTurnoverReport(SessionContext ctx, YearMonth from, YearMonth to) {
+        authzService.requireAdmin(ctx);
+        LocalDate today = LocalDate.now(clock);
+        YearMonth current = YearMonth.from(today);
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("End month must not be before start month");
+        }
+        if (to.isAfter(current)) {
+            throw new IllegalArgumentException("End month must not be after the current month");
+        }
+
+        long version = orgIndex.getVersion();
+        TurnoverReport cached = fromCache(from, to, version);
+        if (cached != null) {
+            return cached;
+        }
+
+        TurnoverReport report = orgIndex.turnoverByDivision(from, to, today);
+        if (report == null) {
+            throw new IllegalStateException("Status history unavailable");
+        }
+        store(report, current, version);
+        return report;
+    }
+
+    private synchronized TurnoverReport fromCache(YearMonth from, YearMonth to, long version) {
+        if (version != cachedVersion) {
+            closedMonths.clear();
+            cachedVersion = version;
+            return null;
+        }
+        ClosedMonth last = closedMonths.get(to);
+        if (last == null || last.tenure == null) {
+            return null;
+        }
+        List<TurnoverReport.DivisionMonth> rows = new ArrayList<>();
+        for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+            ClosedMonth month = closedMonths.get(m);
+            if (month == null) {
+                return null;
+            }
+            rows.addAll(month.rows);
+        }
+        return new TurnoverReport(from, to, rows, to.atEndOfMonth(), last.tenure);
+    }
+
+    private synchronized void store(TurnoverReport report, YearMonth current, long version) {
+        if (version != cachedVersion) {
+            return; // the history changed while computing
+        }
+        Map<YearMonth, List<TurnoverReport.DivisionMonth>> byMonth = new HashMap<>();
+        for (YearMonth m = report.getFromMonth(); !m.isAfter(report.getToMonth()); m = m.plusMonths(1)) {
+            byMonth.put(m, new ArrayList<>());
+        }
+        for (TurnoverReport.DivisionMonth row : report.getMonths()) {
+            byMonth.get(row.getMonth()).add(row);
+        }
+        byMonth.forEach((month, rows) -> {
+            if (month.isBefore(current)) {
+                closedMonths.putIfAbsent(month, new ClosedMonth(rows));
+            }
+        });
+        ClosedMonth last = closedMonths.get(report.getToMonth());
+        if (last != null) {
+            last.tenure = report.getTenure();
+        }
+    }
+}
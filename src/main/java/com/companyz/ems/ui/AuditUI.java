@@ -0,0 +1,240 @@
+package com.companyz.ems.ui;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import com.companyz.ems.export.ExportFormat;
+import com.companyz.ems.model.audit.AuditCursor;
+import com.companyz.ems.model.audit.AuditFilter;
+import com.companyz.ems.model.audit.AuditPage;
+import com.companyz.ems.model.audit.AuthEventEntry;
+import com.companyz.ems.model.audit.ChangeLogEntry;
+import com.companyz.ems.security.SessionContext;
+import com.companyz.ems.services.AuditService;
+import com.companyz.ems.utils.DialogUtil;
+import com.companyz.ems.utils.UIConstants;
+
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.DatePicker;
+import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
+
+/**
+ * Audit Log tab for HR Admin.
+ * Searches the change log and auth events by table, record key, user and date
+ * range, one page at a time, and exports all matching rows to CSV.
+ * Auth events use only the user and date filters.
+ */
+public class AuditUI {
+
+    /** Loads one page; lets both result tables share the paging code. */
+    private interface PageQuery<T> {
+        AuditPage<T> find(SessionContext session, AuditFilter filter, AuditCursor after);
+    }
+
+    /** Writes every matching row to a file; runs on a background thread. */
+    private interface ExportQuery {
+        long export(SessionContext session, AuditFilter filter, File target) throws IOException;
+    }
+
+    private final AuditService auditService;
+
+    public AuditUI(AuditService auditService) {
+        this.auditService = auditService;
+    }
+
+    public Tab build(SessionContext session) {
+        VBox vbox = new VBox(UIConstants.DEFAULT_SPACING);
+        vbox.setPadding(new javafx.geometry.Insets(UIConstants.DEFAULT_PADDING));
+
+        Label title = new Label("Audit Log (HR Admin)");
+        title.setStyle(UIConstants.TITLE_STYLE);
+
+        // --- Filters (shared by both searches) ---
+        HBox filterBox = new HBox(UIConstants.DEFAULT_SPACING);
+        filterBox.setAlignment(Pos.CENTER_LEFT);
+        TextField tableField = new TextField();
+        tableField.setPromptText("Table");
+        TextField recordField = new TextField();
+        recordField.setPromptText("Record key");
+        TextField userField = new TextField();
+        userField.setPromptText("User ID");
+        DatePicker fromPicker = new DatePicker();
+        fromPicker.setPromptText("From");
+        DatePicker toPicker = new DatePicker();
+        toPicker.setPromptText("To");
+        filterBox.getChildren().addAll(new Label("Filter:"), tableField, recordField, userField,
+                                       fromPicker, toPicker);
+
+        Supplier<AuditFilter> readFilter = () -> {
+            String table = tableField.getText() == null ? "" : tableField.getText().trim();
+            String record = recordField.getText() == null ? "" : recordField.getText().trim();
+            String user = userField.getText() == null ? "" : userField.getText().trim();
+            LocalDate from = fromPicker.getValue();
+            LocalDate to = toPicker.getValue();
+            return new AuditFilter(
+                    table.isEmpty() ? null : table,
+                    record.isEmpty() ? null : record,
+                    user.isEmpty() ? null : Integer.valueOf(user),
+                    from == null ? null : from.atStartOfDay(),
+                    to == null ? null : to.plusDays(1).atStartOfDay()); // end date inclusive
+        };
+
+        // --- Change Log Table ---
+        TableView<ChangeLogEntry> changeTable = new TableView<>();
+        changeTable.setPrefHeight(300);
+
+        TableColumn<ChangeLogEntry, LocalDateTime> changedAtCol = new TableColumn<>("Changed At");
+        changedAtCol.setCellValueFactory(new PropertyValueFactory<>("changedAt"));
+
+        TableColumn<ChangeLogEntry, String> tableCol = new TableColumn<>("Table");
+        tableCol.setCellValueFactory(new PropertyValueFactory<>("tableName"));
+
+        TableColumn<ChangeLogEntry, String> recordCol = new TableColumn<>("Record");
+        recordCol.setCellValueFactory(new PropertyValueFactory<>("recordPk"));
+
+        TableColumn<ChangeLogEntry, String> operationCol = new TableColumn<>("Operation");
+        operationCol.setCellValueFactory(new PropertyValueFactory<>("operation"));
+
+        TableColumn<ChangeLogEntry, Integer> changedByCol = new TableColumn<>("User ID");
+        changedByCol.setCellValueFactory(new PropertyValueFactory<>("changedByUserId"));
+
+        TableColumn<ChangeLogEntry, String> oldCol = new TableColumn<>("Old Values");
+        oldCol.setCellValueFactory(new PropertyValueFactory<>("oldValues"));
+
+        TableColumn<ChangeLogEntry, String> newCol = new TableColumn<>("New Values");
+        newCol.setCellValueFactory(new PropertyValueFactory<>("newValues"));
+
+        changeTable.getColumns().addAll(changedAtCol, tableCol, recordCol, operationCol, changedByCol,
+                                        oldCol, newCol);
+
+        VBox changeBox = resultBox("Change Log", changeTable, session, readFilter,
+                auditService::findChanges,
+                (s, filter, target) -> auditService.exportChanges(s, filter, ExportFormat.CSV, target.toPath()),
+                "change-log");
+
+        // --- Auth Events Table ---
+        TableView<AuthEventEntry> eventTable = new TableView<>();
+        eventTable.setPrefHeight(250);
+
+        TableColumn<AuthEventEntry, LocalDateTime> eventTimeCol = new TableColumn<>("Time");
+        eventTimeCol.setCellValueFactory(new PropertyValueFactory<>("eventTime"));
+
+        TableColumn<AuthEventEntry, Integer> eventUserCol = new TableColumn<>("User ID");
+        eventUserCol.setCellValueFactory(new PropertyValueFactory<>("userId"));
+
+        TableColumn<AuthEventEntry, String> eventTypeCol = new TableColumn<>("Event");
+        eventTypeCol.setCellValueFactory(new PropertyValueFactory<>("eventType"));
+
+        TableColumn<AuthEventEntry, String> ipCol = new TableColumn<>("IP Address");
+        ipCol.setCellValueFactory(new PropertyValueFactory<>("ipAddress"));
+
+        TableColumn<AuthEventEntry, String> agentCol = new TableColumn<>("Client");
+        agentCol.setCellValueFactory(new PropertyValueFactory<>("userAgent"));
+
+        eventTable.getColumns().addAll(eventTimeCol, eventUserCol, eventTypeCol, ipCol, agentCol);
+
+        VBox eventBox = resultBox("Auth Events", eventTable, session, readFilter,
+                auditService::findAuthEvents,
+                (s, filter, target) -> auditService.exportAuthEvents(s, filter, ExportFormat.CSV, target.toPath()),
+                "auth-events");
+
+        vbox.getChildren().addAll(title, filterBox, changeBox, eventBox);
+        return new Tab("Audit Log", vbox);
+    }
+
+    /**
+     * Builds a result table with Search, Next Page and Export buttons.
+     * Search starts from the newest row with the current filter; Next Page
+     * continues from the last row shown with the filter of that search.
+     */
+    private <T> VBox resultBox(String heading, TableView<T> table, SessionContext session,
+                               Supplier<AuditFilter> readFilter, PageQuery<T> query,
+                               ExportQuery export, String fileName) {
+        VBox box = new VBox(UIConstants.DEFAULT_SPACING);
+        box.setStyle(UIConstants.BORDER_STYLE);
+        Label label = new Label(heading);
+        label.setStyle(UIConstants.SUBTITLE_STYLE);
+
+        Button searchBtn = new Button("Search");
+        searchBtn.setStyle(UIConstants.BUTTON_PRIMARY_STYLE);
+        Button nextBtn = new Button("Next Page");
+        nextBtn.setDisable(true);
+        Button exportBtn = new Button("Export CSV");
+        Label status = new Label();
+
+        // Filter and cursor of the rows on screen
+        AuditFilter[] shownFilter = new AuditFilter[1];
+        AuditCursor[] nextCursor = new AuditCursor[1];
+
+        BackgroundLoader<AuditPage<T>> pageLoader = new BackgroundLoader<AuditPage<T>>(
+                "Error searching " + heading + ": ", page -> {
+                    table.getItems().setAll(page.getEntries());
+                    nextCursor[0] = page.getNext();
+                    nextBtn.setDisable(!page.hasMore());
+                    status.setText(page.getEntries().size() + " rows" + (page.hasMore() ? ", more available" : ""));
+                }).disabling(searchBtn, nextBtn, exportBtn);
+
+        searchBtn.setOnAction(e -> {
+            AuditFilter filter = filterOrNull(readFilter);
+            if (filter == null) return;
+            shownFilter[0] = filter;
+            pageLoader.load(() -> query.find(session, filter, null));
+        });
+        nextBtn.setOnAction(e -> {
+            AuditFilter filter = shownFilter[0];
+            AuditCursor after = nextCursor[0];
+            if (filter == null || after == null) return;
+            pageLoader.load(() -> query.find(session, filter, after));
+        });
+
+        BackgroundLoader<Long> exportLoader = new BackgroundLoader<Long>(
+                "Error exporting " + heading + ": ",
+                rows -> DialogUtil.showInfo("Exported " + rows + " rows."))
+                .disabling(exportBtn);
+        exportBtn.setOnAction(e -> {
+            AuditFilter filter = filterOrNull(readFilter);
+            if (filter == null) return;
+            FileChooser chooser = new FileChooser();
+            chooser.setTitle("Export " + heading);
+            chooser.setInitialFileName(fileName + "." + ExportFormat.CSV.getExtension());
+            chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV files", "*.csv"));
+            File target = chooser.showSaveDialog(exportBtn.getScene().getWindow());
+            if (target == null) return;
+            exportLoader.load(() -> {
+                try {
+                    return export.export(session, filter, target);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        });
+
+        HBox buttons = new HBox(UIConstants.DEFAULT_SPACING);
+        buttons.setAlignment(Pos.CENTER_LEFT);
+        buttons.getChildren().addAll(searchBtn, nextBtn, exportBtn, status);
+        box.getChildren().addAll(label, buttons, table);
+        return box;
+    }
+
+    private static AuditFilter filterOrNull(Supplier<AuditFilter> readFilter) {
+        try {
+            return readFilter.get();
+        } catch (NumberFormatException ex) {
+            DialogUtil.showError("User ID must be a number");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.companyz.ems.ui;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.companyz.ems.dao.QueryCancellation;
+import com.companyz.ems.utils.DialogUtil;
+import com.companyz.ems.utils.UIConstants;
+
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.Pane;
+
+/**
+ * Runs service calls for a tab off the JavaFX application thread.
+ * <p>
+ * Each {@link #load(Supplier)} runs on a virtual thread as a {@link Task}.
+ * Starting a new load cancels the one still running, including its JDBC
+ * statement, so only the latest result reaches the screen. While loading,
+ * an optional placeholder is shown and the registered controls are disabled.
+ * Failures are shown in the placeholder area, or as an error dialog.
+ * Only the result callback runs on the FX thread; callbacks that take longer
+ * than one frame are logged so slow UI work can be found.
+ * <p>
+ * Must be used from the FX thread.
+ *
+ * @param <T> the loaded value type
+ */
+public class BackgroundLoader<T> {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    // One frame at 60 fps
+    private static final long FRAME_BUDGET_NANOS = 16_666_667L;
+
+    private final String errorPrefix;
+    private final Consumer<T> onLoaded;
+    private Pane placeholderArea;
+    private Node[] disabledWhileLoading = new Node[0];
+
+    private Task<T> current;
+    private QueryCancellation currentCancellation;
+
+    /**
+     * @param errorPrefix text shown before the error message when a load fails
+     * @param onLoaded    applies the loaded value to the UI, on the FX thread
+     */
+    public BackgroundLoader(String errorPrefix, Consumer<T> onLoaded) {
+        this.errorPrefix = errorPrefix;
+        this.onLoaded = onLoaded;
+    }
+
+    /**
+     * Loader that fills a table. The table's placeholder shows progress
+     * while loading and the error text if the load fails.
+     */
+    public static <S> BackgroundLoader<List<S>> forTable(TableView<S> table, String errorPrefix) {
+        Label empty = new Label("No content in table");
+        return new BackgroundLoader<>(errorPrefix, rows -> {
+            table.setPlaceholder(empty);
+            table.getItems().setAll(rows);
+        }) {
+            @Override
+            void showLoading() {
+                table.getItems().clear();
+                table.setPlaceholder(newProgressIndicator());
+            }
+
+            @Override
+            void showError(String message) {
+                Label error = new Label(message);
+                error.setStyle(UIConstants.ERROR_STYLE);
+                table.setPlaceholder(error);
+            }
+        };
+    }
+
+    /** While loading, replaces the children of {@code area} with a progress indicator. */
+    public BackgroundLoader<T> withPlaceholder(Pane area) {
+        this.placeholderArea = area;
+        return this;
+    }
+
+    /** Disables {@code nodes} while a load is running. */
+    public BackgroundLoader<T> disabling(Node... nodes) {
+        this.disabledWhileLoading = nodes;
+        return this;
+    }
+
+    /**
+     * Starts loading, cancelling any load still in progress.
+     *
+     * @param work the service call; runs on a background thread
+     */
+    public void load(Supplier<T> work) {
+        cancel();
+
+        QueryCancellation cancellation = new QueryCancellation();
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() {
+                return QueryCancellation.runWith(cancellation, work);
+            }
+        };
+        task.setOnSucceeded(e -> finish(task, () -> onLoaded.accept(task.getValue())));
+        task.setOnFailed(e -> finish(task, () -> {
+            Throwable error = task.getException();
+            showError(errorPrefix + (error != null ? error.getMessage() : "unknown error"));
+        }));
+        task.setOnCancelled(e -> finish(task, () -> { }));
+
+        current = task;
+        currentCancellation = cancellation;
+        setBusy(true);
+        showLoading();
+        EXECUTOR.execute(task);
+    }
+
+    /** Cancels the running load, if any; its result is discarded. */
+    public void cancel() {
+        if (current != null) {
+            currentCancellation.cancel();
+            current.cancel();
+            current = null;
+            currentCancellation = null;
+            setBusy(false);
+        }
+    }
+
+    public boolean isLoading() {
+        return current != null;
+    }
+
+    // Applies the outcome of the latest task only; superseded tasks are ignored
+    private void finish(Task<T> task, Runnable apply) {
+        if (task != current) {
+            return;
+        }
+        current = null;
+        currentCancellation = null;
+        setBusy(false);
+
+        long start = System.nanoTime();
+        apply.run();
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > FRAME_BUDGET_NANOS) {
+            System.err.println("UI update for \"" + errorPrefix + "\" took "
+                    + elapsed / 1_000_000 + " ms on the FX thread");
+        }
+    }
+
+    private void setBusy(boolean busy) {
+        for (Node node : disabledWhileLoading) {
+            node.setDisable(busy);
+        }
+    }
+
+    void showLoading() {
+        if (placeholderArea != null) {
+            placeholderArea.getChildren().setAll(newProgressIndicator(), new Label("Loading..."));
+        }
+    }
+
+    void showError(String message) {
+        if (placeholderArea != null) {
+            Label error = new Label(message);
+            error.setStyle(UIConstants.ERROR_STYLE);
+            placeholderArea.getChildren().setAll(error);
+        } else {
+            DialogUtil.showError(message);
+        }
+    }
+
+    static ProgressIndicator newProgressIndicator() {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setMaxSize(40, 40);
+        return indicator;
+    }
+}
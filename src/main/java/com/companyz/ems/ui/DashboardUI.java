@@ -1,10 +1,11 @@
 package com.companyz.ems.ui;
 
-import java.util.List;
+import java.util.Map;
 
-import com.companyz.ems.model.employee.Employee;
+import com.companyz.ems.model.report.DashboardMetrics;
+import com.companyz.ems.security.Permission;
 import com.companyz.ems.security.SessionContext;
-import com.companyz.ems.services.EmployeeService;
+import com.companyz.ems.services.DashboardService;
 import com.companyz.ems.utils.UIConstants;
 
 import javafx.geometry.Insets;
@@ -15,15 +16,15 @@ import javafx.scene.layout.VBox;
 
 /**
  * Dashboard tab for Employee Management System.
- * - HR Admin: shows system statistics (total employees).
+ * - HR Admin: shows system statistics from DashboardService, loaded in the background.
  * - General Employee: shows welcome message and role info.
  * - Provides a Logout button (delegates to parent callback).
  */
 public class DashboardUI {
-    private final EmployeeService employeeService;
+    private final DashboardService dashboardService;
 
-    public DashboardUI(EmployeeService employeeService) {
-        this.employeeService = employeeService;
+    public DashboardUI(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
     }
 
     /**
@@ -49,15 +50,12 @@ public class DashboardUI {
         if (isAdmin(session)) {
             Label statsTitle = new Label("System Statistics");
             statsTitle.setStyle("-fx-font-size: 14; -fx-font-weight: bold;");
-            try {
-                List<Employee> allEmployees = employeeService.getAllEmployees(session);
-                Label empCountLabel = new Label("Total Employees: " + allEmployees.size());
-                box.getChildren().addAll(statsTitle, empCountLabel, currentUserLabel, roleLabel);
-            } catch (Exception ex) {
-                Label error = new Label("Error loading admin stats: " + ex.getMessage());
-                error.setStyle("-fx-text-fill: red;");
-                box.getChildren().addAll(statsTitle, error, currentUserLabel, roleLabel);
-            }
+            VBox statsBox = new VBox(10);
+            box.getChildren().addAll(statsTitle, statsBox, currentUserLabel, roleLabel);
+            new BackgroundLoader<DashboardMetrics>("Error loading admin stats: ",
+                    metrics -> showMetrics(statsBox, metrics))
+                .withPlaceholder(statsBox)
+                .load(() -> dashboardService.getMetrics(session));
         } else {
             Label welcome = new Label("Welcome! Use 'Profile' to view your data and 'Payroll' to see your pay history.");
             welcome.setStyle("-fx-font-size: 12; -fx-text-fill: #666;");
@@ -77,8 +75,30 @@ public class DashboardUI {
         return new Tab("Dashboard", vbox);
     }
 
+    private void showMetrics(VBox statsBox, DashboardMetrics metrics) {
+        statsBox.getChildren().setAll(
+            new Label("Total Employees: " + metrics.getHeadcount()),
+            new Label("New Hires This Month: " + metrics.getNewHiresThisMonth()),
+            new Label(String.format("Total Payroll Last Month: $%,.2f", metrics.getTotalPayrollLastMonth())),
+            new Label("By Division: " + formatCounts(metrics.getHeadcountByDivision())),
+            new Label("By Status: " + formatCounts(metrics.getHeadcountByStatus())),
+            new Label("By Employment Type: " + formatCounts(metrics.getHeadcountByType()))
+        );
+    }
+
+    private String formatCounts(Map<String, Integer> counts) {
+        if (counts.isEmpty()) {
+            return "-";
+        }
+        StringBuilder sb = new StringBuilder();
+        counts.forEach((name, count) -> {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(name).append(" (").append(count).append(")");
+        });
+        return sb.toString();
+    }
+
     private boolean isAdmin(SessionContext session) {
-        return session != null && session.getRole() != null
-                && "HR_ADMIN".equalsIgnoreCase(session.getRole());
+        return session != null && session.has(Permission.ADMIN);
     }
 }
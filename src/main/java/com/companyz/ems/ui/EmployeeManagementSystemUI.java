@@ -1,8 +1,16 @@
 package com.companyz.ems.ui;
 
+import com.companyz.ems.dao.AuditWriter;
+import com.companyz.ems.security.Permission;
 import com.companyz.ems.security.SessionContext;
+import com.companyz.ems.security.SessionRegistry;
+import com.companyz.ems.services.AuditService;
+import com.companyz.ems.services.AuditServiceImpl;
+import com.companyz.ems.services.DashboardService;
+import com.companyz.ems.services.DashboardServiceImpl;
 import com.companyz.ems.services.EmployeeService;
 import com.companyz.ems.services.EmployeeServiceImpl;
+import com.companyz.ems.services.ReportPrecomputeScheduler;
 import com.companyz.ems.services.ReportService;
 import com.companyz.ems.services.ReportServiceImpl;
 import com.companyz.ems.services.UserService;
@@ -12,6 +20,7 @@ import com.companyz.ems.utils.DialogUtil;
 import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.scene.control.TabPane;
+import javafx.scene.input.InputEvent;
 import javafx.stage.Stage;
 
 /**
@@ -25,6 +34,8 @@ public class EmployeeManagementSystemUI extends Application {
     private UserService userService;
     private EmployeeService employeeService;
     private ReportService reportService;
+    private DashboardService dashboardService;
+    private AuditService auditService;
 
     @Override
     public void start(Stage stage) {
@@ -32,6 +43,9 @@ public class EmployeeManagementSystemUI extends Application {
         userService = new UserServiceImpl();
         employeeService = new EmployeeServiceImpl();
         reportService = new ReportServiceImpl();
+        dashboardService = new DashboardServiceImpl();
+        auditService = new AuditServiceImpl();
+        ReportPrecomputeScheduler.getDefault().start();
 
         primaryStage.setTitle("Employee Management System");
         primaryStage.setWidth(1200);
@@ -55,7 +69,7 @@ public class EmployeeManagementSystemUI extends Application {
         tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
 
         // Always show Dashboard (with logout callback)
-        tabPane.getTabs().add(new DashboardUI(employeeService).build(currentSession, this::handleLogout));
+        tabPane.getTabs().add(new DashboardUI(dashboardService).build(currentSession, this::handleLogout));
 
         // General employee tabs
         if (isEmployee()) {
@@ -67,9 +81,14 @@ public class EmployeeManagementSystemUI extends Application {
         if (isAdmin()) {
             tabPane.getTabs().add(new EmployeesUI(employeeService).build(currentSession));
             tabPane.getTabs().add(new ReportsUI(reportService).build(currentSession));
+            tabPane.getTabs().add(new AuditUI(auditService).build(currentSession));
         }
 
-        primaryStage.setScene(new Scene(tabPane, 1200, 800));
+        Scene scene = new Scene(tabPane, 1200, 800);
+        // Any input counts as activity; touch() is a single atomic write
+        SessionContext session = currentSession;
+        scene.addEventFilter(InputEvent.ANY, e -> session.touch());
+        primaryStage.setScene(scene);
     }
 
     /**
@@ -77,7 +96,7 @@ public class EmployeeManagementSystemUI extends Application {
      */
     private void handleLogout() {
         if (currentSession != null) {
-            currentSession.inValidated(); // mark session inactive
+            userService.logout(currentSession); // mark session inactive
             currentSession = null;
         }
         DialogUtil.showInfo("You have been logged out.");
@@ -85,18 +104,19 @@ public class EmployeeManagementSystemUI extends Application {
     }
 
     private boolean isAdmin() {
-        return currentSession != null && currentSession.getRole() != null
-                && "HR_ADMIN".equalsIgnoreCase(currentSession.getRole());
+        return currentSession != null && currentSession.has(Permission.ADMIN);
     }
 
     private boolean isEmployee() {
-        return currentSession != null && currentSession.getRole() != null
-                && !"HR_ADMIN".equalsIgnoreCase(currentSession.getRole());
+        return currentSession != null && !currentSession.has(Permission.ADMIN);
     }
 
     @Override
     public void stop() {
         // Clean up resources if needed
+        ReportPrecomputeScheduler.getDefault().close();
+        SessionRegistry.getDefault().close(); // hands queued logout events to the audit writer
+        AuditWriter.getDefault().close();     // writes everything queued
         DialogUtil.showInfo("Application closed.");
     }
 
@@ -1,9 +1,12 @@
 package com.companyz.ems.ui;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 
 import com.companyz.ems.model.employee.Employee;
+import com.companyz.ems.security.Permission;
 import com.companyz.ems.security.SessionContext;
 import com.companyz.ems.services.EmployeeService;
 import com.companyz.ems.ui.helper.EmployeeCreateDialog;
@@ -27,6 +30,7 @@ import javafx.scene.layout.VBox;
 /**
  * Employees tab for HR Admin.
  * Provides search, view, delete, and salary increase functionality.
+ * Service calls run through BackgroundLoader so the window stays responsive.
  */
 public class EmployeesUI {
     private final EmployeeService employeeService;
@@ -115,6 +119,10 @@ public class EmployeesUI {
 
         employeeTable.setPrefHeight(400);
 
+        // A new search or refresh supersedes the one still running
+        BackgroundLoader<List<Employee>> tableLoader =
+                BackgroundLoader.forTable(employeeTable, "Error loading employees: ");
+
 
         // Action buttons
         HBox actionBox = new HBox(10);
@@ -134,12 +142,16 @@ public class EmployeesUI {
             if (selected != null) {
                 Alert confirm = new Alert(Alert.AlertType.CONFIRMATION, "Delete this employee?");
                 if (confirm.showAndWait().get() == ButtonType.OK) {
-                    if (employeeService.deleteEmployee(session, selected.getEmpId())) {
-                        employeeTable.getItems().remove(selected);
-                        DialogUtil.showInfo("Employee deleted successfully");
-                    } else {
-                        DialogUtil.showError("Failed to delete employee");
-                    }
+                    new BackgroundLoader<Boolean>("Error deleting employee: ", deleted -> {
+                        if (deleted) {
+                            employeeTable.getItems().remove(selected);
+                            DialogUtil.showInfo("Employee deleted successfully");
+                        } else {
+                            DialogUtil.showError("Failed to delete employee");
+                        }
+                    })
+                        .disabling(deleteButton)
+                        .load(() -> employeeService.deleteEmployee(session, selected.getEmpId()));
                 }
             } else {
                 DialogUtil.showError("Please select an employee to delete");
@@ -159,44 +171,59 @@ public class EmployeesUI {
             maxDialog.setHeaderText("Maximum salary (<)");
             Optional<String> maxOpt = maxDialog.showAndWait();
 
-            if (pctOpt.isPresent() && minOpt.isPresent() && maxOpt.isPresent()) {
+            TextInputDialog effectiveDialog = new TextInputDialog(LocalDate.now().toString());
+            effectiveDialog.setHeaderText("Effective from (YYYY-MM-DD); an earlier date adjusts pay already run");
+            Optional<String> effectiveOpt = effectiveDialog.showAndWait();
+
+            if (pctOpt.isPresent() && minOpt.isPresent() && maxOpt.isPresent() && effectiveOpt.isPresent()) {
                 try {
                     double pct = Double.parseDouble(pctOpt.get());
                     double min = Double.parseDouble(minOpt.get());
                     double max = Double.parseDouble(maxOpt.get());
-                    int updated = employeeService.increaseSalaryByRange(session, pct, min, max, "Admin adjustment");
-                    if (updated > 0) DialogUtil.showInfo("Salary updates applied to " + updated + " employees.");
-                    else DialogUtil.showError("No salaries updated.");
+                    LocalDate effective = LocalDate.parse(effectiveOpt.get().trim());
+                    if (effective.isAfter(LocalDate.now())) {
+                        DialogUtil.showError("Effective date cannot be in the future.");
+                        return;
+                    }
+                    new BackgroundLoader<Integer>("Error updating salaries: ", updated -> {
+                        if (updated > 0) DialogUtil.showInfo("Salary updates applied to " + updated + " employees."
+                                + (effective.isBefore(LocalDate.now()) ? " Past pay periods were adjusted." : ""));
+                        else DialogUtil.showError("No salaries updated.");
+                    })
+                        .disabling(updateSalaryButton)
+                        .load(() -> employeeService.increaseSalaryByRange(session, pct, min, max, "Admin adjustment",
+                                                                          effective));
                 } catch (NumberFormatException nfe) {
                     DialogUtil.showError("Invalid numeric input.");
-                } catch (Exception ex) {
-                    DialogUtil.showError("Error updating salaries: " + ex.getMessage());
+                } catch (DateTimeParseException dpe) {
+                    DialogUtil.showError("Invalid effective date.");
                 }
             }
         });
 
+        // Field values are read here on the FX thread; only the service call runs in the background
         searchButton.setOnAction(e -> {
             try {
                 if (!empIdField.getText().trim().isEmpty()) {
                     int id = Integer.parseInt(empIdField.getText().trim());
-                    Optional<Employee> res = employeeService.searchByEmpId(session, id);
-                    employeeTable.getItems().setAll(res.map(List::of).orElseGet(List::of));
+                    tableLoader.load(() -> employeeService.searchByEmpId(session, id).map(List::of).orElseGet(List::of));
                     return;
                 }
                 if (!ssnField.getText().trim().isEmpty()) {
-                    Optional<Employee> res = employeeService.searchBySsn(session, ssnField.getText().trim());
-                    employeeTable.getItems().setAll(res.map(List::of).orElseGet(List::of));
+                    String ssn = ssnField.getText().trim();
+                    tableLoader.load(() -> employeeService.searchBySsn(session, ssn).map(List::of).orElseGet(List::of));
                     return;
                 }
                 if (dobPicker.getValue() != null) {
-                    List<Employee> results = employeeService.searchByDob(session, dobPicker.getValue());
-                    employeeTable.getItems().setAll(results);
+                    LocalDate dob = dobPicker.getValue();
+                    tableLoader.load(() -> employeeService.searchByDob(session, dob));
                     return;
                 }
                 if (!firstNameField.getText().trim().isEmpty() && !lastNameField.getText().trim().isEmpty()) {
-                    Optional<Employee> res = employeeService.searchByName(session,
-                            firstNameField.getText().trim(), lastNameField.getText().trim());
-                    employeeTable.getItems().setAll(res.map(List::of).orElseGet(List::of));
+                    String firstName = firstNameField.getText().trim();
+                    String lastName = lastNameField.getText().trim();
+                    tableLoader.load(() -> employeeService.searchByName(session, firstName, lastName)
+                                                          .map(List::of).orElseGet(List::of));
                     return;
                 }
                 DialogUtil.showError("Please enter search criteria.");
@@ -205,13 +232,7 @@ public class EmployeesUI {
             }
         });
 
-        viewAllButton.setOnAction(e -> {
-            try {
-                employeeTable.getItems().setAll(employeeService.getAllEmployees(session));
-            } catch (Exception ex) {
-                DialogUtil.showError("Error loading employees: " + ex.getMessage());
-            }
-        });
+        viewAllButton.setOnAction(e -> tableLoader.load(() -> employeeService.getAllEmployees(session)));
 
         EmployeeCreateDialog createDialog = new EmployeeCreateDialog(employeeService);
         createButton.setOnAction(e -> createDialog.show(session, employeeTable));
@@ -223,7 +244,6 @@ public class EmployeesUI {
     }
 
     private boolean isAdmin(SessionContext session) {
-        return session != null && session.getRole() != null
-                && "HR_ADMIN".equalsIgnoreCase(session.getRole());
+        return session != null && session.has(Permission.ADMIN);
     }
 }
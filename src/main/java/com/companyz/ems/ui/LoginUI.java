@@ -1,11 +1,12 @@
 package com.companyz.ems.ui;
 
-import java.util.Optional;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import com.companyz.ems.security.SessionContext;
 import com.companyz.ems.services.UserService;
 
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -39,15 +40,24 @@ public class LoginUI {
         Label errorLabel = new Label();
         Button loginButton = new Button("Login");
 
+        // Password checks take a few hundred ms of CPU; keep them off the FX thread
         loginButton.setOnAction(e -> {
-            Optional<SessionContext> sessionOpt = userService.authenticateUser(
-                usernameField.getText(), passwordField.getText()
-            );
-            if (sessionOpt.isPresent()) {
-                onLoginSuccess.accept(sessionOpt.get());
-            } else {
-                errorLabel.setText("Invalid username or password");
-            }
+            loginButton.setDisable(true);
+            errorLabel.setText("Signing in...");
+            userService.authenticateUserAsync(usernameField.getText(), passwordField.getText())
+                .whenComplete((sessionOpt, error) -> Platform.runLater(() -> {
+                    loginButton.setDisable(false);
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        errorLabel.setText("Login failed: " + cause.getMessage());
+                    } else if (sessionOpt.isPresent()) {
+                        errorLabel.setText("");
+                        onLoginSuccess.accept(sessionOpt.get());
+                    } else {
+                        errorLabel.setText("Invalid username or password");
+                    }
+                }));
         });
 
         VBox formBox = new VBox(10);
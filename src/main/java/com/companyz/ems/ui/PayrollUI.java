@@ -1,13 +1,12 @@
 package com.companyz.ems.ui;
 
+import java.util.List;
+
 import com.companyz.ems.model.Payroll;
-import com.companyz.ems.model.report.EmployeePayrollReport;
 import com.companyz.ems.security.SessionContext;
 import com.companyz.ems.services.ReportService;
-import com.companyz.ems.utils.DialogUtil;
 import com.companyz.ems.utils.UIConstants;
 
-import javafx.collections.FXCollections;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Tab;
@@ -82,14 +81,11 @@ public class PayrollUI {
         Button generateButton = new Button("Generate Report");
         generateButton.setStyle(UIConstants.BUTTON_PRIMARY_STYLE);
 
-        generateButton.setOnAction(e -> {
-            try {
-                EmployeePayrollReport payrollReport = reportService.getEmployeePayrollHistory(session);
-                payrollTable.setItems(FXCollections.observableArrayList(payrollReport.getPayrolls()));
-            } catch (Exception ex) {
-                DialogUtil.showError("Error generating payroll report: " + ex.getMessage());
-            }
-        });
+        BackgroundLoader<List<Payroll>> payrollLoader =
+                BackgroundLoader.forTable(payrollTable, "Error generating payroll report: ")
+                                .disabling(generateButton);
+        generateButton.setOnAction(e ->
+                payrollLoader.load(() -> reportService.getEmployeePayrollHistory(session).getPayrolls()));
 
         reportBox.getChildren().addAll(reportTitle, generateButton, payrollTable);
         vbox.getChildren().addAll(title, reportBox);
@@ -14,7 +14,7 @@ import javafx.scene.layout.VBox;
 /**
  * Profile tab for general employees.
  * Displays the logged-in employee's personal information in view-only mode.
- * Uses EmployeeService.getSelfEmployeeInfo to enforce security.
+ * Uses EmployeeService.getSelfEmployeeInfo to enforce security; the record is loaded in the background.
  */
 public class ProfileUI {
     private final EmployeeService employeeService;
@@ -39,11 +39,10 @@ public class ProfileUI {
         VBox infoBox = new VBox(8);
         infoBox.setStyle(UIConstants.BORDER_STYLE);
 
-        try {
-            Optional<Employee> empOpt = employeeService.getSelfEmployeeInfo(session);
+        new BackgroundLoader<Optional<Employee>>("Error loading profile: ", empOpt -> {
             if (empOpt.isPresent()) {
                 Employee emp = empOpt.get();
-                infoBox.getChildren().addAll(
+                infoBox.getChildren().setAll(
                     new Label("Employee ID: " + emp.getEmpId()),
                     new Label("Name: " + emp.getFirstName() + " " + emp.getLastName()),
                     new Label("Gender: " + emp.getGender()),
@@ -68,13 +67,11 @@ public class ProfileUI {
                     new Label("Updated At: " + emp.getUpdatedAt())
                 );
             } else {
-                infoBox.getChildren().add(new Label("Employee record not found."));
+                infoBox.getChildren().setAll(new Label("Employee record not found."));
             }
-        } catch (Exception ex) {
-            Label error = new Label("Error loading profile: " + ex.getMessage());
-            error.setStyle(UIConstants.ERROR_STYLE);
-            infoBox.getChildren().add(error);
-        }
+        })
+            .withPlaceholder(infoBox)
+            .load(() -> employeeService.getSelfEmployeeInfo(session));
 
         vbox.getChildren().addAll(title, infoBox);
         return new Tab("Profile", vbox);
@@ -1,20 +1,31 @@
 package com.companyz.ems.ui;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 import com.companyz.ems.model.report.DivisionMonthlyPayReport;
 import com.companyz.ems.model.report.EmployeeHireReport;
 import com.companyz.ems.model.report.JobTitleMonthlyPayReport;
+import com.companyz.ems.model.report.TurnoverReport;
+import com.companyz.ems.security.Permission;
 import com.companyz.ems.security.SessionContext;
+import com.companyz.ems.services.ReportExecutor;
+import com.companyz.ems.services.ReportHandle;
 import com.companyz.ems.services.ReportService;
+import com.companyz.ems.services.WorkforceAnalyticsService;
+import com.companyz.ems.services.WorkforceAnalyticsServiceImpl;
 import com.companyz.ems.utils.DialogUtil;
 import com.companyz.ems.utils.UIConstants;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
 import javafx.scene.control.DatePicker;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.Tab;
 import javafx.scene.control.TableColumn;
@@ -26,13 +37,24 @@ import javafx.scene.layout.VBox;
 
 /**
  * Reports tab for HR Admin.
- * Provides job title monthly pay, division monthly pay, and hire date range reports.
+ * Provides job title monthly pay, division monthly pay, hire date range,
+ * and headcount/turnover reports.
+ * Reports run on the ReportExecutor so a slow query never blocks the window.
  */
 public class ReportsUI {
     private final ReportService reportService;
+    private final WorkforceAnalyticsService analyticsService;
+    private final ReportExecutor reportExecutor;
 
     public ReportsUI(ReportService reportService) {
+        this(reportService, new WorkforceAnalyticsServiceImpl(), ReportExecutor.getDefault());
+    }
+
+    public ReportsUI(ReportService reportService, WorkforceAnalyticsService analyticsService,
+                     ReportExecutor reportExecutor) {
         this.reportService = reportService;
+        this.analyticsService = analyticsService;
+        this.reportExecutor = reportExecutor;
     }
 
     public Tab build(SessionContext session) {
@@ -87,25 +109,28 @@ public class ReportsUI {
         DatePicker endDatePicker = new DatePicker();
         Button hireReportBtn = new Button("Generate");
         hireReportBtn.setStyle(UIConstants.BUTTON_PRIMARY_STYLE);
+        ProgressIndicator hireProgress = newProgressIndicator();
+        Button hireCancelBtn = new Button("Cancel");
+        hireCancelBtn.setStyle(UIConstants.BUTTON_DANGER_STYLE);
         hireReportBtn.setOnAction(e -> {
             if (startDatePicker.getValue() != null && endDatePicker.getValue() != null) {
-                try {
-                    LocalDate startDate = startDatePicker.getValue();
-                    LocalDate endDate = endDatePicker.getValue();
-                    EmployeeHireReport report = reportService.getEmployeesHiredWithinDateRange(
-                            session,
-                            startDate.getDayOfMonth(), startDate.getMonthValue(), startDate.getYear(),
-                            endDate.getDayOfMonth(), endDate.getMonthValue(), endDate.getYear());
-
-                    hireTable.setItems(FXCollections.observableArrayList(report.getHires()));
-                } catch (Exception ex) {
-                    DialogUtil.showError("Error generating hire report: " + ex.getMessage());
-                }
+                LocalDate startDate = startDatePicker.getValue();
+                LocalDate endDate = endDatePicker.getValue();
+                ReportHandle<EmployeeHireReport> handle = reportExecutor.submit("Hire report",
+                        progress -> reportService.getEmployeesHiredWithinDateRange(
+                                session,
+                                startDate.getDayOfMonth(), startDate.getMonthValue(), startDate.getYear(),
+                                endDate.getDayOfMonth(), endDate.getMonthValue(), endDate.getYear()));
+                bindReport(handle, hireReportBtn, hireCancelBtn, hireProgress,
+                        report -> hireTable.setItems(FXCollections.observableArrayList(report.getHires())),
+                        "Error generating hire report: ");
             } else {
                 DialogUtil.showError("Please select both start and end dates");
             }
         });
-        hireReportBox.getChildren().addAll(hireLabel, startDatePicker, endDatePicker, hireReportBtn);
+        hideProgress(hireCancelBtn, hireProgress);
+        hireReportBox.getChildren().addAll(hireLabel, startDatePicker, endDatePicker, hireReportBtn,
+                                           hireProgress, hireCancelBtn);
 
         // --- Job Title Monthly Pay Table ---
         TableView<JobTitleMonthlyPayReport> jobTitleTable = new TableView<>();
@@ -137,20 +162,26 @@ public class ReportsUI {
         Spinner<Integer> jtMonthSpinner = new Spinner<>(1, 12, LocalDate.now().getMonthValue());
         Button jobReportBtn = new Button("Generate");
         jobReportBtn.setStyle(UIConstants.BUTTON_PRIMARY_STYLE);
+        ProgressIndicator jobProgress = newProgressIndicator();
+        Button jobCancelBtn = new Button("Cancel");
+        jobCancelBtn.setStyle(UIConstants.BUTTON_DANGER_STYLE);
         jobReportBtn.setOnAction(e -> {
             if (!jobTitleField.getText().isEmpty()) {
-                try {
-                    JobTitleMonthlyPayReport report = reportService.getMonthlyPayByJobTitle(
-                            session, jobTitleField.getText(), jtYearSpinner.getValue(), jtMonthSpinner.getValue());
-                    jobTitleTable.setItems(FXCollections.observableArrayList(report));
-                } catch (Exception ex) {
-                    DialogUtil.showError("Error generating job title report: " + ex.getMessage());
-                }
+                String jobTitle = jobTitleField.getText();
+                int year = jtYearSpinner.getValue();
+                int month = jtMonthSpinner.getValue();
+                ReportHandle<JobTitleMonthlyPayReport> handle = reportExecutor.submit("Job title report",
+                        progress -> reportService.getMonthlyPayByJobTitle(session, jobTitle, year, month));
+                bindReport(handle, jobReportBtn, jobCancelBtn, jobProgress,
+                        report -> jobTitleTable.setItems(FXCollections.observableArrayList(report)),
+                        "Error generating job title report: ");
             } else {
                 DialogUtil.showError("Please enter a job title");
             }
         });
-        jobTitleBox.getChildren().addAll(jobLabel, jobTitleField, jtYearSpinner, jtMonthSpinner, jobReportBtn);
+        hideProgress(jobCancelBtn, jobProgress);
+        jobTitleBox.getChildren().addAll(jobLabel, jobTitleField, jtYearSpinner, jtMonthSpinner, jobReportBtn,
+                                         jobProgress, jobCancelBtn);
 
         // --- Division Monthly Pay Table ---
         TableView<DivisionMonthlyPayReport> divisionTable = new TableView<>();
@@ -182,34 +213,161 @@ public class ReportsUI {
                 Spinner<Integer> divMonthSpinner = new Spinner<>(1, 12, LocalDate.now().getMonthValue());
         Button divisionReportBtn = new Button("Generate");
         divisionReportBtn.setStyle(UIConstants.BUTTON_PRIMARY_STYLE);
+        ProgressIndicator divisionProgress = newProgressIndicator();
+        Button divisionCancelBtn = new Button("Cancel");
+        divisionCancelBtn.setStyle(UIConstants.BUTTON_DANGER_STYLE);
         divisionReportBtn.setOnAction(e -> {
             if (!divisionField.getText().isEmpty()) {
-                try {
-                    DivisionMonthlyPayReport report = reportService.getMonthlyPayByDivision(
-                            session, divisionField.getText(), divYearSpinner.getValue(), divMonthSpinner.getValue());
-
-                    divisionTable.setItems(FXCollections.observableArrayList(report));
-                } catch (Exception ex) {
-                    DialogUtil.showError("Error generating division report: " + ex.getMessage());
-                }
+                String division = divisionField.getText();
+                int year = divYearSpinner.getValue();
+                int month = divMonthSpinner.getValue();
+                ReportHandle<DivisionMonthlyPayReport> handle = reportExecutor.submit("Division report",
+                        progress -> reportService.getMonthlyPayByDivision(session, division, year, month));
+                bindReport(handle, divisionReportBtn, divisionCancelBtn, divisionProgress,
+                        report -> divisionTable.setItems(FXCollections.observableArrayList(report)),
+                        "Error generating division report: ");
             } else {
                 DialogUtil.showError("Please enter a division");
             }
         });
-        divisionBox.getChildren().addAll(divLabel, divisionField, divYearSpinner, divMonthSpinner, divisionReportBtn);
+        hideProgress(divisionCancelBtn, divisionProgress);
+        divisionBox.getChildren().addAll(divLabel, divisionField, divYearSpinner, divMonthSpinner, divisionReportBtn,
+                                         divisionProgress, divisionCancelBtn);
+
+        // --- Headcount & Turnover Tables ---
+        TableView<TurnoverReport.DivisionMonth> turnoverTable = new TableView<>();
+        turnoverTable.setPrefHeight(250);
+
+        TableColumn<TurnoverReport.DivisionMonth, YearMonth> toMonthCol = new TableColumn<>("Month");
+        toMonthCol.setCellValueFactory(new PropertyValueFactory<>("month"));
+
+        TableColumn<TurnoverReport.DivisionMonth, String> toDivisionCol = new TableColumn<>("Division");
+        toDivisionCol.setCellValueFactory(new PropertyValueFactory<>("divisionName"));
+
+        TableColumn<TurnoverReport.DivisionMonth, Integer> toStartCol = new TableColumn<>("Start Headcount");
+        toStartCol.setCellValueFactory(new PropertyValueFactory<>("startHeadcount"));
+
+        TableColumn<TurnoverReport.DivisionMonth, Integer> toEndCol = new TableColumn<>("End Headcount");
+        toEndCol.setCellValueFactory(new PropertyValueFactory<>("endHeadcount"));
+
+        TableColumn<TurnoverReport.DivisionMonth, Integer> toHiresCol = new TableColumn<>("Hires");
+        toHiresCol.setCellValueFactory(new PropertyValueFactory<>("hires"));
+
+        TableColumn<TurnoverReport.DivisionMonth, Integer> toTermsCol = new TableColumn<>("Terminations");
+        toTermsCol.setCellValueFactory(new PropertyValueFactory<>("terminations"));
+
+        TableColumn<TurnoverReport.DivisionMonth, String> toRateCol = new TableColumn<>("Turnover");
+        toRateCol.setCellValueFactory(new PropertyValueFactory<>("turnoverPercent"));
+
+        turnoverTable.getColumns().addAll(toMonthCol, toDivisionCol, toStartCol, toEndCol,
+                                          toHiresCol, toTermsCol, toRateCol);
+
+        TableView<TurnoverReport.TenureEntry> tenureTable = new TableView<>();
+        tenureTable.setPrefHeight(150);
+
+        TableColumn<TurnoverReport.TenureEntry, String> tnDivisionCol = new TableColumn<>("Division");
+        tnDivisionCol.setCellValueFactory(new PropertyValueFactory<>("divisionName"));
+
+        TableColumn<TurnoverReport.TenureEntry, Integer> tnUnderOneCol = new TableColumn<>("< 1 yr");
+        tnUnderOneCol.setCellValueFactory(new PropertyValueFactory<>("underOneYear"));
+
+        TableColumn<TurnoverReport.TenureEntry, Integer> tnOneToThreeCol = new TableColumn<>("1-3 yrs");
+        tnOneToThreeCol.setCellValueFactory(new PropertyValueFactory<>("oneToThreeYears"));
+
+        TableColumn<TurnoverReport.TenureEntry, Integer> tnThreeToFiveCol = new TableColumn<>("3-5 yrs");
+        tnThreeToFiveCol.setCellValueFactory(new PropertyValueFactory<>("threeToFiveYears"));
+
+        TableColumn<TurnoverReport.TenureEntry, Integer> tnFiveToTenCol = new TableColumn<>("5-10 yrs");
+        tnFiveToTenCol.setCellValueFactory(new PropertyValueFactory<>("fiveToTenYears"));
+
+        TableColumn<TurnoverReport.TenureEntry, Integer> tnTenPlusCol = new TableColumn<>("10+ yrs");
+        tnTenPlusCol.setCellValueFactory(new PropertyValueFactory<>("tenPlusYears"));
+
+        tenureTable.getColumns().addAll(tnDivisionCol, tnUnderOneCol, tnOneToThreeCol, tnThreeToFiveCol,
+                                        tnFiveToTenCol, tnTenPlusCol);
+
+        HBox turnoverBox = new HBox(UIConstants.DEFAULT_SPACING);
+        turnoverBox.setAlignment(Pos.CENTER_LEFT);
+        Label turnoverLabel = new Label("Headcount & turnover by Division, from/to month:");
+        Spinner<Integer> toFromYearSpinner = new Spinner<>(2020, 2050, LocalDate.now().getYear());
+        Spinner<Integer> toFromMonthSpinner = new Spinner<>(1, 12, 1);
+        Spinner<Integer> toToYearSpinner = new Spinner<>(2020, 2050, LocalDate.now().getYear());
+        Spinner<Integer> toToMonthSpinner = new Spinner<>(1, 12, LocalDate.now().getMonthValue());
+        Label tenureLabel = new Label("Tenure by Division");
+        Button turnoverReportBtn = new Button("Generate");
+        turnoverReportBtn.setStyle(UIConstants.BUTTON_PRIMARY_STYLE);
+        ProgressIndicator turnoverProgress = newProgressIndicator();
+        Button turnoverCancelBtn = new Button("Cancel");
+        turnoverCancelBtn.setStyle(UIConstants.BUTTON_DANGER_STYLE);
+        turnoverReportBtn.setOnAction(e -> {
+            YearMonth from = YearMonth.of(toFromYearSpinner.getValue(), toFromMonthSpinner.getValue());
+            YearMonth to = YearMonth.of(toToYearSpinner.getValue(), toToMonthSpinner.getValue());
+            ReportHandle<TurnoverReport> handle = reportExecutor.submit("Turnover report",
+                    progress -> analyticsService.getTurnoverReport(session, from, to));
+            bindReport(handle, turnoverReportBtn, turnoverCancelBtn, turnoverProgress,
+                    report -> {
+                        turnoverTable.setItems(FXCollections.observableArrayList(report.getMonths()));
+                        tenureTable.setItems(FXCollections.observableArrayList(report.getTenure()));
+                        tenureLabel.setText("Tenure by Division as of " + report.getTenureAsOf());
+                    },
+                    "Error generating turnover report: ");
+        });
+        hideProgress(turnoverCancelBtn, turnoverProgress);
+        turnoverBox.getChildren().addAll(turnoverLabel, toFromYearSpinner, toFromMonthSpinner,
+                                         toToYearSpinner, toToMonthSpinner, turnoverReportBtn,
+                                         turnoverProgress, turnoverCancelBtn);
 
         // Add all report sections to the options container
         reportOptions.getChildren().addAll(reportTitle, hireReportBox, hireTable,
                                            jobTitleBox, jobTitleTable,
-                                           divisionBox, divisionTable);
+                                           divisionBox, divisionTable,
+                                           turnoverBox, turnoverTable, tenureLabel, tenureTable);
 
         vbox.getChildren().addAll(title, reportOptions);
 
         return new Tab("Reports", vbox);
     }
 
+    /**
+     * Binds a running report to its section: disables Generate, shows progress
+     * and Cancel, and hands the result or error back on the FX thread.
+     */
+    private <T> void bindReport(ReportHandle<T> handle, Button generateBtn, Button cancelBtn,
+                                ProgressIndicator indicator, Consumer<T> onSuccess, String errorPrefix) {
+        generateBtn.setDisable(true);
+        indicator.setVisible(true);
+        cancelBtn.setVisible(true);
+        cancelBtn.setOnAction(e -> handle.cancel());
+        handle.setProgressListener(p -> Platform.runLater(() -> indicator.setProgress(p)));
+
+        handle.getFuture().whenComplete((report, error) -> Platform.runLater(() -> {
+            generateBtn.setDisable(false);
+            hideProgress(cancelBtn, indicator);
+            if (handle.isCancelled()) {
+                return;
+            }
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                DialogUtil.showError(errorPrefix + cause.getMessage());
+            } else {
+                onSuccess.accept(report);
+            }
+        }));
+    }
+
+    private ProgressIndicator newProgressIndicator() {
+        ProgressIndicator indicator = new ProgressIndicator();
+        indicator.setPrefSize(24, 24);
+        return indicator;
+    }
+
+    private void hideProgress(Button cancelBtn, ProgressIndicator indicator) {
+        indicator.setVisible(false);
+        cancelBtn.setVisible(false);
+    }
+
     private boolean isAdmin(SessionContext session) {
-        return session != null && session.getRole() != null
-                && "HR_ADMIN".equalsIgnoreCase(session.getRole());
+        return session != null && session.has(Permission.ADMIN);
     }
 }
@@ -1,11 +1,13 @@
 package com.companyz.ems.ui.helper;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import com.companyz.ems.model.employee.Employee;
 import com.companyz.ems.security.SessionContext;
 import com.companyz.ems.services.EmployeeService;
+import com.companyz.ems.ui.BackgroundLoader;
 import com.companyz.ems.utils.DialogUtil;
 
 import javafx.geometry.Insets;
@@ -108,36 +110,41 @@ public class EmployeeCreateDialog {
         dialog.setResultConverter(button -> {
             if (button == saveButtonType) {
                 try {
-                    boolean success = employeeService.createEmployee(
-                        session,
-                        firstNameField.getText().trim(),
-                        lastNameField.getText().trim(),
-                        genderField.getText().trim(),
-                        raceField.getText().trim(),
-                        dobPicker.getValue(),
-                        ssnField.getText().trim(),
-                        emailField.getText().trim(),
-                        phoneField.getText().trim(),
-                        addr1Field.getText().trim(),
-                        addr2Field.getText().trim(),
-                        cityField.getText().trim(),
-                        stateField.getText().trim(),
-                        countryField.getText().trim(),
-                        zipField.getText().trim(),
-                        typeField.getText().trim(),
-                        statusField.getText().trim(),
-                        jobTitleField.getText().trim(),
-                        divisionField.getText().trim(),
-                        Double.parseDouble(salaryField.getText().trim()),
-                        Optional.ofNullable(hireDatePicker.getValue()).orElse(LocalDate.now())
-                    );
-
-                    if (success) {
-                        employeeTable.getItems().setAll(employeeService.getAllEmployees(session));
-                        DialogUtil.showInfo("Employee created successfully!");
-                    } else {
-                        DialogUtil.showError("Failed to create employee.");
-                    }
+                    // Read the form on the FX thread; save and reload in the background
+                    String firstName = firstNameField.getText().trim();
+                    String lastName = lastNameField.getText().trim();
+                    String gender = genderField.getText().trim();
+                    String race = raceField.getText().trim();
+                    LocalDate dob = dobPicker.getValue();
+                    String ssn = ssnField.getText().trim();
+                    String email = emailField.getText().trim();
+                    String phone = phoneField.getText().trim();
+                    String addr1 = addr1Field.getText().trim();
+                    String addr2 = addr2Field.getText().trim();
+                    String city = cityField.getText().trim();
+                    String state = stateField.getText().trim();
+                    String country = countryField.getText().trim();
+                    String zip = zipField.getText().trim();
+                    String type = typeField.getText().trim();
+                    String status = statusField.getText().trim();
+                    String jobTitle = jobTitleField.getText().trim();
+                    String division = divisionField.getText().trim();
+                    double salary = Double.parseDouble(salaryField.getText().trim());
+                    LocalDate hireDate = Optional.ofNullable(hireDatePicker.getValue()).orElse(LocalDate.now());
+
+                    // A null result means the create failed
+                    new BackgroundLoader<List<Employee>>("Error creating employee: ", employees -> {
+                        if (employees != null) {
+                            employeeTable.getItems().setAll(employees);
+                            DialogUtil.showInfo("Employee created successfully!");
+                        } else {
+                            DialogUtil.showError("Failed to create employee.");
+                        }
+                    }).load(() -> employeeService.createEmployee(session, firstName, lastName, gender, race, dob,
+                                    ssn, email, phone, addr1, addr2, city, state, country, zip,
+                                    type, status, jobTitle, division, salary, hireDate)
+                                ? employeeService.getAllEmployees(session)
+                                : null);
                 } catch (Exception ex) {
                     DialogUtil.showError("Error creating employee: " + ex.getMessage());
                 }
@@ -33,4 +33,6 @@ CREATE TABLE employee_status (
 
 -- Index to quickly query status history by employee and start date
 CREATE INDEX idx_employee_status ON employee_status (empid, status, effective_start);
+-- Index for hire-date range counts (dashboard new hires)
+CREATE INDEX idx_employee_status_hire_date ON employee_status (hire_date);
 
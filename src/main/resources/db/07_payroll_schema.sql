@@ -16,7 +16,8 @@ CREATE TABLE payroll_runs (
   run_year YEAR NOT NULL,                       -- year of payroll run
   run_month TINYINT NOT NULL,                   -- month of payroll run (1-12)
   run_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, -- when run was executed
-  description VARCHAR(255) DEFAULT NULL         -- optional notes
+  description VARCHAR(255) DEFAULT NULL,        -- optional notes
+  is_adjustment TINYINT(1) NOT NULL DEFAULT 0   -- 1 for retroactive adjustment runs
 );
 
 -- Payroll entries per employee
@@ -38,6 +39,13 @@ CREATE TABLE payroll (
   FOREIGN KEY (empid) REFERENCES employees(empid) ON DELETE CASCADE
 );
 
+-- Index for pay-date range scans (reports and streaming exports)
+CREATE INDEX idx_payroll_pay_date ON payroll (pay_date);
+-- Index for reading a payroll run ordered by employee (run comparison)
+CREATE INDEX idx_payroll_run_emp ON payroll (payroll_run_id, empid);
+-- Index for finding an employee's pay periods (retroactive adjustments)
+CREATE INDEX idx_payroll_emp_pay_date ON payroll (empid, pay_date);
+
 -- Salary history (audit trail of changes)
 CREATE TABLE salary_history (
   salary_history_id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -47,7 +55,27 @@ CREATE TABLE salary_history (
   change_reason VARCHAR(255) DEFAULT NULL,      -- reason for change
   changed_by_user_id INT NOT NULL,              -- FK to users (who made change)
   changed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  effective_date DATE NOT NULL DEFAULT (CURRENT_DATE), -- date the new salary applies from
+  retro_processed_at DATETIME DEFAULT NULL,     -- when backdated pay was adjusted
   FOREIGN KEY (empid) REFERENCES employees(empid) ON DELETE CASCADE,
   FOREIGN KEY (changed_by_user_id) REFERENCES users(user_id) ON DELETE RESTRICT
 );
 
+-- Index for finding unprocessed backdated salary changes
+CREATE INDEX idx_salary_history_retro ON salary_history (retro_processed_at);
+
+-- Precomputed monthly pay reports for closed months (written by the report scheduler)
+CREATE TABLE report_snapshots (
+  report_type ENUM('DIVISION_PAY', 'JOB_TITLE_PAY') NOT NULL,
+  ref_id INT NOT NULL,                          -- divid or job_title_id
+  pay_year SMALLINT NOT NULL,
+  pay_month TINYINT NOT NULL,
+  ref_name VARCHAR(100) DEFAULT NULL,           -- division or job title name when computed
+  total_pay DECIMAL(14,2) NOT NULL,
+  computed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (report_type, ref_id, pay_year, pay_month)
+);
+
+-- Index for dropping or counting one month's snapshots
+CREATE INDEX idx_report_snapshots_month ON report_snapshots (pay_year, pay_month);
+
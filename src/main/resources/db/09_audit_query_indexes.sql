@@ -0,0 +1,24 @@
+USE employeeData;
+
+/* ============================================================
+   09_audit_query_indexes.sql
+   Purpose:
+   - Supports the audit log search (AuditLogDao) on large tables.
+   - Every filter it offers has an index ending in (time, id), the
+     newest-first keyset order, so a page is one short index range
+     scan instead of a sort over all matching rows.
+   - Safe to run on an existing database after 06 and 08.
+   ============================================================ */
+
+-- Changes by table and record (table-only searches use idx_change_log_table_time)
+CREATE INDEX idx_change_log_record_time ON change_log (table_name, record_pk, changed_at, change_id);
+
+-- Changes by the user who made them
+CREATE INDEX idx_change_log_user_time ON change_log (changed_by_user_id, changed_at, change_id);
+
+-- Unfiltered and time-window-only searches
+CREATE INDEX idx_change_log_time ON change_log (changed_at, change_id);
+
+-- Auth events by user, and by time alone
+CREATE INDEX idx_auth_events_user_time ON auth_events (user_id, event_time, auth_event_id);
+CREATE INDEX idx_auth_events_time ON auth_events (event_time, auth_event_id);
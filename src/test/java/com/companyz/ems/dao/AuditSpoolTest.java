@@ -0,0 +1,127 @@
+package com.companyz.ems.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AuditSpoolTest {
+
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    @TempDir
+    Path dir;
+
+    private static AuthEventLogger.Event event(Integer userId, String type) {
+        return new AuthEventLogger.Event(userId, type, LocalDateTime.of(2026, 1, 5, 9, 30), "10.0.0.7", "JavaFX");
+    }
+
+    private static List<String> types(List<AuditSpool.Entry> entries) {
+        return entries.stream()
+                      .map(e -> ((AuthEventLogger.Event) e.getRecord()).getEventType())
+                      .toList();
+    }
+
+    private static AuditSpool appendAll(AuditSpool spool, String... types) throws IOException {
+        for (String type : types) {
+            spool.append(event(7, type));
+        }
+        return spool;
+    }
+
+    @Test
+    void recordsRoundTripThroughTheLog() throws IOException {
+        try (AuditSpool spool = new AuditSpool(dir, SEGMENT_BYTES)) {
+            spool.append(event(null, "LOGIN_FAILURE"));
+            spool.append(new ChangeLogger.Change("employees", "42", "UPDATE", 3,
+                                                 LocalDateTime.of(2026, 1, 5, 9, 31), null, "{\"salary\":1}"));
+
+            List<AuditSpool.Entry> entries = spool.read(10);
+            assertEquals(2, entries.size());
+
+            AuthEventLogger.Event event = (AuthEventLogger.Event) entries.get(0).getRecord();
+            assertNull(event.getUserId());
+            assertEquals("LOGIN_FAILURE", event.getEventType());
+            assertEquals(LocalDateTime.of(2026, 1, 5, 9, 30), event.getEventTime());
+
+            ChangeLogger.Change change = (ChangeLogger.Change) entries.get(1).getRecord();
+            assertEquals("42", change.getRecordPk());
+            assertNull(change.getOldValuesJson());
+            assertEquals("{\"salary\":1}", change.getNewValuesJson());
+        }
+    }
+
+    @Test
+    void tornTailIsCutOffOnReopen() throws IOException {
+        appendAll(new AuditSpool(dir, SEGMENT_BYTES), "A", "B", "C").close();
+        Path segment = dir.resolve("audit-1.log");
+        long intact = Files.size(segment);
+        // A crash mid-append: a header promising more payload than was written
+        Files.write(segment, new byte[] { 0, 0, 0, 100, 1, 2, 3, 4, 5, 6 }, StandardOpenOption.APPEND);
+
+        try (AuditSpool spool = new AuditSpool(dir, SEGMENT_BYTES)) {
+            assertEquals(intact, Files.size(segment));
+            spool.append(event(7, "D"));
+
+            assertEquals(List.of("A", "B", "C", "D"), types(spool.read(10)));
+        }
+    }
+
+    @Test
+    void checkpointSurvivesRestart() throws IOException {
+        try (AuditSpool spool = appendAll(new AuditSpool(dir, SEGMENT_BYTES), "A", "B", "C", "D", "E")) {
+            List<AuditSpool.Entry> batch = spool.read(2);
+            assertEquals(List.of("A", "B"), types(batch));
+            spool.commit(batch.get(1).getNext());
+        }
+
+        try (AuditSpool spool = new AuditSpool(dir, SEGMENT_BYTES)) {
+            assertEquals(List.of("C", "D", "E"), types(spool.read(10)));
+        }
+    }
+
+    @Test
+    void uncommittedBatchIsReplayedAfterRestart() throws IOException {
+        try (AuditSpool spool = appendAll(new AuditSpool(dir, SEGMENT_BYTES), "A", "B", "C")) {
+            List<AuditSpool.Entry> batch = spool.read(2);
+            spool.commit(batch.get(0).getNext());
+            spool.read(2); // written to the database, but the checkpoint was not
+        }
+
+        try (AuditSpool spool = new AuditSpool(dir, SEGMENT_BYTES)) {
+            assertEquals(List.of("B", "C"), types(spool.read(10)));
+        }
+    }
+
+    @Test
+    void drainedSegmentsAreDeleted() throws IOException {
+        // Every append fills its segment, so each record gets one of its own
+        try (AuditSpool spool = appendAll(new AuditSpool(dir, 1), "A", "B", "C")) {
+            assertTrue(Files.exists(dir.resolve("audit-1.log")));
+            assertTrue(spool.getBacklogBytes() > 0);
+
+            List<AuditSpool.Entry> entries = spool.read(10);
+            assertEquals(List.of("A", "B", "C"), types(entries));
+            spool.commit(entries.get(2).getNext());
+
+            assertFalse(Files.exists(dir.resolve("audit-1.log")));
+            assertFalse(Files.exists(dir.resolve("audit-2.log")));
+            assertEquals(0, spool.getBacklogBytes());
+            assertTrue(spool.read(10).isEmpty());
+        }
+
+        try (AuditSpool spool = new AuditSpool(dir, 1)) {
+            assertTrue(spool.read(10).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.companyz.ems.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class AuditWriterTest {
+
+    private final List<String> storedEvents = new ArrayList<>();
+    private final List<String> storedChanges = new ArrayList<>();
+
+    /** Refuses any batch holding a REFUSED event, as a foreign key violation would. */
+    private final AuthEventLogger eventSink = new AuthEventLogger() {
+        @Override
+        public boolean logEvents(List<Event> events) {
+            if (events.stream().anyMatch(e -> e.getEventType().equals("REFUSED"))) {
+                return false;
+            }
+            events.forEach(e -> storedEvents.add(e.getEventType()));
+            return true;
+        }
+    };
+
+    private final ChangeLogger changeSink = new ChangeLogger() {
+        @Override
+        public boolean logChanges(List<Change> changes) {
+            changes.forEach(c -> storedChanges.add(c.getRecordPk()));
+            return true;
+        }
+    };
+
+    private static AuthEventLogger.Event event(String type) {
+        return new AuthEventLogger.Event(null, type, LocalDateTime.now(), null, "test");
+    }
+
+    private static ChangeLogger.Change change(String pk) {
+        return new ChangeLogger.Change("employees", pk, "UPDATE", 1, LocalDateTime.now(), null, null);
+    }
+
+    @Test
+    void refusedRowLosesOnlyItself() {
+        AuditWriter writer = new AuditWriter(eventSink, changeSink, 100, 100, 60_000,
+                                             AuditWriter.OverflowPolicy.BLOCK);
+        writer.submit(event("LOGIN_SUCCESS"));
+        writer.submit(change("1"));
+        writer.submit(event("LOGOUT"));
+        writer.submit(change("2"));
+        // Last, so the fallback reaches it whether or not a database answers
+        writer.submit(event("REFUSED"));
+        writer.close();
+
+        assertEquals(List.of("LOGIN_SUCCESS", "LOGOUT"), storedEvents);
+        assertEquals(List.of("1", "2"), storedChanges);
+        assertEquals(4, writer.getWrittenCount());
+        assertEquals(1, writer.getFailedCount());
+    }
+}
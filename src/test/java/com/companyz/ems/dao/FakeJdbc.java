@@ -0,0 +1,113 @@
+package com.companyz.ems.dao;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+
+/**
+ * In-memory stand-in for a JDBC connection, enough to drive the batch insert
+ * paths without a database. Every prepared statement shares one counter of
+ * executed batches; {@link #failBatch} picks the batches that throw. Queries
+ * return the rows {@link #queryRows} gives for their SQL, read by column label.
+ */
+final class FakeJdbc {
+
+    int batchesExecuted;
+    int commits;
+    int rollbacks;
+    IntPredicate failBatch = batch -> false;
+    boolean failRollback;
+    Function<String, List<Map<String, Object>>> queryRows = sql -> List.of();
+
+    private int nextKey = 1;
+
+    Connection connection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { Connection.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "prepareStatement" -> statement((String) args[0]);
+                    case "commit" -> {
+                        commits++;
+                        yield null;
+                    }
+                    case "rollback" -> {
+                        if (failRollback) throw new SQLException("connection lost");
+                        rollbacks++;
+                        yield null;
+                    }
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private PreparedStatement statement(String sql) {
+        int[] pending = new int[1];
+        List<Integer> keys = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "addBatch" -> {
+                        pending[0]++;
+                        yield null;
+                    }
+                    case "clearBatch" -> {
+                        pending[0] = 0;
+                        yield null;
+                    }
+                    case "executeBatch" -> {
+                        int batch = batchesExecuted++;
+                        int rows = pending[0];
+                        pending[0] = 0;
+                        if (failBatch.test(batch)) throw new SQLException("batch " + batch + " refused");
+                        keys.clear();
+                        for (int i = 0; i < rows; i++) {
+                            keys.add(nextKey++);
+                        }
+                        yield new int[rows];
+                    }
+                    case "getGeneratedKeys" -> keys(new ArrayList<>(keys));
+                    case "executeQuery" -> rows(queryRows.apply(sql));
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static ResultSet rows(List<Map<String, Object>> rows) {
+        int[] row = { -1 };
+        Object[] last = new Object[1];
+        return (ResultSet) Proxy.newProxyInstance(FakeJdbc.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++row[0] < rows.size();
+                    case "wasNull" -> last[0] == null;
+                    case "getString", "getDate", "getObject" -> last[0] = rows.get(row[0]).get((String) args[0]);
+                    case "getInt", "getDouble" -> {
+                        last[0] = rows.get(row[0]).get((String) args[0]);
+                        Number n = (Number) last[0];
+                        yield method.getName().equals("getInt") ? (Object) (n == null ? 0 : n.intValue())
+                                                                : (Object) (n == null ? 0.0 : n.doubleValue());
+                    }
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static ResultSet keys(List<Integer> keys) {
+        int[] row = { -1 };
+        return (ResultSet) Proxy.newProxyInstance(FakeJdbc.class.getClassLoader(),
+                new Class<?>[] { ResultSet.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++row[0] < keys.size();
+                    case "getInt", "getLong" -> keys.get(row[0]);
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+package com.companyz.ems.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.model.report.EmployeeHireReport;
+
+class HireDateIndexTest {
+
+    private static final LocalDate HIRED = LocalDate.of(2024, 2, 1);
+
+    private final FakeJdbc db = new FakeJdbc();
+
+    private final HireDateIndex index = new HireDateIndex() {
+        @Override
+        protected Connection getConnection() {
+            return db.connection();
+        }
+    };
+
+    /** One employee_status row of employee 7, joined with the employee's current division and title. */
+    private static Map<String, Object> statusRow(String status, LocalDate end) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("empid", 7);
+        row.put("fname", "Ada");
+        row.put("lname", "Lovelace");
+        row.put("division_name", "Engineering");
+        row.put("job_title_name", "Analyst");
+        row.put("hire_date", Date.valueOf(HIRED));
+        row.put("status", status);
+        row.put("effective_end", end == null ? null : Date.valueOf(end));
+        return row;
+    }
+
+    @Test
+    void statusChangesDoNotRepeatTheHire() {
+        // ACTIVE -> ON_LEAVE -> ACTIVE; each change carries hire_date to the new row
+        List<Map<String, Object>> statusRows = List.of(
+                statusRow("ACTIVE", LocalDate.of(2024, 6, 1)),
+                statusRow("ON_LEAVE", LocalDate.of(2024, 9, 1)),
+                statusRow("ACTIVE", null));
+        db.queryRows = sql -> statusRows.stream()
+                .filter(row -> !sql.contains("s.effective_end IS NULL") || row.get("effective_end") == null)
+                .toList();
+
+        EmployeeHireReport report = index.findByHireDate(HIRED.minusDays(1), HIRED.plusDays(1));
+
+        assertEquals(1, report.getHires().size());
+        assertEquals(7, report.getHires().get(0).getEmpId());
+        assertEquals(HIRED, report.getHires().get(0).getHireDate());
+    }
+}
@@ -0,0 +1,125 @@
+package com.companyz.ems.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.companyz.ems.model.Payroll;
+
+class PayrollArchiveTest {
+
+    private static final int EMPLOYEES = 1000;
+    private static final int PERIODS = 20; // 20,000 rows: two row groups
+    private static final LocalDate FIRST_PAY_DATE = LocalDate.of(2022, 1, 7);
+
+    @TempDir
+    Path dir;
+
+    private static List<Payroll> year(int firstEmpId) {
+        List<Payroll> payrolls = new ArrayList<>();
+        int id = 1;
+        for (int p = 0; p < PERIODS; p++) {
+            for (int e = firstEmpId; e < firstEmpId + EMPLOYEES; e++) {
+                Payroll payroll = new Payroll();
+                payroll.setPayrollId(id++);
+                payroll.setPayrollRunId(p + 1);
+                payroll.setEmpId(e);
+                payroll.setPayDate(FIRST_PAY_DATE.plusWeeks(2L * p));
+                payroll.setNetPay(1000);
+                payrolls.add(payroll);
+            }
+        }
+        return payrolls;
+    }
+
+    private static void archive(PayrollArchive archive, int runYear, List<Payroll> rows) throws IOException {
+        archive.writeSegment(runYear, sink -> rows.forEach(sink));
+    }
+
+    @Test
+    void findsAnEmployeesRows() throws IOException {
+        PayrollArchive archive = new PayrollArchive(dir);
+        archive(archive, 2022, year(1));
+
+        List<Payroll> rows = archive.findByEmployee(17);
+        assertEquals(PERIODS, rows.size());
+        for (Payroll p : rows) {
+            assertEquals(17, p.getEmpId());
+            assertEquals(1000, p.getNetPay(), 0.001);
+        }
+        assertTrue(archive.findByEmployee(EMPLOYEES + 1).isEmpty());
+        assertTrue(archive.isArchived(2022));
+        assertFalse(archive.isArchived(2023));
+    }
+
+    @Test
+    void refreshWaitsForRunningScans() throws Exception {
+        PayrollArchive archive = new PayrollArchive(dir);
+        archive(archive, 2022, year(1));
+
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch refreshed = new CountDownLatch(1);
+        CompletableFuture<Double> total = CompletableFuture.supplyAsync(() -> {
+            try {
+                return archive.sumNetPay(FIRST_PAY_DATE, FIRST_PAY_DATE.plusYears(1), (empId, payDay) -> {
+                    if (scanning.getCount() > 0) {
+                        scanning.countDown();
+                        try {
+                            refreshed.await(10, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    return true;
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        assertTrue(scanning.await(10, TimeUnit.SECONDS));
+        archive.refresh(); // replaces the snapshot the scan is reading
+        refreshed.countDown();
+
+        assertEquals(EMPLOYEES * PERIODS * 1000.0, total.get(10, TimeUnit.SECONDS), 0.001);
+        assertEquals(PERIODS, archive.findByEmployee(1).size());
+    }
+
+    @Test
+    void existingSegmentIsNeverReplaced() throws IOException {
+        PayrollArchive archive = new PayrollArchive(dir);
+        archive(archive, 2022, year(1));
+
+        // A later run sees only the rows still in the payroll table
+        assertThrows(IOException.class, () -> archive(archive, 2022, year(1).subList(0, 10)));
+
+        assertEquals(EMPLOYEES * PERIODS, archive.payIds(2022).length);
+        assertEquals(PERIODS, archive.findByEmployee(17).size());
+    }
+
+    @Test
+    void unreadableSegmentStillCountsAsArchived() throws IOException {
+        Files.writeString(dir.resolve("payroll-2021.seg"), "EMSPAY01 from an older build", StandardCharsets.US_ASCII);
+        PayrollArchive archive = new PayrollArchive(dir); // logs and skips the segment
+
+        assertTrue(archive.isArchived(2021));
+        assertThrows(IOException.class, () -> archive.payIds(2021));
+        assertThrows(IOException.class, () -> archive(archive, 2021, year(1)));
+    }
+}
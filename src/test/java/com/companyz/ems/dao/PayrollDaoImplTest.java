@@ -0,0 +1,140 @@
+package com.companyz.ems.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.model.Payroll;
+import com.companyz.ems.model.report.DivisionMonthlyPayReport;
+
+class PayrollDaoImplTest {
+
+    private static final int BATCH = AppConfig.getInt("db.batch.size");
+
+    private final FakeJdbc db = new FakeJdbc();
+
+    private final PayrollDaoImpl dao = new PayrollDaoImpl(null) {
+        @Override
+        protected Connection getConnection() {
+            return db.connection();
+        }
+    };
+
+    private static List<Payroll> payrolls(int count) {
+        List<Payroll> payrolls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Payroll p = new Payroll();
+            p.setEmpId(i + 1);
+            p.setPayDate(LocalDate.of(2025, 1, 31));
+            payrolls.add(p);
+        }
+        return payrolls;
+    }
+
+    @Test
+    void commitsEveryChunkAndSetsIds() {
+        List<Payroll> payrolls = payrolls(BATCH * 2 + 7);
+
+        BatchResult result = dao.createPayrolls(payrolls);
+
+        assertTrue(result.isComplete());
+        assertEquals(payrolls.size(), result.getCommitted());
+        assertTrue(result.getFailedIndexes().isEmpty());
+        assertEquals(3, db.commits);
+        for (int i = 0; i < payrolls.size(); i++) {
+            assertEquals(i + 1, payrolls.get(i).getPayrollId());
+        }
+    }
+
+    @Test
+    void reportsFailedChunkAndKeepsGoing() {
+        List<Payroll> payrolls = payrolls(BATCH * 3);
+        db.failBatch = batch -> batch == 1;
+
+        BatchResult result = dao.createPayrolls(payrolls);
+
+        assertFalse(result.isComplete());
+        assertNotNull(result.getError());
+        assertEquals(BATCH * 2, result.getCommitted());
+        assertEquals(IntStream.range(BATCH, BATCH * 2).boxed().toList(), result.getFailedIndexes());
+        assertEquals(2, db.commits);
+        assertEquals(1, db.rollbacks);
+        assertEquals(0, payrolls.get(BATCH).getPayrollId());
+        assertTrue(payrolls.get(BATCH * 2).getPayrollId() > 0);
+    }
+
+    @Test
+    void stopsWhenRollbackFailsAndKeepsBothErrors() {
+        List<Payroll> payrolls = payrolls(BATCH * 3);
+        db.failBatch = batch -> batch == 0;
+        db.failRollback = true;
+
+        BatchResult result = dao.createPayrolls(payrolls);
+
+        assertEquals(0, result.getCommitted());
+        assertEquals(payrolls.size(), result.getFailedIndexes().size());
+        assertEquals(1, db.batchesExecuted);
+        assertEquals("batch 0 refused", result.getError().getMessage());
+        assertEquals("connection lost", result.getError().getSuppressed()[0].getMessage());
+    }
+
+    private static Payroll paid(int payId, int empId, LocalDate payDate, double netPay) {
+        Payroll p = new Payroll();
+        p.setPayrollId(payId);
+        p.setPayrollRunId(1);
+        p.setEmpId(empId);
+        p.setPayDate(payDate);
+        p.setNetPay(netPay);
+        return p;
+    }
+
+    private static Map<String, Object> assignment(int empId, LocalDate start, LocalDate end) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("name", "Engineering");
+        row.put("empid", empId);
+        row.put("effective_start", Date.valueOf(start));
+        row.put("effective_end", end == null ? null : Date.valueOf(end));
+        return row;
+    }
+
+    @Test
+    void archivedPayFollowsTheDivisionOnEachPayDate(@TempDir Path dir) throws IOException {
+        LocalDate early = LocalDate.of(2022, 3, 4);
+        LocalDate late = LocalDate.of(2022, 3, 25);
+        LocalDate transfer = LocalDate.of(2022, 3, 15);
+        PayrollArchive archive = new PayrollArchive(dir);
+        archive.writeSegment(2022, sink -> List.of(paid(1, 1, early, 100), paid(2, 2, early, 200),
+                                                    paid(3, 1, late, 400), paid(4, 2, late, 800)).forEach(sink));
+        // Employee 1 joins the division mid-month, employee 2 leaves it
+        db.queryRows = sql -> sql.contains("effective_start, ed.effective_end")
+                ? List.of(assignment(1, transfer, null), assignment(2, LocalDate.of(2020, 1, 1), transfer))
+                : List.of();
+        PayrollDaoImpl archivedDao = new PayrollDaoImpl(archive) {
+            @Override
+            protected Connection getConnection() {
+                return db.connection();
+            }
+        };
+
+        DivisionMonthlyPayReport report = archivedDao.getTotalPayByDivision(1, 3, 2022);
+
+        assertEquals("Engineering", report.getDivisionName());
+        assertEquals(400 + 200, report.getTotalPay(), 0.001);
+    }
+}
@@ -0,0 +1,69 @@
+package com.companyz.ems.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.config.AppConfig;
+import com.companyz.ems.model.Role;
+import com.companyz.ems.model.User;
+
+class UserDaoImplTest {
+
+    private static final int BATCH = AppConfig.getInt("db.batch.size");
+    private static final int STATEMENTS_PER_CHUNK = 3; // users, user_employee_link, user_roles
+
+    private final FakeJdbc db = new FakeJdbc();
+
+    private final UserDaoImpl dao = new UserDaoImpl() {
+        @Override
+        protected Connection getConnection() {
+            return db.connection();
+        }
+    };
+
+    private static List<User> users(int count) {
+        Role role = new Role();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new User(0, "user" + i, new byte[0], new byte[0], true, List.of(role), i + 1, null, null));
+        }
+        return users;
+    }
+
+    @Test
+    void commitsEveryChunkAndSetsIds() {
+        List<User> users = users(BATCH + 3);
+
+        BatchResult result = dao.createUsers(users);
+
+        assertTrue(result.isComplete());
+        assertEquals(users.size(), result.getCommitted());
+        assertEquals(2, db.commits);
+        assertTrue(users.stream().allMatch(u -> u.getUserId() > 0));
+    }
+
+    @Test
+    void failedChunkIsReportedAndLaterChunksStillRun() {
+        List<User> users = users(BATCH * 3);
+        // The role insert of the second chunk fails after its users were inserted
+        db.failBatch = batch -> batch == STATEMENTS_PER_CHUNK + 2;
+
+        BatchResult result = dao.createUsers(users);
+
+        assertFalse(result.isComplete());
+        assertEquals(BATCH * 2, result.getCommitted());
+        assertEquals(IntStream.range(BATCH, BATCH * 2).boxed().toList(), result.getFailedIndexes());
+        assertEquals(1, db.rollbacks);
+        // Rolled-back users keep no id, even though their insert returned keys
+        assertEquals(0, users.get(BATCH).getUserId());
+        assertTrue(users.get(BATCH * 2).getUserId() > 0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.companyz.ems.export;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.companyz.ems.model.Payroll;
+
+class PayrollColumnarTest {
+
+    private static final LocalDate FIRST_PAY_DATE = LocalDate.of(2024, 1, 5);
+
+    @TempDir
+    Path dir;
+
+    /** Bi-weekly pay for {@code employees} employees over {@code periods} periods, in pay-date order. */
+    private static List<Payroll> payrolls(int employees, int periods) {
+        List<Payroll> payrolls = new ArrayList<>();
+        int id = 1;
+        for (int p = 0; p < periods; p++) {
+            for (int e = 1; e <= employees; e++) {
+                Payroll payroll = new Payroll();
+                payroll.setPayrollId(id++);
+                payroll.setPayrollRunId(p + 1);
+                payroll.setEmpId(e);
+                payroll.setPayDate(FIRST_PAY_DATE.plusWeeks(2L * p));
+                payroll.setEarnings(2000 + e + 0.25);
+                payroll.setFedTax(-12.34); // negative values must survive zigzag encoding
+                payroll.setNetPay(1500 + e * 0.01);
+                payrolls.add(payroll);
+            }
+        }
+        return payrolls;
+    }
+
+    private Path write(List<Payroll> payrolls, int rowGroupSize, boolean compress) throws IOException {
+        Path file = dir.resolve("payroll.col");
+        try (PayrollColumnarWriter writer = new PayrollColumnarWriter(file, rowGroupSize, compress)) {
+            for (Payroll p : payrolls) {
+                writer.write(p);
+            }
+        }
+        return file;
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    void roundTripsEveryColumn(boolean compress) throws IOException {
+        List<Payroll> payrolls = payrolls(7, 10);
+        Path file = write(payrolls, 16, compress);
+
+        try (PayrollColumnarReader reader = new PayrollColumnarReader(file)) {
+            assertEquals(payrolls.size(), reader.getRowCount());
+            assertEquals(FIRST_PAY_DATE, reader.getMinPayDate());
+            assertEquals(FIRST_PAY_DATE.plusWeeks(18), reader.getMaxPayDate());
+
+            List<long[]> rows = new ArrayList<>();
+            reader.scanRows(PayrollColumn.values(), reader.getMinPayDate(), reader.getMaxPayDate(),
+                    row -> rows.add(row.clone()));
+            assertEquals(payrolls.size(), rows.size());
+            for (int i = 0; i < payrolls.size(); i++) {
+                for (PayrollColumn c : PayrollColumn.values()) {
+                    assertEquals(c.extract(payrolls.get(i)), rows.get(i)[c.ordinal()], c + " of row " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void scansOnlyTheDateRange() throws IOException {
+        List<Payroll> payrolls = payrolls(5, 12);
+        Path file = write(payrolls, 8, false);
+        LocalDate start = FIRST_PAY_DATE.plusWeeks(4);
+        LocalDate end = FIRST_PAY_DATE.plusWeeks(8);
+
+        double expected = payrolls.stream()
+                .filter(p -> !p.getPayDate().isBefore(start) && !p.getPayDate().isAfter(end))
+                .mapToLong(p -> PayrollColumn.NET_PAY.extract(p)).sum() / 100.0;
+        try (PayrollColumnarReader reader = new PayrollColumnarReader(file)) {
+            assertEquals(expected, reader.sum(PayrollColumn.NET_PAY, start, end), 0.001);
+        }
+    }
+
+    @Test
+    void scanEmployeeReturnsOnlyTheirRows() throws IOException {
+        List<Payroll> payrolls = payrolls(9, 6);
+        Path file = write(payrolls, 10, true);
+
+        try (PayrollColumnarReader reader = new PayrollColumnarReader(file)) {
+            assertEquals(1, reader.getMinEmpId());
+            assertEquals(9, reader.getMaxEmpId());
+
+            List<Long> payIds = new ArrayList<>();
+            reader.scanEmployee(4, new PayrollColumn[] { PayrollColumn.PAYID, PayrollColumn.EMPID },
+                    row -> {
+                        assertEquals(4, row[1]);
+                        payIds.add(row[0]);
+                    });
+            long[] expected = payrolls.stream().filter(p -> p.getEmpId() == 4)
+                    .mapToLong(Payroll::getPayrollId).toArray();
+            assertArrayEquals(expected, payIds.stream().mapToLong(Long::longValue).toArray());
+
+            List<long[]> none = new ArrayList<>();
+            reader.scanEmployee(42, PayrollColumn.values(), none::add);
+            assertTrue(none.isEmpty());
+        }
+    }
+
+    @Test
+    void rejectsAnotherFormatVersion() throws IOException {
+        Path file = write(payrolls(2, 2), 16, false);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            byte[] old = { 'E', 'M', 'S', 'P', 'A', 'Y', '0', '1' };
+            channel.write(ByteBuffer.wrap(old), 0);
+            channel.write(ByteBuffer.wrap(old), channel.size() - old.length);
+        }
+
+        IOException e = assertThrows(IOException.class, () -> new PayrollColumnarReader(file));
+        assertTrue(e.getMessage().startsWith("Unsupported payroll columnar version 01"), e.getMessage());
+    }
+
+    @Test
+    void truncatedChunkFailsInsteadOfHanging() throws IOException {
+        Path file = write(payrolls(50, 4), 1000, true);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer tail = ByteBuffer.allocate(8);
+            channel.read(tail, channel.size() - 8 - PayrollColumnarWriter.MAGIC.length);
+            long footer = tail.flip().getLong();
+            // flags, column count, encodings, group count, then the group's rows, dates, empids and first offset
+            long firstLength = footer + 4 + 4 + PayrollColumn.values().length + 4 + (4 + 8 + 8 + 4 + 4) + 8;
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, firstLength);
+            channel.write(ByteBuffer.allocate(4).putInt(length.flip().getInt() / 2).flip(), firstLength);
+        }
+
+        try (PayrollColumnarReader reader = new PayrollColumnarReader(file)) {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(IOException.class,
+                    () -> reader.scan(PayrollColumn.PAYID, reader.getMinPayDate(), reader.getMaxPayDate(), id -> { })));
+        }
+    }
+}
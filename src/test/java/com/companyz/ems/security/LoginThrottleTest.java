@@ -0,0 +1,112 @@
+package com.companyz.ems.security;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.Test;
+
+class LoginThrottleTest {
+
+    /** Clock the test moves by hand. */
+    private static final class ManualClock extends Clock {
+        long millis = 1_000_000_000L;
+
+        @Override public long millis() { return millis; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    }
+
+    private static final long WINDOW_SECONDS = 60;
+    private static final int USER_LIMIT = 3;
+    private static final int SOURCE_LIMIT = 5;
+
+    private final ManualClock clock = new ManualClock();
+    private final LoginThrottle throttle = new LoginThrottle(WINDOW_SECONDS, USER_LIMIT, SOURCE_LIMIT,
+                                                             1_000, 8_000, clock);
+
+    private void fail(String username, String source, int times) {
+        for (int i = 0; i < times; i++) {
+            throttle.recordFailure(username, source);
+        }
+    }
+
+    @Test
+    void blocksUsernameAtLimitUntilBackoffEnds() {
+        fail("alice", null, USER_LIMIT - 1);
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+
+        fail("alice", null, 1);
+        assertThrows(SecurityException.class, () -> throttle.checkAllowed("alice", null));
+        assertThrows(SecurityException.class, () -> throttle.checkAllowed(" ALICE ", null));
+        assertDoesNotThrow(() -> throttle.checkAllowed("bob", null));
+        assertEquals(2, throttle.getThrottledCount());
+
+        clock.millis += 1_000;
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+    }
+
+    @Test
+    void backoffDoublesUpToTheMaximum() {
+        fail("alice", null, USER_LIMIT + 2); // 1 s, 2 s, then 4 s
+
+        clock.millis += 3_999;
+        assertThrows(SecurityException.class, () -> throttle.checkAllowed("alice", null));
+        clock.millis += 1;
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+
+        fail("alice", null, 10);
+        clock.millis += 8_000;
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+    }
+
+    @Test
+    void successClearsTheUsername() {
+        fail("alice", null, USER_LIMIT);
+        throttle.recordSuccess("alice");
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+        fail("alice", null, USER_LIMIT - 1);
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+    }
+
+    @Test
+    void sourceLimitSpansUsernames() {
+        for (int i = 0; i < SOURCE_LIMIT; i++) {
+            fail("user" + i, "10.0.0.7", 1);
+        }
+
+        assertThrows(SecurityException.class, () -> throttle.checkAllowed("someone-else", "10.0.0.7"));
+        assertDoesNotThrow(() -> throttle.checkAllowed("someone-else", "10.0.0.8"));
+    }
+
+    @Test
+    void missingSourceIsNotOneSharedCounter() {
+        for (int i = 0; i < SOURCE_LIMIT * 4; i++) {
+            fail("user" + i, null, 1);
+        }
+
+        assertDoesNotThrow(() -> throttle.checkAllowed("someone-else", null));
+    }
+
+    @Test
+    void earlierWindowFadesOut() {
+        fail("alice", null, USER_LIMIT - 1);
+
+        // Half-way through the next window the old failures count for about half
+        clock.millis += WINDOW_SECONDS * 1000 * 3 / 2 - clock.millis % (WINDOW_SECONDS * 1000);
+        fail("alice", null, 1);
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+
+        // Two windows later they no longer count at all
+        clock.millis += WINDOW_SECONDS * 1000 * 2;
+        fail("alice", null, USER_LIMIT - 1);
+        assertDoesNotThrow(() -> throttle.checkAllowed("alice", null));
+    }
+}
@@ -0,0 +1,61 @@
+package com.companyz.ems.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class PasswordHasherTest {
+
+    private static byte[] bytes(String hash) {
+        return hash.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void costOfReadsBcryptPrefixes() {
+        assertEquals(12, PasswordHasher.costOf(bytes("$2a$12$abcdefghijklmnopqrstuv")));
+        assertEquals(4, PasswordHasher.costOf(bytes("$2b$04$abcdefghijklmnopqrstuv")));
+        assertEquals(31, PasswordHasher.costOf(bytes("$2y$31$abcdefghijklmnopqrstuv")));
+    }
+
+    @Test
+    void costOfRejectsOtherFormats() {
+        assertEquals(-1, PasswordHasher.costOf(bytes("")));
+        assertEquals(-1, PasswordHasher.costOf(bytes("plaintext")));
+        assertEquals(-1, PasswordHasher.costOf(bytes("$1$12$md5crypt")));
+        assertEquals(-1, PasswordHasher.costOf(bytes("$2a$1x$abc")));
+        assertEquals(-1, PasswordHasher.costOf(bytes("$2a$123$abc")));
+        assertEquals(-1, PasswordHasher.costOf(bytes("$2a$12")));
+    }
+
+    @Test
+    void rehashesOnlyLowerCosts() {
+        PasswordHasher hasher = new PasswordHasher(12);
+
+        assertTrue(hasher.needsRehash(bytes("$2a$10$abcdefghijklmnopqrstuv")));
+        assertFalse(hasher.needsRehash(bytes("$2a$12$abcdefghijklmnopqrstuv")));
+        assertFalse(hasher.needsRehash(bytes("$2a$14$abcdefghijklmnopqrstuv")));
+    }
+
+    @Test
+    void newHashesFollowTheCurrentStrength() {
+        AtomicInteger strength = new AtomicInteger(4);
+        PasswordHasher hasher = new PasswordHasher(strength::get);
+        char[] password = "s3cret!".toCharArray();
+
+        PasswordHasher.HashedPassword first = hasher.hashWithSalt(password);
+        assertEquals(4, PasswordHasher.costOf(first.getHash()));
+        assertTrue(hasher.verify(password, first.getHash(), first.getSalt()));
+        assertFalse(hasher.verify("wrong".toCharArray(), first.getHash(), first.getSalt()));
+
+        strength.set(5); // calibration finished with a higher cost
+        assertTrue(hasher.needsRehash(first.getHash()));
+        PasswordHasher.HashedPassword second = hasher.hashWithSalt(password);
+        assertEquals(5, PasswordHasher.costOf(second.getHash()));
+        assertTrue(hasher.verify(password, second.getHash(), second.getSalt()));
+    }
+}
@@ -0,0 +1,98 @@
+package com.companyz.ems.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.dao.AuthEventLogger;
+
+class SessionRegistryTest {
+
+    private final List<AuthEventLogger.Event> events = new ArrayList<>();
+
+    private final AuthEventLogger logger = new AuthEventLogger() {
+        @Override
+        public void logEvent(Event event) {
+            events.add(event);
+        }
+    };
+
+    // Starts at the real clock because session deadlines are taken from System.nanoTime()
+    private final long start = System.nanoTime();
+    private long elapsed;
+
+    private final SessionRegistry registry = new SessionRegistry(logger, () -> start + elapsed, false);
+
+    private void tickAt(long seconds) {
+        elapsed = TimeUnit.SECONDS.toNanos(seconds);
+        registry.tick();
+    }
+
+    private SessionContext register(int timeoutMinutes) {
+        return registry.register(new SessionContext(7, "EMPLOYEE", 7, timeoutMinutes));
+    }
+
+    @Test
+    void idleSessionExpiresAfterItsTimeout() {
+        SessionContext session = register(1);
+
+        tickAt(0);
+        tickAt(58);
+        assertTrue(registry.find(session.getSessionId()).isPresent());
+        assertEquals(0, registry.getExpiredCount());
+
+        tickAt(62);
+        assertFalse(registry.find(session.getSessionId()).isPresent());
+        assertEquals(1, registry.getExpiredCount());
+        assertEquals(0, registry.getActiveCount());
+        assertEquals(List.of("SESSION_TIMEOUT"), events.stream().map(AuthEventLogger.Event::getEventType).toList());
+    }
+
+    @Test
+    void timeoutLongerThanOneTurnOfTheWheelIsNotCutShort() {
+        SessionContext session = register(30); // 1800 ticks; the wheel has 1024 buckets
+
+        tickAt(0);
+        tickAt(29 * 60);
+        assertTrue(registry.find(session.getSessionId()).isPresent());
+        assertEquals(0, registry.getExpiredCount());
+
+        tickAt(31 * 60);
+        assertEquals(1, registry.getExpiredCount());
+    }
+
+    @Test
+    void delayedTickerCatchesUpOnEveryBucket() {
+        register(1);
+        register(2);
+        register(3);
+
+        tickAt(0);
+        tickAt(10 * 60); // one late tick covers all three deadlines
+
+        assertEquals(3, registry.getExpiredCount());
+        assertEquals(3, events.size());
+    }
+
+    @Test
+    void loggedOutSessionIsNotExpiredLater() {
+        SessionContext session = register(1);
+        tickAt(0);
+
+        registry.logout(session, "JavaFX");
+        registry.logout(session, "JavaFX"); // a second logout records nothing
+        assertTrue(events.isEmpty()); // queued until the next tick
+
+        tickAt(1);
+        tickAt(120);
+        assertEquals(1, registry.getLoggedOutCount());
+        assertEquals(0, registry.getExpiredCount());
+        assertEquals(List.of("LOGOUT"), events.stream().map(AuthEventLogger.Event::getEventType).toList());
+    }
+}
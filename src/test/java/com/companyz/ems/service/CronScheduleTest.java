@@ -0,0 +1,69 @@
+package com.companyz.ems.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.services.CronSchedule;
+
+class CronScheduleTest {
+
+    private static LocalDateTime next(String expression, String after) {
+        return CronSchedule.parse(expression).next(LocalDateTime.parse(after));
+    }
+
+    @Test
+    void nightlyRunsLaterTodayOrTomorrow() {
+        assertEquals(LocalDateTime.parse("2025-06-15T01:30"), next("30 1 * * *", "2025-06-15T00:10"));
+        assertEquals(LocalDateTime.parse("2025-06-16T01:30"), next("30 1 * * *", "2025-06-15T01:30"));
+    }
+
+    @Test
+    void nextIsStrictlyAfterAndIgnoresSeconds() {
+        assertEquals(LocalDateTime.parse("2025-06-15T10:01"), next("* * * * *", "2025-06-15T10:00:59"));
+    }
+
+    @Test
+    void stepsRangesAndLists() {
+        assertEquals(LocalDateTime.parse("2025-06-15T10:45"), next("*/15 * * * *", "2025-06-15T10:31"));
+        assertEquals(LocalDateTime.parse("2025-06-15T12:05"), next("5/20 9-17/3 * * *", "2025-06-15T09:46"));
+        assertEquals(LocalDateTime.parse("2025-07-01T02:00"), next("0 2 1 1,4,7,10 *", "2025-04-01T02:00"));
+    }
+
+    @Test
+    void monthEndAndLeapDay() {
+        assertEquals(LocalDateTime.parse("2025-07-31T00:00"), next("0 0 31 * *", "2025-06-01T00:00"));
+        assertEquals(LocalDateTime.parse("2028-02-29T00:00"), next("0 0 29 2 *", "2025-03-01T00:00"));
+    }
+
+    @Test
+    void dayOfWeekTreatsSevenAsSunday() {
+        // 2025-06-15 is a Sunday
+        assertEquals(LocalDateTime.parse("2025-06-16T22:00"), next("0 22 * * 1-5", "2025-06-14T23:00"));
+        assertEquals(LocalDateTime.parse("2025-06-22T08:00"), next("0 8 * * 7", "2025-06-15T09:00"));
+        assertEquals(LocalDateTime.parse("2025-06-22T08:00"), next("0 8 * * 0", "2025-06-15T09:00"));
+    }
+
+    @Test
+    void restrictedDayFieldsMatchEither() {
+        // The 20th or any Monday, whichever comes first
+        assertEquals(LocalDateTime.parse("2025-06-16T00:00"), next("0 0 20 * 1", "2025-06-15T12:00"));
+        assertEquals(LocalDateTime.parse("2025-06-20T00:00"), next("0 0 20 * 1", "2025-06-16T12:00"));
+    }
+
+    @Test
+    void rejectsMalformedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> CronSchedule.parse("0 2 * *"));
+        assertThrows(IllegalArgumentException.class, () -> CronSchedule.parse("60 * * * *"));
+        assertThrows(IllegalArgumentException.class, () -> CronSchedule.parse("0 5-2 * * *"));
+        assertThrows(IllegalArgumentException.class, () -> CronSchedule.parse("0 x * * *"));
+    }
+
+    @Test
+    void impossibleDateNeverFires() {
+        assertThrows(IllegalStateException.class, () -> next("0 0 31 2 *", "2025-01-01T00:00"));
+    }
+}
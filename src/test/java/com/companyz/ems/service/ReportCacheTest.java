@@ -0,0 +1,125 @@
+package com.companyz.ems.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.dao.ReportSnapshotDao;
+import com.companyz.ems.model.report.DivisionMonthlyPayReport;
+import com.companyz.ems.model.report.EmployeeHireReport;
+import com.companyz.ems.services.ReportCache;
+
+class ReportCacheTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+    private static final YearMonth CLOSED = YearMonth.of(2025, 3);
+
+    private static final YearMonth CURRENT = YearMonth.of(2025, 6);
+
+    /** Snapshot deletes, as "method(args)". */
+    private final List<String> deletes = new ArrayList<>();
+
+    /** No stored snapshots; every lookup falls through to the loader. Deletes are recorded. */
+    private ReportSnapshotDao noSnapshots() {
+        return (ReportSnapshotDao) Proxy.newProxyInstance(ReportCacheTest.class.getClassLoader(),
+                new Class<?>[] { ReportSnapshotDao.class }, (proxy, method, args) -> {
+                    if (method.getName().startsWith("delete")) {
+                        deletes.add(method.getName() + List.of(args == null ? new Object[0] : args));
+                    }
+                    return method.getReturnType() == Optional.class ? Optional.empty()
+                         : method.getReturnType() == boolean.class ? false : null;
+                });
+    }
+
+    private final ReportCache cache = new ReportCache(10, 300, CLOCK, noSnapshots());
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private DivisionMonthlyPayReport load(DivisionMonthlyPayReport result) {
+        return load(CLOSED, result);
+    }
+
+    private DivisionMonthlyPayReport load(YearMonth month, DivisionMonthlyPayReport result) {
+        return cache.getDivisionPay(1, month, () -> {
+            loads.incrementAndGet();
+            return result;
+        });
+    }
+
+    @Test
+    void failedLoadIsNotCached() {
+        assertNull(load(null)); // the DAO returns null on a database error
+
+        DivisionMonthlyPayReport report = new DivisionMonthlyPayReport(1, "Sales", 3, 2025, 1234.5);
+        assertSame(report, load(report));
+        assertSame(report, load(null)); // served from the cache; the loader is not run again
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void invalidationDropsClosedMonth() {
+        DivisionMonthlyPayReport report = new DivisionMonthlyPayReport(1, "Sales", 3, 2025, 1234.5);
+        load(report);
+
+        cache.invalidatePayMonth(CLOSED);
+        load(report);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void reassignmentKeepsEarlierMonths() {
+        DivisionMonthlyPayReport report = new DivisionMonthlyPayReport(1, "Sales", 3, 2025, 1234.5);
+        load(CLOSED, report);
+        load(CURRENT, report);
+
+        cache.invalidateDivision(1, CURRENT);
+        load(CLOSED, report);
+        load(CURRENT, report);
+
+        assertEquals(3, loads.get()); // only the current month is loaded again
+        assertTrue(deletes.isEmpty()); // open months have no snapshots
+    }
+
+    @Test
+    void backdatedChangeDeletesSnapshotsFromItsMonth() {
+        cache.invalidateJobTitle(4, CLOSED);
+        cache.invalidateDivision(1);
+
+        assertEquals(List.of("deleteJobTitle[4, 2025-03]", "deleteDivision[1]"), deletes);
+    }
+
+    @Test
+    void renamingADivisionOrJobTitleDropsHireReports() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2025, 3, 31); // closed range; never expires
+        EmployeeHireReport hires = new EmployeeHireReport(start, end, List.of());
+        Runnable loadHires = () -> cache.getHires(start, end, () -> {
+            loads.incrementAndGet();
+            return hires;
+        });
+
+        loadHires.run();
+        cache.invalidateDivision(1);
+        loadHires.run();
+        cache.invalidateJobTitle(4);
+        loadHires.run();
+
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,66 @@
+package com.companyz.ems.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.companyz.ems.dao.ReportExportDao;
+import com.companyz.ems.export.ExportFormat;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+import com.companyz.ems.services.ReportExportServiceImpl;
+
+class ReportExportServiceTest {
+
+    /** Pay dates before 2024 are archived. */
+    private static final LocalDate ARCHIVED_UNTIL = LocalDate.of(2023, 12, 31);
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    private final ReportExportDao dao = (ReportExportDao) Proxy.newProxyInstance(
+            ReportExportServiceTest.class.getClassLoader(), new Class<?>[] { ReportExportDao.class },
+            (proxy, method, args) -> {
+                if (method.getName().equals("overlapsArchive")) {
+                    return !((LocalDate) args[0]).isAfter(ARCHIVED_UNTIL);
+                }
+                queries.incrementAndGet();
+                return 0L;
+            });
+
+    private final ReportExportServiceImpl service = new ReportExportServiceImpl(dao, new AuthorizationService());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void payrollHistoryNeedsLinkedEmployee() {
+        SessionContext unlinked = new SessionContext(1, "EMPLOYEE", null, 30);
+
+        assertThrows(SecurityException.class,
+                () -> service.exportPayrollHistory(unlinked, ExportFormat.CSV, dir.resolve("pay.csv")));
+        assertEquals(0, queries.get());
+    }
+
+    @Test
+    void monthlyPayRefusesArchivedMonths() throws Exception {
+        SessionContext admin = new SessionContext(1, "HR_ADMIN", null, 30);
+
+        assertThrows(IllegalArgumentException.class, () -> service.exportDivisionMonthlyPay(admin,
+                YearMonth.of(2023, 11), YearMonth.of(2024, 2), ExportFormat.CSV, dir.resolve("div.csv")));
+        assertThrows(IllegalArgumentException.class, () -> service.exportJobTitleMonthlyPay(admin,
+                YearMonth.of(2023, 12), YearMonth.of(2023, 12), ExportFormat.CSV, dir.resolve("job.csv")));
+        assertEquals(0, queries.get());
+
+        service.exportDivisionMonthlyPay(admin, YearMonth.of(2024, 1), YearMonth.of(2024, 3),
+                ExportFormat.CSV, dir.resolve("div.csv"));
+        assertEquals(1, queries.get());
+    }
+}
@@ -0,0 +1,38 @@
+package com.companyz.ems.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.dao.RetroPayDao;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+import com.companyz.ems.services.RetroPayServiceImpl;
+
+class RetroPayServiceTest {
+
+    private final SessionContext admin = new SessionContext(1, "HR_ADMIN", null, 15);
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    void failedLookupLeavesTheChunkPending() {
+        RetroPayDao dao = (RetroPayDao) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { RetroPayDao.class }, (proxy, method, args) -> {
+                    calls.add(method.getName());
+                    return switch (method.getName()) {
+                        case "findPendingChangeIds" -> List.of(1L, 2L);
+                        case "findAffectedPeriods" -> null; // the query failed
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+
+        int posted = new RetroPayServiceImpl(dao, new AuthorizationService(), null, 100).runRetroPay(admin);
+
+        assertEquals(0, posted);
+        assertEquals(List.of("findPendingChangeIds", "findAffectedPeriods"), calls);
+    }
+}
@@ -0,0 +1,61 @@
+package com.companyz.ems.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.companyz.ems.dao.EmployeeDao;
+import com.companyz.ems.security.AuthorizationService;
+import com.companyz.ems.security.SessionContext;
+import com.companyz.ems.services.EmployeeServiceImpl;
+
+class SalaryRaiseRetroPayTest {
+
+    private final SessionContext admin = new SessionContext(1, "HR_ADMIN", null, 15);
+    private final List<LocalDate> effectiveDates = new ArrayList<>();
+    private int retroRuns;
+
+    private EmployeeServiceImpl service(int raised) {
+        EmployeeDao employeeDao = (EmployeeDao) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] { EmployeeDao.class }, (proxy, method, args) -> {
+                    if (!method.getName().equals("increaseSalaryByRange")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    effectiveDates.add((LocalDate) args[5]);
+                    return raised;
+                });
+        return new EmployeeServiceImpl(employeeDao, null, null, null, null, null,
+                new AuthorizationService(), null, ctx -> ++retroRuns);
+    }
+
+    @Test
+    void backdatedRaiseRunsRetroPay() {
+        LocalDate lastMonth = LocalDate.now().minusMonths(1);
+
+        assertEquals(3, service(3).increaseSalaryByRange(admin, 3.2, 50_000, 100_000, "Annual", lastMonth));
+
+        assertEquals(List.of(lastMonth), effectiveDates);
+        assertEquals(1, retroRuns);
+    }
+
+    @Test
+    void raiseEffectiveTodayDoesNotRunRetroPay() {
+        service(3).increaseSalaryByRange(admin, 3.2, 50_000, 100_000, "Annual", LocalDate.now());
+        service(0).increaseSalaryByRange(admin, 3.2, 50_000, 100_000, "Annual", LocalDate.now().minusDays(1));
+
+        assertEquals(0, retroRuns);
+    }
+
+    @Test
+    void rejectsFutureEffectiveDate() {
+        assertThrows(IllegalArgumentException.class, () -> service(3)
+                .increaseSalaryByRange(admin, 3.2, 50_000, 100_000, "Annual", LocalDate.now().plusDays(1)));
+        assertEquals(List.of(), effectiveDates);
+    }
+}
@@ -132,6 +132,8 @@ CREATE TABLE employee_status (
 
 -- Index to quickly query status history by employee and start date
 CREATE INDEX idx_employee_status ON employee_status (empid, status, effective_start);
+-- Index for hire-date range counts (dashboard new hires)
+CREATE INDEX idx_employee_status_hire_date ON employee_status (hire_date);
 
 CREATE TABLE divisions (
   divid INT AUTO_INCREMENT PRIMARY KEY,
@@ -235,7 +237,8 @@ CREATE TABLE payroll_runs (
   run_year YEAR NOT NULL,                       -- year of payroll run
   run_month TINYINT NOT NULL,                   -- month of payroll run (1-12)
   run_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP, -- when run was executed
-  description VARCHAR(255) DEFAULT NULL         -- optional notes
+  description VARCHAR(255) DEFAULT NULL,        -- optional notes
+  is_adjustment TINYINT(1) NOT NULL DEFAULT 0   -- 1 for retroactive adjustment runs
 );
 
 -- Payroll entries per employee
@@ -257,6 +260,13 @@ CREATE TABLE payroll (
   FOREIGN KEY (empid) REFERENCES employees(empid) ON DELETE CASCADE
 );
 
+-- Index for pay-date range scans (reports and streaming exports)
+CREATE INDEX idx_payroll_pay_date ON payroll (pay_date);
+-- Index for reading a payroll run ordered by employee (run comparison)
+CREATE INDEX idx_payroll_run_emp ON payroll (payroll_run_id, empid);
+-- Index for finding an employee's pay periods (retroactive adjustments)
+CREATE INDEX idx_payroll_emp_pay_date ON payroll (empid, pay_date);
+
 -- Salary history (audit trail of changes)
 CREATE TABLE salary_history (
   salary_history_id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -266,10 +276,30 @@ CREATE TABLE salary_history (
   change_reason VARCHAR(255) DEFAULT NULL,      -- reason for change
   changed_by_user_id INT NOT NULL,              -- FK to users (who made change)
   changed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  effective_date DATE NOT NULL DEFAULT (CURRENT_DATE), -- date the new salary applies from
+  retro_processed_at DATETIME DEFAULT NULL,     -- when backdated pay was adjusted
   FOREIGN KEY (empid) REFERENCES employees(empid) ON DELETE CASCADE,
   FOREIGN KEY (changed_by_user_id) REFERENCES users(user_id) ON DELETE RESTRICT
 );
 
+-- Index for finding unprocessed backdated salary changes
+CREATE INDEX idx_salary_history_retro ON salary_history (retro_processed_at);
+
+-- Precomputed monthly pay reports for closed months (written by the report scheduler)
+CREATE TABLE report_snapshots (
+  report_type ENUM('DIVISION_PAY', 'JOB_TITLE_PAY') NOT NULL,
+  ref_id INT NOT NULL,                          -- divid or job_title_id
+  pay_year SMALLINT NOT NULL,
+  pay_month TINYINT NOT NULL,
+  ref_name VARCHAR(100) DEFAULT NULL,           -- division or job title name when computed
+  total_pay DECIMAL(14,2) NOT NULL,
+  computed_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (report_type, ref_id, pay_year, pay_month)
+);
+
+-- Index for dropping or counting one month's snapshots
+CREATE INDEX idx_report_snapshots_month ON report_snapshots (pay_year, pay_month);
+
 CREATE TABLE change_log (
   change_id BIGINT AUTO_INCREMENT PRIMARY KEY,
   table_name VARCHAR(128) NOT NULL,             -- name of table changed
@@ -285,3 +315,10 @@ CREATE TABLE change_log (
 -- Helpful index to query changes by table and time
 CREATE INDEX idx_change_log_table_time ON change_log (table_name, changed_at);
 
+
+-- Audit log search, newest-first keyset order (see 09_audit_query_indexes.sql)
+CREATE INDEX idx_change_log_record_time ON change_log (table_name, record_pk, changed_at, change_id);
+CREATE INDEX idx_change_log_user_time ON change_log (changed_by_user_id, changed_at, change_id);
+CREATE INDEX idx_change_log_time ON change_log (changed_at, change_id);
+CREATE INDEX idx_auth_events_user_time ON auth_events (user_id, event_time, auth_event_id);
+CREATE INDEX idx_auth_events_time ON auth_events (event_time, auth_event_id);